@@ -0,0 +1,69 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The measurements of one compilation of a corpus.
+ */
+public class BenchmarkResult {
+
+    private final long wallNanos;
+    private final long allocatedBytes;
+    private final long peakHeapBytes;
+    private final Map<String, Long> phaseNanos;
+
+    public BenchmarkResult(long wallNanos, long allocatedBytes, long peakHeapBytes, Map<String, Long> phaseNanos) {
+        this.wallNanos = wallNanos;
+        this.allocatedBytes = allocatedBytes;
+        this.peakHeapBytes = peakHeapBytes;
+        this.phaseNanos = Collections.unmodifiableMap( phaseNanos );
+    }
+
+    /**
+     * @return the wall time of the compilation in nanoseconds
+     */
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return the bytes allocated by the compiling thread or -1 if not supported by the JVM
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * @return the sum of the peak usages of all heap memory pools during the compilation
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
+    /**
+     * @return the processing time in nanoseconds per processor phase, summed up over all mappers, as reported by the
+     * profiling report of the processor
+     */
+    public Map<String, Long> getPhaseNanos() {
+        return phaseNanos;
+    }
+}
@@ -0,0 +1,368 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures the time and the bytes allocated per copy of a small object graph, comparing the code generated for
+ * same-type mapping methods as per {@code Mapper#cloneStrategy()} with the usual means of copying objects in Java:
+ * <ul>
+ * <li>{@code shallow}: a flat property-by-property copy, as generated for {@code CloneStrategy.SHALLOW}</li>
+ * <li>{@code deep}: a property-by-property copy passing on immutable values and copying collections and the mutable
+ * elements of collections, as generated for {@code CloneStrategy.DEEP}</li>
+ * <li>{@code object-clone}: {@link Object#clone()}, copying shallowly</li>
+ * <li>{@code serialization}: writing the graph into an {@link ObjectOutputStream} and reading it back, copying
+ * deeply</li>
+ * </ul>
+ * The allocated bytes are taken from the HotSpot-specific extension of {@code ThreadMXBean}; if that's not available,
+ * -1 is reported for all the variants.
+ * <p>
+ * Run it from the command line after building the project (see {@link ProcessorBenchmark} for the class path):
+ *
+ * <pre>
+ * java -cp benchmark/target/classes:$(cat benchmark/target/classpath.txt) \
+ *     org.mapstruct.ap.benchmark.CloneBenchmark --copies=100000 --warmups=3 --iterations=5
+ * </pre>
+ */
+public class CloneBenchmark {
+
+    static final String[] VARIANTS = { "shallow", "deep", "object-clone", "serialization" };
+
+    private final Order order;
+    private final int copies;
+
+    public CloneBenchmark(int copies) {
+        this.copies = copies;
+
+        order = new Order();
+        order.setId( "order-1" );
+        order.setQuantity( 3 );
+        order.setPrice( new BigDecimal( "19.99" ) );
+        order.setTags( new ArrayList<String>( Arrays.asList( "express", "gift" ) ) );
+
+        List<OrderLine> lines = new ArrayList<OrderLine>();
+        for ( int i = 0; i < 5; i++ ) {
+            lines.add( new OrderLine( "product-" + i, i + 1 ) );
+        }
+        order.setLines( lines );
+    }
+
+    /**
+     * Copies the order with each variant.
+     *
+     * @return the average nanoseconds (first row) and bytes allocated (second row) per copy for each of the
+     *         {@link #VARIANTS}, in this order
+     */
+    public long[][] run() {
+        long[][] result = new long[2][VARIANTS.length];
+
+        for ( int variant = 0; variant < VARIANTS.length; variant++ ) {
+            Order copy = null;
+
+            long before = ProcessorBenchmark.getAllocatedBytes();
+            long start = System.nanoTime();
+
+            for ( int i = 0; i < copies; i++ ) {
+                copy = copy( variant );
+            }
+
+            long nanos = System.nanoTime() - start;
+            long after = ProcessorBenchmark.getAllocatedBytes();
+
+            result[0][variant] = nanos / copies;
+            result[1][variant] = before < 0 ? -1 : ( after - before ) / copies;
+            verify( variant, copy );
+        }
+
+        return result;
+    }
+
+    private Order copy(int variant) {
+        switch ( variant ) {
+            case 0:
+                return shallowCopy( order );
+            case 1:
+                return deepCopy( order );
+            case 2:
+                return order.clone();
+            default:
+                return serializedCopy( order );
+        }
+    }
+
+    private void verify(int variant, Order copy) {
+        boolean deep = variant == 1 || variant == 3;
+
+        if ( copy == order || !copy.getId().equals( order.getId() ) || copy.getQuantity() != order.getQuantity()
+            || !copy.getPrice().equals( order.getPrice() ) || !copy.getTags().equals( order.getTags() )
+            || copy.getLines().size() != order.getLines().size()
+            || ( copy.getLines() != order.getLines() ) != deep ) {
+            throw new IllegalStateException( "Unexpected copy created by " + VARIANTS[variant] );
+        }
+    }
+
+    /**
+     * As generated for {@code Order copy(Order order)} with {@code CloneStrategy.SHALLOW}.
+     */
+    private static Order shallowCopy(Order order) {
+        if ( order == null ) {
+            return null;
+        }
+
+        Order copy = new Order();
+
+        copy.setId( order.getId() );
+        copy.setQuantity( order.getQuantity() );
+        copy.setPrice( order.getPrice() );
+        copy.setTags( order.getTags() );
+        copy.setLines( order.getLines() );
+
+        return copy;
+    }
+
+    /**
+     * As generated for {@code Order copy(Order order)} and {@code OrderLine copy(OrderLine line)} with
+     * {@code CloneStrategy.DEEP}.
+     */
+    private static Order deepCopy(Order order) {
+        if ( order == null ) {
+            return null;
+        }
+
+        Order copy = new Order();
+
+        copy.setId( order.getId() );
+        copy.setQuantity( order.getQuantity() );
+        copy.setPrice( order.getPrice() );
+        if ( order.getTags() != null ) {
+            copy.setTags( new ArrayList<String>( order.getTags() ) );
+        }
+        copy.setLines( orderLineListToOrderLineList( order.getLines() ) );
+
+        return copy;
+    }
+
+    private static OrderLine deepCopy(OrderLine line) {
+        if ( line == null ) {
+            return null;
+        }
+
+        OrderLine orderLine = new OrderLine();
+
+        orderLine.setProduct( line.getProduct() );
+        orderLine.setAmount( line.getAmount() );
+
+        return orderLine;
+    }
+
+    private static List<OrderLine> orderLineListToOrderLineList(List<OrderLine> list) {
+        if ( list == null ) {
+            return null;
+        }
+
+        List<OrderLine> lines = new ArrayList<OrderLine>( list.size() );
+
+        for ( OrderLine orderLine : list ) {
+            lines.add( deepCopy( orderLine ) );
+        }
+
+        return lines;
+    }
+
+    private static Order serializedCopy(Order order) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            ObjectOutputStream out = new ObjectOutputStream( bytes );
+            out.writeObject( order );
+            out.close();
+
+            ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) );
+            return (Order) in.readObject();
+        }
+        catch ( IOException e ) {
+            throw new IllegalStateException( e );
+        }
+        catch ( ClassNotFoundException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    public static void main(String[] args) {
+        int copies = 100000;
+        int warmups = 3;
+        int iterations = 5;
+
+        for ( String arg : args ) {
+            if ( !arg.startsWith( "--" ) || !arg.contains( "=" ) ) {
+                throw new IllegalArgumentException( "Unknown argument: " + arg );
+            }
+
+            String name = arg.substring( 2, arg.indexOf( '=' ) );
+            String value = arg.substring( arg.indexOf( '=' ) + 1 );
+
+            if ( name.equals( "copies" ) ) {
+                copies = Integer.parseInt( value );
+            }
+            else if ( name.equals( "warmups" ) ) {
+                warmups = Integer.parseInt( value );
+            }
+            else if ( name.equals( "iterations" ) ) {
+                iterations = Integer.parseInt( value );
+            }
+            else {
+                throw new IllegalArgumentException( "Unknown argument: " + arg );
+            }
+        }
+
+        CloneBenchmark benchmark = new CloneBenchmark( copies );
+
+        PrintStream out = System.out;
+        out.println( "Clone benchmark: copies=" + copies );
+
+        for ( int i = 0; i < warmups; i++ ) {
+            print( out, "warmup " + ( i + 1 ), benchmark.run() );
+        }
+
+        for ( int i = 0; i < iterations; i++ ) {
+            print( out, "iteration " + ( i + 1 ), benchmark.run() );
+        }
+    }
+
+    private static void print(PrintStream out, String label, long[][] result) {
+        StringBuilder line = new StringBuilder( label ).append( ':' );
+
+        for ( int i = 0; i < VARIANTS.length; i++ ) {
+            line.append( i > 0 ? "," : "" ).append( ' ' ).append( VARIANTS[i] )
+                .append( ' ' ).append( result[0][i] ).append( " ns/copy" )
+                .append( ' ' ).append( result[1][i] ).append( " bytes/copy" );
+        }
+
+        out.println( line );
+    }
+
+    /**
+     * The root of the copied graph.
+     */
+    static class Order implements Cloneable, Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String id;
+        private int quantity;
+        private BigDecimal price;
+        private List<String> tags;
+        private List<OrderLine> lines;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+
+        public int getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public List<OrderLine> getLines() {
+            return lines;
+        }
+
+        public void setLines(List<OrderLine> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public Order clone() {
+            try {
+                return (Order) super.clone();
+            }
+            catch ( CloneNotSupportedException e ) {
+                throw new IllegalStateException( e );
+            }
+        }
+    }
+
+    /**
+     * A mutable element of the copied graph.
+     */
+    static class OrderLine implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String product;
+        private int amount;
+
+        public OrderLine() {
+        }
+
+        public OrderLine(String product, int amount) {
+            this.product = product;
+            this.amount = amount;
+        }
+
+        public String getProduct() {
+            return product;
+        }
+
+        public void setProduct(String product) {
+            this.product = product;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+
+        public void setAmount(int amount) {
+            this.amount = amount;
+        }
+    }
+}
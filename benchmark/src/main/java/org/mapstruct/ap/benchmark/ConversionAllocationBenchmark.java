@@ -0,0 +1,203 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import java.io.PrintStream;
+
+import org.mapstruct.ap.conversion.NumberToCharSequenceConversion;
+
+/**
+ * Measures the bytes allocated per value by the code generated for converting numbers into {@link StringBuilder}
+ * properties with {@link NumberToCharSequenceConversion}, compared to going through an intermediary {@link String}:
+ * <ul>
+ * <li>{@code string}: {@code String.valueOf( x )}, i.e. the conversion into a {@link String} property, as baseline</li>
+ * <li>{@code via-string}: {@code new StringBuilder( String.valueOf( x ) )}</li>
+ * <li>{@code append}: {@code new StringBuilder().append( x )}, as generated for primitive sources</li>
+ * <li>{@code append-boxed}: {@code new StringBuilder().append( (Object) x )} for a {@link Long} source</li>
+ * <li>{@code append-unboxed}: {@code new StringBuilder().append( x.longValue() )}, as generated for wrapper
+ * sources</li>
+ * <li>{@code cached-string}: {@code String.valueOf( x )} for numbers outside of -128 to 127, and a string taken from a
+ * static array otherwise, as generated for {@link CharSequence} properties of integral types</li>
+ * <li>{@code append-reuse}: {@code builder.setLength( 0 ); builder.append( x )} with the builder of an existing
+ * target, as generated for update methods</li>
+ * </ul>
+ * The allocated bytes are taken from the HotSpot-specific extension of {@code ThreadMXBean}; if that's not available,
+ * -1 is reported for all the variants.
+ * <p>
+ * Run it from the command line after building the project (see {@link ProcessorBenchmark} for the class path):
+ *
+ * <pre>
+ * java -cp benchmark/target/classes:$(cat benchmark/target/classpath.txt) \
+ *     org.mapstruct.ap.benchmark.ConversionAllocationBenchmark --values=1000000 --warmups=3 --iterations=5
+ * </pre>
+ */
+public class ConversionAllocationBenchmark {
+
+    static final String[] VARIANTS = {
+        "string", "via-string", "append", "append-boxed", "append-unboxed", "cached-string", "append-reuse"
+    };
+
+    private static final String[] SMALL_NUMBER_STRINGS = new String[256];
+
+    static {
+        for ( int i = 0; i < SMALL_NUMBER_STRINGS.length; i++ ) {
+            SMALL_NUMBER_STRINGS[i] = String.valueOf( i - 128 );
+        }
+    }
+
+    private final long[] values;
+    private final Long[] boxedValues;
+    private final StringBuilder[] builders;
+    private final Object[] results;
+
+    public ConversionAllocationBenchmark(int count) {
+        values = new long[count];
+        boxedValues = new Long[count];
+        builders = new StringBuilder[count];
+        results = new Object[count];
+
+        // a mix of small and large numbers, boxed up front so the boxing isn't measured
+        for ( int i = 0; i < count; i++ ) {
+            values[i] = i % 2 == 0 ? i % 128 : 1000000000L * i;
+            boxedValues[i] = Long.valueOf( values[i] );
+            builders[i] = new StringBuilder();
+        }
+    }
+
+    /**
+     * Converts all the values with each variant.
+     *
+     * @return the average bytes allocated per value for each of the {@link #VARIANTS}, in this order
+     */
+    public long[] run() {
+        long[] bytes = new long[VARIANTS.length];
+
+        for ( int variant = 0; variant < VARIANTS.length; variant++ ) {
+            long before = ProcessorBenchmark.getAllocatedBytes();
+            convert( variant );
+            long after = ProcessorBenchmark.getAllocatedBytes();
+
+            bytes[variant] = before < 0 ? -1 : ( after - before ) / values.length;
+            verify( variant );
+        }
+
+        return bytes;
+    }
+
+    private void convert(int variant) {
+        for ( int i = 0; i < values.length; i++ ) {
+            switch ( variant ) {
+                case 0:
+                    results[i] = String.valueOf( values[i] );
+                    break;
+                case 1:
+                    results[i] = new StringBuilder( String.valueOf( values[i] ) );
+                    break;
+                case 2:
+                    results[i] = new StringBuilder().append( values[i] );
+                    break;
+                case 3:
+                    results[i] = new StringBuilder().append( (Object) boxedValues[i] );
+                    break;
+                case 4:
+                    results[i] = new StringBuilder().append( boxedValues[i].longValue() );
+                    break;
+                case 5:
+                    results[i] = smallNumberToString( values[i] );
+                    break;
+                default:
+                    builders[i].setLength( 0 );
+                    builders[i].append( values[i] );
+                    results[i] = builders[i];
+                    break;
+            }
+        }
+    }
+
+    private static String smallNumberToString(long value) {
+        if ( value >= -128 && value <= 127 ) {
+            return SMALL_NUMBER_STRINGS[(int) value + 128];
+        }
+
+        return String.valueOf( value );
+    }
+
+    private void verify(int variant) {
+        for ( int i = 0; i < values.length; i++ ) {
+            if ( !results[i].toString().equals( Long.toString( values[i] ) ) ) {
+                throw new IllegalStateException(
+                    "Unexpected result of " + VARIANTS[variant] + " for " + values[i] + ": " + results[i]
+                );
+            }
+            results[i] = null;
+        }
+    }
+
+    public static void main(String[] args) {
+        int count = 1000000;
+        int warmups = 3;
+        int iterations = 5;
+
+        for ( String arg : args ) {
+            if ( !arg.startsWith( "--" ) || !arg.contains( "=" ) ) {
+                throw new IllegalArgumentException( "Unknown argument: " + arg );
+            }
+
+            String name = arg.substring( 2, arg.indexOf( '=' ) );
+            String value = arg.substring( arg.indexOf( '=' ) + 1 );
+
+            if ( name.equals( "values" ) ) {
+                count = Integer.parseInt( value );
+            }
+            else if ( name.equals( "warmups" ) ) {
+                warmups = Integer.parseInt( value );
+            }
+            else if ( name.equals( "iterations" ) ) {
+                iterations = Integer.parseInt( value );
+            }
+            else {
+                throw new IllegalArgumentException( "Unknown argument: " + arg );
+            }
+        }
+
+        ConversionAllocationBenchmark benchmark = new ConversionAllocationBenchmark( count );
+
+        PrintStream out = System.out;
+        out.println( "Conversion allocation benchmark: values=" + count );
+
+        for ( int i = 0; i < warmups; i++ ) {
+            print( out, "warmup " + ( i + 1 ), benchmark.run() );
+        }
+
+        for ( int i = 0; i < iterations; i++ ) {
+            print( out, "iteration " + ( i + 1 ), benchmark.run() );
+        }
+    }
+
+    private static void print(PrintStream out, String label, long[] bytes) {
+        StringBuilder line = new StringBuilder( label ).append( ':' );
+
+        for ( int i = 0; i < VARIANTS.length; i++ ) {
+            line.append( i > 0 ? "," : "" ).append( ' ' ).append( VARIANTS[i] )
+                .append( ' ' ).append( bytes[i] ).append( " bytes/value" );
+        }
+
+        out.println( line );
+    }
+}
@@ -0,0 +1,94 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+/**
+ * Describes the shape of a synthetic corpus of mappers to be generated by the {@link CorpusGenerator}.
+ */
+public class CorpusConfiguration {
+
+    private final int mappers;
+    private final int propertiesPerBean;
+    private final int nestingDepth;
+    private final int usesFanOut;
+    private final double twoStepDensity;
+
+    /**
+     * @param mappers the number of mapper interfaces
+     * @param propertiesPerBean the number of simple properties of each source and target bean
+     * @param nestingDepth the number of bean levels per mapper, each level but the last one referencing the next one
+     * via a nested property; each level is mapped by a separate mapping method
+     * @param usesFanOut the number of hand-written mappers referenced by each mapper via {@code uses}
+     * @param twoStepDensity the share of properties (between 0 and 1) which can only be mapped by combining a built-in
+     * conversion and a method of a referenced mapper
+     */
+    public CorpusConfiguration(int mappers, int propertiesPerBean, int nestingDepth, int usesFanOut,
+                               double twoStepDensity) {
+        if ( mappers < 1 || propertiesPerBean < 1 || nestingDepth < 1 || usesFanOut < 0 ) {
+            throw new IllegalArgumentException(
+                "At least one mapper, property and nesting level are required; the fan-out must not be negative."
+            );
+        }
+        if ( twoStepDensity < 0 || twoStepDensity > 1 ) {
+            throw new IllegalArgumentException( "The two-step density must be between 0 and 1." );
+        }
+        if ( twoStepDensity > 0 && usesFanOut == 0 ) {
+            throw new IllegalArgumentException( "Two-step mappings require a fan-out of at least 1." );
+        }
+
+        this.mappers = mappers;
+        this.propertiesPerBean = propertiesPerBean;
+        this.nestingDepth = nestingDepth;
+        this.usesFanOut = usesFanOut;
+        this.twoStepDensity = twoStepDensity;
+    }
+
+    public int getMappers() {
+        return mappers;
+    }
+
+    public int getPropertiesPerBean() {
+        return propertiesPerBean;
+    }
+
+    public int getNestingDepth() {
+        return nestingDepth;
+    }
+
+    public int getUsesFanOut() {
+        return usesFanOut;
+    }
+
+    public double getTwoStepDensity() {
+        return twoStepDensity;
+    }
+
+    /**
+     * @return the number of properties per bean which require a two-step mapping
+     */
+    public int getTwoStepPropertiesPerBean() {
+        return (int) Math.round( propertiesPerBean * twoStepDensity );
+    }
+
+    @Override
+    public String toString() {
+        return mappers + " mappers, " + propertiesPerBean + " properties per bean, nesting depth " + nestingDepth
+            + ", uses fan-out " + usesFanOut + ", two-step density " + twoStepDensity;
+    }
+}
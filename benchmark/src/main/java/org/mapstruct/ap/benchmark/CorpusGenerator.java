@@ -0,0 +1,202 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+
+/**
+ * Generates the sources of a synthetic corpus of mappers as described by a {@link CorpusConfiguration}. The sources
+ * are kept in memory.
+ * <p>
+ * The corpus consists of:
+ * <ul>
+ * <li>the shared types {@code bench.common.Code} and {@code bench.common.Marker<i>},</li>
+ * <li>the hand-written mappers {@code bench.common.Helper<i>}, as many as given by the fan-out;
+ * {@code Helper0} maps {@code String} to {@code Code}, the others provide unrelated methods which are considered but
+ * not selected when resolving property mappings,</li>
+ * <li>for each mapper a package {@code bench.m<i>} with source and target beans {@code Source<level>} and
+ * {@code Target<level>} per nesting level and a mapper {@code BeanMapper<i>} with one mapping method per level.</li>
+ * </ul>
+ * The simple properties of the beans alternate between properties which are mapped directly ({@code String} to
+ * {@code String}) and properties which are mapped via a built-in conversion ({@code int} to {@code String}). The
+ * properties requiring a two-step mapping are mapped from {@code int} to {@code Code}, via a conversion to
+ * {@code String} and {@code Helper0}.
+ */
+public class CorpusGenerator {
+
+    private static final String COMMON_PACKAGE = "bench.common";
+
+    public List<JavaFileObject> generate(CorpusConfiguration configuration) {
+        List<JavaFileObject> sources = new ArrayList<JavaFileObject>();
+
+        sources.add( createCode() );
+
+        for ( int i = 0; i < configuration.getUsesFanOut(); i++ ) {
+            if ( i > 0 ) {
+                sources.add( createMarker( i ) );
+            }
+            sources.add( createHelper( i ) );
+        }
+
+        for ( int i = 0; i < configuration.getMappers(); i++ ) {
+            String packageName = "bench.m" + i;
+
+            for ( int level = 0; level < configuration.getNestingDepth(); level++ ) {
+                sources.add( createBean( configuration, packageName, "Source", level, true ) );
+                sources.add( createBean( configuration, packageName, "Target", level, false ) );
+            }
+
+            sources.add( createMapper( configuration, packageName, i ) );
+        }
+
+        return sources;
+    }
+
+    private JavaFileObject createCode() {
+        StringBuilder source = new StringBuilder();
+        source.append( "package " ).append( COMMON_PACKAGE ).append( ";\n\n" );
+        source.append( "public class Code {\n" );
+        source.append( "    private final String value;\n" );
+        source.append( "    public Code(String value) { this.value = value; }\n" );
+        source.append( "    public String getValue() { return value; }\n" );
+        source.append( "}\n" );
+
+        return new SourceFile( COMMON_PACKAGE + ".Code", source );
+    }
+
+    private JavaFileObject createMarker(int index) {
+        StringBuilder source = new StringBuilder();
+        source.append( "package " ).append( COMMON_PACKAGE ).append( ";\n\n" );
+        source.append( "public class Marker" ).append( index ).append( " {\n" );
+        source.append( "}\n" );
+
+        return new SourceFile( COMMON_PACKAGE + ".Marker" + index, source );
+    }
+
+    private JavaFileObject createHelper(int index) {
+        StringBuilder source = new StringBuilder();
+        source.append( "package " ).append( COMMON_PACKAGE ).append( ";\n\n" );
+        source.append( "public class Helper" ).append( index ).append( " {\n" );
+
+        if ( index == 0 ) {
+            source.append( "    public Code toCode(String value) { return new Code( value ); }\n" );
+        }
+        else {
+            source.append( "    public Marker" ).append( index ).append( " toMarker" ).append( index )
+                .append( "(Long value) { return new Marker" ).append( index ).append( "(); }\n" );
+        }
+
+        source.append( "}\n" );
+
+        return new SourceFile( COMMON_PACKAGE + ".Helper" + index, source );
+    }
+
+    private JavaFileObject createBean(CorpusConfiguration configuration, String packageName, String prefix,
+                                      int level, boolean isSource) {
+        String name = prefix + level;
+        int twoStepProperties = configuration.getTwoStepPropertiesPerBean();
+
+        StringBuilder source = new StringBuilder();
+        source.append( "package " ).append( packageName ).append( ";\n\n" );
+        source.append( "public class " ).append( name ).append( " {\n" );
+
+        for ( int p = 0; p < configuration.getPropertiesPerBean(); p++ ) {
+            String type;
+            if ( p < twoStepProperties ) {
+                type = isSource ? "int" : COMMON_PACKAGE + ".Code";
+            }
+            else if ( p % 2 == 0 ) {
+                type = "String";
+            }
+            else {
+                type = isSource ? "int" : "String";
+            }
+
+            appendProperty( source, type, "property" + p );
+        }
+
+        if ( level < configuration.getNestingDepth() - 1 ) {
+            appendProperty( source, prefix + ( level + 1 ), "child" );
+        }
+
+        source.append( "}\n" );
+
+        return new SourceFile( packageName + "." + name, source );
+    }
+
+    private void appendProperty(StringBuilder source, String type, String name) {
+        String capitalized = Character.toUpperCase( name.charAt( 0 ) ) + name.substring( 1 );
+
+        source.append( "    private " ).append( type ).append( ' ' ).append( name ).append( ";\n" );
+        source.append( "    public " ).append( type ).append( " get" ).append( capitalized ).append( "() { return " )
+            .append( name ).append( "; }\n" );
+        source.append( "    public void set" ).append( capitalized ).append( '(' ).append( type ).append( ' ' )
+            .append( name ).append( ") { this." ).append( name ).append( " = " ).append( name ).append( "; }\n" );
+    }
+
+    private JavaFileObject createMapper(CorpusConfiguration configuration, String packageName, int index) {
+        String name = "BeanMapper" + index;
+
+        StringBuilder source = new StringBuilder();
+        source.append( "package " ).append( packageName ).append( ";\n\n" );
+        source.append( "@org.mapstruct.Mapper(uses = {" );
+
+        for ( int i = 0; i < configuration.getUsesFanOut(); i++ ) {
+            source.append( i > 0 ? ", " : " " ).append( COMMON_PACKAGE ).append( ".Helper" ).append( i )
+                .append( ".class" );
+        }
+
+        source.append( " })\n" );
+        source.append( "public interface " ).append( name ).append( " {\n" );
+
+        for ( int level = 0; level < configuration.getNestingDepth(); level++ ) {
+            source.append( "    Target" ).append( level ).append( " toTarget" ).append( level ).append( "(Source" )
+                .append( level ).append( " source);\n" );
+        }
+
+        source.append( "}\n" );
+
+        return new SourceFile( packageName + "." + name, source );
+    }
+
+    /**
+     * A source file held in memory.
+     */
+    private static class SourceFile extends SimpleJavaFileObject {
+
+        private final String content;
+
+        SourceFile(String qualifiedName, CharSequence content) {
+            super(
+                URI.create( "string:///" + qualifiedName.replace( '.', '/' ) + Kind.SOURCE.extension ),
+                Kind.SOURCE
+            );
+            this.content = content.toString();
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return content;
+        }
+    }
+}
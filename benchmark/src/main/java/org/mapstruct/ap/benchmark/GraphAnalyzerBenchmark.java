@@ -0,0 +1,243 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.mapstruct.ap.model.dependency.GraphAnalyzer;
+import org.mapstruct.ap.model.dependency.GraphAnalyzer.GraphAnalyzerBuilder;
+
+/**
+ * Compares the {@link GraphAnalyzer} used for ordering property mappings by their {@code dependsOn()} declarations
+ * with its previous implementation, {@link LegacyGraphAnalyzer}, for large synthetic graphs:
+ * <ul>
+ * <li>{@code chain}: each node depends on the next one</li>
+ * <li>{@code dense}: each node depends on a number of randomly chosen nodes with a higher number, i.e. the graph is
+ * acyclic</li>
+ * <li>{@code cyclic}: the dense graph with one additional dependency from the last node on the first one</li>
+ * </ul>
+ * Each measurement builds the graph, analyzes it and looks up the descendants of all the nodes, like
+ * {@code BeanMappingMethod} does when sorting the property mappings. Both implementations are verified to yield the
+ * same descendants and cycles.
+ * <p>
+ * Run it from the command line after building the project (see {@link ProcessorBenchmark} for the class path):
+ *
+ * <pre>
+ * java -cp benchmark/target/classes:$(cat benchmark/target/classpath.txt) \
+ *     org.mapstruct.ap.benchmark.GraphAnalyzerBenchmark --nodes=2000 --fan-out=10 --warmups=3 --iterations=5
+ * </pre>
+ */
+public class GraphAnalyzerBenchmark {
+
+    private final List<String> names;
+    private final List<List<String>> chain;
+    private final List<List<String>> dense;
+    private final List<List<String>> cyclic;
+
+    public GraphAnalyzerBenchmark(int nodes, int fanOut, long seed) {
+        Random random = new Random( seed );
+
+        names = new ArrayList<String>( nodes );
+        for ( int i = 0; i < nodes; i++ ) {
+            names.add( "property" + i );
+        }
+
+        chain = new ArrayList<List<String>>( nodes );
+        dense = new ArrayList<List<String>>( nodes );
+        for ( int i = 0; i < nodes; i++ ) {
+            chain.add(
+                i + 1 < nodes ? Collections.singletonList( names.get( i + 1 ) ) : Collections.<String>emptyList()
+            );
+
+            List<String> descendants = new ArrayList<String>( fanOut );
+            for ( int j = 0; j < fanOut && i + 1 < nodes; j++ ) {
+                descendants.add( names.get( i + 1 + random.nextInt( nodes - i - 1 ) ) );
+            }
+            dense.add( descendants );
+        }
+
+        cyclic = new ArrayList<List<String>>( dense );
+        List<String> lastDescendants = new ArrayList<String>( dense.get( nodes - 1 ) );
+        lastDescendants.add( names.get( 0 ) );
+        cyclic.set( nodes - 1, lastDescendants );
+    }
+
+    /**
+     * Analyzes all the graphs with both implementations.
+     *
+     * @return the nanoseconds taken by the legacy and the current implementation for the {@code chain},
+     * {@code dense} and {@code cyclic} graph, in this order
+     */
+    public long[] run() {
+        List<List<List<String>>> graphs = new ArrayList<List<List<String>>>();
+        graphs.add( chain );
+        graphs.add( dense );
+        graphs.add( cyclic );
+
+        long[] nanos = new long[graphs.size() * 2];
+
+        for ( int i = 0; i < graphs.size(); i++ ) {
+            List<List<String>> graph = graphs.get( i );
+
+            long start = System.nanoTime();
+            LegacyGraphAnalyzer legacy = analyzeWithLegacy( graph );
+            nanos[i * 2] = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            GraphAnalyzer current = analyze( graph );
+            nanos[i * 2 + 1] = System.nanoTime() - start;
+
+            verify( legacy, current );
+        }
+
+        return nanos;
+    }
+
+    private LegacyGraphAnalyzer analyzeWithLegacy(List<List<String>> graph) {
+        LegacyGraphAnalyzer analyzer = new LegacyGraphAnalyzer();
+        for ( int i = 0; i < names.size(); i++ ) {
+            analyzer.withNode( names.get( i ), graph.get( i ) );
+        }
+        analyzer.analyze();
+
+        if ( analyzer.getCycles().isEmpty() ) {
+            for ( int i = 0; i + 1 < names.size(); i++ ) {
+                analyzer.getAllDescendants( names.get( i ) ).contains( names.get( i + 1 ) );
+            }
+        }
+
+        return analyzer;
+    }
+
+    private GraphAnalyzer analyze(List<List<String>> graph) {
+        GraphAnalyzerBuilder builder = GraphAnalyzer.builder();
+        for ( int i = 0; i < names.size(); i++ ) {
+            builder.withNode( names.get( i ), graph.get( i ) );
+        }
+        GraphAnalyzer analyzer = builder.build();
+
+        if ( analyzer.getCycles().isEmpty() ) {
+            for ( int i = 0; i + 1 < names.size(); i++ ) {
+                analyzer.getAllDescendants( names.get( i ) ).contains( names.get( i + 1 ) );
+            }
+        }
+
+        return analyzer;
+    }
+
+    private void verify(LegacyGraphAnalyzer legacy, GraphAnalyzer current) {
+        if ( !legacy.getCycles().equals( current.getCycles() ) ) {
+            throw new IllegalStateException(
+                "Different cycles: " + legacy.getCycles() + " vs. " + current.getCycles()
+            );
+        }
+
+        // the descendants of the legacy implementation are only complete for acyclic graphs
+        if ( legacy.getCycles().isEmpty() ) {
+            for ( String name : names ) {
+                if ( !legacy.getAllDescendants( name ).equals( current.getAllDescendants( name ) ) ) {
+                    throw new IllegalStateException( "Different descendants of " + name );
+                }
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int nodes = 2000;
+        int fanOut = 10;
+        long seed = 42;
+        int warmups = 3;
+        int iterations = 5;
+
+        for ( String arg : args ) {
+            if ( !arg.startsWith( "--" ) || !arg.contains( "=" ) ) {
+                throw new IllegalArgumentException( "Unknown argument: " + arg );
+            }
+
+            String name = arg.substring( 2, arg.indexOf( '=' ) );
+            String value = arg.substring( arg.indexOf( '=' ) + 1 );
+
+            if ( name.equals( "nodes" ) ) {
+                nodes = Integer.parseInt( value );
+            }
+            else if ( name.equals( "fan-out" ) ) {
+                fanOut = Integer.parseInt( value );
+            }
+            else if ( name.equals( "seed" ) ) {
+                seed = Long.parseLong( value );
+            }
+            else if ( name.equals( "warmups" ) ) {
+                warmups = Integer.parseInt( value );
+            }
+            else if ( name.equals( "iterations" ) ) {
+                iterations = Integer.parseInt( value );
+            }
+            else {
+                throw new IllegalArgumentException( "Unknown argument: " + arg );
+            }
+        }
+
+        GraphAnalyzerBenchmark benchmark = new GraphAnalyzerBenchmark( nodes, fanOut, seed );
+
+        PrintStream out = System.out;
+        out.println( "GraphAnalyzer benchmark: nodes=" + nodes + ", fanOut=" + fanOut + ", seed=" + seed );
+
+        for ( int i = 0; i < warmups; i++ ) {
+            print( out, "warmup " + ( i + 1 ), benchmark.run() );
+        }
+
+        long[] total = new long[6];
+        for ( int i = 0; i < iterations; i++ ) {
+            long[] nanos = benchmark.run();
+            print( out, "iteration " + ( i + 1 ), nanos );
+
+            for ( int j = 0; j < nanos.length; j++ ) {
+                total[j] += nanos[j];
+            }
+        }
+
+        if ( iterations > 0 ) {
+            for ( int j = 0; j < total.length; j++ ) {
+                total[j] /= iterations;
+            }
+            print( out, "average", total );
+        }
+    }
+
+    private static void print(PrintStream out, String label, long[] nanos) {
+        String[] graphs = { "chain", "dense", "cyclic" };
+        StringBuilder line = new StringBuilder( label ).append( ':' );
+
+        for ( int i = 0; i < graphs.length; i++ ) {
+            line.append( i > 0 ? "," : "" ).append( ' ' ).append( graphs[i] )
+                .append( " legacy " ).append( toMillis( nanos[i * 2] ) ).append( " ms" )
+                .append( " / current " ).append( toMillis( nanos[i * 2 + 1] ) ).append( " ms" );
+        }
+
+        out.println( line );
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format( "%.2f", nanos / 1000000.0 );
+    }
+}
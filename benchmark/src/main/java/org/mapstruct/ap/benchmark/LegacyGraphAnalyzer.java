@@ -0,0 +1,130 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Stack;
+
+/**
+ * The previous implementation of {@link org.mapstruct.ap.model.dependency.GraphAnalyzer}, which stores the
+ * descendants of each node as set of names and detects cycles by a recursive depth-first search. Kept as baseline for
+ * the {@link GraphAnalyzerBenchmark}.
+ */
+class LegacyGraphAnalyzer {
+
+    private final Map<String, Node> nodes = new HashMap<String, Node>();
+    private final Set<List<String>> cycles = new HashSet<List<String>>();
+    private final Stack<Node> currentPath = new Stack<Node>();
+
+    void withNode(String name, List<String> descendants) {
+        Node node = getNode( name );
+
+        for ( String descendant : descendants ) {
+            Node descendantNode = getNode( descendant );
+            node.descendants.add( descendantNode );
+            node.allDescendants.add( descendantNode.name );
+        }
+    }
+
+    void analyze() {
+        for ( Node node : nodes.values() ) {
+            depthFirstSearch( node );
+        }
+    }
+
+    Set<String> getAllDescendants(String name) {
+        Node node = nodes.get( name );
+        return node != null ? node.allDescendants : Collections.<String>emptySet();
+    }
+
+    Set<List<String>> getCycles() {
+        return cycles;
+    }
+
+    private void depthFirstSearch(Node node) {
+        if ( node.processed ) {
+            return;
+        }
+
+        currentPath.push( node );
+
+        if ( node.visited ) {
+            cycles.add( getCurrentCycle( node ) );
+            currentPath.pop();
+            return;
+        }
+
+        node.visited = true;
+
+        for ( Node descendant : node.descendants ) {
+            depthFirstSearch( descendant );
+            node.allDescendants.addAll( descendant.allDescendants );
+        }
+
+        node.processed = true;
+        currentPath.pop();
+    }
+
+    private List<String> getCurrentCycle(Node start) {
+        List<String> cycle = new ArrayList<String>();
+        boolean inCycle = false;
+
+        for ( Node n : currentPath ) {
+            if ( !inCycle && n == start ) {
+                inCycle = true;
+            }
+
+            if ( inCycle ) {
+                cycle.add( n.name );
+            }
+        }
+
+        return cycle;
+    }
+
+    private Node getNode(String name) {
+        Node node = nodes.get( name );
+
+        if ( node == null ) {
+            node = new Node( name );
+            nodes.put( name, node );
+        }
+
+        return node;
+    }
+
+    private static class Node {
+
+        private final String name;
+        private final List<Node> descendants = new ArrayList<Node>();
+        private final Set<String> allDescendants = new HashSet<String>();
+        private boolean visited;
+        private boolean processed;
+
+        Node(String name) {
+            this.name = name;
+        }
+    }
+}
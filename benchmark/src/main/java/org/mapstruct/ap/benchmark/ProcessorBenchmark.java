@@ -0,0 +1,431 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.mapstruct.ap.MappingProcessor;
+
+/**
+ * Measures the compile-time performance of the {@link MappingProcessor} for synthetic corpora of mappers as created
+ * by the {@link CorpusGenerator}. The processor is invoked in-process via {@link JavaCompiler}, by default with
+ * {@code -proc:only}, so the measurements are not distorted by compiling the generated sources.
+ * <p>
+ * For each compilation the wall time, the bytes allocated by the compiling thread, the peak heap usage and the time
+ * spent in each phase (i.e. model element processor) as reported by the {@code mapstruct.profile} option are
+ * measured.
+ * <p>
+ * Run it from the command line after building the project:
+ *
+ * <pre>
+ * mvn -pl benchmark dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+ * java -cp benchmark/target/classes:$(cat benchmark/target/classpath.txt) \
+ *     org.mapstruct.ap.benchmark.ProcessorBenchmark --mappers=500 --properties=10 --depth=2 --uses=3 \
+ *     --two-step-density=0.2 --warmups=3 --iterations=5
+ * </pre>
+ *
+ * Any further {@code -A} arguments are passed as options to the processor, e.g.
+ * {@code -Amapstruct.disableCodeEmitter=true}; {@code --full-compile} compiles the generated sources, too.
+ */
+public class ProcessorBenchmark {
+
+    private static final Pattern PHASE_NANOS = Pattern.compile( "\"phaseNanos\": \\{([^}]*)\\}" );
+    private static final Pattern PHASE = Pattern.compile( "\"(\\w+)\": (\\d+)" );
+
+    private final CorpusConfiguration configuration;
+    private final List<String> processorOptions;
+    private final boolean fullCompile;
+    private final List<JavaFileObject> sources;
+
+    /**
+     * @param configuration the shape of the corpus to compile
+     * @param processorOptions additional options passed to the processor, each in the form {@code -Akey=value}
+     * @param fullCompile whether to compile the generated sources or to only run the annotation processor
+     */
+    public ProcessorBenchmark(CorpusConfiguration configuration, List<String> processorOptions,
+                              boolean fullCompile) {
+        this.configuration = configuration;
+        this.processorOptions = processorOptions;
+        this.fullCompile = fullCompile;
+        this.sources = new CorpusGenerator().generate( configuration );
+    }
+
+    public CorpusConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    /**
+     * Compiles the corpus once.
+     *
+     * @return the measurements of the compilation
+     *
+     * @throws IOException in case of an error when creating the output directories or reading the profiling report
+     * @throws IllegalStateException in case the compilation fails
+     */
+    public BenchmarkResult run() throws IOException {
+        File outputDirectory = createTempDirectory();
+
+        try {
+            File classOutput = new File( outputDirectory, "classes" );
+            File sourceOutput = new File( outputDirectory, "generated-sources" );
+            classOutput.mkdirs();
+            sourceOutput.mkdirs();
+
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+            StandardJavaFileManager fileManager = compiler.getStandardFileManager( null, null, null );
+
+            List<String> options = new ArrayList<String>();
+            options.addAll(
+                Arrays.asList(
+                    "-d", classOutput.getPath(),
+                    "-s", sourceOutput.getPath(),
+                    "-classpath", getMapStructApiLocation(),
+                    "-Amapstruct.profile=true"
+                )
+            );
+            if ( !fullCompile ) {
+                options.add( "-proc:only" );
+            }
+            options.addAll( processorOptions );
+
+            CompilationTask task = compiler.getTask( null, fileManager, diagnostics, options, null, sources );
+            task.setProcessors( Collections.singletonList( new MappingProcessor() ) );
+
+            System.gc();
+            resetPeakHeapUsage();
+            long allocatedBefore = getAllocatedBytes();
+            long start = System.nanoTime();
+
+            boolean successful = task.call();
+
+            long wallNanos = System.nanoTime() - start;
+            long allocatedAfter = getAllocatedBytes();
+            long peakHeap = getPeakHeapUsage();
+
+            fileManager.close();
+
+            if ( !successful ) {
+                throw new IllegalStateException( "Compilation of corpus failed: " + getErrors( diagnostics ) );
+            }
+
+            return new BenchmarkResult(
+                wallNanos,
+                allocatedBefore >= 0 ? allocatedAfter - allocatedBefore : -1,
+                peakHeap,
+                readPhaseNanos( new File( sourceOutput, "mapstruct-profile.json" ) )
+            );
+        }
+        finally {
+            delete( outputDirectory );
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int mappers = 100;
+        int properties = 10;
+        int depth = 2;
+        int uses = 3;
+        double twoStepDensity = 0.2;
+        int warmups = 3;
+        int iterations = 5;
+        boolean fullCompile = false;
+        List<String> processorOptions = new ArrayList<String>();
+
+        for ( String arg : args ) {
+            if ( arg.startsWith( "-A" ) ) {
+                processorOptions.add( arg );
+            }
+            else if ( arg.equals( "--full-compile" ) ) {
+                fullCompile = true;
+            }
+            else if ( arg.startsWith( "--" ) && arg.contains( "=" ) ) {
+                String name = arg.substring( 2, arg.indexOf( '=' ) );
+                String value = arg.substring( arg.indexOf( '=' ) + 1 );
+
+                if ( name.equals( "mappers" ) ) {
+                    mappers = Integer.parseInt( value );
+                }
+                else if ( name.equals( "properties" ) ) {
+                    properties = Integer.parseInt( value );
+                }
+                else if ( name.equals( "depth" ) ) {
+                    depth = Integer.parseInt( value );
+                }
+                else if ( name.equals( "uses" ) ) {
+                    uses = Integer.parseInt( value );
+                }
+                else if ( name.equals( "two-step-density" ) ) {
+                    twoStepDensity = Double.parseDouble( value );
+                }
+                else if ( name.equals( "warmups" ) ) {
+                    warmups = Integer.parseInt( value );
+                }
+                else if ( name.equals( "iterations" ) ) {
+                    iterations = Integer.parseInt( value );
+                }
+                else {
+                    throw new IllegalArgumentException( "Unknown argument: " + arg );
+                }
+            }
+            else {
+                throw new IllegalArgumentException( "Unknown argument: " + arg );
+            }
+        }
+
+        ProcessorBenchmark benchmark = new ProcessorBenchmark(
+            new CorpusConfiguration( mappers, properties, depth, uses, twoStepDensity ),
+            processorOptions,
+            fullCompile
+        );
+
+        PrintStream out = System.out;
+        out.println( "MapStruct processor benchmark: " + benchmark.getConfiguration() + " " + processorOptions );
+
+        for ( int i = 0; i < warmups; i++ ) {
+            print( out, "warmup " + ( i + 1 ), benchmark.run() );
+        }
+
+        List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+        for ( int i = 0; i < iterations; i++ ) {
+            BenchmarkResult result = benchmark.run();
+            results.add( result );
+            print( out, "iteration " + ( i + 1 ), result );
+        }
+
+        if ( !results.isEmpty() ) {
+            print( out, "median", getMedian( results ) );
+        }
+    }
+
+    private static void print(PrintStream out, String label, BenchmarkResult result) {
+        StringBuilder line = new StringBuilder();
+        line.append( label ).append( ": wall " ).append( toMillis( result.getWallNanos() ) ).append( " ms" );
+
+        if ( result.getAllocatedBytes() >= 0 ) {
+            line.append( ", allocated " ).append( toMegabytes( result.getAllocatedBytes() ) ).append( " MB" );
+        }
+
+        line.append( ", peak heap " ).append( toMegabytes( result.getPeakHeapBytes() ) ).append( " MB" );
+
+        for ( Entry<String, Long> phase : result.getPhaseNanos().entrySet() ) {
+            line.append( ", " ).append( phase.getKey() ).append( ' ' ).append( toMillis( phase.getValue() ) )
+                .append( " ms" );
+        }
+
+        out.println( line );
+    }
+
+    /**
+     * Returns the result with the median wall time.
+     */
+    private static BenchmarkResult getMedian(List<BenchmarkResult> results) {
+        List<BenchmarkResult> sorted = new ArrayList<BenchmarkResult>( results );
+        Collections.sort(
+            sorted, new Comparator<BenchmarkResult>() {
+                @Override
+                public int compare(BenchmarkResult o1, BenchmarkResult o2) {
+                    return o1.getWallNanos() < o2.getWallNanos() ? -1 :
+                        o1.getWallNanos() == o2.getWallNanos() ? 0 : 1;
+                }
+            }
+        );
+
+        return sorted.get( sorted.size() / 2 );
+    }
+
+    private static Map<String, Long> readPhaseNanos(File report) throws IOException {
+        Map<String, Long> phaseNanos = new LinkedHashMap<String, Long>();
+
+        Matcher phases = PHASE_NANOS.matcher( read( report ) );
+        while ( phases.find() ) {
+            Matcher phase = PHASE.matcher( phases.group( 1 ) );
+            while ( phase.find() ) {
+                Long previous = phaseNanos.get( phase.group( 1 ) );
+                long nanos = Long.parseLong( phase.group( 2 ) );
+                phaseNanos.put( phase.group( 1 ), previous != null ? previous + nanos : nanos );
+            }
+        }
+
+        return phaseNanos;
+    }
+
+    /**
+     * Returns the location of the MapStruct API (the JAR or class directory containing {@code org.mapstruct.Mapper}),
+     * which is put on the class path of the compiled corpus.
+     */
+    static String getMapStructApiLocation() {
+        URL url = ProcessorBenchmark.class.getClassLoader().getResource( "org/mapstruct/Mapper.class" );
+        if ( url == null ) {
+            throw new IllegalStateException( "The MapStruct API must be on the class path of the benchmark." );
+        }
+
+        String location = url.toString();
+        if ( location.startsWith( "jar:" ) ) {
+            location = location.substring( "jar:".length(), location.indexOf( "!/" ) );
+        }
+        else {
+            location = location.substring( 0, location.length() - "org/mapstruct/Mapper.class".length() );
+        }
+
+        try {
+            return new File( new URL( location ).toURI() ).getPath();
+        }
+        catch ( URISyntaxException e ) {
+            throw new IllegalStateException( e );
+        }
+        catch ( IOException e ) {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread so far, using the HotSpot-specific extension of
+     * {@link ThreadMXBean} if present.
+     */
+    static long getAllocatedBytes() {
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+
+        try {
+            Method getThreadAllocatedBytes = Class.forName( "com.sun.management.ThreadMXBean" )
+                .getMethod( "getThreadAllocatedBytes", long.class );
+
+            return (Long) getThreadAllocatedBytes.invoke( threadBean, Thread.currentThread().getId() );
+        }
+        catch ( ClassNotFoundException e ) {
+            return -1;
+        }
+        catch ( NoSuchMethodException e ) {
+            return -1;
+        }
+        catch ( IllegalAccessException e ) {
+            return -1;
+        }
+        catch ( IllegalArgumentException e ) {
+            return -1;
+        }
+        catch ( InvocationTargetException e ) {
+            return -1;
+        }
+    }
+
+    private static void resetPeakHeapUsage() {
+        for ( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+            if ( pool.getType() == MemoryType.HEAP ) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long getPeakHeapUsage() {
+        long peak = 0;
+
+        for ( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+            if ( pool.getType() == MemoryType.HEAP ) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        return peak;
+    }
+
+    static String getErrors(DiagnosticCollector<JavaFileObject> diagnostics) {
+        StringBuilder errors = new StringBuilder();
+
+        for ( Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics() ) {
+            if ( diagnostic.getKind() == Diagnostic.Kind.ERROR ) {
+                errors.append( '\n' ).append( diagnostic );
+            }
+        }
+
+        return errors.toString();
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1000000;
+    }
+
+    private static long toMegabytes(long bytes) {
+        return bytes / ( 1024 * 1024 );
+    }
+
+    private static String read(File file) throws IOException {
+        Reader reader = new InputStreamReader( new FileInputStream( file ), "UTF-8" );
+        try {
+            StringBuilder content = new StringBuilder();
+            char[] buffer = new char[4096];
+            int read;
+            while ( ( read = reader.read( buffer ) ) != -1 ) {
+                content.append( buffer, 0, read );
+            }
+            return content.toString();
+        }
+        finally {
+            reader.close();
+        }
+    }
+
+    private static File createTempDirectory() throws IOException {
+        File directory = File.createTempFile( "mapstruct-benchmark", "" );
+        if ( !directory.delete() || !directory.mkdir() ) {
+            throw new IOException( "Could not create temporary directory " + directory );
+        }
+        return directory;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if ( children != null ) {
+            for ( File child : children ) {
+                delete( child );
+            }
+        }
+        file.delete();
+    }
+}
@@ -0,0 +1,283 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.mapstruct.ap.model.Mapper;
+import org.mapstruct.ap.model.source.SourceMethod;
+import org.mapstruct.ap.option.Options;
+import org.mapstruct.ap.processor.DefaultModelElementProcessorContext;
+import org.mapstruct.ap.processor.MapperCreationProcessor;
+import org.mapstruct.ap.processor.MethodRetrievalProcessor;
+import org.mapstruct.ap.processor.ModelElementProcessor.ProcessorContext;
+import org.mapstruct.ap.processor.RoundContext;
+import org.mapstruct.ap.profile.MapperProfile;
+import org.mapstruct.ap.writer.ModelWriter;
+
+/**
+ * Measures the time needed for writing the model of a large synthetic mapper, once processing the templates of all
+ * elements and once with the code emitter enabled.
+ * <p>
+ * The mapper is the single one of a corpus created by the {@link CorpusGenerator}. Its model is built once via the
+ * {@link MethodRetrievalProcessor} and the {@link MapperCreationProcessor} within a compilation with
+ * {@code -proc:only}, and then written the given number of times by a new {@link ModelWriter} each, into a writer
+ * discarding the output. Both ways of writing are verified to yield the same source.
+ * <p>
+ * Run it from the command line after building the project (see {@link ProcessorBenchmark} for the class path):
+ *
+ * <pre>
+ * java -cp benchmark/target/classes:$(cat benchmark/target/classpath.txt) \
+ *     org.mapstruct.ap.benchmark.RenderingBenchmark --properties=200 --depth=5 --renders=50 --warmups=3 --iterations=5
+ * </pre>
+ */
+public class RenderingBenchmark {
+
+    private final List<JavaFileObject> sources;
+    private final int renders;
+
+    /**
+     * @param configuration the shape of the corpus; only its first mapper is written
+     * @param renders the number of times the mapper is written per measurement
+     */
+    public RenderingBenchmark(CorpusConfiguration configuration, int renders) {
+        this.sources = new CorpusGenerator().generate( configuration );
+        this.renders = renders;
+    }
+
+    /**
+     * Builds the model of the mapper and writes it with templates only and with the code emitter.
+     *
+     * @return the nanoseconds taken for writing the model with templates only and with the code emitter, in this
+     * order
+     *
+     * @throws IOException in case of an error when closing the file manager
+     * @throws IllegalStateException in case the compilation fails or both ways of writing yield different sources
+     */
+    public long[] run() throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager( null, null, null );
+
+        List<String> options = Arrays.asList(
+            "-classpath", ProcessorBenchmark.getMapStructApiLocation(),
+            "-proc:only"
+        );
+
+        ModelRenderingProcessor processor = new ModelRenderingProcessor( renders );
+        CompilationTask task = compiler.getTask( null, fileManager, diagnostics, options, null, sources );
+        task.setProcessors( Collections.singletonList( processor ) );
+
+        boolean successful = task.call();
+        fileManager.close();
+
+        if ( !successful ) {
+            throw new IllegalStateException(
+                "Compilation of corpus failed: " + ProcessorBenchmark.getErrors( diagnostics )
+            );
+        }
+        if ( processor.nanos == null ) {
+            throw new IllegalStateException( "The corpus doesn't contain any mapper." );
+        }
+
+        return processor.nanos;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int properties = 200;
+        int depth = 5;
+        double twoStepDensity = 0.2;
+        int renders = 50;
+        int warmups = 3;
+        int iterations = 5;
+
+        for ( String arg : args ) {
+            if ( !arg.startsWith( "--" ) || !arg.contains( "=" ) ) {
+                throw new IllegalArgumentException( "Unknown argument: " + arg );
+            }
+
+            String name = arg.substring( 2, arg.indexOf( '=' ) );
+            String value = arg.substring( arg.indexOf( '=' ) + 1 );
+
+            if ( name.equals( "properties" ) ) {
+                properties = Integer.parseInt( value );
+            }
+            else if ( name.equals( "depth" ) ) {
+                depth = Integer.parseInt( value );
+            }
+            else if ( name.equals( "two-step-density" ) ) {
+                twoStepDensity = Double.parseDouble( value );
+            }
+            else if ( name.equals( "renders" ) ) {
+                renders = Integer.parseInt( value );
+            }
+            else if ( name.equals( "warmups" ) ) {
+                warmups = Integer.parseInt( value );
+            }
+            else if ( name.equals( "iterations" ) ) {
+                iterations = Integer.parseInt( value );
+            }
+            else {
+                throw new IllegalArgumentException( "Unknown argument: " + arg );
+            }
+        }
+
+        CorpusConfiguration configuration = new CorpusConfiguration( 1, properties, depth, 1, twoStepDensity );
+        RenderingBenchmark benchmark = new RenderingBenchmark( configuration, renders );
+
+        PrintStream out = System.out;
+        out.println( "Rendering benchmark: " + configuration + ", renders=" + renders );
+
+        for ( int i = 0; i < warmups; i++ ) {
+            print( out, "warmup " + ( i + 1 ), benchmark.run() );
+        }
+
+        long[] total = new long[2];
+        for ( int i = 0; i < iterations; i++ ) {
+            long[] nanos = benchmark.run();
+            print( out, "iteration " + ( i + 1 ), nanos );
+
+            for ( int j = 0; j < nanos.length; j++ ) {
+                total[j] += nanos[j];
+            }
+        }
+
+        if ( iterations > 0 ) {
+            for ( int j = 0; j < total.length; j++ ) {
+                total[j] /= iterations;
+            }
+            print( out, "average", total );
+        }
+    }
+
+    private static void print(PrintStream out, String label, long[] nanos) {
+        out.println(
+            label + ": templates " + toMillis( nanos[0] ) + " ms / code emitter " + toMillis( nanos[1] ) + " ms"
+        );
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format( "%.2f", nanos / 1000000.0 );
+    }
+
+    /**
+     * Builds the model of the first mapper of the first round and writes it repeatedly; the model must be written
+     * while the compilation is still running, as it refers to the elements and types of the compiler.
+     */
+    @SupportedAnnotationTypes("org.mapstruct.Mapper")
+    private static class ModelRenderingProcessor extends AbstractProcessor {
+
+        private final int renders;
+        private long[] nanos;
+
+        ModelRenderingProcessor(int renders) {
+            this.renders = renders;
+        }
+
+        @Override
+        public SourceVersion getSupportedSourceVersion() {
+            return SourceVersion.latestSupported();
+        }
+
+        @Override
+        public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+            if ( annotations.isEmpty() || nanos != null ) {
+                return false;
+            }
+
+            for ( Element element : roundEnvironment.getElementsAnnotatedWith( annotations.iterator().next() ) ) {
+                Mapper mapper = buildModel( (TypeElement) element );
+
+                verify( mapper );
+                nanos = new long[] { write( mapper, false ), write( mapper, true ) };
+
+                return false;
+            }
+
+            return false;
+        }
+
+        private Mapper buildModel(TypeElement mapperElement) {
+            Options options = new Options( true, true, null, null, false, false, false, false );
+            ProcessorContext context = new DefaultModelElementProcessorContext(
+                new RoundContext( processingEnv, options, null ),
+                new MapperProfile( mapperElement.getQualifiedName().toString() )
+            );
+
+            List<SourceMethod> methods = new MethodRetrievalProcessor().process( context, mapperElement, null );
+            return new MapperCreationProcessor().process( context, mapperElement, methods );
+        }
+
+        private void verify(Mapper mapper) {
+            StringWriter templatesOnly = new StringWriter();
+            new ModelWriter( false ).writeModel( templatesOnly, mapper );
+
+            StringWriter emitted = new StringWriter();
+            new ModelWriter( true ).writeModel( emitted, mapper );
+
+            if ( !templatesOnly.toString().equals( emitted.toString() ) ) {
+                throw new IllegalStateException( "The code emitter yields a different source than the templates." );
+            }
+        }
+
+        private long write(Mapper mapper, boolean codeEmitterEnabled) {
+            long start = System.nanoTime();
+
+            for ( int i = 0; i < renders; i++ ) {
+                new ModelWriter( codeEmitterEnabled ).writeModel( new DiscardingWriter(), mapper );
+            }
+
+            return System.nanoTime() - start;
+        }
+    }
+
+    private static class DiscardingWriter extends Writer {
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Runs the clone benchmark with a small number of copies, making sure all the variants yield the expected copies and
+ * the generated deep copy is cheaper than copying via serialization.
+ */
+public class CloneBenchmarkTest {
+
+    @Test
+    public void shouldCopyOrders() {
+        CloneBenchmark benchmark = new CloneBenchmark( 1000 );
+
+        long[][] result = null;
+        for ( int i = 0; i < 3; i++ ) {
+            result = benchmark.run();
+        }
+
+        assertThat( result[0] ).hasSize( CloneBenchmark.VARIANTS.length );
+        assertThat( result[1] ).hasSize( CloneBenchmark.VARIANTS.length );
+
+        if ( result[1][0] >= 0 ) {
+            assertThat( result[1][1] ).isLessThan( result[1][3] );
+        }
+    }
+}
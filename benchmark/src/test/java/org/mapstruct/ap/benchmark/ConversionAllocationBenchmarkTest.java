@@ -0,0 +1,50 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Runs the conversion allocation benchmark with a small number of values, making sure all the variants yield the same
+ * strings, appending to a builder doesn't allocate more than going through an intermediary string, and neither the
+ * cached strings of small numbers nor reusing the builders allocate more than creating them.
+ */
+public class ConversionAllocationBenchmarkTest {
+
+    @Test
+    public void shouldConvertValues() {
+        ConversionAllocationBenchmark benchmark = new ConversionAllocationBenchmark( 10000 );
+
+        long[] bytes = null;
+        for ( int i = 0; i < 3; i++ ) {
+            bytes = benchmark.run();
+        }
+
+        assertThat( bytes ).hasSize( ConversionAllocationBenchmark.VARIANTS.length );
+
+        if ( bytes[0] >= 0 ) {
+            assertThat( bytes[2] ).isLessThan( bytes[1] );
+            assertThat( bytes[4] ).isLessThanOrEqualTo( bytes[3] );
+            assertThat( bytes[5] ).isLessThan( bytes[0] );
+            assertThat( bytes[6] ).isLessThan( bytes[2] );
+        }
+    }
+}
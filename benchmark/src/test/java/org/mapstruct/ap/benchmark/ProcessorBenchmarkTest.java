@@ -0,0 +1,62 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.benchmark;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import org.junit.Test;
+
+/**
+ * Runs the benchmark with a small corpus, making sure the generated corpora can be processed.
+ */
+public class ProcessorBenchmarkTest {
+
+    @Test
+    public void shouldProcessCorpus() throws IOException {
+        ProcessorBenchmark benchmark = new ProcessorBenchmark(
+            new CorpusConfiguration( 3, 4, 2, 2, 0.5 ),
+            Collections.<String>emptyList(),
+            false
+        );
+
+        BenchmarkResult result = benchmark.run();
+
+        assertThat( result.getWallNanos() ).isGreaterThan( 0 );
+        assertThat( result.getPeakHeapBytes() ).isGreaterThan( 0 );
+        assertThat( result.getPhaseNanos().keySet() ).contains(
+            "MethodRetrievalProcessor",
+            "MapperCreationProcessor",
+            "MapperRenderingProcessor"
+        );
+    }
+
+    @Test
+    public void shouldCompileGeneratedSources() throws IOException {
+        ProcessorBenchmark benchmark = new ProcessorBenchmark(
+            new CorpusConfiguration( 2, 3, 3, 1, 0.4 ),
+            Collections.singletonList( "-Amapstruct.disableCodeEmitter=true" ),
+            true
+        );
+
+        assertThat( benchmark.run().getPhaseNanos().keySet() ).contains( "MapperRenderingProcessor" );
+    }
+}
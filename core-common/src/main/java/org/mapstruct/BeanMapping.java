@@ -27,7 +27,8 @@
 /**
  * Configures the mapping between two bean types.
  * <p>
- * Either {@link #resultType()} , {@link #qualifiedBy()} or {@link #nullValueMappingStrategy()} must be specified.
+ * Either {@link #resultType()} , {@link #qualifiedBy()}, {@link #nullValueMappingStrategy()} or
+ * {@link #cloneStrategy()} must be specified.
  * </p>
  *
  * @author Sjaak Derksen
@@ -62,4 +63,13 @@
      * @return The strategy to be applied when {@code null} is passed as source value to the methods of this mapping.
      */
     NullValueMappingStrategy nullValueMappingStrategy() default NullValueMappingStrategy.DEFAULT;
+
+    /**
+     * The strategy for implementing this mapping in case source and target type are the same. If no strategy is
+     * configured, the strategy given via {@link MapperConfig#cloneStrategy()} or {@link Mapper#cloneStrategy()} will
+     * be applied, using {@link CloneStrategy#NONE} by default.
+     *
+     * @return The strategy for implementing this mapping if it copies an object of the given type.
+     */
+    CloneStrategy cloneStrategy() default CloneStrategy.DEFAULT;
 }
@@ -0,0 +1,59 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct;
+
+/**
+ * Strategy for implementing bean mapping methods whose source and target type are the same, i.e. methods creating a
+ * copy of the given object.
+ */
+public enum CloneStrategy {
+
+    /**
+     * Same-type mappings are implemented like any other bean mapping method, selecting a mapping method or conversion
+     * for each property. That's the default behavior if no alternative strategy is configured globally, for a given
+     * mapper or method.
+     */
+    NONE,
+
+    /**
+     * The values of all properties not configured via {@link Mapping} are passed from the source to the target as
+     * they are, akin to {@link Object#clone()}. Collections, maps and arrays are shared between source and target.
+     */
+    SHALLOW,
+
+    /**
+     * The values of properties of immutable types such as {@link String}, the primitive and wrapper types, enum types
+     * and the types of the {@code java.time} package are passed from the source to the target as they are. Collections,
+     * maps and arrays of such values are copied. For all other properties, a mapping method is selected as for
+     * {@link #NONE}, e.g. a copy method declared for the property type; collections of such values are copied by
+     * mapping each of their elements.
+     */
+    DEEP,
+
+    /**
+     * When given via {@link Mapper#cloneStrategy()}, causes the setting specified via
+     * {@link MapperConfig#cloneStrategy()} to be applied, if present.
+     * <p>
+     * When given via {@link BeanMapping#cloneStrategy()}, causes the setting specified via
+     * {@link Mapper#cloneStrategy()} to be applied, if present.
+     * <p>
+     * Otherwise causes {@link #NONE} to be applied.
+     */
+    DEFAULT;
+}
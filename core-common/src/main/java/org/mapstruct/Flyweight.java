@@ -0,0 +1,79 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a type as flyweight view on a {@link java.nio.ByteBuffer}, whose properties are stored at fixed offsets of
+ * that buffer as declared via {@link FlyweightField}.
+ * <p>
+ * When mapping from or to a flyweight type, generated mapping methods read and write the properties annotated with
+ * {@link FlyweightField} directly from and to the buffer, using the absolute {@code get} and {@code put} methods of
+ * {@link java.nio.ByteBuffer}, instead of invoking the property accessors. Properties not annotated with
+ * {@link FlyweightField} are mapped via their accessors as usual.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * &#64;Flyweight
+ * public class QuoteView {
+ *
+ *     private ByteBuffer buffer;
+ *
+ *     public ByteBuffer buffer() {
+ *         return buffer;
+ *     }
+ *
+ *     &#64;FlyweightField(offset = 0)
+ *     public long getPrice() {
+ *         return buffer.getLong( 0 );
+ *     }
+ *
+ *     public void setPrice(long price) {
+ *         buffer.putLong( 0, price );
+ *     }
+ *
+ *     &#64;FlyweightField(offset = 8, width = 2)
+ *     public int getSize() {
+ *         return buffer.getShort( 8 );
+ *     }
+ *
+ *     public void setSize(int size) {
+ *         buffer.putShort( 8, (short) size );
+ *     }
+ * }
+ * </pre>
+ *
+ * A mapping method from {@code QuoteView} will read the price via {@code view.buffer().getLong( 0 )}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.CLASS)
+public @interface Flyweight {
+
+    /**
+     * The name of the method without parameters returning the {@link java.nio.ByteBuffer} the flyweight is backed by.
+     *
+     * @return the name of the buffer accessor
+     */
+    String buffer() default "buffer";
+}
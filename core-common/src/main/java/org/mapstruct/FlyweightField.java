@@ -0,0 +1,51 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the position of a property of a {@link Flyweight} type within the buffer backing the flyweight. To be
+ * given on the getter of the property; it applies to reading the property as well as to writing it.
+ * <p>
+ * Supported property types are the primitive types. Integral types may be stored with a width of 1, 2, 4 or 8 bytes,
+ * {@code float} and {@code double} with a width of 4 or 8 bytes, {@code char} with a width of 2 bytes and
+ * {@code boolean} with a width of 1 byte (any value other than 0 is read as {@code true}).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.CLASS)
+public @interface FlyweightField {
+
+    /**
+     * The absolute offset of the property within the buffer.
+     *
+     * @return the offset of the property in bytes
+     */
+    int offset();
+
+    /**
+     * The number of bytes the property is stored with. Defaults to the size of the property type.
+     *
+     * @return the width of the property in bytes
+     */
+    int width() default 0;
+}
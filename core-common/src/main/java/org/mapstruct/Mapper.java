@@ -126,4 +126,52 @@
      * specified with {@link #config()}.
      */
     MappingInheritanceStrategy mappingInheritanceStrategy() default MappingInheritanceStrategy.DEFAULT;
+
+    /**
+     * The strategy to be applied when a string not matching the name of any constant is converted into an enum type.
+     * If no strategy is configured, the strategy given via {@link MapperConfig#unknownEnumStringStrategy()} will be
+     * applied, using {@link UnknownEnumStringStrategy#THROW_EXCEPTION} by default.
+     *
+     * @return The strategy to be applied when a string not matching any constant is converted into an enum type.
+     */
+    UnknownEnumStringStrategy unknownEnumStringStrategy() default UnknownEnumStringStrategy.DEFAULT;
+
+    /**
+     * The allocator providing the instances of the target types of bean mapping methods, e.g. drawing them from an
+     * object pool. If no allocator is configured, the allocator given via {@link MapperConfig#allocator()} will be
+     * used; if none is given there either, target instances are created via their default constructor.
+     *
+     * @return The allocator providing the instances of target types, a type implementing {@link TargetAllocator}.
+     */
+    Class<?> allocator() default void.class;
+
+    /**
+     * The strategy for implementing mapping methods whose source and target type are the same. If no strategy is
+     * configured, the strategy given via {@link MapperConfig#cloneStrategy()} will be applied, using
+     * {@link CloneStrategy#NONE} by default.
+     *
+     * @return The strategy for implementing mapping methods copying an object of the given type.
+     */
+    CloneStrategy cloneStrategy() default CloneStrategy.DEFAULT;
+
+    /**
+     * Types whose instances can't be altered after their construction, in addition to the types annotated with
+     * {@link Immutable}, the types of the Guava library's immutable collections, and the immutable types of the JDK
+     * such as {@link String}. Sub-types of the given types are considered immutable as well. The types given via
+     * {@link MapperConfig#immutableTypes()} are considered immutable, too.
+     *
+     * @return Types whose instances can't be altered after their construction
+     */
+    Class<?>[] immutableTypes() default { };
+
+    /**
+     * Whether the values of source properties of immutable types (see {@link #immutableTypes()}) are to be passed to
+     * the target as they are, instead of copying them. E.g. a property of the type {@code ImmutableList} is assigned
+     * to a target property of type {@code List} directly rather than wrapping it in a new {@code ArrayList}. If not
+     * given, the setting from {@link MapperConfig#shareImmutableValues()} will be applied, if present; otherwise
+     * such values are copied.
+     *
+     * @return Whether the values of immutable types are to be passed on without copying them
+     */
+    boolean shareImmutableValues() default false;
 }
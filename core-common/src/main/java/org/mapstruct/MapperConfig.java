@@ -113,4 +113,45 @@
      */
     MappingInheritanceStrategy mappingInheritanceStrategy()
         default MappingInheritanceStrategy.EXPLICIT;
+
+    /**
+     * The strategy to be applied when a string not matching the name of any constant is converted into an enum type.
+     * If no strategy is configured, {@link UnknownEnumStringStrategy#THROW_EXCEPTION} will be used by default.
+     *
+     * @return The strategy to be applied when a string not matching any constant is converted into an enum type.
+     */
+    UnknownEnumStringStrategy unknownEnumStringStrategy() default UnknownEnumStringStrategy.THROW_EXCEPTION;
+
+    /**
+     * The allocator providing the instances of the target types of bean mapping methods, e.g. drawing them from an
+     * object pool. By default, target instances are created via their default constructor.
+     *
+     * @return The allocator providing the instances of target types, a type implementing {@link TargetAllocator}.
+     */
+    Class<?> allocator() default void.class;
+
+    /**
+     * The strategy for implementing mapping methods whose source and target type are the same. If no strategy is
+     * configured, {@link CloneStrategy#NONE} will be used by default.
+     *
+     * @return The strategy for implementing mapping methods copying an object of the given type.
+     */
+    CloneStrategy cloneStrategy() default CloneStrategy.NONE;
+
+    /**
+     * Types whose instances can't be altered after their construction, in addition to the types annotated with
+     * {@link Immutable}, the types of the Guava library's immutable collections, and the immutable types of the JDK
+     * such as {@link String}. Sub-types of the given types are considered immutable as well.
+     *
+     * @return Types whose instances can't be altered after their construction
+     */
+    Class<?>[] immutableTypes() default { };
+
+    /**
+     * Whether the values of source properties of immutable types (see {@link #immutableTypes()}) are to be passed to
+     * the target as they are, instead of copying them. By default, such values are copied.
+     *
+     * @return Whether the values of immutable types are to be passed on without copying them
+     */
+    boolean shareImmutableValues() default false;
 }
@@ -0,0 +1,80 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct;
+
+/**
+ * Provides the instances of the target types of generated bean mapping methods, e.g. drawing them from an object pool
+ * instead of allocating a new instance for each invocation. Configured via {@link Mapper#allocator()} or
+ * {@link MapperConfig#allocator()}; implementations must have a public no-args constructor.
+ * <p>
+ * A bean mapping method of a mapper with an allocator obtains its result via {@link #acquire(Class)} unless a factory
+ * method is applicable, and populates it like a newly created instance. The generated code doesn't reset the acquired
+ * instance, as that would discard the defaults set by the constructor or field initializers of the target type; an
+ * instance returned by {@link #acquire(Class)} must therefore be in its initial state, e.g. by resetting instances when
+ * they are taken back via {@link #release(Object)}. Collection and map update methods (methods with a
+ * {@link MappingTarget} parameter) hand the elements of the given collection or map whose type is created via the
+ * allocator back to {@link #release(Object)} before clearing it, so a whole object graph can be mapped repeatedly into
+ * the same collections without any allocations once the pool is warmed up.
+ * <p>
+ * A mapper holds a single allocator instance, which is used by all threads invoking the mapper; implementations
+ * must be thread-safe.
+ * <p>
+ * Example:
+ *
+ * <pre>
+ * public class OrderLinePool implements TargetAllocator {
+ *
+ *     private final Queue&lt;OrderLineDto&gt; free = new ConcurrentLinkedQueue&lt;OrderLineDto&gt;();
+ *
+ *     public &lt;T&gt; T acquire(Class&lt;T&gt; type) {
+ *         OrderLineDto line = free.poll();
+ *         return type.cast( line != null ? line : new OrderLineDto() );
+ *     }
+ *
+ *     public void release(Object instance) {
+ *         OrderLineDto line = (OrderLineDto) instance;
+ *         line.setItem( null );
+ *         line.setQuantity( 0 );
+ *         free.offer( line );
+ *     }
+ * }
+ * </pre>
+ */
+public interface TargetAllocator {
+
+    /**
+     * Returns an instance of the given type in its initial state, i.e. with the property values of a newly created
+     * instance. May be invoked by several threads concurrently.
+     *
+     * @param type the type of the instance to return
+     * @param <T> the type of the instance to return
+     *
+     * @return an instance of the given type, never {@code null}
+     */
+    <T> T acquire(Class<T> type);
+
+    /**
+     * Takes back an instance obtained via {@link #acquire(Class)} which is not referenced by the mapping target any
+     * more. If the instance is handed out again, it is to be reset to its initial state first. May be invoked by
+     * several threads concurrently.
+     *
+     * @param instance the instance to take back
+     */
+    void release(Object instance);
+}
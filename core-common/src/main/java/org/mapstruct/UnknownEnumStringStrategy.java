@@ -0,0 +1,57 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct;
+
+/**
+ * Strategy for dealing with strings not matching the name of any constant when converting a {@link String} into an
+ * enum type. A single mapping may return a given constant of the target enum type instead, regardless of the strategy,
+ * via {@link Mapping#unknownEnumStringConstant()}.
+ */
+public enum UnknownEnumStringStrategy {
+
+    /**
+     * If a string not matching the name of any constant of the target enum type is converted, an
+     * {@link IllegalArgumentException} will be thrown, as done by {@link Enum#valueOf(Class, String)}. That's the
+     * default behavior if no alternative strategy is configured globally or for a given mapper.
+     */
+    THROW_EXCEPTION,
+
+    /**
+     * If a string not matching the name of any constant of the target enum type is converted, {@code null} will be
+     * returned. This avoids the cost of creating an exception for input which regularly contains unknown values.
+     */
+    RETURN_NULL,
+
+    /**
+     * If a string not matching the name of any constant of the target enum type is converted, an
+     * {@link IllegalArgumentException} without a stack trace will be thrown. The exception is an instance of a
+     * private class nested into the generated mapper, so the mapper doesn't depend on any MapStruct type at runtime.
+     * This avoids the cost of filling in the stack trace for input which regularly contains unknown values, while
+     * still failing the mapping.
+     */
+    THROW_EXCEPTION_WITHOUT_STACK_TRACE,
+
+    /**
+     * When given via {@link Mapper#unknownEnumStringStrategy()}, causes the setting specified via
+     * {@link MapperConfig#unknownEnumStringStrategy()} to be applied, if present.
+     * <p>
+     * Otherwise causes {@link #THROW_EXCEPTION} to be applied.
+     */
+    DEFAULT;
+}
@@ -24,6 +24,7 @@
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
+import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
@@ -34,8 +35,8 @@
  * is assumed by default that the attribute has the same name in the source bean. Alternatively, one of
  * {@link #source()}, {@link #expression()} or {@link #constant()} can be specified to define the property source.
  * <p>
- * In addition, the attributes {@link #dateFormat()} and {@link #qualifiedBy()} may be used to further define the
- * mapping.
+ * In addition, the attributes {@link #dateFormat()}, {@link #numberFormat()} and {@link #qualifiedBy()} may be used
+ * to further define the mapping.
  *
  * @author Gunnar Morling
  */
@@ -80,6 +81,29 @@
      */
     String dateFormat() default "";
 
+    /**
+     * A format string as processable by {@link DecimalFormat} if the attribute is mapped from {@code String} to a
+     * number type (a primitive or wrapper type, {@code BigInteger} or {@code BigDecimal}) or vice-versa. Will be
+     * ignored for all other attribute types and when mapping enum constants.
+     * <p>
+     * Scale and rounding of the formatted numbers are controlled via the format string as well, e.g. {@code "0.00"}
+     * formats numbers with two fraction digits, rounded half-even. Strings are parsed strictly: a string which isn't
+     * entirely a number in that format, or whose number has a fraction or exceeds the range of the target type, raises
+     * a {@link java.text.ParseException} rather than being truncated.
+     *
+     * @return A number format string as processable by {@link DecimalFormat}.
+     */
+    String numberFormat() default "";
+
+    /**
+     * The name of a constant of the target enum type to be returned if a string not matching the name of any constant
+     * is converted into the target enum type, instead of applying the strategy given via
+     * {@link Mapper#unknownEnumStringStrategy()}. Will be ignored for all other attribute types.
+     *
+     * @return The name of the constant to be returned for strings not matching any constant of the target enum type.
+     */
+    String unknownEnumStringConstant() default "";
+
     /**
      * A constant {@link String} based on which the specified target property is to be set. If the designated target
      * property is not of type {@code String}, the value will be converted by applying a matching conversion method or
@@ -154,4 +178,23 @@
      * @return the dependencies of the mapped property
      */
     String[] dependsOn() default { };
+
+    /**
+     * Whether the property specified via {@link #target()} is to be mapped lazily, i.e. when its getter is invoked for
+     * the first time instead of when invoking the mapping method. Useful for large nested object graphs which are
+     * rarely accessed by the consumers of the mapped object.
+     * <p>
+     * The generated method returns an instance of a subclass of the result type generated for that purpose, which
+     * keeps the source value until the property is accessed. Reading the property is thread-safe. The result type thus
+     * must not be final and must be instantiated by the mapping method itself, and the target property must have a
+     * setter and a non-final getter. Note that the source value is mapped in the state it has when reading the
+     * property.
+     * <p>
+     * If the result type is serializable, the object is serialized as a plain instance of the result type, all pending
+     * properties mapped, so it can be deserialized without the mapper. All its serialized fields thus must be
+     * accessible via a getter and a setter of the same name.
+     *
+     * @return {@code true} if the given property is to be mapped when accessed, {@code false} otherwise
+     */
+    boolean lazy() default false;
 }
@@ -18,6 +18,10 @@
  */
 package org.mapstruct.ap;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -27,6 +31,7 @@
 import java.util.Set;
 
 import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.Processor;
 import javax.annotation.processing.RoundEnvironment;
@@ -38,15 +43,24 @@
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.ElementKindVisitor6;
 import javax.tools.Diagnostic.Kind;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
 
 import org.mapstruct.ap.model.Mapper;
+import org.mapstruct.ap.model.source.MethodMatchCache;
 import org.mapstruct.ap.option.Options;
 import org.mapstruct.ap.option.ReportingPolicy;
 import org.mapstruct.ap.prism.MapperPrism;
 import org.mapstruct.ap.processor.DefaultModelElementProcessorContext;
+import org.mapstruct.ap.processor.DependencyIndex;
 import org.mapstruct.ap.processor.ModelElementProcessor;
 import org.mapstruct.ap.processor.ModelElementProcessor.ProcessorContext;
+import org.mapstruct.ap.processor.RoundContext;
+import org.mapstruct.ap.processor.SourceFileWriter;
+import org.mapstruct.ap.profile.MapperProfile;
+import org.mapstruct.ap.profile.ProcessingProfile;
 import org.mapstruct.ap.util.AnnotationProcessingException;
+import org.mapstruct.ap.util.Message;
 
 /**
  * A JSR 269 annotation {@link Processor} which generates the implementations for mapper interfaces (interfaces
@@ -76,7 +90,22 @@
  * Each node of the mapper model has a corresponding FreeMarker template file which provides the Java representation of
  * that element and can include sub-elements via a custom FreeMarker directive. That way writing out a root node of the
  * model ({@code Mapper}) will recursively include all contained sub-elements (such as its methods, their property
- * mappings etc.).
+ * mappings etc.). Frequently written elements such as types, parameters, property mappings and their setter
+ * invocations emit their source code directly instead of processing their template, unless disabled via the
+ * {@code mapstruct.disableCodeEmitter} option.
+ * <p>
+ * The types each generated source file depends on are passed as its originating elements and, if enabled via the
+ * {@code mapstruct.dependencyIndex} option, recorded in a {@link DependencyIndex} written to the class output location
+ * at the end of the compilation, allowing build tools to re-process only those mappers whose inputs changed.
+ * <p>
+ * If enabled via the {@code mapstruct.profile} option, the time spent in each processor and some statistics are
+ * recorded per mapper in a {@link ProcessingProfile}, which is written as report at the end of the compilation.
+ * <p>
+ * The generated sources are deterministic, i.e. compiling the same mappers with the same tool chain yields identical
+ * files, which makes them suitable for build caches. Hence the generation timestamp is omitted from the
+ * {@code @Generated} annotation unless {@code mapstruct.suppressGeneratorTimestamp} is explicitly set to {@code false}.
+ * If enabled via the {@code mapstruct.skipUnchangedSources} option, source files whose content didn't change since the
+ * previous compilation are not rewritten (see {@link SourceFileWriter}).
  *
  * @author Gunnar Morling
  */
@@ -85,7 +114,11 @@
     MappingProcessor.SUPPRESS_GENERATOR_TIMESTAMP,
     MappingProcessor.SUPPRESS_GENERATOR_VERSION_INFO_COMMENT,
     MappingProcessor.UNMAPPED_TARGET_POLICY,
-    MappingProcessor.DEFAULT_COMPONENT_MODEL
+    MappingProcessor.DEFAULT_COMPONENT_MODEL,
+    MappingProcessor.DISABLE_CODE_EMITTER,
+    MappingProcessor.DEPENDENCY_INDEX,
+    MappingProcessor.PROFILE,
+    MappingProcessor.SKIP_UNCHANGED_SOURCES
 })
 public class MappingProcessor extends AbstractProcessor {
 
@@ -99,24 +132,57 @@ public class MappingProcessor extends AbstractProcessor {
         "mapstruct.suppressGeneratorVersionInfoComment";
     protected static final String UNMAPPED_TARGET_POLICY = "mapstruct.unmappedTargetPolicy";
     protected static final String DEFAULT_COMPONENT_MODEL = "mapstruct.defaultComponentModel";
+    protected static final String DISABLE_CODE_EMITTER = "mapstruct.disableCodeEmitter";
+    protected static final String DEPENDENCY_INDEX = "mapstruct.dependencyIndex";
+    protected static final String PROFILE = "mapstruct.profile";
+    protected static final String SKIP_UNCHANGED_SOURCES = "mapstruct.skipUnchangedSources";
 
     private Options options;
 
+    /**
+     * The dependencies of the types generated in all rounds, if enabled.
+     */
+    private DependencyIndex dependencyIndex;
+
+    /**
+     * The profiles of the mappers processed in all rounds, if enabled.
+     */
+    private ProcessingProfile processingProfile;
+
+    /**
+     * The model element processors to apply, ordered by priority; they are retrieved once and then applied to all the
+     * mappers of all rounds.
+     */
+    private List<ModelElementProcessor<?, ?>> processors;
+
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
         super.init( processingEnv );
 
         options = createOptions();
+        processors = getProcessors();
+
+        if ( options.isDependencyIndexEnabled() ) {
+            dependencyIndex = new DependencyIndex();
+        }
+
+        if ( options.isProfilingEnabled() ) {
+            processingProfile = new ProcessingProfile();
+        }
     }
 
     private Options createOptions() {
         String unmappedTargetPolicy = processingEnv.getOptions().get( UNMAPPED_TARGET_POLICY );
 
         return new Options(
-            Boolean.valueOf( processingEnv.getOptions().get( SUPPRESS_GENERATOR_TIMESTAMP ) ),
+            !"false".equalsIgnoreCase( processingEnv.getOptions().get( SUPPRESS_GENERATOR_TIMESTAMP ) ),
             Boolean.valueOf( processingEnv.getOptions().get( SUPPRESS_GENERATOR_VERSION_INFO_COMMENT ) ),
             unmappedTargetPolicy != null ? ReportingPolicy.valueOf( unmappedTargetPolicy ) : null,
-            processingEnv.getOptions().get( DEFAULT_COMPONENT_MODEL )
+            processingEnv.getOptions().get( DEFAULT_COMPONENT_MODEL ),
+            Boolean.valueOf( processingEnv.getOptions().get( DISABLE_CODE_EMITTER ) ),
+            Boolean.valueOf( processingEnv.getOptions().get( DEPENDENCY_INDEX ) ),
+            Boolean.valueOf( processingEnv.getOptions().get( PROFILE ) ),
+            Boolean.valueOf( processingEnv.getOptions().get( SKIP_UNCHANGED_SOURCES ) )
         );
     }
 
@@ -127,6 +193,7 @@ public SourceVersion getSupportedSourceVersion() {
 
     @Override
     public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+        RoundContext roundContext = null;
 
         for ( TypeElement annotation : annotations ) {
 
@@ -145,19 +212,90 @@ public boolean process(final Set<? extends TypeElement> annotations, final Round
                     continue;
                 }
 
+                // infrastructure independent from the imports of a specific mapper is shared within the round
+                if ( roundContext == null ) {
+                    roundContext = new RoundContext( processingEnv, options, dependencyIndex );
+                }
+
                 // create a new context for each generated mapper in order to have imports of referenced types
                 // correctly managed;
                 // note that this assumes that a new source file is created for each mapper which must not
                 // necessarily be the case, e.g. in case of several mapper interfaces declared as inner types
                 // of one outer interface
-                ProcessorContext context = new DefaultModelElementProcessorContext( processingEnv, options );
+                MapperProfile mapperProfile = processingProfile != null ?
+                    new MapperProfile( mapperTypeElement.getQualifiedName().toString() ) :
+                    null;
+                ProcessorContext context = new DefaultModelElementProcessorContext( roundContext, mapperProfile );
                 processMapperTypeElement( context, mapperTypeElement );
+
+                if ( mapperProfile != null ) {
+                    processingProfile.add( mapperProfile );
+                }
             }
         }
 
+        if ( roundContext != null && roundContext.getSourceFileWriter().getSkippedFiles() > 0 ) {
+            reportSkippedSourceFiles( roundContext.getSourceFileWriter() );
+        }
+
+        if ( roundEnvironment.processingOver() && dependencyIndex != null && !dependencyIndex.isEmpty() ) {
+            writeDependencyIndex();
+        }
+
+        if ( roundEnvironment.processingOver() && processingProfile != null && !processingProfile.isEmpty() ) {
+            writeProcessingProfile();
+        }
+
         return ANNOTATIONS_CLAIMED_EXCLUSIVELY;
     }
 
+    /**
+     * Reports how many of the source files of the current round have not been rewritten, as they were unchanged.
+     */
+    private void reportSkippedSourceFiles(SourceFileWriter sourceFileWriter) {
+        Message message = Message.GENERAL_UNCHANGED_SOURCES_SKIPPED;
+        processingEnv.getMessager().printMessage(
+            message.getDiagnosticKind(),
+            String.format(
+                message.getDescription(),
+                sourceFileWriter.getSkippedFiles(),
+                sourceFileWriter.getSkippedFiles() + sourceFileWriter.getWrittenFiles()
+            )
+        );
+    }
+
+    /**
+     * Writes the dependency index to the class output location, retaining the entries of an index written by a
+     * previous compilation for types not generated by this one.
+     */
+    private void writeDependencyIndex() {
+        Filer filer = processingEnv.getFiler();
+
+        DependencyIndex existingIndex = readExistingDependencyIndex( filer );
+        if ( existingIndex != null ) {
+            dependencyIndex.addMissingEntries( existingIndex );
+        }
+
+        try {
+            FileObject index =
+                filer.createResource( StandardLocation.CLASS_OUTPUT, "", DependencyIndex.RESOURCE_NAME );
+            OutputStream out = index.openOutputStream();
+            try {
+                dependencyIndex.write( out );
+            }
+            finally {
+                out.close();
+            }
+        }
+        catch ( IOException e ) {
+            Message message = Message.GENERAL_DEPENDENCY_INDEX_NOT_WRITTEN;
+            processingEnv.getMessager().printMessage(
+                message.getDiagnosticKind(),
+                String.format( message.getDescription(), DependencyIndex.RESOURCE_NAME, e.getMessage() )
+            );
+        }
+    }
+
     /**
      * Applies all registered {@link ModelElementProcessor}s to the given mapper
      * type.
@@ -167,8 +305,14 @@ public boolean process(final Set<? extends TypeElement> annotations, final Round
      */
     private void processMapperTypeElement(ProcessorContext context, TypeElement mapperTypeElement) {
         Object model = null;
+        MapperProfile mapperProfile = context.getMapperProfile();
+        MethodMatchCache methodMatchCache = context.getMethodMatchCache();
+        int performedMethodMatches = methodMatchCache.getPerformedMatches();
+        int reusedMethodMatches = methodMatchCache.getReusedMatches();
+
+        for ( ModelElementProcessor<?, ?> processor : processors ) {
+            long start = mapperProfile != null ? System.nanoTime() : 0L;
 
-        for ( ModelElementProcessor<?, ?> processor : getProcessors() ) {
             try {
                 model = process( context, processor, mapperTypeElement, model );
             }
@@ -183,6 +327,70 @@ private void processMapperTypeElement(ProcessorContext context, TypeElement mapp
                     );
                 break;
             }
+            finally {
+                if ( mapperProfile != null ) {
+                    mapperProfile.addProcessingTime(
+                        processor.getClass().getSimpleName(),
+                        System.nanoTime() - start
+                    );
+                }
+            }
+        }
+
+        if ( mapperProfile != null ) {
+            mapperProfile.setCreatedTypes( context.getTypeFactory().getCreatedTypeCount() );
+            mapperProfile.addMethodMatches(
+                methodMatchCache.getPerformedMatches() - performedMethodMatches,
+                methodMatchCache.getReusedMatches() - reusedMethodMatches
+            );
+        }
+    }
+
+    /**
+     * Writes the profiling report to the source output location and reports a summary of it.
+     */
+    private void writeProcessingProfile() {
+        try {
+            FileObject report = processingEnv.getFiler()
+                .createResource( StandardLocation.SOURCE_OUTPUT, "", ProcessingProfile.RESOURCE_NAME );
+            Writer writer = report.openWriter();
+            try {
+                processingProfile.writeReport( writer );
+            }
+            finally {
+                writer.close();
+            }
+        }
+        catch ( IOException e ) {
+            Message message = Message.GENERAL_PROFILE_NOT_WRITTEN;
+            processingEnv.getMessager().printMessage(
+                message.getDiagnosticKind(),
+                String.format( message.getDescription(), ProcessingProfile.RESOURCE_NAME, e.getMessage() )
+            );
+        }
+
+        Message message = Message.GENERAL_PROFILE_SUMMARY;
+        processingEnv.getMessager().printMessage(
+            message.getDiagnosticKind(),
+            String.format( message.getDescription(), processingProfile.getSummary(), ProcessingProfile.RESOURCE_NAME )
+        );
+    }
+
+    private DependencyIndex readExistingDependencyIndex(Filer filer) {
+        try {
+            FileObject existingIndex =
+                filer.getResource( StandardLocation.CLASS_OUTPUT, "", DependencyIndex.RESOURCE_NAME );
+            InputStream in = existingIndex.openInputStream();
+            try {
+                return DependencyIndex.read( in );
+            }
+            finally {
+                in.close();
+            }
+        }
+        catch ( IOException e ) {
+            // no index from a previous compilation or not readable
+            return null;
         }
     }
 
@@ -200,7 +408,7 @@ private <P, R> R process(ProcessorContext context, ModelElementProcessor<P, R> p
      *
      * @return A list with all model element processors.
      */
-    private Iterable<ModelElementProcessor<?, ?>> getProcessors() {
+    private List<ModelElementProcessor<?, ?>> getProcessors() {
         // TODO Re-consider which class loader to use in case processors are
         // loaded from other modules, too
         @SuppressWarnings("rawtypes")
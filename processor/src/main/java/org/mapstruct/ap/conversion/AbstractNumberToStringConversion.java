@@ -0,0 +1,143 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.conversion;
+
+import java.text.DecimalFormat;
+import java.text.ParseException;
+import java.util.Collections;
+
+import org.mapstruct.ap.model.AssignmentFactory;
+import org.mapstruct.ap.model.DecimalFormatField;
+import org.mapstruct.ap.model.Field;
+import org.mapstruct.ap.model.assignment.Assignment;
+import org.mapstruct.ap.model.common.ConversionContext;
+import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.model.common.TypeFactory;
+import org.mapstruct.ap.model.source.builtin.BuiltInMethod;
+import org.mapstruct.ap.model.source.builtin.ParseNumber;
+import org.mapstruct.ap.util.NativeTypes;
+import org.mapstruct.ap.util.Strings;
+
+import static java.util.Arrays.asList;
+
+/**
+ * Base class for conversions between number types and {@link String}, which format and parse the numbers with a
+ * {@link DecimalFormat} if a number format is given via {@code Mapping#numberFormat()}. Parsing with a number format
+ * may raise a {@link ParseException}, which is declared by the conversion from {@link String} then.
+ * <p>
+ * The {@link DecimalFormat} for a number format is created once per thread and kept by a {@link ThreadLocal} field of
+ * the mapper (see {@link DecimalFormatField}), shared by all the conversions with that number format. Strings are
+ * parsed strictly by a method added to the mapper (see {@link ParseNumber}), rejecting strings which aren't entirely a
+ * number or whose number can't be represented by the target type.
+ */
+public abstract class AbstractNumberToStringConversion extends SimpleConversion {
+
+    private final Class<?> numberType;
+    private final boolean number;
+
+    /**
+     * @param numberType the converted type, the primitive type in case of a wrapper type; a number format applies to
+     * it if it is a number type, e.g. not in case of {@code boolean}
+     */
+    protected AbstractNumberToStringConversion(Class<?> numberType) {
+        this.numberType = numberType;
+        this.number = Number.class.isAssignableFrom(
+            numberType.isPrimitive() ? NativeTypes.getWrapperType( numberType ) : numberType
+        );
+    }
+
+    @Override
+    public Assignment to(ConversionContext conversionContext) {
+        if ( !requiresDecimalFormat( conversionContext ) ) {
+            return super.to( conversionContext );
+        }
+
+        return AssignmentFactory.createTypeConversion(
+            getToConversionImportTypes( conversionContext ),
+            Collections.<Type>emptyList(),
+            getToExpression( conversionContext ),
+            Collections.<BuiltInMethod>emptyList(),
+            Collections.<Field>singletonList( getDecimalFormatField( conversionContext, false ) )
+        );
+    }
+
+    @Override
+    public Assignment from(ConversionContext conversionContext) {
+        if ( !requiresDecimalFormat( conversionContext ) ) {
+            return super.from( conversionContext );
+        }
+
+        TypeFactory typeFactory = conversionContext.getTypeFactory();
+        DecimalFormatField decimalFormat = getDecimalFormatField( conversionContext, true );
+        ParseNumber parseNumber = new ParseNumber(
+            typeFactory,
+            numberType,
+            conversionContext.getHelperName(
+                "parseNumber:" + numberType.getName(),
+                "parse" + Strings.capitalize( numberType.getSimpleName() )
+            )
+        );
+
+        return AssignmentFactory.createTypeConversion(
+            Collections.<Type>emptySet(),
+            asList( typeFactory.getType( ParseException.class ) ),
+            parseNumber.getName() + "( <SOURCE>, " + decimalFormat.getVariableName() + ".get() )",
+            Collections.<BuiltInMethod>singletonList( parseNumber ),
+            Collections.<Field>singletonList( decimalFormat )
+        );
+    }
+
+    /**
+     * @param conversionContext the conversion context
+     *
+     * @return whether a number format is given for this conversion and applies to the converted type
+     */
+    protected boolean requiresDecimalFormat(ConversionContext conversionContext) {
+        return number && conversionContext.getNumberFormat() != null;
+    }
+
+    /**
+     * Returns the expression obtaining the {@link DecimalFormat} for the given number format, for formatting numbers.
+     *
+     * @param conversionContext the conversion context
+     *
+     * @return the expression obtaining the {@link DecimalFormat}
+     */
+    protected String getDecimalFormat(ConversionContext conversionContext) {
+        return getDecimalFormatField( conversionContext, false ).getVariableName() + ".get()";
+    }
+
+    private DecimalFormatField getDecimalFormatField(ConversionContext conversionContext, boolean parseBigDecimal) {
+        TypeFactory typeFactory = conversionContext.getTypeFactory();
+        Type decimalFormatType = typeFactory.getType( DecimalFormat.class );
+        String pattern = conversionContext.getNumberFormat();
+
+        String name = parseBigDecimal
+            ? conversionContext.getHelperName( "bigDecimalFormat:" + pattern, "BIG_DECIMAL_FORMAT" )
+            : conversionContext.getHelperName( "decimalFormat:" + pattern, "DECIMAL_FORMAT" );
+
+        return new DecimalFormatField(
+            typeFactory.threadLocalOf( decimalFormatType ),
+            name,
+            decimalFormatType,
+            pattern,
+            parseBigDecimal
+        );
+    }
+}
@@ -31,10 +31,18 @@
  *
  * @author Gunnar Morling
  */
-public class BigDecimalToStringConversion extends SimpleConversion {
+public class BigDecimalToStringConversion extends AbstractNumberToStringConversion {
+
+    public BigDecimalToStringConversion() {
+        super( BigDecimal.class );
+    }
 
     @Override
     public String getToExpression(ConversionContext conversionContext) {
+        if ( requiresDecimalFormat( conversionContext ) ) {
+            return getDecimalFormat( conversionContext ) + ".format( <SOURCE> )";
+        }
+
         return "<SOURCE>.toString()";
     }
 
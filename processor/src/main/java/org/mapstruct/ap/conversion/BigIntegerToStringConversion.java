@@ -31,10 +31,18 @@
  *
  * @author Gunnar Morling
  */
-public class BigIntegerToStringConversion extends SimpleConversion {
+public class BigIntegerToStringConversion extends AbstractNumberToStringConversion {
+
+    public BigIntegerToStringConversion() {
+        super( BigInteger.class );
+    }
 
     @Override
     public String getToExpression(ConversionContext conversionContext) {
+        if ( requiresDecimalFormat( conversionContext ) ) {
+            return getDecimalFormat( conversionContext ) + ".format( <SOURCE> )";
+        }
+
         return "<SOURCE>.toString()";
     }
 
@@ -25,8 +25,6 @@
 import java.util.HashMap;
 import java.util.Map;
 
-import javax.lang.model.util.Elements;
-
 import org.mapstruct.ap.model.common.Type;
 import org.mapstruct.ap.model.common.TypeFactory;
 import org.mapstruct.ap.util.JavaTimeConstants;
@@ -46,7 +44,7 @@ public class Conversions {
     private final Type stringType;
     private final TypeFactory typeFactory;
 
-    public Conversions(Elements elementUtils, TypeFactory typeFactory) {
+    public Conversions(TypeFactory typeFactory) {
         this.typeFactory = typeFactory;
 
         this.enumType = typeFactory.getType( Enum.class );
@@ -181,16 +179,35 @@ public Conversions(Elements elementUtils, TypeFactory typeFactory) {
         register( BigInteger.class, String.class, new BigIntegerToStringConversion() );
         register( BigDecimal.class, String.class, new BigDecimalToStringConversion() );
 
+        registerToCharSequenceConversions();
+
         registerJodaConversions();
 
         registerJava8TimeConversions();
 
         //misc.
-        register( Enum.class, String.class, new EnumStringConversion() );
+        // only one way, strings are converted into enums via the generated StringToEnum methods
+        conversions.put( new Key( enumType, stringType ), new EnumStringConversion() );
         register( Date.class, String.class, new DateToStringConversion() );
         register( BigDecimal.class, BigInteger.class, new BigDecimalToBigIntegerConversion() );
     }
 
+    private void registerToCharSequenceConversions() {
+        // native types <> CharSequence, StringBuilder; native types > Appendable
+        registerToCharSequenceConversion( byte.class );
+        registerToCharSequenceConversion( Byte.class );
+        registerToCharSequenceConversion( short.class );
+        registerToCharSequenceConversion( Short.class );
+        registerToCharSequenceConversion( int.class );
+        registerToCharSequenceConversion( Integer.class );
+        registerToCharSequenceConversion( long.class );
+        registerToCharSequenceConversion( Long.class );
+        registerToCharSequenceConversion( float.class );
+        registerToCharSequenceConversion( Float.class );
+        registerToCharSequenceConversion( double.class );
+        registerToCharSequenceConversion( Double.class );
+    }
+
     private void registerJodaConversions() {
         if ( !isJodaTimeAvailable() ) {
             return;
@@ -260,6 +277,25 @@ private void registerToStringConversion(Class<?> sourceType) {
         }
     }
 
+    private void registerToCharSequenceConversion(Class<?> sourceType) {
+        register(
+            sourceType,
+            CharSequence.class,
+            new NumberToCharSequenceConversion( sourceType, CharSequence.class )
+        );
+        register(
+            sourceType,
+            StringBuilder.class,
+            new NumberToCharSequenceConversion( sourceType, StringBuilder.class )
+        );
+
+        // only one way, the content of an arbitrary Appendable can't be obtained
+        conversions.put(
+            new Key( typeFactory.getType( sourceType ), typeFactory.getType( Appendable.class ) ),
+            new NumberToCharSequenceConversion( sourceType, Appendable.class )
+        );
+    }
+
     private void registerBigIntegerConversion(Class<?> targetType) {
         if ( targetType.isPrimitive() ) {
             register( BigInteger.class, targetType, new BigIntegerToPrimitiveConversion( targetType ) );
@@ -298,9 +334,6 @@ public ConversionProvider getConversion(Type sourceType, Type targetType) {
         if ( sourceType.isEnumType() && targetType.equals( stringType ) ) {
             sourceType = enumType;
         }
-        else if ( targetType.isEnumType() && sourceType.equals( stringType ) ) {
-            targetType = enumType;
-        }
 
         return conversions.get( new Key( sourceType, targetType ) );
     }
@@ -27,6 +27,11 @@
 
 /**
  * Conversion between {@link String} and {@link Enum} types.
+ * <p>
+ * It is only registered for converting enums into strings. Strings are converted into enums by the
+ * {@link org.mapstruct.ap.model.source.builtin.StringToEnum} method generated for each enum type, which looks up the
+ * constant for a given name without reflection and applies the configured strategy for unknown names; the mapping
+ * resolver does so before consulting any conversions.
  *
  * @author Gunnar Morling
  */
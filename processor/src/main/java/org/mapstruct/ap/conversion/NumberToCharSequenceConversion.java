@@ -0,0 +1,125 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.conversion;
+
+import java.util.Collections;
+
+import org.mapstruct.ap.model.AssignmentFactory;
+import org.mapstruct.ap.model.Field;
+import org.mapstruct.ap.model.SmallNumberStrings;
+import org.mapstruct.ap.model.TypeConversion;
+import org.mapstruct.ap.model.assignment.Assignment;
+import org.mapstruct.ap.model.common.ConversionContext;
+import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.model.common.TypeFactory;
+import org.mapstruct.ap.model.source.builtin.BuiltInMethod;
+import org.mapstruct.ap.model.source.builtin.SmallNumberToString;
+import org.mapstruct.ap.util.NativeTypes;
+import org.mapstruct.ap.util.Strings;
+
+/**
+ * Conversion between numeric primitive or wrapper types such as {@code int} or {@link Long} and
+ * {@link CharSequence}, {@link StringBuilder} or {@link Appendable}.
+ * <p>
+ * {@link StringBuilder} and {@link Appendable} targets are populated by appending the primitive value to a new
+ * builder, i.e. without creating an intermediary {@link String} as {@code new StringBuilder( String.valueOf( x ) )}
+ * would do. Wrapper values are unboxed before appending them, as {@link StringBuilder#append(Object)} would go through
+ * {@link String#valueOf(Object)} again. Update methods clear the existing {@link StringBuilder} of the target, if
+ * there is one, and append the value to it instead (see {@link TypeConversion#getAppendingConversion()}).
+ * <p>
+ * {@link CharSequence} targets of integral types take the strings of small numbers from a {@code static final} array
+ * of the mapper, which is filled once, instead of creating a new string for each of them (see
+ * {@link SmallNumberStrings}).
+ */
+public class NumberToCharSequenceConversion extends SimpleConversion {
+
+    private final Class<?> primitiveType;
+    private final Class<?> wrapperType;
+    private final Class<?> targetType;
+    private final boolean unbox;
+
+    public NumberToCharSequenceConversion(Class<?> sourceType, Class<?> targetType) {
+        if ( !CharSequence.class.isAssignableFrom( targetType ) && !Appendable.class.isAssignableFrom( targetType ) ) {
+            throw new IllegalArgumentException( targetType + " is neither a CharSequence nor an Appendable." );
+        }
+
+        this.unbox = !sourceType.isPrimitive();
+        this.primitiveType = unbox ? NativeTypes.getPrimitiveType( sourceType ) : sourceType;
+        this.wrapperType = unbox ? sourceType : NativeTypes.getWrapperType( sourceType );
+        this.targetType = targetType;
+    }
+
+    @Override
+    public Assignment to(ConversionContext conversionContext) {
+        if ( targetType == StringBuilder.class ) {
+            return AssignmentFactory.createAppendingTypeConversion(
+                Collections.<Type>emptySet(),
+                Collections.<Type>emptyList(),
+                getToExpression( conversionContext ),
+                getAppendedValue()
+            );
+        }
+        if ( targetType != CharSequence.class || !isIntegral() ) {
+            return super.to( conversionContext );
+        }
+
+        TypeFactory typeFactory = conversionContext.getTypeFactory();
+        SmallNumberStrings strings = new SmallNumberStrings(
+            typeFactory.arrayTypeOf( typeFactory.getType( String.class ) ),
+            conversionContext.getHelperName( "smallNumberStrings", "SMALL_NUMBER_STRINGS" )
+        );
+        SmallNumberToString toString = new SmallNumberToString(
+            typeFactory,
+            conversionContext.getHelperName( "smallNumberToString", "smallNumberToString" ),
+            strings.getVariableName()
+        );
+
+        return AssignmentFactory.createTypeConversion(
+            Collections.<Type>emptySet(),
+            Collections.<Type>emptyList(),
+            toString.getName() + "( <SOURCE> )",
+            Collections.<BuiltInMethod>singletonList( toString ),
+            Collections.<Field>singletonList( strings )
+        );
+    }
+
+    private boolean isIntegral() {
+        return primitiveType == byte.class || primitiveType == short.class || primitiveType == int.class
+            || primitiveType == long.class;
+    }
+
+    @Override
+    public String getToExpression(ConversionContext conversionContext) {
+        if ( targetType == CharSequence.class ) {
+            return "String.valueOf( <SOURCE> )";
+        }
+
+        return "new StringBuilder().append( " + getAppendedValue() + " )";
+    }
+
+    private String getAppendedValue() {
+        return unbox ? "<SOURCE>." + primitiveType.getSimpleName() + "Value()" : "<SOURCE>";
+    }
+
+    @Override
+    public String getFromExpression(ConversionContext conversionContext) {
+        return wrapperType.getSimpleName() + ".parse" +
+            Strings.capitalize( primitiveType.getSimpleName() ) + "( <SOURCE>.toString() )";
+    }
+}
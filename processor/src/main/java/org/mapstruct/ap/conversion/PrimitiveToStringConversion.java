@@ -28,12 +28,14 @@
  *
  * @author Gunnar Morling
  */
-public class PrimitiveToStringConversion extends SimpleConversion {
+public class PrimitiveToStringConversion extends AbstractNumberToStringConversion {
 
     private final Class<?> sourceType;
     private final Class<?> wrapperType;
 
     public PrimitiveToStringConversion(Class<?> sourceType) {
+        super( sourceType );
+
         if ( !sourceType.isPrimitive() ) {
             throw new IllegalArgumentException( sourceType + " is no primitive type." );
         }
@@ -44,6 +46,10 @@ public PrimitiveToStringConversion(Class<?> sourceType) {
 
     @Override
     public String getToExpression(ConversionContext conversionContext) {
+        if ( requiresDecimalFormat( conversionContext ) ) {
+            return getDecimalFormat( conversionContext ) + ".format( <SOURCE> )";
+        }
+
         return "String.valueOf( <SOURCE> )";
     }
 
@@ -27,12 +27,14 @@
  *
  * @author Gunnar Morling
  */
-public class WrapperToStringConversion extends SimpleConversion {
+public class WrapperToStringConversion extends AbstractNumberToStringConversion {
 
     private final Class<?> sourceType;
     private final Class<?> primitiveType;
 
     public WrapperToStringConversion(Class<?> sourceType) {
+        super( NativeTypes.getPrimitiveType( sourceType ) );
+
         if ( sourceType.isPrimitive() ) {
             throw new IllegalArgumentException( sourceType + " is no wrapper type." );
         }
@@ -43,6 +45,10 @@ public WrapperToStringConversion(Class<?> sourceType) {
 
     @Override
     public String getToExpression(ConversionContext conversionContext) {
+        if ( requiresDecimalFormat( conversionContext ) ) {
+            return getDecimalFormat( conversionContext ) + ".format( <SOURCE> )";
+        }
+
         return "String.valueOf( <SOURCE> )";
     }
 
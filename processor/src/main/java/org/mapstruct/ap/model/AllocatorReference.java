@@ -0,0 +1,50 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model;
+
+import java.util.List;
+import java.util.Set;
+
+import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.util.Collections;
+import org.mapstruct.ap.util.Strings;
+
+/**
+ * Reference to the {@code TargetAllocator} configured via {@code Mapper#allocator()}, which is instantiated via its
+ * default constructor regardless of the component model of the mapper.
+ */
+public class AllocatorReference extends MapperReference {
+
+    private final Set<Type> importTypes;
+
+    private AllocatorReference(Type type, String variableName) {
+        super( type, variableName, true );
+        this.importTypes = Collections.asSet( type );
+    }
+
+    public static AllocatorReference getInstance(Type type, List<String> otherMapperReferences) {
+        String variableName = Strings.getSaveVariableName( "allocator", otherMapperReferences );
+        return new AllocatorReference( type, variableName );
+    }
+
+    @Override
+    public Set<Type> getImportTypes() {
+        return importTypes;
+    }
+}
@@ -18,18 +18,20 @@
  */
 package org.mapstruct.ap.model;
 
+import java.io.Writer;
 import java.util.Collections;
 import java.util.Set;
 
 import org.mapstruct.ap.model.common.ModelElement;
 import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.writer.Emittable;
 
 /**
  * Represents a Java 5 annotation.
  *
  * @author Gunnar Morling
  */
-public class Annotation extends ModelElement {
+public class Annotation extends ModelElement implements Emittable {
 
     private final Type type;
 
@@ -45,4 +47,10 @@ public Type getType() {
     public Set<Type> getImportTypes() {
         return Collections.singleton( type );
     }
+
+    @Override
+    public void emit(Context context, Writer writer) throws Exception {
+        writer.write( '@' );
+        includeModel( type, context, writer );
+    }
 }
@@ -18,6 +18,7 @@
  */
 package org.mapstruct.ap.model;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
@@ -42,6 +43,28 @@ public static Assignment createTypeConversion(Set<Type> importTypes, List<Type>
         return new TypeConversion( importTypes, exceptionTypes, expression );
     }
 
+    public static Assignment createTypeConversion(Set<Type> importTypes, List<Type> exceptionTypes, String expression,
+                                                  List<BuiltInMethod> helperMethods) {
+        return new TypeConversion( importTypes, exceptionTypes, expression, helperMethods );
+    }
+
+    public static Assignment createTypeConversion(Set<Type> importTypes, List<Type> exceptionTypes, String expression,
+                                                  List<BuiltInMethod> helperMethods, List<Field> helperFields) {
+        return new TypeConversion( importTypes, exceptionTypes, expression, helperMethods, helperFields );
+    }
+
+    public static Assignment createAppendingTypeConversion(Set<Type> importTypes, List<Type> exceptionTypes,
+                                                           String expression, String appendedValue) {
+        return new TypeConversion(
+            importTypes,
+            exceptionTypes,
+            expression,
+            Collections.<BuiltInMethod>emptyList(),
+            Collections.<Field>emptyList(),
+            appendedValue
+        );
+    }
+
     public static Assignment createMethodReference(Method method, MapperReference declaringMapper,
                                                    Type targetType) {
         return new MethodReference( method, declaringMapper, targetType );
@@ -0,0 +1,107 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.mapstruct.ap.model.assignment.Assignment;
+import org.mapstruct.ap.model.common.ModelElement;
+import org.mapstruct.ap.model.common.Type;
+
+/**
+ * The invocation of an asynchronous method within an asynchronous bean mapping method, providing the value of one
+ * target property. The returned {@code CompletionStage} is kept in a local variable, so all lookups of a method are
+ * started before any of them is awaited. A lookup for a property depending on other properties looked up
+ * asynchronously (via {@code Mapping#dependsOn()}) is only started once the lookups of these properties completed.
+ */
+public class AsyncLookup extends ModelElement {
+
+    private final String variableName;
+    private final String propertyName;
+    private final Type resultType;
+    private final Assignment lookup;
+    private final List<String> prerequisites;
+
+    public AsyncLookup(String variableName, String propertyName, Type resultType, Assignment lookup) {
+        this( variableName, propertyName, resultType, lookup, Collections.<String>emptyList() );
+    }
+
+    private AsyncLookup(String variableName, String propertyName, Type resultType, Assignment lookup,
+                        List<String> prerequisites) {
+        this.variableName = variableName;
+        this.propertyName = propertyName;
+        this.resultType = resultType;
+        this.lookup = lookup;
+        this.prerequisites = prerequisites;
+    }
+
+    /**
+     * @param prerequisites the variable names of the lookups to complete before starting this one
+     *
+     * @return a copy of this lookup, started once the given lookups completed
+     */
+    public AsyncLookup awaiting(List<String> prerequisites) {
+        return new AsyncLookup( variableName, propertyName, resultType, lookup, prerequisites );
+    }
+
+    /**
+     * @return the name of the local variable holding the {@code CompletableFuture} of this lookup
+     */
+    public String getVariableName() {
+        return variableName;
+    }
+
+    /**
+     * @return the name of the target property whose value is looked up
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    public Type getResultType() {
+        return resultType;
+    }
+
+    public Assignment getLookup() {
+        return lookup;
+    }
+
+    public List<String> getPrerequisites() {
+        return prerequisites;
+    }
+
+    /**
+     * @return the exception types declared by the looked up method; they are wrapped into a
+     *         {@code RuntimeException}, as the lookup may be started within a function, which can't throw checked
+     *         exceptions
+     */
+    public List<Type> getExceptionTypes() {
+        return lookup.getExceptionTypes();
+    }
+
+    @Override
+    public Set<Type> getImportTypes() {
+        Set<Type> types = new HashSet<Type>( lookup.getImportTypes() );
+        types.addAll( resultType.getImportTypes() );
+        return types;
+    }
+}
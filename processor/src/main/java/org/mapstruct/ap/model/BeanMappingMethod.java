@@ -18,6 +18,7 @@
  */
 package org.mapstruct.ap.model;
 
+import java.io.Serializable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -26,20 +27,30 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 import javax.tools.Diagnostic;
 
+import org.mapstruct.ap.model.LazyTarget.CopiedProperty;
 import org.mapstruct.ap.model.PropertyMapping.ConstantMappingBuilder;
 import org.mapstruct.ap.model.PropertyMapping.JavaExpressionMappingBuilder;
 import org.mapstruct.ap.model.PropertyMapping.PropertyMappingBuilder;
 import org.mapstruct.ap.model.common.Parameter;
 import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.model.common.TypeFactory;
 import org.mapstruct.ap.model.dependency.GraphAnalyzer;
 import org.mapstruct.ap.model.dependency.GraphAnalyzer.GraphAnalyzerBuilder;
 import org.mapstruct.ap.model.source.Mapping;
@@ -47,6 +58,7 @@
 import org.mapstruct.ap.model.source.SourceReference;
 import org.mapstruct.ap.option.ReportingPolicy;
 import org.mapstruct.ap.prism.BeanMappingPrism;
+import org.mapstruct.ap.prism.CloneStrategyPrism;
 import org.mapstruct.ap.prism.CollectionMappingStrategyPrism;
 import org.mapstruct.ap.prism.NullValueMappingStrategyPrism;
 import org.mapstruct.ap.util.Executables;
@@ -68,6 +80,11 @@ public class BeanMappingMethod extends MappingMethod {
     private final MethodReference factoryMethod;
     private final boolean mapNullToDefault;
     private final Type resultType;
+    private final AllocatorReference allocator;
+    private final List<AsyncLookup> asyncLookups;
+    private final Type completableFutureType;
+    private final String joinedName;
+    private final LazyTarget lazyTarget;
 
     public static class Builder {
 
@@ -76,9 +93,10 @@ public static class Builder {
         private Map<String, ExecutableElement> unprocessedTargetProperties;
         private Set<String> targetProperties;
         private final List<PropertyMapping> propertyMappings = new ArrayList<PropertyMapping>();
-        private final Set<Parameter> unprocessedSourceParameters = new HashSet<Parameter>();
+        private final Set<Parameter> unprocessedSourceParameters = new LinkedHashSet<Parameter>();
         private List<TypeMirror> qualifiers;
         private NullValueMappingStrategyPrism nullValueMappingStrategy;
+        private CloneStrategyPrism cloneStrategy;
         private TypeMirror resultTypeMirror;
         private final Collection<String> existingVariableNames = new HashSet<String>();
 
@@ -92,7 +110,7 @@ public Builder souceMethod(SourceMethod sourceMethod) {
             CollectionMappingStrategyPrism cms = sourceMethod.getMapperConfiguration().getCollectionMappingStrategy();
             Map<String, ExecutableElement> accessors = method.getResultType().getPropertyWriteAccessors( cms );
             this.targetProperties = accessors.keySet();
-            this.unprocessedTargetProperties = new HashMap<String, ExecutableElement>( accessors );
+            this.unprocessedTargetProperties = new LinkedHashMap<String, ExecutableElement>( accessors );
             for ( Parameter sourceParameter : method.getSourceParameters() ) {
                 unprocessedSourceParameters.add( sourceParameter );
             }
@@ -110,6 +128,11 @@ public Builder nullValueMappingStrategy(NullValueMappingStrategyPrism nullValueM
             return this;
         }
 
+        public Builder cloneStrategy(CloneStrategyPrism cloneStrategy) {
+            this.cloneStrategy = cloneStrategy;
+            return this;
+        }
+
         public Builder resultType(TypeMirror resultType) {
             this.resultTypeMirror = resultType;
             return this;
@@ -122,8 +145,8 @@ public BeanMappingMethod build() {
                 return null;
             }
 
-            // map properties without a mapping
-            applyPropertyNameBasedMapping();
+            // map properties without a mapping, copying them as they are if the method clones its source
+            applyPropertyNameBasedMapping( getEffectiveCloneStrategy() );
 
             // map parameters without a mapping
             applyParameterNameBasedMapping();
@@ -159,18 +182,205 @@ public BeanMappingMethod build() {
                 }
             }
 
+            // obtain new target instances from the allocator, if configured
+            AllocatorReference allocator = null;
+            Type createdType = resultType != null ? resultType : method.getResultType();
+            if ( ctx.getAllocator() != null && factoryMethod == null && method.getMappingTargetParameter() == null
+                && createdType.getTypeParameters().isEmpty() ) {
+                allocator = ctx.getAllocator();
+                ctx.addPooledType( createdType );
+            }
+
             sortPropertyMappingsByDependencies();
 
+            // properties mapped lazily are mapped by a subclass of the created type
+            LazyTarget lazyTarget = getLazyTarget( createdType, factoryMethod != null, allocator != null );
+
+            // asynchronous methods await the lookups of their properties before populating the target
+            List<AsyncLookup> asyncLookups = null;
+            Type completableFutureType = null;
+            if ( method.isAsync() ) {
+                asyncLookups = getAsyncLookups();
+                completableFutureType = ctx.getTypeFactory().getType( "java.util.concurrent.CompletableFuture" );
+            }
+
             return new BeanMappingMethod(
                 method,
                 propertyMappings,
                 factoryMethod,
                 mapNullToDefault,
                 resultType,
-                existingVariableNames
+                existingVariableNames,
+                allocator,
+                asyncLookups,
+                completableFutureType,
+                lazyTarget
+            );
+        }
+
+        /**
+         * Returns the subclass of the given type mapping the properties configured via {@code Mapping#lazy()}, or
+         * {@code null} if there are no such properties. An error is reported if the type can't be subclassed or isn't
+         * instantiated by this method.
+         */
+        private LazyTarget getLazyTarget(Type createdType, boolean hasFactoryMethod, boolean isAllocated) {
+            List<PropertyMapping> lazyMappings = new ArrayList<PropertyMapping>();
+            for ( PropertyMapping propertyMapping : propertyMappings ) {
+                if ( propertyMapping.getLazyProperty() != null ) {
+                    lazyMappings.add( propertyMapping );
+                }
+            }
+
+            if ( lazyMappings.isEmpty() ) {
+                return null;
+            }
+
+            // serializable results are replaced by a plain instance of the result type when serialized
+            boolean serializable = createdType.isAssignableTo( ctx.getTypeFactory().getType( Serializable.class ) );
+            List<CopiedProperty> copiedProperties = serializable ? getCopiedProperties( createdType ) : null;
+
+            String reason = null;
+            if ( hasFactoryMethod ) {
+                reason = "the result is created by a factory method";
+            }
+            else if ( isAllocated ) {
+                reason = "the result is obtained from the allocator";
+            }
+            else if ( createdType.getTypeElement().getModifiers().contains( Modifier.FINAL ) ) {
+                reason = "the result type is final";
+            }
+            else if ( serializable && copiedProperties == null ) {
+                reason = "the result type is serializable and has fields not accessible via a getter and setter";
+            }
+
+            if ( reason != null ) {
+                for ( PropertyMapping lazyMapping : lazyMappings ) {
+                    ctx.getMessager().printMessage(
+                        method.getExecutable(),
+                        Message.PROPERTYMAPPING_LAZY_NOT_SUPPORTED,
+                        lazyMapping.getName(),
+                        reason
+                    );
+                }
+                return null;
+            }
+
+            String name = ctx.getLazyTargetName( createdType );
+
+            // the methods of the mapper mapping the lazy properties
+            List<String> mapperMethodNames = new ArrayList<String>( lazyMappings.size() );
+            for ( PropertyMapping lazyMapping : lazyMappings ) {
+                String baseName = Strings.decapitalize( name ) + Strings.capitalize( lazyMapping.getName() );
+                mapperMethodNames.add( ctx.getUniqueMethodName( baseName ) );
+            }
+
+            return new LazyTarget(
+                name,
+                createdType,
+                ctx.getMapperImplementationName(),
+                lazyMappings,
+                mapperMethodNames,
+                copiedProperties
             );
         }
 
+        /**
+         * Returns the properties to copy into a plain instance of the given serializable type, which replaces the
+         * subclass mapping properties lazily when serializing it, or {@code null} if not all the serialized fields of
+         * the type are accessible via a getter and setter of the same name, in which case they couldn't be copied.
+         */
+        private List<CopiedProperty> getCopiedProperties(Type serializableType) {
+            Map<String, ExecutableElement> readAccessors = serializableType.getPropertyReadAccessors();
+            Map<String, ExecutableElement> writeAccessors =
+                serializableType.getPropertyWriteAccessors( CollectionMappingStrategyPrism.ACCESSOR_ONLY );
+
+            List<CopiedProperty> copiedProperties = new ArrayList<CopiedProperty>();
+            Set<String> copiedNames = new HashSet<String>();
+            for ( Entry<String, ExecutableElement> writeAccessor : writeAccessors.entrySet() ) {
+                ExecutableElement readAccessor = readAccessors.get( writeAccessor.getKey() );
+
+                if ( readAccessor != null && Executables.isSetterMethod( writeAccessor.getValue() ) ) {
+                    copiedProperties.add( new CopiedProperty(
+                        readAccessor.getSimpleName().toString(),
+                        writeAccessor.getValue().getSimpleName().toString()
+                    ) );
+                    copiedNames.add( writeAccessor.getKey() );
+                }
+            }
+
+            // the fields of the serializable classes of the hierarchy are serialized
+            TypeFactory typeFactory = ctx.getTypeFactory();
+            Type serializable = typeFactory.getType( Serializable.class );
+            TypeElement typeElement = serializableType.getTypeElement();
+            while ( typeElement != null && typeFactory.getType( typeElement ).isAssignableTo( serializable ) ) {
+                for ( VariableElement field : ElementFilter.fieldsIn( typeElement.getEnclosedElements() ) ) {
+                    if ( !field.getModifiers().contains( Modifier.STATIC )
+                        && !field.getModifiers().contains( Modifier.TRANSIENT )
+                        && !copiedNames.contains( field.getSimpleName().toString() ) ) {
+                        return null;
+                    }
+                }
+
+                TypeMirror superclass = typeElement.getSuperclass();
+                typeElement = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) ( (DeclaredType) superclass ).asElement()
+                    : null;
+            }
+
+            return copiedProperties;
+        }
+
+        /**
+         * Returns the asynchronous lookups of the property mappings, each one awaiting the lookups of the properties it
+         * depends on via {@code dependsOn()}, directly or transitively. All other lookups are started right away. The
+         * lookups are ordered such that a lookup comes after the ones it awaits.
+         */
+        private List<AsyncLookup> getAsyncLookups() {
+            GraphAnalyzerBuilder graphAnalyzerBuilder = GraphAnalyzer.builder();
+            Map<String, AsyncLookup> lookupsByProperty = new LinkedHashMap<String, AsyncLookup>();
+
+            for ( PropertyMapping propertyMapping : propertyMappings ) {
+                graphAnalyzerBuilder.withNode( propertyMapping.getName(), propertyMapping.getDependsOn() );
+                if ( propertyMapping.getAsyncLookup() != null ) {
+                    lookupsByProperty.put( propertyMapping.getName(), propertyMapping.getAsyncLookup() );
+                }
+            }
+
+            GraphAnalyzer graphAnalyzer = graphAnalyzerBuilder.build();
+            if ( !graphAnalyzer.getCycles().isEmpty() ) {
+                // already reported when sorting the property mappings
+                return new ArrayList<AsyncLookup>( lookupsByProperty.values() );
+            }
+
+            List<AsyncLookup> lookups = new ArrayList<AsyncLookup>( lookupsByProperty.size() );
+            Set<String> startedProperties = new HashSet<String>();
+
+            while ( startedProperties.size() < lookupsByProperty.size() ) {
+                for ( AsyncLookup lookup : lookupsByProperty.values() ) {
+                    if ( startedProperties.contains( lookup.getPropertyName() ) ) {
+                        continue;
+                    }
+
+                    List<String> prerequisites = new ArrayList<String>();
+                    boolean prerequisitesStarted = true;
+                    for ( String dependency : graphAnalyzer.getAllDescendants( lookup.getPropertyName() ) ) {
+                        AsyncLookup prerequisite = lookupsByProperty.get( dependency );
+                        if ( prerequisite != null ) {
+                            prerequisites.add( prerequisite.getVariableName() );
+                            prerequisitesStarted &= startedProperties.contains( dependency );
+                        }
+                    }
+
+                    if ( prerequisitesStarted ) {
+                        lookups.add( lookup.awaiting( prerequisites ) );
+                        startedProperties.add( lookup.getPropertyName() );
+                    }
+                }
+            }
+
+            return lookups;
+        }
+
         /**
          * Sources the given mappings as per the dependency relationships given via {@code dependsOn()}. If a cycle is
          * detected, an error is reported.
@@ -291,8 +501,11 @@ else if ( mapping.getSourceName() != null ) {
                                     .qualifiers( mapping.getQualifiers() )
                                     .resultType( mapping.getResultType() )
                                     .dateFormat( mapping.getDateFormat() )
+                                    .numberFormat( mapping.getNumberFormat() )
+                                    .unknownEnumStringConstant( mapping.getUnknownEnumStringConstant() )
                                     .existingVariableNames( existingVariableNames )
                                     .dependsOn( mapping.getDependsOn() )
+                                    .lazy( mapping.isLazy() )
                                     .build();
                                 handledTargets.add( mapping.getTargetName() );
                                 unprocessedSourceParameters.remove( sourceRef.getParameter() );
@@ -314,6 +527,8 @@ else if ( mapping.getConstant() != null && targetWriteAccessor != null ) {
                             .targetReadAccessor( getTargetPropertyReadAccessor( mapping.getTargetName() ) )
                             .targetPropertyName( mapping.getTargetName() )
                             .dateFormat( mapping.getDateFormat() )
+                            .numberFormat( mapping.getNumberFormat() )
+                            .unknownEnumStringConstant( mapping.getUnknownEnumStringConstant() )
                             .qualifiers( mapping.getQualifiers() )
                             .resultType( mapping.getResultType() )
                             .existingVariableNames( existingVariableNames )
@@ -355,13 +570,31 @@ else if ( mapping.getJavaExpression() != null && targetWriteAccessor != null ) {
             return errorOccurred;
         }
 
+        /**
+         * Returns the strategy for copying the properties of the source parameter in case this method maps a type to
+         * itself, or {@code null} if the properties are to be mapped as for any other bean mapping.
+         */
+        private CloneStrategyPrism getEffectiveCloneStrategy() {
+            List<Parameter> sourceParameters = method.getSourceParameters();
+            if ( sourceParameters.size() != 1 || method.isAsync()
+                || !sourceParameters.get( 0 ).getType().equals( method.getResultType() ) ) {
+                return null;
+            }
+
+            CloneStrategyPrism strategy = method.getMapperConfiguration().getCloneStrategy( cloneStrategy );
+            return strategy != CloneStrategyPrism.NONE ? strategy : null;
+        }
+
         /**
          * Iterates over all target properties and all source parameters.
          * <p>
          * When a property name match occurs, the remainder will be checked for duplicates. Matches will be removed from
          * the set of remaining target properties.
+         *
+         * @param effectiveCloneStrategy the strategy for copying the matching properties, or {@code null} if they are
+         * to be mapped as usual
          */
-        private void applyPropertyNameBasedMapping() {
+        private void applyPropertyNameBasedMapping(CloneStrategyPrism effectiveCloneStrategy) {
             Iterator<Entry<String, ExecutableElement>> targetProperties =
                 unprocessedTargetProperties.entrySet().iterator();
 
@@ -413,8 +646,14 @@ private void applyPropertyNameBasedMapping() {
                                 .qualifiers( mapping != null ? mapping.getQualifiers() : null )
                                 .resultType( mapping != null ? mapping.getResultType() : null )
                                 .dateFormat( mapping != null ? mapping.getDateFormat() : null )
+                                .numberFormat( mapping != null ? mapping.getNumberFormat() : null )
+                                .unknownEnumStringConstant(
+                                    mapping != null ? mapping.getUnknownEnumStringConstant() : null
+                                )
                                 .existingVariableNames( existingVariableNames )
                                 .dependsOn( mapping != null ? mapping.getDependsOn() : Collections.<String>emptyList() )
+                                .cloneStrategy( effectiveCloneStrategy )
+                                .lazy( mapping != null && mapping.isLazy() )
                                 .build();
 
                             unprocessedSourceParameters.remove( sourceParameter );
@@ -477,8 +716,13 @@ private void applyParameterNameBasedMapping() {
                             .qualifiers( mapping != null ? mapping.getQualifiers() : null )
                             .resultType( mapping != null ? mapping.getResultType() : null )
                             .dateFormat( mapping != null ? mapping.getDateFormat() : null )
+                            .numberFormat( mapping != null ? mapping.getNumberFormat() : null )
+                            .unknownEnumStringConstant(
+                                mapping != null ? mapping.getUnknownEnumStringConstant() : null
+                            )
                             .existingVariableNames( existingVariableNames )
                             .dependsOn( mapping != null ? mapping.getDependsOn() : Collections.<String>emptyList() )
+                            .lazy( mapping != null && mapping.isLazy() )
                             .build();
 
                         propertyMappings.add( propertyMapping );
@@ -568,12 +812,17 @@ private void reportErrorForUnmappedTargetPropertiesIfRequired() {
         }
     }
 
+    @SuppressWarnings("checkstyle:parameternumber")
     private BeanMappingMethod(SourceMethod method,
                               List<PropertyMapping> propertyMappings,
                               MethodReference factoryMethod,
                               boolean mapNullToDefault,
                               Type resultType,
-                              Collection<String> existingVariableNames ) {
+                              Collection<String> existingVariableNames,
+                              AllocatorReference allocator,
+                              List<AsyncLookup> asyncLookups,
+                              Type completableFutureType,
+                              LazyTarget lazyTarget) {
         super( method, existingVariableNames );
         this.propertyMappings = propertyMappings;
 
@@ -594,6 +843,11 @@ private BeanMappingMethod(SourceMethod method,
         this.factoryMethod = factoryMethod;
         this.mapNullToDefault = mapNullToDefault;
         this.resultType = resultType;
+        this.allocator = allocator;
+        this.asyncLookups = asyncLookups;
+        this.completableFutureType = completableFutureType;
+        this.joinedName = asyncLookups != null ? Strings.getSaveVariableName( "joined", existingVariableNames ) : null;
+        this.lazyTarget = lazyTarget;
     }
 
     public List<PropertyMapping> getPropertyMappings() {
@@ -630,6 +884,17 @@ public Set<Type> getImportTypes() {
             types.addAll( propertyMapping.getImportTypes() );
         }
 
+        if ( asyncLookups != null ) {
+            types.add( completableFutureType );
+            for ( AsyncLookup asyncLookup : asyncLookups ) {
+                types.addAll( asyncLookup.getImportTypes() );
+            }
+        }
+
+        if ( lazyTarget != null ) {
+            types.addAll( lazyTarget.getImportTypes() );
+        }
+
         return types;
     }
 
@@ -658,4 +923,41 @@ public List<Parameter> getSourcePrimitiveParameters() {
     public MethodReference getFactoryMethod() {
         return this.factoryMethod;
     }
+
+    /**
+     * @return the allocator the result is obtained from, or {@code null} if the result is created otherwise
+     */
+    public AllocatorReference getAllocator() {
+        return allocator;
+    }
+
+    /**
+     * @return whether this method returns a {@code CompletionStage} completing with the mapped object
+     */
+    public boolean isAsync() {
+        return asyncLookups != null;
+    }
+
+    /**
+     * @return the asynchronous lookups of property values, started before populating the target; {@code null} if this
+     *         method is not asynchronous
+     */
+    public List<AsyncLookup> getAsyncLookups() {
+        return asyncLookups;
+    }
+
+    /**
+     * @return the name of the parameter of the lambda expressions invoked once lookups completed
+     */
+    public String getJoinedName() {
+        return joinedName;
+    }
+
+    /**
+     * @return the subclass of the result type returned by this method to map properties when accessed, or
+     *         {@code null} if all properties are mapped when invoking this method
+     */
+    public LazyTarget getLazyTarget() {
+        return lazyTarget;
+    }
 }
@@ -0,0 +1,85 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.mapstruct.ap.model.common.Type;
+
+/**
+ * A {@code private static} field of a mapper type caching the value of a constant given via {@code Mapping#constant()},
+ * converted into the type of the target property, along with a method of the mapper returning it. The method converts
+ * the constant when invoked for the first time instead of with each invocation of the mapping method.
+ * <p>
+ * The conversion isn't done when initializing the mapper, as any conversion of a constant may fail, e.g. when parsing
+ * an invalid number, which would fail the initialization of the mapper class. Failures thus are raised by the mapping
+ * methods as before, wrapped in a {@code RuntimeException} if the conversion raises checked exceptions not declared by
+ * the mapping method. The field is {@code volatile} so the converted value is published safely; converting a constant
+ * more than once when invoked concurrently for the first time does no harm.
+ */
+public class ConstantField extends Field {
+
+    private final Type valueType;
+    private final String accessorName;
+    private final TypeConversion conversion;
+
+    /**
+     * @param valueType the type the constant is converted into
+     * @param fieldType the type of the field, i.e. the value type or its wrapper type if it is a primitive type
+     * @param variableName the name of the field
+     * @param accessorName the name of the method returning the converted constant
+     * @param conversion the conversion of the constant
+     */
+    public ConstantField(Type valueType, Type fieldType, String variableName, String accessorName,
+                         TypeConversion conversion) {
+        super( fieldType, variableName, true );
+        this.valueType = valueType;
+        this.accessorName = accessorName;
+        this.conversion = conversion;
+    }
+
+    public Type getValueType() {
+        return valueType;
+    }
+
+    /**
+     * @return the name of the method returning the converted constant
+     */
+    public String getAccessorName() {
+        return accessorName;
+    }
+
+    public TypeConversion getConversion() {
+        return conversion;
+    }
+
+    public List<Type> getExceptionTypes() {
+        return conversion.getExceptionTypes();
+    }
+
+    @Override
+    public Set<Type> getImportTypes() {
+        Set<Type> types = new HashSet<Type>( conversion.getImportTypes() );
+        types.add( getType() );
+        types.add( valueType );
+        return types;
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.mapstruct.ap.model.common.Type;
+
+/**
+ * A {@code private static final} field of a mapper type holding a {@code ThreadLocal} with a {@code DecimalFormat} for
+ * a number format given via {@code Mapping#numberFormat()}. The conversions with that number format share the
+ * instance of the current thread instead of creating a new {@code DecimalFormat} with each invocation; as
+ * {@code DecimalFormat} isn't thread-safe, a single instance can't be shared by all threads.
+ */
+public class DecimalFormatField extends Field {
+
+    private final Type decimalFormatType;
+    private final String pattern;
+    private final boolean parseBigDecimal;
+
+    /**
+     * @param type the type of the field, {@code ThreadLocal<DecimalFormat>}
+     * @param variableName the name of the field
+     * @param decimalFormatType the type {@code DecimalFormat}
+     * @param pattern the number format
+     * @param parseBigDecimal whether the format parses strings into {@code BigDecimal}s
+     */
+    public DecimalFormatField(Type type, String variableName, Type decimalFormatType, String pattern,
+                              boolean parseBigDecimal) {
+        super( type, variableName, true );
+        this.decimalFormatType = decimalFormatType;
+        this.pattern = pattern;
+        this.parseBigDecimal = parseBigDecimal;
+    }
+
+    public Type getDecimalFormatType() {
+        return decimalFormatType;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public boolean isParseBigDecimal() {
+        return parseBigDecimal;
+    }
+
+    @Override
+    public Set<Type> getImportTypes() {
+        Set<Type> types = new HashSet<Type>();
+        types.add( getType() );
+        types.add( decimalFormatType );
+        return types;
+    }
+}
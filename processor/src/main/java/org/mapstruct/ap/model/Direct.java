@@ -19,18 +19,20 @@
 package org.mapstruct.ap.model;
 
 import org.mapstruct.ap.model.assignment.Assignment;
+import java.io.Writer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import org.mapstruct.ap.model.common.ModelElement;
 import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.writer.Emittable;
 
 /**
  * Direct Assignment. Just a source reference
  *
  * @author Sjaak Derksen
  */
-public class Direct extends ModelElement implements Assignment {
+public class Direct extends ModelElement implements Assignment, Emittable {
 
     private final String sourceReference;
 
@@ -68,4 +70,9 @@ public boolean isUpdateMethod() {
         return false;
     }
 
+    @Override
+    public void emit(Context context, Writer writer) throws Exception {
+        writer.write( sourceReference );
+    }
+
 }
@@ -20,6 +20,7 @@
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
@@ -126,6 +127,13 @@ public List<? extends ModelElement> getFields() {
         return fields;
     }
 
+    /**
+     * @return the classes nested into the generated type; none by default
+     */
+    public List<? extends ModelElement> getNestedTypes() {
+        return Collections.emptyList();
+    }
+
     public boolean isSuppressGeneratorTimestamp() {
         return suppressGeneratorTimestamp;
     }
@@ -161,6 +169,12 @@ public SortedSet<Type> getImportTypes() {
             }
         }
 
+        for ( ModelElement nestedType : getNestedTypes() ) {
+            for ( Type type : nestedType.getImportTypes() ) {
+                addWithDependents( importedTypes, type );
+            }
+        }
+
         for ( Annotation annotation : annotations ) {
             addWithDependents( importedTypes, annotation.getType() );
         }
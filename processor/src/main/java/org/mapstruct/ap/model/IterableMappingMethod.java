@@ -18,6 +18,7 @@
  */
 package org.mapstruct.ap.model;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -49,6 +50,9 @@ public class IterableMappingMethod extends MappingMethod {
     private final boolean overridden;
     private final boolean mapNullToDefault;
     private final String loopVariableName;
+    private final AllocatorReference allocator;
+    private final Set<Type> pooledTypes;
+    private final boolean clone;
 
     public static class Builder {
 
@@ -58,6 +62,7 @@ public static class Builder {
         private List<TypeMirror> qualifiers;
         private TypeMirror qualifyingElementTargetType;
         private NullValueMappingStrategyPrism nullValueMappingStrategy;
+        private boolean clone;
 
         public Builder mappingContext(MappingBuilderContext mappingContext) {
             this.ctx = mappingContext;
@@ -89,6 +94,15 @@ public Builder nullValueMappingStrategy(NullValueMappingStrategyPrism nullValueM
             return this;
         }
 
+        /**
+         * @param clone whether the method copies the elements of a collection or array property of a cloned bean
+         * @return this builder
+         */
+        public Builder cloning(boolean clone) {
+            this.clone = clone;
+            return this;
+        }
+
         public IterableMappingMethod build() {
             Type sourceParameterType = first( method.getSourceParameters() ).getType();
             Type resultType = method.getResultType();
@@ -113,6 +127,8 @@ public IterableMappingMethod build() {
                 targetElementType,
                 null, // there is no targetPropertyName
                 dateFormat,
+                null, // number formats are only supported for properties
+                null, // unknown enum string constants are only supported for properties
                 qualifiers,
                 qualifyingElementTargetType,
                 loopVariableName,
@@ -145,19 +161,26 @@ public IterableMappingMethod build() {
                     assignment,
                     factoryMethod,
                     mapNullToDefault,
-                    loopVariableName );
+                    loopVariableName,
+                    ctx.getAllocator(),
+                    ctx.getPooledTypes(),
+                    clone );
         }
     }
 
 
     private IterableMappingMethod(Method method, Assignment parameterAssignment, MethodReference factoryMethod,
-                                  boolean mapNullToDefault, String loopVariableName ) {
+                                  boolean mapNullToDefault, String loopVariableName, AllocatorReference allocator,
+                                  Set<Type> pooledTypes, boolean clone) {
         super( method );
         this.elementAssignment = parameterAssignment;
         this.factoryMethod = factoryMethod;
         this.overridden = method.overridesMethod();
         this.mapNullToDefault = mapNullToDefault;
         this.loopVariableName = loopVariableName;
+        this.allocator = allocator;
+        this.pooledTypes = pooledTypes;
+        this.clone = clone;
     }
 
     public Parameter getSourceParameter() {
@@ -190,6 +213,25 @@ public boolean isMapNullToDefault() {
         return mapNullToDefault;
     }
 
+    /**
+     * Returns whether the created list is sized for the elements of the source up front, avoiding to grow it while
+     * adding the mapped elements. This only applies to the methods forged for copying the collections and arrays of
+     * cloned beans if they create an {@link ArrayList} without a factory method; all other methods keep creating their
+     * lists with the default capacity.
+     *
+     * @return whether the created list is sized for the elements of the source up front
+     */
+    public boolean isPresized() {
+        Type createdType = getResultType().getImplementationType() != null ?
+            getResultType().getImplementationType() : getResultType();
+        Type sourceType = getSourceParameter().getType();
+
+        return clone
+            && factoryMethod == null
+            && ( sourceType.isCollectionType() || sourceType.isArrayType() )
+            && createdType.getFullyQualifiedName().equals( ArrayList.class.getName() );
+    }
+
     public boolean isOverridden() {
         return overridden;
     }
@@ -243,6 +285,17 @@ public Type getResultElementType() {
         }
     }
 
+    public AllocatorReference getAllocator() {
+        return allocator;
+    }
+
+    /**
+     * @return whether the elements of the target collection are to be released to the allocator before clearing it
+     */
+    public boolean isReleaseElements() {
+        return allocator != null && !getResultType().isArrayType() && pooledTypes.contains( getResultElementType() );
+    }
+
     public String getIndex1Name() {
         return Strings.getSaveVariableName( "i", loopVariableName, getSourceParameter().getName(), getResultName() );
     }
@@ -0,0 +1,66 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model;
+
+import org.mapstruct.ap.model.common.Type;
+
+/**
+ * The source value of a {@link PropertyMapping} configured via {@code Mapping#lazy()}. The value is obtained when
+ * invoking the mapping method and kept by the {@link LazyTarget} until the target property is accessed; only then
+ * the value is mapped, passing it as parameter to a method of the mapper.
+ */
+public class LazyProperty {
+
+    private final String sourceReference;
+    private final String sourceName;
+    private final Type sourceType;
+    private final Type getterType;
+
+    public LazyProperty(String sourceReference, String sourceName, Type sourceType, Type getterType) {
+        this.sourceReference = sourceReference;
+        this.sourceName = sourceName;
+        this.sourceType = sourceType;
+        this.getterType = getterType;
+    }
+
+    /**
+     * @return the expression obtaining the source value within the mapping method
+     */
+    public String getSourceReference() {
+        return sourceReference;
+    }
+
+    /**
+     * @return the name of the parameter passing the source value to the method mapping it
+     */
+    public String getSourceName() {
+        return sourceName;
+    }
+
+    public Type getSourceType() {
+        return sourceType;
+    }
+
+    /**
+     * @return the type returned by the getter of the target property
+     */
+    public Type getGetterType() {
+        return getterType;
+    }
+}
@@ -0,0 +1,139 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.mapstruct.ap.model.common.ModelElement;
+import org.mapstruct.ap.model.common.Type;
+
+/**
+ * A subclass of the result type of a {@link BeanMappingMethod}, generated as nested type of the mapper, which maps
+ * the properties configured via {@code Mapping#lazy()} when their getter is invoked for the first time.
+ * <p>
+ * The source value of each lazy property is kept until then; the getter maps it by invoking a method generated into
+ * the mapper for that purpose. Pending properties are mapped under the lock of the target object, and invoking the
+ * setter discards the pending value. If the result type is serializable, the subclass is replaced by a plain instance
+ * of the result type when serializing it, holding the values of all properties, pending properties mapped; so the
+ * serialized form doesn't refer to the mapper implementation and can be read without it.
+ */
+public class LazyTarget extends ModelElement {
+
+    private final String name;
+    private final Type targetType;
+    private final String mapperName;
+    private final List<PropertyMapping> propertyMappings;
+    private final List<String> mapperMethodNames;
+    private final List<CopiedProperty> copiedProperties;
+
+    public LazyTarget(String name, Type targetType, String mapperName, List<PropertyMapping> propertyMappings,
+                      List<String> mapperMethodNames, List<CopiedProperty> copiedProperties) {
+        this.name = name;
+        this.targetType = targetType;
+        this.mapperName = mapperName;
+        this.propertyMappings = propertyMappings;
+        this.mapperMethodNames = mapperMethodNames;
+        this.copiedProperties = copiedProperties;
+    }
+
+    /**
+     * @return the simple name of the generated subclass
+     */
+    public String getName() {
+        return name;
+    }
+
+    public Type getTargetType() {
+        return targetType;
+    }
+
+    /**
+     * @return the simple name of the generated mapper implementation
+     */
+    public String getMapperName() {
+        return mapperName;
+    }
+
+    /**
+     * @return the mappings of the properties mapped lazily
+     */
+    public List<PropertyMapping> getPropertyMappings() {
+        return propertyMappings;
+    }
+
+    /**
+     * @return the names of the methods of the mapper mapping the lazy properties, in the order of
+     *         {@link #getPropertyMappings()}
+     */
+    public List<String> getMapperMethodNames() {
+        return mapperMethodNames;
+    }
+
+    /**
+     * @return whether the result type is serializable, i.e. the subclass is to be replaced when serializing it
+     */
+    public boolean isSerializable() {
+        return copiedProperties != null;
+    }
+
+    /**
+     * @return the properties to copy into the plain instance of the result type replacing the subclass when
+     *         serializing it, or {@code null} if the result type isn't serializable
+     */
+    public List<CopiedProperty> getCopiedProperties() {
+        return copiedProperties;
+    }
+
+    @Override
+    public Set<Type> getImportTypes() {
+        Set<Type> types = new HashSet<Type>( targetType.getImportTypes() );
+
+        for ( PropertyMapping propertyMapping : propertyMappings ) {
+            types.addAll( propertyMapping.getTargetType().getImportTypes() );
+            types.addAll( propertyMapping.getLazyProperty().getSourceType().getImportTypes() );
+            types.addAll( propertyMapping.getLazyProperty().getGetterType().getImportTypes() );
+        }
+
+        return types;
+    }
+
+    /**
+     * A property copied into the plain instance of the result type replacing the subclass when serializing it.
+     */
+    public static class CopiedProperty {
+
+        private final String readAccessorName;
+        private final String writeAccessorName;
+
+        public CopiedProperty(String readAccessorName, String writeAccessorName) {
+            this.readAccessorName = readAccessorName;
+            this.writeAccessorName = writeAccessorName;
+        }
+
+        public String getReadAccessorName() {
+            return readAccessorName;
+        }
+
+        public String getWriteAccessorName() {
+            return writeAccessorName;
+        }
+    }
+}
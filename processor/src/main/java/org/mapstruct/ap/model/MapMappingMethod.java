@@ -47,6 +47,8 @@ public class MapMappingMethod extends MappingMethod {
     private final MethodReference factoryMethod;
     private final boolean overridden;
     private final boolean mapNullToDefault;
+    private final AllocatorReference allocator;
+    private final Set<Type> pooledTypes;
 
     public static class Builder {
 
@@ -123,6 +125,8 @@ public MapMappingMethod build() {
                 keyTargetType,
                 null, // there is no targetPropertyName
                 keyDateFormat,
+                null, // number formats are only supported for properties
+                null, // unknown enum string constants are only supported for properties
                 keyQualifiers,
                 keyQualifyingTargetType,
                 "entry.getKey()",
@@ -144,6 +148,8 @@ public MapMappingMethod build() {
                 valueTargetType,
                 null, // there is no targetPropertyName
                 valueDateFormat,
+                null, // number formats are only supported for properties
+                null, // unknown enum string constants are only supported for properties
                 valueQualifiers,
                 valueQualifyingTargetType,
                 "entry.getValue()",
@@ -171,13 +177,16 @@ public MapMappingMethod build() {
                 keyAssignment,
                 valueAssignment,
                 factoryMethod,
-                mapNullToDefault
+                mapNullToDefault,
+                ctx.getAllocator(),
+                ctx.getPooledTypes()
             );
         }
     }
 
     private MapMappingMethod(Method method, Assignment keyAssignment, Assignment valueAssignment,
-                             MethodReference factoryMethod, boolean mapNullToDefault) {
+                             MethodReference factoryMethod, boolean mapNullToDefault, AllocatorReference allocator,
+                             Set<Type> pooledTypes) {
         super( method );
 
         this.keyAssignment = keyAssignment;
@@ -185,6 +194,8 @@ private MapMappingMethod(Method method, Assignment keyAssignment, Assignment val
         this.factoryMethod = factoryMethod;
         this.overridden = method.overridesMethod();
         this.mapNullToDefault = mapNullToDefault;
+        this.allocator = allocator;
+        this.pooledTypes = pooledTypes;
     }
 
     public Parameter getSourceParameter() {
@@ -255,6 +266,24 @@ public boolean isOverridden() {
         return overridden;
     }
 
+    public AllocatorReference getAllocator() {
+        return allocator;
+    }
+
+    /**
+     * @return whether the keys of the target map are to be released to the allocator before clearing it
+     */
+    public boolean isReleaseKeys() {
+        return allocator != null && pooledTypes.contains( getResultType().getTypeParameters().get( 0 ) );
+    }
+
+    /**
+     * @return whether the values of the target map are to be released to the allocator before clearing it
+     */
+    public boolean isReleaseValues() {
+        return allocator != null && pooledTypes.contains( getResultType().getTypeParameters().get( 1 ) );
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -18,6 +18,9 @@
  */
 package org.mapstruct.ap.model;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.SortedSet;
 
@@ -44,12 +47,14 @@ public class Mapper extends GeneratedType {
 
     private final List<MapperReference> referencedMappers;
     private final Decorator decorator;
+    private final List<StacklessException> nestedTypes;
 
     @SuppressWarnings( "checkstyle:parameternumber" )
     private Mapper(TypeFactory typeFactory, String packageName, String name, String superClassName,
                    String interfaceName, List<MappingMethod> methods, Options options,
                    VersionInformation versionInformation, Accessibility accessibility,
-                   List<MapperReference> referencedMappers, Decorator decorator,
+                   List<MapperReference> referencedMappers, List<ConstantField> constantFields,
+                   Collection<Field> helperFields, List<StacklessException> nestedTypes, Decorator decorator,
                    SortedSet<Type> extraImportedTypes ) {
 
         super(
@@ -59,7 +64,7 @@ private Mapper(TypeFactory typeFactory, String packageName, String name, String
             superClassName,
             interfaceName,
             methods,
-            referencedMappers,
+            getFields( constantFields, helperFields, referencedMappers ),
             options,
             versionInformation,
             accessibility,
@@ -69,6 +74,7 @@ private Mapper(TypeFactory typeFactory, String packageName, String name, String
 
         this.referencedMappers = referencedMappers;
         this.decorator = decorator;
+        this.nestedTypes = nestedTypes;
     }
 
     public static class Builder {
@@ -77,6 +83,9 @@ public static class Builder {
         private TypeElement element;
         private List<MappingMethod> mappingMethods;
         private List<MapperReference> mapperReferences;
+        private List<ConstantField> constantFields;
+        private Collection<Field> helperFields;
+        private List<StacklessException> nestedTypes = Collections.emptyList();
         private SortedSet<Type> extraImportedTypes;
 
         private Elements elementUtils;
@@ -99,6 +108,21 @@ public Builder mapperReferences(List<MapperReference> mapperReferences) {
             return this;
         }
 
+        public Builder constantFields(List<ConstantField> constantFields) {
+            this.constantFields = constantFields;
+            return this;
+        }
+
+        public Builder helperFields(Collection<Field> helperFields) {
+            this.helperFields = helperFields;
+            return this;
+        }
+
+        public Builder nestedTypes(List<StacklessException> nestedTypes) {
+            this.nestedTypes = nestedTypes;
+            return this;
+        }
+
         public Builder options(Options options) {
             this.options = options;
             return this;
@@ -130,8 +154,7 @@ public Builder extraImports(SortedSet<Type> extraImportedTypes) {
         }
 
         public Mapper build() {
-            String implementationName = element.getSimpleName()
-                + ( decorator == null ? IMPLEMENTATION_SUFFIX : DECORATED_IMPLEMENTATION_SUFFIX );
+            String implementationName = getImplementationName( element, decorator != null );
 
             return new Mapper(
                 typeFactory,
@@ -144,12 +167,34 @@ public Mapper build() {
                 versionInformation,
                 Accessibility.fromModifiers( element.getModifiers() ),
                 mapperReferences,
+                constantFields,
+                helperFields,
+                nestedTypes,
                 decorator,
                 extraImportedTypes
             );
         }
     }
 
+    private static List<Field> getFields(List<ConstantField> constantFields, Collection<Field> helperFields,
+                                         List<MapperReference> referencedMappers) {
+        // helper fields first, as the conversions of constants may refer to them
+        List<Field> fields = new ArrayList<Field>( helperFields );
+        fields.addAll( constantFields );
+        fields.addAll( referencedMappers );
+        return fields;
+    }
+
+    /**
+     * @param element the mapper type
+     * @param isDecorated whether the mapper type is decorated via {@code @DecoratedWith}
+     *
+     * @return the simple name of the class generated for the given mapper type
+     */
+    static String getImplementationName(TypeElement element, boolean isDecorated) {
+        return element.getSimpleName() + ( isDecorated ? DECORATED_IMPLEMENTATION_SUFFIX : IMPLEMENTATION_SUFFIX );
+    }
+
     public List<MapperReference> getReferencedMappers() {
         return referencedMappers;
     }
@@ -158,6 +203,11 @@ public Decorator getDecorator() {
         return decorator;
     }
 
+    @Override
+    public List<StacklessException> getNestedTypes() {
+        return nestedTypes;
+    }
+
     @Override
     protected String getTemplateName() {
         return GeneratedType.class.getName() + ".ftl";
@@ -19,7 +19,12 @@
 package org.mapstruct.ap.model;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.mapstruct.ap.util.FormattingMessager;
@@ -34,6 +39,9 @@
 import org.mapstruct.ap.model.source.Method;
 import org.mapstruct.ap.model.source.SourceMethod;
 import org.mapstruct.ap.option.Options;
+import org.mapstruct.ap.prism.DecoratedWithPrism;
+import org.mapstruct.ap.util.MemberNames;
+import org.mapstruct.ap.util.Strings;
 
 /**
  * This class provides the context for the builders.
@@ -79,6 +87,9 @@ public interface MappingResolver {
          * @param targetType return type to match
          * @param targetPropertyName name of the target property
          * @param dateFormat used for formatting dates in build in methods that need context information
+         * @param numberFormat used for formatting numbers in conversions from and to strings
+         * @param unknownEnumStringConstant the constant returned for unknown strings in conversions from strings into
+         * enum types
          * @param qualifiers used for further select the appropriate mapping method based on class and name
          * @param resultType used for further select the appropriate mapping method based on resultType (bean mapping)
          * targetType (Iterable- and MapMapping)
@@ -93,10 +104,32 @@ public interface MappingResolver {
          * <li>null, no assignment found</li>
          * </ol>
          */
+        @SuppressWarnings("checkstyle:parameternumber")
         Assignment getTargetAssignment(Method mappingMethod, String mappedElement, Type sourceType, Type targetType,
-                                       String targetPropertyName, String dateFormat, List<TypeMirror> qualifiers,
+                                       String targetPropertyName, String dateFormat, String numberFormat,
+                                       String unknownEnumStringConstant, List<TypeMirror> qualifiers,
                                        TypeMirror resultType, String sourceReference, boolean preferUpdateMethods);
 
+        /**
+         * Returns a reference to an asynchronous method, i.e. a method returning a {@code CompletionStage}, mapping the
+         * given source type into the given target type. Used by asynchronous mapping methods, which compose such
+         * methods instead of invoking synchronous ones where possible.
+         *
+         * @param mappingMethod target mapping method, an asynchronous one
+         * @param mappedElement used for error messages
+         * @param sourceType parameter to match
+         * @param targetType type the returned {@code CompletionStage} has to complete with
+         * @param targetPropertyName name of the target property
+         * @param qualifiers used for further select the appropriate mapping method based on class and name
+         * @param resultType used for further select the appropriate mapping method based on resultType
+         * @param sourceReference call to source type as string
+         *
+         * @return a method reference to the asynchronous method, or null if there is no such method
+         */
+        Assignment getAsyncTargetAssignment(Method mappingMethod, String mappedElement, Type sourceType,
+                                            Type targetType, String targetPropertyName, List<TypeMirror> qualifiers,
+                                            TypeMirror resultType, String sourceReference);
+
         /**
          * returns a no arg factory method
          *
@@ -113,6 +146,22 @@ MethodReference getFactoryMethod(Method mappingMethod, Type target, List<TypeMir
             TypeMirror resultType);
 
         Set<VirtualMappingMethod> getUsedVirtualMappings();
+
+        /**
+         * Returns the fields required by the conversions of the resolved assignments, e.g. for caching values shared
+         * by all invocations of a conversion.
+         *
+         * @return the fields to be added to the mapper
+         */
+        Collection<Field> getUsedHelperFields();
+
+        /**
+         * Returns the types to be nested into the mapper for the resolved assignments, e.g. the exception thrown for
+         * unknown strings converted into enum types.
+         *
+         * @return the types to be nested into the mapper
+         */
+        List<StacklessException> getUsedNestedTypes();
     }
 
     private final TypeFactory typeFactory;
@@ -125,7 +174,13 @@ MethodReference getFactoryMethod(Method mappingMethod, Type target, List<TypeMir
     private final List<MapperReference> mapperReferences;
     private final MappingResolver mappingResolver;
     private final List<MappingMethod> mappingsToGenerate = new ArrayList<MappingMethod>();
+    private final AllocatorReference allocator;
+    private final Set<Type> pooledTypes = new HashSet<Type>();
+    private final MemberNames memberNames;
+    private final Set<String> lazyTargetNames = new HashSet<String>();
+    private final Map<String, ConstantField> constantFields = new LinkedHashMap<String, ConstantField>();
 
+    @SuppressWarnings("checkstyle:parameternumber")
     public MappingBuilderContext(TypeFactory typeFactory,
                           Elements elementUtils,
                           Types typeUtils,
@@ -134,7 +189,9 @@ public MappingBuilderContext(TypeFactory typeFactory,
                           MappingResolver mappingResolver,
                           TypeElement mapper,
                           List<SourceMethod> sourceModel,
-                          List<MapperReference> mapperReferences) {
+                          List<MapperReference> mapperReferences,
+                          AllocatorReference allocator,
+                          MemberNames memberNames) {
         this.typeFactory = typeFactory;
         this.elementUtils = elementUtils;
         this.typeUtils = typeUtils;
@@ -144,6 +201,8 @@ public MappingBuilderContext(TypeFactory typeFactory,
         this.mapperTypeElement = mapper;
         this.sourceModel = sourceModel;
         this.mapperReferences = mapperReferences;
+        this.allocator = allocator;
+        this.memberNames = memberNames;
     }
 
     public TypeElement getMapperTypeElement() {
@@ -209,4 +268,111 @@ public Set<VirtualMappingMethod> getUsedVirtualMappings() {
         return mappingResolver.getUsedVirtualMappings();
     }
 
+    public Collection<Field> getUsedHelperFields() {
+        return mappingResolver.getUsedHelperFields();
+    }
+
+    public List<StacklessException> getUsedNestedTypes() {
+        return mappingResolver.getUsedNestedTypes();
+    }
+
+    /**
+     * @return the allocator target instances are to be obtained from, or {@code null} if they are to be created via
+     *         their constructor
+     */
+    public AllocatorReference getAllocator() {
+        return allocator;
+    }
+
+    /**
+     * Registers the given type as obtained from the allocator, so that update methods populating collections or maps
+     * of that type hand their elements back to the allocator.
+     *
+     * @param pooledType the type obtained from the allocator
+     */
+    public void addPooledType(Type pooledType) {
+        pooledTypes.add( pooledType );
+    }
+
+    /**
+     * Returns a name for a subclass of the given type mapping properties lazily, which is unique within the mapper.
+     *
+     * @param targetType the type to derive the lazy subclass from
+     *
+     * @return the simple name of the subclass, nested within the mapper
+     */
+    public String getLazyTargetName(Type targetType) {
+        String baseName = "Lazy" + targetType.getTypeElement().getSimpleName();
+        String name = baseName;
+        for ( int i = 1; !lazyTargetNames.add( name ); i++ ) {
+            name = baseName + i;
+        }
+
+        return name;
+    }
+
+    /**
+     * Returns a name for a method added to the mapper, which is unique among the methods of the mapper.
+     *
+     * @param baseName the name to derive the method name from; a number is appended to it if required
+     *
+     * @return the name of the method
+     */
+    public String getUniqueMethodName(String baseName) {
+        return memberNames.getUniqueName( baseName );
+    }
+
+    /**
+     * @return the simple name of the class generated for the mapper
+     */
+    public String getMapperImplementationName() {
+        return Mapper.getImplementationName(
+            mapperTypeElement,
+            DecoratedWithPrism.getInstanceOn( mapperTypeElement ) != null
+        );
+    }
+
+    /**
+     * Returns the static field caching the value of the given conversion of a constant, adding it to the fields of
+     * the mapper when invoked for the first time for that conversion into the given type.
+     *
+     * @param type the type the constant is converted into
+     * @param conversion the conversion of the constant
+     * @param propertyName the name of the target property the constant is mapped to, used for naming the field
+     *
+     * @return the field caching the converted constant
+     */
+    public ConstantField getConstantField(Type type, TypeConversion conversion, String propertyName) {
+        String key = type.getFullyQualifiedName() + " " + conversion.getOpenExpression()
+            + conversion.getSourceReference() + conversion.getCloseExpression();
+        ConstantField field = constantFields.get( key );
+
+        if ( field == null ) {
+            String name = memberNames.getUniqueName( Strings.toConstantName( propertyName ) );
+            String accessorName = memberNames.getUniqueName( "get" + Strings.capitalize( propertyName ) + "Constant" );
+
+            field = new ConstantField( type, typeFactory.boxedTypeOf( type ), name, accessorName, conversion );
+            constantFields.put( key, field );
+        }
+
+        return field;
+    }
+
+    /**
+     * @return the static fields holding converted constants, to be queried once all mapping methods have been built
+     */
+    public List<ConstantField> getConstantFields() {
+        return new ArrayList<ConstantField>( constantFields.values() );
+    }
+
+    /**
+     * Returns the types whose instances are obtained from the allocator. The returned set is a view which is only
+     * complete once all mapping methods have been built, so it is to be queried when generating the mapper.
+     *
+     * @return the types whose instances are obtained from the allocator
+     */
+    public Set<Type> getPooledTypes() {
+        return Collections.unmodifiableSet( pooledTypes );
+    }
+
 }
@@ -42,6 +42,7 @@ public abstract class MappingMethod extends ModelElement {
     private final String name;
     private final List<Parameter> parameters;
     private final Type returnType;
+    private final Type resultType;
     private final Parameter targetParameter;
     private final Accessibility accessibility;
     private final List<Type> thrownTypes;
@@ -59,6 +60,7 @@ protected MappingMethod(Method method, Collection<String> existingVariableNames
         this.name = method.getName();
         this.parameters = method.getParameters();
         this.returnType = method.getReturnType();
+        this.resultType = method.getResultType();
         this.targetParameter = method.getMappingTargetParameter();
         this.accessibility = method.getAccessibility();
         this.thrownTypes = method.getThrownTypes();
@@ -70,6 +72,7 @@ protected MappingMethod(Method method ) {
         this.name = method.getName();
         this.parameters = method.getParameters();
         this.returnType = method.getReturnType();
+        this.resultType = method.getResultType();
         this.targetParameter = method.getMappingTargetParameter();
         this.accessibility = method.getAccessibility();
         this.thrownTypes = method.getThrownTypes();
@@ -114,7 +117,7 @@ public List<Parameter> getSourceParameters() {
     }
 
     public Type getResultType() {
-        return targetParameter != null ? targetParameter.getType() : returnType;
+        return resultType;
     }
 
     public String getResultName() {
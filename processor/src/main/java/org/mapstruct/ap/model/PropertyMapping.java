@@ -18,24 +18,33 @@
  */
 package org.mapstruct.ap.model;
 
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
 
 import org.mapstruct.ap.model.assignment.AdderWrapper;
 import org.mapstruct.ap.model.assignment.ArrayCopyWrapper;
 import org.mapstruct.ap.model.assignment.Assignment;
+import org.mapstruct.ap.model.assignment.FlyweightWriteWrapper;
 import org.mapstruct.ap.model.assignment.GetterWrapperForCollectionsAndMaps;
 import org.mapstruct.ap.model.assignment.NewCollectionOrMapWrapper;
 import org.mapstruct.ap.model.assignment.NullCheckWrapper;
 import org.mapstruct.ap.model.assignment.SetterWrapper;
 import org.mapstruct.ap.model.assignment.SetterWrapperForCollectionsAndMaps;
+import org.mapstruct.ap.model.assignment.SetterWrapperForStringBuilders;
 import org.mapstruct.ap.model.assignment.UpdateWrapper;
+import org.mapstruct.ap.model.common.FlyweightProperty;
 import org.mapstruct.ap.model.common.ModelElement;
 import org.mapstruct.ap.model.common.Parameter;
 import org.mapstruct.ap.model.common.Type;
@@ -43,9 +52,13 @@
 import org.mapstruct.ap.model.source.SourceMethod;
 import org.mapstruct.ap.model.source.SourceReference;
 import org.mapstruct.ap.model.source.SourceReference.PropertyEntry;
+import org.mapstruct.ap.model.source.builtin.BuiltInMethod;
+import org.mapstruct.ap.prism.CloneStrategyPrism;
 import org.mapstruct.ap.util.Executables;
 import org.mapstruct.ap.util.Message;
 import org.mapstruct.ap.util.Strings;
+import org.mapstruct.ap.writer.Emittable;
+import org.mapstruct.ap.writer.Writable;
 
 import static org.mapstruct.ap.model.assignment.Assignment.AssignmentType.DIRECT;
 import static org.mapstruct.ap.model.assignment.Assignment.AssignmentType.TYPE_CONVERTED;
@@ -58,7 +71,7 @@
  *
  * @author Gunnar Morling
  */
-public class PropertyMapping extends ModelElement {
+public class PropertyMapping extends ModelElement implements Emittable {
 
     private final String name;
     private final String sourceBeanName;
@@ -67,6 +80,8 @@ public class PropertyMapping extends ModelElement {
     private final Type targetType;
     private final Assignment assignment;
     private final List<String> dependsOn;
+    private final AsyncLookup asyncLookup;
+    private final LazyProperty lazyProperty;
 
     public static class PropertyMappingBuilder {
 
@@ -77,11 +92,15 @@ public static class PropertyMappingBuilder {
         private ExecutableElement targetReadAccessor;
         private String targetPropertyName;
         private String dateFormat;
+        private String numberFormat;
+        private String unknownEnumStringConstant;
         private List<TypeMirror> qualifiers;
         private TypeMirror resultType;
         private SourceReference sourceReference;
         private Collection<String> existingVariableNames;
         private List<String> dependsOn;
+        private CloneStrategyPrism cloneStrategy;
+        private boolean lazy;
 
         public PropertyMappingBuilder mappingContext(MappingBuilderContext mappingContext) {
             this.ctx = mappingContext;
@@ -128,6 +147,16 @@ public PropertyMappingBuilder dateFormat(String dateFormat) {
             return this;
         }
 
+        public PropertyMappingBuilder numberFormat(String numberFormat) {
+            this.numberFormat = numberFormat;
+            return this;
+        }
+
+        public PropertyMappingBuilder unknownEnumStringConstant(String unknownEnumStringConstant) {
+            this.unknownEnumStringConstant = unknownEnumStringConstant;
+            return this;
+        }
+
         public PropertyMappingBuilder existingVariableNames(Collection<String> existingVariableNames) {
             this.existingVariableNames = existingVariableNames;
             return this;
@@ -138,6 +167,27 @@ public PropertyMappingBuilder dependsOn(List<String> dependsOn) {
             return this;
         }
 
+        /**
+         * @param cloneStrategy the strategy for copying the property if it is mapped by a method cloning its source,
+         * {@code null} otherwise
+         *
+         * @return this builder
+         */
+        public PropertyMappingBuilder cloneStrategy(CloneStrategyPrism cloneStrategy) {
+            this.cloneStrategy = cloneStrategy;
+            return this;
+        }
+
+        /**
+         * @param lazy whether the property is to be mapped when it is accessed for the first time
+         *
+         * @return this builder
+         */
+        public PropertyMappingBuilder lazy(boolean lazy) {
+            this.lazy = lazy;
+            return this;
+        }
+
         private enum TargetWriteAccessorType {
             GETTER,
             SETTER,
@@ -164,6 +214,32 @@ public PropertyMapping build() {
                 sourceRefStr = getSourceRef();
             }
 
+            // lazily mapped values are kept by the target, which passes them to the mapper when being accessed
+            LazyProperty lazyProperty = lazy ? getLazyProperty( targetAccessorType, sourceType, sourceRefStr ) : null;
+            if ( lazyProperty != null ) {
+                sourceRefStr = lazyProperty.getSourceName();
+            }
+
+            // clones pass on the values of immutable properties without selecting a mapping for them
+            boolean isClone = cloneStrategy != null && targetAccessorType != TargetWriteAccessorType.ADDER
+                && sourceType.equals( targetType );
+            if ( isClone ) {
+                Assignment cloneAssignment = getCloneAssignment( targetType, targetAccessorType, sourceRefStr );
+                if ( cloneAssignment != null ) {
+                    return new PropertyMapping(
+                        targetPropertyName,
+                        sourceReference.getParameter().getName(),
+                        targetWriteAccessor.getSimpleName().toString(),
+                        targetReadAccessor != null ? targetReadAccessor.getSimpleName().toString() : null,
+                        targetType,
+                        cloneAssignment,
+                        dependsOn,
+                        null,
+                        null
+                    );
+                }
+            }
+
             // all the tricky cases will be excluded for the time being.
             boolean preferUpdateMethods;
             if ( targetType.isCollectionOrMapType() ||  targetType.isArrayType() ||
@@ -174,27 +250,53 @@ public PropertyMapping build() {
                 preferUpdateMethods = method.getMappingTargetParameter() != null;
             }
 
-            Assignment assignment = ctx.getMappingResolver().getTargetAssignment(
-                method,
-                sourceElement,
-                sourceType,
-                targetType,
-                targetPropertyName,
-                dateFormat,
-                qualifiers,
-                resultType,
-                sourceRefStr,
-                preferUpdateMethods
-            );
+            // asynchronous methods compose asynchronous methods where possible
+            Assignment assignment = null;
+            AsyncLookup asyncLookup = null;
+            if ( method.isAsync() && targetAccessorType == TargetWriteAccessorType.SETTER ) {
+                asyncLookup = getAsyncLookup( sourceElement, sourceType, targetType, sourceRefStr );
+                if ( asyncLookup != null ) {
+                    // the property is only set once all lookups completed, so joining doesn't block
+                    assignment = AssignmentFactory.createDirect( asyncLookup.getVariableName() + ".join()" );
+                }
+            }
+
+            if ( assignment == null ) {
+                assignment = ctx.getMappingResolver().getTargetAssignment(
+                    method,
+                    sourceElement,
+                    sourceType,
+                    targetType,
+                    targetPropertyName,
+                    dateFormat,
+                    numberFormat,
+                    unknownEnumStringConstant,
+                    qualifiers,
+                    resultType,
+                    sourceRefStr,
+                    preferUpdateMethods
+                );
+            }
 
             // No mapping found. Try to forge a mapping
             if ( assignment == null ) {
-                assignment = forgeMapOrIterableMapping( sourceType, targetType, sourceRefStr, method.getExecutable() );
+                assignment = forgeMapOrIterableMapping(
+                    sourceType,
+                    targetType,
+                    sourceRefStr,
+                    method.getExecutable(),
+                    isClone
+                );
+            }
+
+            // deep clones copy mutable values instead of passing them on
+            if ( isClone && assignment != null && assignment.getType() == DIRECT ) {
+                assignment = getDeepCloneAssignment( sourceType, targetType, sourceRefStr, assignment );
             }
 
             if ( assignment != null ) {
                 if ( targetType.isCollectionOrMapType() ) {
-                    assignment = assignCollection( targetType, targetAccessorType, assignment );
+                    assignment = assignCollection( sourceType, targetType, targetAccessorType, assignment );
                 }
                 else if ( targetType.isArrayType() && sourceType.isArrayType() && assignment.getType() == DIRECT ) {
                     Type arrayType = ctx.getTypeFactory().getType( Arrays.class );
@@ -231,8 +333,150 @@ else if ( targetType.isArrayType() && sourceType.isArrayType() && assignment.get
                 targetReadAccessor != null ? targetReadAccessor.getSimpleName().toString() : null,
                 targetType,
                 assignment,
-                dependsOn
+                dependsOn,
+                asyncLookup,
+                lazyProperty
+            );
+        }
+
+        /**
+         * Returns the source value of the property to be kept by the target until the property is accessed, or
+         * {@code null} if the property can't be mapped lazily, in which case an error is reported.
+         */
+        private LazyProperty getLazyProperty(TargetWriteAccessorType targetAccessorType, Type sourceType,
+                                             String sourceRefStr) {
+            String reason = null;
+            if ( method.getMappingTargetParameter() != null ) {
+                reason = "the method updates an existing target";
+            }
+            else if ( method.isAsync() ) {
+                reason = "the method is asynchronous";
+            }
+            else if ( targetAccessorType != TargetWriteAccessorType.SETTER
+                || targetWriteAccessor.getReturnType().getKind() != TypeKind.VOID
+                || targetWriteAccessor.getModifiers().contains( Modifier.FINAL )
+                || targetReadAccessor == null
+                || targetReadAccessor.getModifiers().contains( Modifier.FINAL ) ) {
+                reason = "the target type has no setter and non-final getter for it";
+            }
+
+            if ( reason != null ) {
+                ctx.getMessager().printMessage(
+                    method.getExecutable(),
+                    Message.PROPERTYMAPPING_LAZY_NOT_SUPPORTED,
+                    targetPropertyName,
+                    reason
+                );
+                return null;
+            }
+
+            String sourceName = Strings.getSaveVariableName( targetPropertyName, existingVariableNames );
+            existingVariableNames.add( sourceName );
+
+            return new LazyProperty(
+                sourceRefStr,
+                sourceName,
+                sourceType,
+                ctx.getTypeFactory().getReturnType( targetReadAccessor )
+            );
+        }
+
+        private AsyncLookup getAsyncLookup(String sourceElement, Type sourceType, Type targetType,
+                                           String sourceRefStr) {
+            Assignment lookup = ctx.getMappingResolver().getAsyncTargetAssignment(
+                method,
+                sourceElement,
+                sourceType,
+                targetType,
+                targetPropertyName,
+                qualifiers,
+                resultType,
+                sourceRefStr
+            );
+
+            if ( lookup == null ) {
+                return null;
+            }
+
+            String variableName = Strings.getSaveVariableName( targetPropertyName, existingVariableNames );
+            existingVariableNames.add( variableName );
+
+            return new AsyncLookup( variableName, targetPropertyName, targetType, lookup );
+        }
+
+        /**
+         * Returns the assignment passing on the value of the property as it is, which is the case for all values when
+         * cloning shallowly, and for immutable values when cloning deeply. Collections, maps and arrays of immutable
+         * elements are copied when cloning deeply. For all other properties {@code null} is returned; their values are
+         * mapped as for any other bean mapping.
+         */
+        private Assignment getCloneAssignment(Type type, TargetWriteAccessorType targetAccessorType,
+                                              String sourceRefStr) {
+            Assignment value = AssignmentFactory.createDirect( sourceRefStr );
+
+            if ( cloneStrategy == CloneStrategyPrism.SHALLOW || ctx.getTypeFactory().isImmutable( type ) ) {
+                if ( targetAccessorType == TargetWriteAccessorType.SETTER ) {
+                    return new SetterWrapper( value, getUnwrappedExceptionTypes( method ) );
+                }
+                else {
+                    // no setter, so the elements are added to the collection or map of the target
+                    return assignCollection( type, type, targetAccessorType, value );
+                }
+            }
+            else if ( type.isCollectionOrMapType() && areImmutable( type.getTypeParameters() ) ) {
+                return assignCollection( type, type, targetAccessorType, value );
+            }
+            else if ( type.isArrayType() && ctx.getTypeFactory().isImmutable( type.getComponentType() ) ) {
+                return new NullCheckWrapper( new ArrayCopyWrapper(
+                    value,
+                    targetPropertyName,
+                    ctx.getTypeFactory().getType( Arrays.class ),
+                    type,
+                    existingVariableNames
+                ) );
+            }
+
+            return null;
+        }
+
+        /**
+         * Returns the assignment deeply cloning a mutable value which otherwise would be passed on as it is. The
+         * elements of collections, maps and arrays are mapped one by one, using a method copying them, if present. For
+         * other values a warning is raised, as the value is shared between source and target.
+         */
+        private Assignment getDeepCloneAssignment(Type sourceType, Type targetType, String sourceRefStr,
+                                                  Assignment direct) {
+            Assignment forged = null;
+            if ( targetType.isCollectionOrMapType() || targetType.isArrayType() ) {
+                forged = forgeMapOrIterableMapping(
+                    sourceType,
+                    targetType,
+                    sourceRefStr,
+                    method.getExecutable(),
+                    true
+                );
+            }
+
+            if ( forged != null ) {
+                return forged;
+            }
+
+            ctx.getMessager().printMessage(
+                method.getExecutable(),
+                Message.PROPERTYMAPPING_SHARED_BY_DEEP_CLONE,
+                targetPropertyName,
+                targetType
             );
+            return direct;
+        }
+
+        private boolean areImmutable(List<Type> types) {
+            for ( Type type : types ) {
+                if ( !ctx.getTypeFactory().isImmutable( type ) ) {
+                    return false;
+                }
+            }
+            return true;
         }
 
         private Assignment assignObject(Type sourceType, Type targetType, TargetWriteAccessorType targetAccessorType,
@@ -249,10 +493,41 @@ private Assignment assignObject(Type sourceType, Type targetType, TargetWriteAcc
                     }
                     Assignment factoryMethod =
                         ctx.getMappingResolver().getFactoryMethod( method, targetType, null, null );
-                    result = new UpdateWrapper( result, method.getThrownTypes(), targetType, factoryMethod );
+                    result = new UpdateWrapper(
+                        result,
+                        getUnwrappedExceptionTypes( method ),
+                        targetType,
+                        factoryMethod
+                    );
                 }
                 else {
-                    result = new SetterWrapper( result, method.getThrownTypes() );
+                    FlyweightProperty flyweightProperty = targetReadAccessor != null ? FlyweightProperty.forGetter(
+                        targetReadAccessor,
+                        targetType,
+                        method.getExecutable(),
+                        ctx.getMessager()
+                    ) : null;
+                    TypeConversion appendingConversion = getAppendingConversion( result, targetType );
+
+                    if ( flyweightProperty != null ) {
+                        // write to the buffer backing the target directly
+                        result = new FlyweightWriteWrapper(
+                            result,
+                            getUnwrappedExceptionTypes( method ),
+                            flyweightProperty
+                        );
+                    }
+                    else if ( appendingConversion != null ) {
+                        // reuse the builder of the existing target
+                        result = new SetterWrapperForStringBuilders(
+                            new SetterWrapper( result, getUnwrappedExceptionTypes( method ) ),
+                            targetReadAccessor.getSimpleName().toString(),
+                            new SetterWrapper( appendingConversion, getUnwrappedExceptionTypes( method ) )
+                        );
+                    }
+                    else {
+                        result = new SetterWrapper( result, getUnwrappedExceptionTypes( method ) );
+                    }
                 }
                 if ( !sourceType.isPrimitive()
                     && !sourceReference.getPropertyEntries().isEmpty() /* parameter null taken care of by beanmapper */
@@ -269,14 +544,14 @@ private Assignment assignObject(Type sourceType, Type targetType, TargetWriteAcc
                 if ( getSourceType().isCollectionType() ) {
                     result = new AdderWrapper(
                         result,
-                        method.getThrownTypes(),
+                        getUnwrappedExceptionTypes( method ),
                         getSourceRef(),
                         sourceType
                     );
                 }
                 else {
                     // Possibly adding null to a target collection. So should be surrounded by an null check.
-                    result = new SetterWrapper( result, method.getThrownTypes() );
+                    result = new SetterWrapper( result, getUnwrappedExceptionTypes( method ) );
                     result = new NullCheckWrapper( result );
                 }
             }
@@ -284,7 +559,23 @@ private Assignment assignObject(Type sourceType, Type targetType, TargetWriteAcc
 
         }
 
-        private Assignment assignCollection(Type targetType,
+        /**
+         * Returns the conversion of the source into the value to append to the builder of the existing target, if
+         * this is an update method and the target builder can be obtained via the getter.
+         */
+        private TypeConversion getAppendingConversion(Assignment rhs, Type targetType) {
+            if ( method.getMappingTargetParameter() == null
+                || targetReadAccessor == null
+                || !( rhs instanceof TypeConversion )
+                || !ctx.getTypeFactory().getReturnType( targetReadAccessor ).equals( targetType ) ) {
+                return null;
+            }
+
+            return ( (TypeConversion) rhs ).getAppendingConversion();
+        }
+
+        private Assignment assignCollection(Type sourceType,
+                                            Type targetType,
                                             TargetWriteAccessorType targetAccessorType,
                                             Assignment rhs) {
 
@@ -294,15 +585,16 @@ private Assignment assignCollection(Type targetType,
             if ( targetAccessorType == TargetWriteAccessorType.SETTER ) {
 
                 // wrap the assignment in a new Map or Collection implementation if this is not done in a
-                // mapping method. Note, typeconversons do not apply to collections or maps
+                // mapping method, unless the source can't be altered anyways and thus can be shared. Note,
+                // typeconversons do not apply to collections or maps
                 Assignment newCollectionOrMap = null;
-                if ( result.getType() == DIRECT ) {
+                if ( result.getType() == DIRECT && !isSharedAsImmutable( sourceType ) ) {
                     newCollectionOrMap = new NewCollectionOrMapWrapper( result, targetType.getImportTypes() );
-                    newCollectionOrMap = new SetterWrapper( newCollectionOrMap, method.getThrownTypes() );
+                    newCollectionOrMap = new SetterWrapper( newCollectionOrMap, getUnwrappedExceptionTypes( method ) );
                 }
 
                 // wrap the assignment in the setter method
-                result = new SetterWrapper( result, method.getThrownTypes() );
+                result = new SetterWrapper( result, getUnwrappedExceptionTypes( method ) );
 
                 // target accessor is setter, so wrap the setter in setter map/ collection handling
                 result = new SetterWrapperForCollectionsAndMaps(
@@ -315,7 +607,7 @@ private Assignment assignCollection(Type targetType,
                 // target accessor is getter, so wrap the setter in getter map/ collection handling
                 result = new GetterWrapperForCollectionsAndMaps(
                     result,
-                    method.getThrownTypes(),
+                    getUnwrappedExceptionTypes( method ),
                     targetType,
                     existingVariableNames
                 );
@@ -331,6 +623,15 @@ private Assignment assignCollection(Type targetType,
             return result;
         }
 
+        /**
+         * Whether the value of the given type is passed on as it is instead of copying it, as enabled via
+         * {@code Mapper#shareImmutableValues()}.
+         */
+        private boolean isSharedAsImmutable(Type sourceType) {
+            return method.getMapperConfiguration().isShareImmutableValues()
+                && ctx.getTypeFactory().isImmutable( sourceType );
+        }
+
         private Type getSourceType() {
 
             Parameter sourceParam = sourceReference.getParameter();
@@ -359,6 +660,18 @@ private String getSourceRef() {
             // simple property
             else if ( propertyEntries.size() == 1 ) {
                 PropertyEntry propertyEntry = propertyEntries.get( 0 );
+                FlyweightProperty flyweightProperty = FlyweightProperty.forGetter(
+                    propertyEntry.getAccessor(),
+                    propertyEntry.getType(),
+                    method.getExecutable(),
+                    ctx.getMessager()
+                );
+
+                // read from the buffer backing the source directly
+                if ( flyweightProperty != null ) {
+                    return flyweightProperty.getReadExpression( sourceParam.getName() );
+                }
+
                 return sourceParam.getName() + "." + propertyEntry.getAccessor().getSimpleName() + "()";
             }
             // nested property given as dot path
@@ -437,7 +750,7 @@ private Type getTargetType(TargetWriteAccessorType targetAccessorType) {
         }
 
         private Assignment forgeMapOrIterableMapping(Type sourceType, Type targetType, String sourceReference,
-                                                     ExecutableElement element) {
+                                                     ExecutableElement element, boolean clone) {
 
             Assignment assignment = null;
 
@@ -453,6 +766,7 @@ private Assignment forgeMapOrIterableMapping(Type sourceType, Type targetType, S
                 IterableMappingMethod iterableMappingMethod = builder
                     .mappingContext( ctx )
                     .method( methodRef )
+                    .cloning( clone )
                     .build();
 
                 if ( !ctx.getMappingsToGenerate().contains( iterableMappingMethod ) ) {
@@ -515,6 +829,8 @@ public static class ConstantMappingBuilder {
         private ExecutableElement targetWriteAccessor;
         private ExecutableElement targetReadAccessor;
         private String dateFormat;
+        private String numberFormat;
+        private String unknownEnumStringConstant;
         private List<TypeMirror> qualifiers;
         private TypeMirror resultType;
         private Collection<String> existingVariableNames;
@@ -555,6 +871,16 @@ public ConstantMappingBuilder dateFormat(String dateFormat) {
             return this;
         }
 
+        public ConstantMappingBuilder numberFormat(String numberFormat) {
+            this.numberFormat = numberFormat;
+            return this;
+        }
+
+        public ConstantMappingBuilder unknownEnumStringConstant(String unknownEnumStringConstant) {
+            this.unknownEnumStringConstant = unknownEnumStringConstant;
+            return this;
+        }
+
         public ConstantMappingBuilder qualifiers(List<TypeMirror> qualifiers) {
             this.qualifiers = qualifiers;
             return this;
@@ -597,6 +923,8 @@ public PropertyMapping build() {
                 targetType,
                 targetPropertyName,
                 dateFormat,
+                numberFormat,
+                unknownEnumStringConstant,
                 qualifiers,
                 resultType,
                 constantExpression,
@@ -605,6 +933,9 @@ public PropertyMapping build() {
 
             if ( assignment != null ) {
 
+                // constants are converted once instead of with each invocation where possible
+                assignment = getPrebuiltConstant( targetType, assignment );
+
                 if ( Executables.isSetterMethod( targetWriteAccessor ) ) {
 
                     // target accessor is setter, so decorate assignment as setter
@@ -616,11 +947,15 @@ public PropertyMapping build() {
                         }
                         Assignment factoryMethod =
                             ctx.getMappingResolver().getFactoryMethod( method, targetType, null, null );
-                        assignment =
-                            new UpdateWrapper( assignment, method.getThrownTypes(), targetType, factoryMethod );
+                        assignment = new UpdateWrapper(
+                            assignment,
+                            getUnwrappedExceptionTypes( method ),
+                            targetType,
+                            factoryMethod
+                        );
                     }
                     else {
-                        assignment = new SetterWrapper( assignment, method.getThrownTypes() );
+                        assignment = new SetterWrapper( assignment, getUnwrappedExceptionTypes( method ) );
                     }
                 }
                 else {
@@ -628,7 +963,7 @@ public PropertyMapping build() {
                     // target accessor is getter, so getter map/ collection handling
                     assignment = new GetterWrapperForCollectionsAndMaps(
                         assignment,
-                        method.getThrownTypes(),
+                        getUnwrappedExceptionTypes( method ),
                         targetType,
                         existingVariableNames
                     );
@@ -654,6 +989,63 @@ public PropertyMapping build() {
                 dependsOn
             );
         }
+
+        /**
+         * Returns the assignment of the given conversion of the constant from the method of the mapper caching it in a
+         * static field, unless the conversion invokes instance methods of the mapper. Immutable values are shared by
+         * all targets, while mutable values are cloned from the cached value if their type has a public {@code clone()}
+         * method. Otherwise the given conversion is returned, i.e. the constant is converted with each invocation.
+         */
+        private Assignment getPrebuiltConstant(Type targetType, Assignment assignment) {
+            if ( !( assignment instanceof TypeConversion ) || assignment.getType() != TYPE_CONVERTED
+                || invokesInstanceMethods( (TypeConversion) assignment ) ) {
+                return assignment;
+            }
+
+            boolean isImmutable = ctx.getTypeFactory().isImmutable( targetType );
+            if ( !isImmutable && !isPubliclyCloneable( targetType ) ) {
+                return assignment;
+            }
+
+            ConstantField field = ctx.getConstantField( targetType, (TypeConversion) assignment, targetPropertyName );
+
+            // the method returning the cached value raises the exceptions of the conversion
+            Assignment cachedConstant = AssignmentFactory.createTypeConversion(
+                Collections.<Type>emptySet(),
+                assignment.getExceptionTypes(),
+                isImmutable ? "<SOURCE>" : "(" + targetType.getName() + ") <SOURCE>.clone()"
+            );
+            cachedConstant.setAssignment( AssignmentFactory.createDirect( field.getAccessorName() + "()" ) );
+            return cachedConstant;
+        }
+
+        private boolean invokesInstanceMethods(TypeConversion conversion) {
+            for ( BuiltInMethod helperMethod : conversion.getHelperMethods() ) {
+                if ( !helperMethod.isStatic() ) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private boolean isPubliclyCloneable(Type type) {
+            if ( type.getTypeElement() == null || !type.getTypeParameters().isEmpty()
+                || !type.isAssignableTo( ctx.getTypeFactory().getType( Cloneable.class ) ) ) {
+                return false;
+            }
+
+            List<ExecutableElement> methods =
+                ElementFilter.methodsIn( ctx.getElementUtils().getAllMembers( type.getTypeElement() ) );
+            for ( ExecutableElement candidate : methods ) {
+                if ( candidate.getSimpleName().contentEquals( "clone" ) && candidate.getParameters().isEmpty()
+                    && candidate.getModifiers().contains( Modifier.PUBLIC ) ) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
     }
 
     public static class JavaExpressionMappingBuilder {
@@ -714,7 +1106,7 @@ public PropertyMapping build() {
             Type targetType;
             if ( Executables.isSetterMethod( targetWriteAccessor ) ) {
                 // setter, so wrap in setter
-                assignment = new SetterWrapper( assignment, method.getThrownTypes() );
+                assignment = new SetterWrapper( assignment, getUnwrappedExceptionTypes( method ) );
                 targetType = ctx.getTypeFactory().getSingleParameter( targetWriteAccessor ).getType();
             }
             else {
@@ -722,7 +1114,7 @@ public PropertyMapping build() {
                 // target accessor is getter, so wrap the setter in getter map/ collection handling
                 assignment = new GetterWrapperForCollectionsAndMaps(
                     assignment,
-                    method.getThrownTypes(),
+                    getUnwrappedExceptionTypes( method ),
                     targetType,
                     existingVariableNames
                 );
@@ -741,14 +1133,33 @@ public PropertyMapping build() {
     }
 
     // Constructor for creating mappings of constant expressions.
+    /**
+     * Returns the exception types which the assignments of the given method don't need to wrap, as the method declares
+     * them. The properties of asynchronous methods may be populated within a function completing the returned stage,
+     * which can't throw checked exceptions, so these assignments wrap all of them.
+     */
+    private static List<Type> getUnwrappedExceptionTypes(SourceMethod method) {
+        return method.isAsync() ? Collections.<Type>emptyList() : method.getThrownTypes();
+    }
+
     private PropertyMapping(String name, String targetWriteAccessorName, String targetReadAccessorName, Type targetType,
                             Assignment propertyAssignment, List<String> dependsOn) {
-        this( name, null, targetWriteAccessorName, targetReadAccessorName, targetType, propertyAssignment, dependsOn );
+        this(
+            name,
+            null,
+            targetWriteAccessorName,
+            targetReadAccessorName,
+            targetType,
+            propertyAssignment,
+            dependsOn,
+            null,
+            null
+        );
     }
 
     private PropertyMapping(String name, String sourceBeanName, String targetWriteAccessorName,
                             String targetReadAccessorName, Type targetType, Assignment assignment,
-                            List<String> dependsOn) {
+                            List<String> dependsOn, AsyncLookup asyncLookup, LazyProperty lazyProperty) {
         this.name = name;
         this.sourceBeanName = sourceBeanName;
         this.targetWriteAccessorName = targetWriteAccessorName;
@@ -756,6 +1167,8 @@ private PropertyMapping(String name, String sourceBeanName, String targetWriteAc
         this.targetType = targetType;
         this.assignment = assignment;
         this.dependsOn = dependsOn != null ? dependsOn : Collections.<String>emptyList();
+        this.asyncLookup = asyncLookup;
+        this.lazyProperty = lazyProperty;
     }
 
     /**
@@ -794,6 +1207,45 @@ public List<String> getDependsOn() {
         return dependsOn;
     }
 
+    /**
+     * @return the asynchronous lookup of the value of the target property, or {@code null} if the value is obtained
+     *         synchronously
+     */
+    public AsyncLookup getAsyncLookup() {
+        return asyncLookup;
+    }
+
+    /**
+     * @return the source value kept by the target until the property is accessed, or {@code null} if the property is
+     *         mapped when invoking the mapping method
+     */
+    public LazyProperty getLazyProperty() {
+        return lazyProperty;
+    }
+
+    @Override
+    public void emit(Context context, Writer writer) throws Exception {
+        if ( lazyProperty != null ) {
+            writer.write( getIncludeParameterAsString( context, "targetBeanName" ) );
+            writer.write( ".defer" );
+            writer.write( Strings.capitalize( name ) );
+            writer.write( "( " );
+            writer.write( lazyProperty.getSourceReference() );
+            writer.write( " );\n" );
+            return;
+        }
+
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put( "targetBeanName", getIncludeParameter( context, "targetBeanName" ) );
+        parameters.put( "raw", getIncludeParameter( context, "raw" ) );
+        parameters.put( "existingInstanceMapping", getIncludeParameter( context, "existingInstanceMapping" ) );
+        parameters.put( "targetReadAccessorName", targetReadAccessorName );
+        parameters.put( "targetWriteAccessorName", targetWriteAccessorName );
+        parameters.put( "targetType", targetType );
+
+        includeModel( (Writable) assignment, context, parameters, writer );
+    }
+
     @Override
     public String toString() {
         return "PropertyMapping {"
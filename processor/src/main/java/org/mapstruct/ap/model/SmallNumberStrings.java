@@ -0,0 +1,54 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model;
+
+import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.model.source.builtin.SmallNumberToString;
+
+/**
+ * A {@code private static final} array of a mapper holding the strings of the numbers from
+ * {@link SmallNumberToString#LOWEST} to {@link SmallNumberToString#HIGHEST}, so that converting such numbers into
+ * strings doesn't create a new string each time.
+ *
+ * @see SmallNumberToString
+ */
+public class SmallNumberStrings extends Field {
+
+    /**
+     * @param type the type of the field, {@code String[]}
+     * @param variableName the name of the field
+     */
+    public SmallNumberStrings(Type type, String variableName) {
+        super( type, variableName, true );
+    }
+
+    /**
+     * @return the number of cached strings
+     */
+    public int getSize() {
+        return SmallNumberToString.HIGHEST - SmallNumberToString.LOWEST + 1;
+    }
+
+    /**
+     * @return the value to add to a number for obtaining the index of its string
+     */
+    public int getOffset() {
+        return -SmallNumberToString.LOWEST;
+    }
+}
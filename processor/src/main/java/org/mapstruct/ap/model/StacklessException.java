@@ -0,0 +1,52 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.mapstruct.ap.model.common.ModelElement;
+import org.mapstruct.ap.model.common.Type;
+
+/**
+ * A {@code private static} class nested into a mapper, extending {@link IllegalArgumentException} without filling in
+ * its stack trace. It is thrown by the methods converting strings into enum types for strings not matching any constant
+ * if configured via {@code UnknownEnumStringStrategy#THROW_EXCEPTION_WITHOUT_STACK_TRACE}. Being nested into the
+ * mapper, it doesn't add a runtime dependency to the mapper.
+ */
+public class StacklessException extends ModelElement {
+
+    private final String name;
+
+    /**
+     * @param name the simple name of the class, unique within the mapper
+     */
+    public StacklessException(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Set<Type> getImportTypes() {
+        return Collections.emptySet();
+    }
+}
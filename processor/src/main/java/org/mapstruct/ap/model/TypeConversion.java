@@ -19,12 +19,14 @@
 package org.mapstruct.ap.model;
 
 import org.mapstruct.ap.model.assignment.Assignment;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import org.mapstruct.ap.model.common.ModelElement;
 import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.model.source.builtin.BuiltInMethod;
 
 /**
  * An inline conversion between source and target type of a mapping.
@@ -39,6 +41,9 @@ public class TypeConversion extends ModelElement implements Assignment {
     private final List<Type> exceptionTypes;
     private final String openExpression;
     private final String closeExpression;
+    private final List<BuiltInMethod> helperMethods;
+    private final List<Field> helperFields;
+    private final String appendedValue;
 
     /**
      * A reference to mapping method in case this is a two-step mapping, e.g. from
@@ -50,6 +55,33 @@ public class TypeConversion extends ModelElement implements Assignment {
     TypeConversion( Set<Type> importTypes,
             List<Type> exceptionTypes,
             String expression ) {
+        this( importTypes, exceptionTypes, expression, Collections.<BuiltInMethod>emptyList() );
+    }
+
+    TypeConversion( Set<Type> importTypes,
+            List<Type> exceptionTypes,
+            String expression,
+            List<BuiltInMethod> helperMethods ) {
+        this( importTypes, exceptionTypes, expression, helperMethods, Collections.<Field>emptyList() );
+    }
+
+    TypeConversion( Set<Type> importTypes,
+            List<Type> exceptionTypes,
+            String expression,
+            List<BuiltInMethod> helperMethods,
+            List<Field> helperFields ) {
+        this( importTypes, exceptionTypes, expression, helperMethods, helperFields, null );
+    }
+
+    TypeConversion( Set<Type> importTypes,
+            List<Type> exceptionTypes,
+            String expression,
+            List<BuiltInMethod> helperMethods,
+            List<Field> helperFields,
+            String appendedValue ) {
+        this.helperMethods = helperMethods;
+        this.helperFields = helperFields;
+        this.appendedValue = appendedValue;
         this.importTypes = new HashSet<Type>( importTypes );
         this.importTypes.addAll( exceptionTypes );
         this.exceptionTypes = exceptionTypes;
@@ -81,6 +113,37 @@ public Assignment getAssignment() {
         return assignment;
     }
 
+    /**
+     * @return the methods invoked by the conversion expression, which need to be added to the mapper
+     */
+    public List<BuiltInMethod> getHelperMethods() {
+        return helperMethods;
+    }
+
+    /**
+     * @return the fields referenced by the conversion expression or its helper methods, which need to be added to
+     *         the mapper
+     */
+    public List<Field> getHelperFields() {
+        return helperFields;
+    }
+
+    /**
+     * Returns a conversion of the same source into the value to append to an existing {@link StringBuilder} target,
+     * which update methods may populate instead of creating a new builder.
+     *
+     * @return the appending conversion, or {@code null} if the target of this conversion can't be populated that way
+     */
+    public TypeConversion getAppendingConversion() {
+        if ( appendedValue == null ) {
+            return null;
+        }
+
+        TypeConversion appendingConversion = new TypeConversion( importTypes, exceptionTypes, appendedValue );
+        appendingConversion.setAssignment( assignment );
+        return appendingConversion;
+    }
+
     @Override
     public String getSourceReference() {
         return assignment.getSourceReference();
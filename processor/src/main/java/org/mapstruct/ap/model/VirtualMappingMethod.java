@@ -33,15 +33,24 @@ public class VirtualMappingMethod extends MappingMethod {
 
     private static final String BUILTIN_METHOD_TEMPLATE_PREFIX = "org.mapstruct.ap.model.builtin.";
 
+    private final BuiltInMethod builtInMethod;
     private final String templateName;
     private final Set<Type> importTypes;
 
     public VirtualMappingMethod(BuiltInMethod method) {
         super( method );
+        this.builtInMethod = method;
         this.importTypes = method.getImportTypes();
         this.templateName = BUILTIN_METHOD_TEMPLATE_PREFIX + method.getClass().getSimpleName() + ".ftl";
     }
 
+    /**
+     * @return the built-in method this method is based on, e.g. for retrieving method specific details in its template
+     */
+    public BuiltInMethod getBuiltInMethod() {
+        return builtInMethod;
+    }
+
     @Override
     public String getTemplateName() {
         return templateName;
@@ -57,6 +66,7 @@ public int hashCode() {
         final int prime = 31;
         int result = 1;
         result = prime * result + ( ( templateName == null ) ? 0 : templateName.hashCode() );
+        result = prime * result + getName().hashCode();
         return result;
     }
 
@@ -80,6 +90,7 @@ public boolean equals(Object obj) {
         else if ( !templateName.equals( other.templateName ) ) {
             return false;
         }
-        return true;
+        // several methods may be based on the same template, e.g. for converting strings into different enum types
+        return getName().equals( other.getName() );
     }
 }
@@ -18,7 +18,9 @@
  */
 package org.mapstruct.ap.model.assignment;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.mapstruct.ap.model.common.ModelElement;
 import org.mapstruct.ap.model.common.Type;
@@ -69,4 +71,19 @@ public AssignmentType getType() {
     public boolean isUpdateMethod() {
         return decoratedAssignment.isUpdateMethod();
     }
+
+    /**
+     * Returns the parameters to include the decorated assignment with when emitting this wrapper directly, i.e. the
+     * ones passed on by the wrapper templates.
+     */
+    protected static Map<String, Object> getAssignmentParameters(Context context) {
+        Map<String, Object> parameters = new HashMap<String, Object>();
+        parameters.put( "targetBeanName", getIncludeParameter( context, "targetBeanName" ) );
+        parameters.put( "raw", getIncludeParameter( context, "raw" ) );
+        parameters.put( "existingInstanceMapping", getIncludeParameter( context, "existingInstanceMapping" ) );
+        parameters.put( "targetReadAccessorName", getIncludeParameter( context, "targetReadAccessorName" ) );
+        parameters.put( "targetWriteAccessorName", getIncludeParameter( context, "targetWriteAccessorName" ) );
+        parameters.put( "targetType", getIncludeParameter( context, "targetType" ) );
+        return parameters;
+    }
 }
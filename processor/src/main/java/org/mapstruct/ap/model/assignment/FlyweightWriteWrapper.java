@@ -0,0 +1,55 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model.assignment;
+
+import java.io.Writer;
+import java.util.List;
+
+import org.mapstruct.ap.model.common.FlyweightProperty;
+import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.writer.Writable;
+
+/**
+ * Wraps the assignment in a statement writing it directly to the buffer backing a flyweight target, instead of
+ * invoking the target setter.
+ */
+public class FlyweightWriteWrapper extends SetterWrapper {
+
+    private final FlyweightProperty flyweightProperty;
+
+    public FlyweightWriteWrapper(Assignment decoratedAssignment, List<Type> exceptionTypesToExclude,
+                                 FlyweightProperty flyweightProperty) {
+        super( decoratedAssignment, exceptionTypesToExclude );
+        this.flyweightProperty = flyweightProperty;
+    }
+
+    public FlyweightProperty getFlyweightProperty() {
+        return flyweightProperty;
+    }
+
+    @Override
+    protected void emitSetterInvocation(Context context, Writer writer) throws Exception {
+        writer.write( getIncludeParameterAsString( context, "targetBeanName" ) );
+        writer.write( '.' );
+        writer.write( flyweightProperty.getWriteOpenExpression() );
+        includeModel( (Writable) getAssignment(), context, getAssignmentParameters( context ), writer );
+        writer.write( flyweightProperty.getWriteCloseExpression() );
+        writer.write( ";\n" );
+    }
+}
@@ -18,14 +18,28 @@
  */
 package org.mapstruct.ap.model.assignment;
 
+import java.io.Writer;
+
+import org.mapstruct.ap.writer.Emittable;
+import org.mapstruct.ap.writer.Writable;
+
 /**
  * Wraps the assignment in a null check.
  *
  * @author Sjaak Derksen
  */
-public class NullCheckWrapper extends AssignmentWrapper {
+public class NullCheckWrapper extends AssignmentWrapper implements Emittable {
 
     public NullCheckWrapper( Assignment decoratedAssignment ) {
         super( decoratedAssignment );
     }
+
+    @Override
+    public void emit(Context context, Writer writer) throws Exception {
+        writer.write( "if ( " );
+        writer.write( getSourceReference() );
+        writer.write( " != null ) {\n" );
+        includeModel( (Writable) getAssignment(), context, getAssignmentParameters( context ), writer );
+        writer.write( "}\n" );
+    }
 }
@@ -18,16 +18,19 @@
  */
 package org.mapstruct.ap.model.assignment;
 
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.writer.Emittable;
+import org.mapstruct.ap.writer.Writable;
 
 /**
  * Wraps the assignment in a target setter.
  *
  * @author Sjaak Derksen
  */
-public class SetterWrapper extends AssignmentWrapper {
+public class SetterWrapper extends AssignmentWrapper implements Emittable {
 
     private final List<Type> exceptionTypesToExclude;
 
@@ -50,4 +53,35 @@ public List<Type> getExceptionTypes() {
         return result;
     }
 
+    @Override
+    public void emit(Context context, Writer writer) throws Exception {
+        List<Type> exceptionTypes = getExceptionTypes();
+
+        if ( exceptionTypes.isEmpty() ) {
+            emitSetterInvocation( context, writer );
+            return;
+        }
+
+        writer.write( "try {\n" );
+        emitSetterInvocation( context, writer );
+        writer.write( "}\n" );
+
+        for ( Type exceptionType : exceptionTypes ) {
+            writer.write( "catch ( " );
+            includeModel( exceptionType, context, writer );
+            writer.write( " e ) {\nthrow new RuntimeException( e );\n}\n" );
+        }
+    }
+
+    /**
+     * Writes the statement passing the assignment to the target, without any exception handling.
+     */
+    protected void emitSetterInvocation(Context context, Writer writer) throws Exception {
+        writer.write( getIncludeParameterAsString( context, "targetBeanName" ) );
+        writer.write( '.' );
+        writer.write( getIncludeParameterAsString( context, "targetWriteAccessorName" ) );
+        writer.write( "( " );
+        includeModel( (Writable) getAssignment(), context, getAssignmentParameters( context ), writer );
+        writer.write( " );\n" );
+    }
 }
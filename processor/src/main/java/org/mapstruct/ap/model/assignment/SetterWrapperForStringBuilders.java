@@ -0,0 +1,65 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model.assignment;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.mapstruct.ap.model.common.Type;
+
+/**
+ * This wrapper handles the assignment of a {@link StringBuilder} created by a type conversion via the setter in an
+ * update method.
+ *
+ * If the pre-existing target holds a builder already (not null), that builder is cleared and the converted value is
+ * appended to it, instead of replacing it by a new one. Otherwise the setter is used to assign a new builder.
+ */
+public class SetterWrapperForStringBuilders extends AssignmentWrapper {
+
+    private final String targetGetterName;
+    private final Assignment appendingAssignment;
+
+    /**
+     * @param decoratedAssignment the assignment setting a new builder
+     * @param targetGetterName the name of the getter returning the builder of the target
+     * @param appendingAssignment the assignment of the value to append to the builder, wrapped in a setter
+     */
+    public SetterWrapperForStringBuilders(Assignment decoratedAssignment, String targetGetterName,
+                                          Assignment appendingAssignment) {
+        super( decoratedAssignment );
+        this.targetGetterName = targetGetterName;
+        this.appendingAssignment = appendingAssignment;
+    }
+
+    public String getTargetGetterName() {
+        return targetGetterName;
+    }
+
+    public Assignment getAppendingAssignment() {
+        return appendingAssignment;
+    }
+
+    @Override
+    public Set<Type> getImportTypes() {
+        Set<Type> imported = new HashSet<Type>();
+        imported.addAll( getAssignment().getImportTypes() );
+        imported.addAll( appendingAssignment.getImportTypes() );
+        return imported;
+    }
+}
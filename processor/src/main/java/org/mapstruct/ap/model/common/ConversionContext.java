@@ -43,6 +43,27 @@ public interface ConversionContext {
      */
     String getDateFormat();
 
+    /**
+     * Returns the number format if this conversion is from String to a number type (e.g. {@code int} or
+     * {@link java.math.BigDecimal}) or vice versa.
+     *
+     * @return The number format as processable by {@link java.text.DecimalFormat} if this conversion is from String to
+     *         a number type. {@code null} is returned for other types or if not given.
+     */
+    String getNumberFormat();
+
     TypeFactory getTypeFactory();
 
+    /**
+     * Returns the name of a member added to the mapper for this conversion, e.g. of a static field caching values
+     * shared by all invocations of the conversion. The same name is returned for the same key within one mapper, so
+     * that conversions requiring the same member share it.
+     *
+     * @param key identifies the member within the mapper, e.g. by its purpose and the value it holds
+     * @param baseName the name to derive the name of the member from, if it is requested for the first time
+     *
+     * @return the name of the member, which doesn't clash with any other member of the mapper
+     */
+    String getHelperName(String key, String baseName);
+
 }
@@ -18,9 +18,14 @@
  */
 package org.mapstruct.ap.model.common;
 
+import java.text.DecimalFormat;
+import java.util.Collections;
+
+import org.mapstruct.ap.util.Message;
 import org.mapstruct.ap.util.Strings;
 
 import org.mapstruct.ap.util.FormattingMessager;
+import org.mapstruct.ap.util.MemberNames;
 
 /**
  * Default implementation of the {@link ConversionContext} passed to conversion providers.
@@ -33,16 +38,35 @@ public class DefaultConversionContext implements ConversionContext {
     private final Type sourceType;
     private final Type targetType;
     private final String dateFormat;
+    private final String numberFormat;
     private final TypeFactory typeFactory;
+    private final MemberNames memberNames;
 
     public DefaultConversionContext(TypeFactory typeFactory, FormattingMessager messager, Type sourceType,
                                     Type targetType, String dateFormat) {
+        this(
+            typeFactory,
+            messager,
+            sourceType,
+            targetType,
+            dateFormat,
+            null,
+            new MemberNames( Collections.<String>emptySet() )
+        );
+    }
+
+    public DefaultConversionContext(TypeFactory typeFactory, FormattingMessager messager, Type sourceType,
+                                    Type targetType, String dateFormat, String numberFormat,
+                                    MemberNames memberNames) {
         this.typeFactory = typeFactory;
+        this.memberNames = memberNames;
         this.messager = messager;
         this.sourceType = sourceType;
         this.targetType = targetType;
         this.dateFormat = dateFormat;
+        this.numberFormat = numberFormat;
         validateDateFormat();
+        validateNumberFormat();
     }
 
     /**
@@ -59,6 +83,20 @@ private void validateDateFormat() {
         }
     }
 
+    /**
+     * Validate the numberFormat if it is not null
+     */
+    private void validateNumberFormat() {
+        if ( !Strings.isEmpty( numberFormat ) ) {
+            try {
+                new DecimalFormat( numberFormat );
+            }
+            catch ( IllegalArgumentException e ) {
+                messager.printMessage( Message.GENERAL_INVALID_NUMBER, numberFormat, e.getMessage() );
+            }
+        }
+    }
+
     @Override
     public Type getTargetType() {
         return targetType;
@@ -69,11 +107,21 @@ public String getDateFormat() {
         return dateFormat;
     }
 
+    @Override
+    public String getNumberFormat() {
+        return numberFormat;
+    }
+
     @Override
     public TypeFactory getTypeFactory() {
         return typeFactory;
     }
 
+    @Override
+    public String getHelperName(String key, String baseName) {
+        return memberNames.getName( key, baseName );
+    }
+
     protected FormattingMessager getMessager() {
         return messager;
     }
@@ -0,0 +1,218 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model.common;
+
+import java.util.Locale;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+
+import org.mapstruct.ap.prism.FlyweightFieldPrism;
+import org.mapstruct.ap.prism.FlyweightPrism;
+import org.mapstruct.ap.util.Executables;
+import org.mapstruct.ap.util.FormattingMessager;
+import org.mapstruct.ap.util.Message;
+import org.mapstruct.ap.util.Strings;
+
+/**
+ * A property of a type annotated with {@code @Flyweight}, stored at a fixed offset of the buffer backing the
+ * flyweight. Provides the expressions for reading and writing the property directly from and to that buffer.
+ */
+public class FlyweightProperty {
+
+    private final String bufferAccessorName;
+    private final int offset;
+    private final TypeKind propertyKind;
+    private final TypeKind bufferKind;
+
+    private FlyweightProperty(String bufferAccessorName, int offset, TypeKind propertyKind, TypeKind bufferKind) {
+        this.bufferAccessorName = bufferAccessorName;
+        this.offset = offset;
+        this.propertyKind = propertyKind;
+        this.bufferKind = bufferKind;
+    }
+
+    /**
+     * Returns the flyweight property read by the given getter.
+     *
+     * @param getter the getter of the property
+     * @param propertyType the type of the property
+     * @param mappingMethod the mapping method the property is mapped by, for reporting errors
+     * @param messager the messager for reporting errors
+     *
+     * @return the flyweight property or {@code null} if the getter isn't annotated with {@code @FlyweightField} or the
+     *         property can't be stored as declared; an error is reported in the latter case
+     */
+    public static FlyweightProperty forGetter(ExecutableElement getter, Type propertyType, Element mappingMethod,
+                                              FormattingMessager messager) {
+        FlyweightFieldPrism field = FlyweightFieldPrism.getInstanceOn( getter );
+        if ( field == null ) {
+            return null;
+        }
+
+        String propertyName = Executables.getPropertyName( getter );
+        FlyweightPrism flyweight = FlyweightPrism.getInstanceOn( (TypeElement) getter.getEnclosingElement() );
+        if ( flyweight == null ) {
+            messager.printMessage( mappingMethod, Message.PROPERTYMAPPING_FLYWEIGHT_TYPE_MISSING, propertyName );
+            return null;
+        }
+
+        TypeKind propertyKind = propertyType.getTypeMirror().getKind();
+        int width = field.width() > 0 ? field.width() : getSize( propertyKind );
+        TypeKind bufferKind = getBufferKind( propertyKind, width );
+        if ( bufferKind == null ) {
+            messager.printMessage(
+                mappingMethod,
+                Message.PROPERTYMAPPING_INVALID_FLYWEIGHT_FIELD,
+                propertyName,
+                propertyType,
+                width
+            );
+            return null;
+        }
+
+        return new FlyweightProperty( flyweight.buffer(), field.offset(), propertyKind, bufferKind );
+    }
+
+    private static int getSize(TypeKind kind) {
+        switch ( kind ) {
+            case BOOLEAN:
+            case BYTE:
+                return 1;
+            case SHORT:
+            case CHAR:
+                return 2;
+            case INT:
+            case FLOAT:
+                return 4;
+            case LONG:
+            case DOUBLE:
+                return 8;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Returns the type the buffer is accessed with for storing a property of the given type with the given width or
+     * {@code null} if that's not supported.
+     */
+    private static TypeKind getBufferKind(TypeKind propertyKind, int width) {
+        switch ( propertyKind ) {
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+                return getIntegralKind( width );
+            case FLOAT:
+            case DOUBLE:
+                return getFloatingPointKind( width );
+            case CHAR:
+                return width == 2 ? TypeKind.CHAR : null;
+            case BOOLEAN:
+                return width == 1 ? TypeKind.BYTE : null;
+            default:
+                return null;
+        }
+    }
+
+    private static TypeKind getFloatingPointKind(int width) {
+        switch ( width ) {
+            case 4:
+                return TypeKind.FLOAT;
+            case 8:
+                return TypeKind.DOUBLE;
+            default:
+                return null;
+        }
+    }
+
+    private static TypeKind getIntegralKind(int width) {
+        switch ( width ) {
+            case 1:
+                return TypeKind.BYTE;
+            case 2:
+                return TypeKind.SHORT;
+            case 4:
+                return TypeKind.INT;
+            case 8:
+                return TypeKind.LONG;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param beanName the name of the flyweight to read from
+     *
+     * @return the expression reading the property from the buffer, e.g. {@code quote.buffer().getLong( 8 )}
+     */
+    public String getReadExpression(String beanName) {
+        String read = beanName + "." + bufferAccessorName + "().get" + getBufferMethodSuffix() + "( " + offset + " )";
+
+        if ( propertyKind == TypeKind.BOOLEAN ) {
+            return "( " + read + " != 0 )";
+        }
+        else if ( getSize( bufferKind ) > getSize( propertyKind ) ) {
+            return "(" + getName( propertyKind ) + ") " + read;
+        }
+
+        return read;
+    }
+
+    /**
+     * @return the beginning of the statement writing the property to the buffer, to be followed by the written value
+     *         and {@link #getWriteCloseExpression()}, e.g. {@code buffer().putShort( 8, (short) (}
+     */
+    public String getWriteOpenExpression() {
+        String write = bufferAccessorName + "().put" + getBufferMethodSuffix() + "( " + offset + ", ";
+
+        if ( propertyKind == TypeKind.BOOLEAN ) {
+            return write + "(byte) ( ";
+        }
+        else if ( getSize( bufferKind ) < getSize( propertyKind ) ) {
+            return write + "(" + getName( bufferKind ) + ") ( ";
+        }
+
+        return write;
+    }
+
+    /**
+     * @return the end of the statement writing the property to the buffer
+     */
+    public String getWriteCloseExpression() {
+        if ( propertyKind == TypeKind.BOOLEAN ) {
+            return " ? 1 : 0 ) )";
+        }
+        else if ( getSize( bufferKind ) < getSize( propertyKind ) ) {
+            return " ) )";
+        }
+
+        return " )";
+    }
+
+    private String getBufferMethodSuffix() {
+        return bufferKind == TypeKind.BYTE ? "" : Strings.capitalize( getName( bufferKind ) );
+    }
+
+    private static String getName(TypeKind kind) {
+        return kind.name().toLowerCase( Locale.ENGLISH );
+    }
+}
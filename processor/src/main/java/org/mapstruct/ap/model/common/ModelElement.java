@@ -18,10 +18,8 @@
  */
 package org.mapstruct.ap.model.common;
 
-import java.io.Writer;
 import java.util.Set;
 
-import org.mapstruct.ap.writer.FreeMarkerModelElementWriter;
 import org.mapstruct.ap.writer.FreeMarkerWritable;
 import org.mapstruct.ap.writer.Writable;
 
@@ -33,11 +31,6 @@
  */
 public abstract class ModelElement extends FreeMarkerWritable {
 
-    @Override
-    public void write(Context context, Writer writer) throws Exception {
-        new FreeMarkerModelElementWriter().write( this, context, writer );
-    }
-
     /**
      * Returns a set containing those {@link Type}s referenced by this model element for which an import statement needs
      * to be declared.
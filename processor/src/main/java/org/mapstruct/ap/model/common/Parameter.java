@@ -18,16 +18,18 @@
  */
 package org.mapstruct.ap.model.common;
 
+import java.io.Writer;
 import java.util.Set;
 
 import org.mapstruct.ap.util.Collections;
+import org.mapstruct.ap.writer.Emittable;
 
 /**
  * A parameter of a mapping method.
  *
  * @author Gunnar Morling
  */
-public class Parameter extends ModelElement {
+public class Parameter extends ModelElement implements Emittable {
 
     private final String name;
     private final Type type;
@@ -72,6 +74,13 @@ public boolean isTargetType() {
         return targetType;
     }
 
+    @Override
+    public void emit(Context context, Writer writer) throws Exception {
+        includeModel( type, context, writer );
+        writer.write( ' ' );
+        writer.write( name );
+    }
+
     @Override
     public int hashCode() {
         int hash = 5;
@@ -18,6 +18,7 @@
  */
 package org.mapstruct.ap.model.common;
 
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -45,6 +46,7 @@
 import org.mapstruct.ap.util.Filters;
 import org.mapstruct.ap.util.Nouns;
 import org.mapstruct.ap.util.SpecificCompilerWorkarounds;
+import org.mapstruct.ap.writer.Emittable;
 
 /**
  * Represents (a reference to) the type of a bean property, parameter etc. Types are managed per generated source file.
@@ -56,7 +58,7 @@
  *
  * @author Gunnar Morling
  */
-public class Type extends ModelElement implements Comparable<Type> {
+public class Type extends ModelElement implements Comparable<Type>, Emittable {
 
     private final Types typeUtils;
     private final Elements elementUtils;
@@ -89,6 +91,7 @@ public class Type extends ModelElement implements Comparable<Type> {
     private List<ExecutableElement> setters = null;
     private List<ExecutableElement> adders = null;
     private List<ExecutableElement> alternativeTargetAccessors = null;
+    private Map<Type, Integer> distances = null;
 
     //CHECKSTYLE:OFF
     public Type(Types typeUtils, Elements elementUtils, TypeFactory typeFactory,
@@ -353,7 +356,7 @@ public Map<String, ExecutableElement> getPropertyWriteAccessors( CollectionMappi
         candidates.addAll( getSetters() );
         candidates.addAll( getAlternativeTargetAccessors() );
 
-        Map<String, ExecutableElement> result = new HashMap<String, ExecutableElement>();
+        Map<String, ExecutableElement> result = new LinkedHashMap<String, ExecutableElement>();
 
         for ( ExecutableElement candidate : candidates ) {
             String targetPropertyName = Executables.getPropertyName( candidate );
@@ -392,7 +395,7 @@ else if ( Executables.isGetterMethod( candidate ) ) {
 
     private List<ExecutableElement> getAllExecutables() {
         if ( allExecutables == null ) {
-            allExecutables = Executables.getAllEnclosedExecutableElements( elementUtils, typeElement );
+            allExecutables = typeFactory.getAllEnclosedExecutableElements( typeElement );
         }
 
         return allExecutables;
@@ -556,7 +559,17 @@ private boolean isSubType(TypeMirror candidate, Class<?> clazz) {
      * @return the length of the shortest path in the type hierarchy between this type and the specified other type
      */
     public int distanceTo(Type assignableOther) {
-        return distanceTo( typeMirror, assignableOther.typeMirror );
+        if ( distances == null ) {
+            distances = new HashMap<Type, Integer>();
+        }
+
+        Integer distance = distances.get( assignableOther );
+        if ( distance == null ) {
+            distance = distanceTo( typeMirror, assignableOther.typeMirror );
+            distances.put( assignableOther, distance );
+        }
+
+        return distance;
     }
 
     private int distanceTo(TypeMirror base, TypeMirror targetType) {
@@ -657,6 +670,24 @@ public boolean equals(Object obj) {
         return typeUtils.isSameType( typeMirror, other.typeMirror );
     }
 
+    @Override
+    public void emit(Context context, Writer writer) throws Exception {
+        writer.write( isImported ? name : qualifiedName );
+
+        if ( getIncludeParameter( context, "raw" ) == null && !typeParameters.isEmpty() ) {
+            writer.write( '<' );
+
+            for ( int i = 0; i < typeParameters.size(); i++ ) {
+                if ( i > 0 ) {
+                    writer.write( ", " );
+                }
+                includeModel( typeParameters.get( i ), context, writer );
+            }
+
+            writer.write( '>' );
+        }
+    }
+
     @Override
     public int compareTo(Type o) {
         return getFullyQualifiedName().compareTo( o.getFullyQualifiedName() );
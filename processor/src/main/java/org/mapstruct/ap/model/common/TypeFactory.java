@@ -18,11 +18,15 @@
  */
 package org.mapstruct.ap.model.common;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -32,6 +36,7 @@
 import java.util.SortedSet;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentNavigableMap;
@@ -55,6 +60,7 @@
 import org.mapstruct.ap.prism.MappingTargetPrism;
 import org.mapstruct.ap.prism.TargetTypePrism;
 import org.mapstruct.ap.util.AnnotationProcessingException;
+import org.mapstruct.ap.util.EnclosedExecutableCache;
 import org.mapstruct.ap.util.SpecificCompilerWorkarounds;
 
 import static org.mapstruct.ap.util.SpecificCompilerWorkarounds.erasure;
@@ -67,6 +73,39 @@
  */
 public class TypeFactory {
 
+    /**
+     * Types whose instances can't be altered after construction and thus can be shared between source and target.
+     */
+    private static final Set<String> IMMUTABLE_TYPES = new HashSet<String>(
+        Arrays.asList(
+            String.class.getName(),
+            Boolean.class.getName(),
+            Byte.class.getName(),
+            Character.class.getName(),
+            Short.class.getName(),
+            Integer.class.getName(),
+            Long.class.getName(),
+            Float.class.getName(),
+            Double.class.getName(),
+            BigInteger.class.getName(),
+            BigDecimal.class.getName(),
+            UUID.class.getName()
+        )
+    );
+
+    private static final String JAVA_TIME_PACKAGE = "java.time";
+
+    /**
+     * Immutable super-types of libraries which may be present on the class path, e.g. the Guava collection types.
+     */
+    private static final List<String> LIBRARY_IMMUTABLE_TYPES = Arrays.asList(
+        "com.google.common.collect.ImmutableCollection",
+        "com.google.common.collect.ImmutableMap",
+        "com.google.common.collect.ImmutableMultimap"
+    );
+
+    private static final String IMMUTABLE_ANNOTATION = "org.mapstruct.Immutable";
+
     private final Elements elementUtils;
     private final Types typeUtils;
 
@@ -75,11 +114,38 @@ public class TypeFactory {
     private final TypeMirror mapType;
 
     private final Map<String, Type> implementationTypes = new HashMap<String, Type>();
+
+    /**
+     * The erasures of the types whose sub-types are immutable, as present on the class path or registered for the
+     * current mapper.
+     */
+    private final List<TypeMirror> immutableSuperTypes = new ArrayList<TypeMirror>();
     private final Map<String, String> importedQualifiedTypesBySimpleName = new HashMap<String, String>();
 
+    /**
+     * The elements of all declared types created by this factory and of all the types whose executables were retrieved
+     * through it, including their super-types, i.e. the types inspected while processing a mapper.
+     */
+    private final Set<TypeElement> inspectedTypeElements = new LinkedHashSet<TypeElement>();
+
+    private final EnclosedExecutableCache enclosedExecutableCache;
+
+    private int createdTypeCount;
+
     public TypeFactory(Elements elementUtils, Types typeUtils) {
+        this( elementUtils, typeUtils, new EnclosedExecutableCache( elementUtils ) );
+    }
+
+    /**
+     * @param elementUtils the element utilities
+     * @param typeUtils the type utilities
+     * @param enclosedExecutableCache the cache to obtain the executables of the created types from, typically shared
+     *            with the other type factories of the current round
+     */
+    public TypeFactory(Elements elementUtils, Types typeUtils, EnclosedExecutableCache enclosedExecutableCache) {
         this.elementUtils = elementUtils;
         this.typeUtils = typeUtils;
+        this.enclosedExecutableCache = enclosedExecutableCache;
 
         iterableType = erasure( typeUtils, elementUtils.getTypeElement( Iterable.class.getCanonicalName() ).asType() );
         collectionType =
@@ -99,6 +165,102 @@ public TypeFactory(Elements elementUtils, Types typeUtils) {
         implementationTypes.put( NavigableMap.class.getName(), getType( TreeMap.class ) );
         implementationTypes.put( ConcurrentMap.class.getName(), getType( ConcurrentHashMap.class ) );
         implementationTypes.put( ConcurrentNavigableMap.class.getName(), getType( ConcurrentSkipListMap.class ) );
+
+        for ( String immutableType : LIBRARY_IMMUTABLE_TYPES ) {
+            TypeElement typeElement = elementUtils.getTypeElement( immutableType );
+            if ( typeElement != null ) {
+                immutableSuperTypes.add( erasure( typeUtils, typeElement.asType() ) );
+            }
+        }
+    }
+
+    /**
+     * Registers a type whose instances, including the ones of its sub-types, can't be altered after construction.
+     *
+     * @param immutableType the immutable type, e.g. as given via {@code Mapper#immutableTypes()}
+     */
+    public void addImmutableType(TypeMirror immutableType) {
+        immutableSuperTypes.add( erasure( typeUtils, immutableType ) );
+    }
+
+    /**
+     * Returns the elements of all the declared types created by this factory so far, including the component types
+     * of array types, and of all the types whose executables were retrieved through this factory, including the super
+     * classes and interfaces inherited executables were retrieved from.
+     *
+     * @return the elements of all the types inspected through this factory
+     */
+    public Set<TypeElement> getInspectedTypeElements() {
+        return inspectedTypeElements;
+    }
+
+    /**
+     * Returns the number of types created by this factory so far.
+     *
+     * @return the number of types created by this factory
+     */
+    public int getCreatedTypeCount() {
+        return createdTypeCount;
+    }
+
+    /**
+     * Returns all executable elements within the given type element, including the ones inherited from super-types.
+     *
+     * @param typeElement the type element to inspect
+     *
+     * @return the executable elements usable in the type, not modifiable
+     *
+     * @see EnclosedExecutableCache
+     */
+    public List<ExecutableElement> getAllEnclosedExecutableElements(TypeElement typeElement) {
+        addInspectedTypeHierarchy( typeElement );
+        return enclosedExecutableCache.getAllEnclosedExecutableElements( typeElement );
+    }
+
+    /**
+     * Records the given type element and all the super-types inspected for retrieving its executables as inspected
+     * types. To be invoked when retrieving the executables of a type without this factory, e.g. from a cache shared
+     * within the round.
+     *
+     * @param typeElement the type element whose executables are retrieved
+     */
+    public void addInspectedTypeHierarchy(TypeElement typeElement) {
+        inspectedTypeElements.addAll( enclosedExecutableCache.getInspectedTypes( typeElement ) );
+    }
+
+    /**
+     * Whether instances of the given type can't be altered after construction, so a mapping may pass them on instead
+     * of copying them. That's the case for the primitive and wrapper types, {@link String}, enum types, the value
+     * types of {@code java.math} and {@code java.time}, types annotated with {@code @Immutable} and sub-types of the
+     * types registered via {@link #addImmutableType(TypeMirror)}, such as the immutable collections of Guava.
+     *
+     * @param type the type to check
+     *
+     * @return {@code true} if instances of the given type are immutable, {@code false} otherwise
+     */
+    public boolean isImmutable(Type type) {
+        if ( type.isPrimitive()
+            || type.isEnumType()
+            || IMMUTABLE_TYPES.contains( type.getFullyQualifiedName() )
+            || ( !type.isArrayType() && JAVA_TIME_PACKAGE.equals( type.getPackageName() ) ) ) {
+            return true;
+        }
+
+        if ( type.getTypeMirror().getKind() != TypeKind.DECLARED ) {
+            return false;
+        }
+
+        if ( type.isAnnotatedWith( IMMUTABLE_ANNOTATION ) ) {
+            return true;
+        }
+
+        for ( TypeMirror immutableSuperType : immutableSuperTypes ) {
+            if ( SpecificCompilerWorkarounds.isSubType( typeUtils, type.getTypeMirror(), immutableSuperType ) ) {
+                return true;
+            }
+        }
+
+        return false;
     }
 
     public Type getType(Class<?> type) {
@@ -136,6 +298,8 @@ public Type getType(TypeMirror mirror) {
             throw new AnnotationProcessingException( "Encountered erroneous type " + mirror );
         }
 
+        createdTypeCount++;
+
         Type implementationType = getImplementationType( mirror );
 
         boolean isIterableType = SpecificCompilerWorkarounds.isSubType( typeUtils, mirror, iterableType );
@@ -161,6 +325,7 @@ public Type getType(TypeMirror mirror) {
             typeElement = declaredType.asElement().accept( new TypeElementRetrievalVisitor(), null );
 
             if ( typeElement != null ) {
+                inspectedTypeElements.add( typeElement );
                 packageName = elementUtils.getPackageOf( typeElement ).getQualifiedName().toString();
                 qualifiedName = typeElement.getQualifiedName().toString();
             }
@@ -250,6 +415,44 @@ else if ( type.isPrimitive() ) {
         return getType( typeUtils.getDeclaredType( elementUtils.getTypeElement( "java.lang.Class" ), typeToUse ) );
     }
 
+    /**
+     * Returns the wrapper type of the given type if it is a primitive type, e.g. {@code Integer} for {@code int}, or
+     * the given type itself otherwise.
+     *
+     * @param type the type to return the boxed type for
+     * @return the boxed type
+     */
+    public Type boxedTypeOf(Type type) {
+        if ( !type.isPrimitive() ) {
+            return type;
+        }
+
+        return getType( typeUtils.boxedClass( (PrimitiveType) type.getTypeMirror() ).asType() );
+    }
+
+    /**
+     * Returns the type representing {@code ThreadLocal<type>}, e.g. {@code ThreadLocal<DecimalFormat>} for
+     * {@code DecimalFormat}.
+     *
+     * @param type the type of the thread-local values
+     * @return the type representing {@code ThreadLocal<type>}
+     */
+    public Type threadLocalOf(Type type) {
+        return getType(
+            typeUtils.getDeclaredType( elementUtils.getTypeElement( "java.lang.ThreadLocal" ), type.getTypeMirror() )
+        );
+    }
+
+    /**
+     * Returns the array type with the given component type, e.g. {@code String[]} for {@code String}.
+     *
+     * @param componentType the component type of the array type
+     * @return the type representing the array type
+     */
+    public Type arrayTypeOf(Type componentType) {
+        return getType( typeUtils.getArrayType( componentType.getTypeMirror() ) );
+    }
+
     /**
      * Get the ExecutableType for given method as part of usedMapper. Possibly parameterized types in method declaration
      * will be evaluated to concrete types then.
@@ -18,31 +18,43 @@
  */
 package org.mapstruct.ap.model.dependency;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.Stack;
 
 /**
  * Analyzes graphs: Discovers all descendants of given nodes and detects cyclic dependencies between nodes if present.
+ * <p>
+ * The nodes are identified by consecutive integer ids internally. The strongly connected components of the graph are
+ * determined using an iterative version of Tarjan's algorithm. As the components are completed in reverse topological
+ * order, the descendants of each component can be calculated as {@link BitSet} from the ones of its successors in the
+ * same pass. Only if a component contains a cycle, the cycles are determined by a depth-first search.
  *
  * @author Gunnar Morling
  */
 public class GraphAnalyzer {
 
-    private final Map<String, Node> nodes;
+    private final Map<String, Integer> ids;
+    private final String[] names;
+    private final int[][] descendants;
+    private final BitSet[] allDescendants;
     private final Set<List<String>> cycles;
-    private final Stack<Node> currentPath;
 
-    private GraphAnalyzer(Map<String, Node> nodes) {
-        this.nodes = nodes;
-        cycles = new HashSet<List<String>>();
-        currentPath = new Stack<Node>();
+    private GraphAnalyzer(Map<String, Integer> ids, List<String> names, List<int[]> descendants) {
+        this.ids = ids;
+        this.names = names.toArray( new String[names.size()] );
+        this.descendants = descendants.toArray( new int[descendants.size()][] );
+        this.allDescendants = new BitSet[this.names.length];
+        this.cycles = new HashSet<List<String>>();
     }
 
     public static GraphAnalyzerBuilder builder() {
@@ -58,76 +70,281 @@ public static GraphAnalyzerBuilder withNode(String name, String... descendants)
      * the nodes.
      */
     private void analyze() {
-        for ( Node node : nodes.values() ) {
-            depthFirstSearch( node );
+        if ( findStronglyConnectedComponents() ) {
+            findCycles();
         }
     }
 
     /**
-     * Returns all the descendants of the given node, either direct or transitive ones.
-     * <p>
-     * <b>Note</b>:The list will only be complete if the graph contains no cycles.
+     * Returns all the descendants of the given node, either direct or transitive ones. If the node is part of a cycle,
+     * it is a descendant of itself.
      */
     public Set<String> getAllDescendants(String name) {
-        Node node = nodes.get( name );
-        return node != null ? node.getAllDescendants() : Collections.<String>emptySet();
+        Integer id = ids.get( name );
+        return id != null ? new DescendantSet( allDescendants[id] ) : Collections.<String>emptySet();
     }
 
     public Set<List<String>> getCycles() {
         return cycles;
     }
 
-    private void depthFirstSearch(Node node) {
-        if ( node.isProcessed() ) {
-            return;
-        }
+    /**
+     * Determines the strongly connected components of the graph and the descendants of all nodes.
+     *
+     * @return {@code true} if at least one of the components contains a cycle, {@code false} otherwise
+     */
+    private boolean findStronglyConnectedComponents() {
+        int nodeCount = names.length;
+
+        // the index in which the nodes have been discovered (starting with 1) and the lowest index reachable from them
+        int[] index = new int[nodeCount];
+        int[] lowLink = new int[nodeCount];
+        int[] component = new int[nodeCount];
+        int nextIndex = 1;
+        int nextComponent = 0;
+        boolean hasCycle = false;
+
+        // the nodes not yet assigned to a component
+        int[] componentStack = new int[nodeCount];
+        int componentStackSize = 0;
+        BitSet onComponentStack = new BitSet( nodeCount );
+
+        // replaces the call stack of the recursive formulation of the algorithm
+        int[] callStack = new int[nodeCount];
+        int[] nextEdge = new int[nodeCount];
+
+        for ( int root = 0; root < nodeCount; root++ ) {
+            if ( index[root] != 0 ) {
+                continue;
+            }
+
+            int depth = 0;
+            callStack[0] = root;
+            nextEdge[0] = 0;
+            index[root] = nextIndex++;
+            lowLink[root] = index[root];
+            componentStack[componentStackSize++] = root;
+            onComponentStack.set( root );
 
-        currentPath.push( node );
+            while ( depth >= 0 ) {
+                int node = callStack[depth];
 
-        // the node is on the stack already -> cycle
-        if ( node.isVisited() ) {
-            cycles.add( getCurrentCycle( node ) );
-            currentPath.pop();
-            return;
+                if ( nextEdge[depth] < descendants[node].length ) {
+                    int descendant = descendants[node][nextEdge[depth]++];
+
+                    if ( index[descendant] == 0 ) {
+                        depth++;
+                        callStack[depth] = descendant;
+                        nextEdge[depth] = 0;
+                        index[descendant] = nextIndex++;
+                        lowLink[descendant] = index[descendant];
+                        componentStack[componentStackSize++] = descendant;
+                        onComponentStack.set( descendant );
+                    }
+                    else if ( onComponentStack.get( descendant ) ) {
+                        lowLink[node] = Math.min( lowLink[node], index[descendant] );
+                    }
+
+                    continue;
+                }
+
+                // all descendants have been visited, so the node is the root of a component if no node discovered
+                // before it is reachable
+                if ( lowLink[node] == index[node] ) {
+                    int first = componentStackSize;
+                    do {
+                        first--;
+                        onComponentStack.clear( componentStack[first] );
+                        component[componentStack[first]] = nextComponent;
+                    }
+                    while ( componentStack[first] != node );
+
+                    int[] members = Arrays.copyOfRange( componentStack, first, componentStackSize );
+                    componentStackSize = first;
+
+                    hasCycle |= addComponentDescendants( members, component, nextComponent );
+                    nextComponent++;
+                }
+
+                depth--;
+                if ( depth >= 0 ) {
+                    int parent = callStack[depth];
+                    lowLink[parent] = Math.min( lowLink[parent], lowLink[node] );
+                }
+            }
         }
 
-        node.setVisited( true );
+        return hasCycle;
+    }
+
+    /**
+     * Calculates the descendants of the members of a component, which are the same for all of them. The descendants of
+     * all successor components are known already at this point.
+     *
+     * @return {@code true} if the component contains a cycle, {@code false} otherwise
+     */
+    private boolean addComponentDescendants(int[] members, int[] component, int currentComponent) {
+        BitSet componentDescendants = new BitSet( names.length );
+        boolean hasCycle = members.length > 1;
 
-        for ( Node descendant : node.getDescendants() ) {
-            depthFirstSearch( descendant );
-            node.getAllDescendants().addAll( descendant.getAllDescendants() );
+        for ( int member : members ) {
+            for ( int descendant : descendants[member] ) {
+                componentDescendants.set( descendant );
+
+                if ( component[descendant] != currentComponent ) {
+                    componentDescendants.or( allDescendants[descendant] );
+                }
+                else if ( descendant == member ) {
+                    hasCycle = true;
+                }
+            }
         }
 
-        node.setProcessed( true );
-        currentPath.pop();
+        for ( int member : members ) {
+            allDescendants[member] = componentDescendants;
+        }
+
+        return hasCycle;
     }
 
-    private List<String> getCurrentCycle(Node start) {
+    /**
+     * Collects the cycles discovered by a depth-first search started at all the nodes in turn, skipping the nodes
+     * processed completely already.
+     */
+    private void findCycles() {
+        int nodeCount = names.length;
+        BitSet visited = new BitSet( nodeCount );
+        BitSet processed = new BitSet( nodeCount );
+        int[] currentPath = new int[nodeCount];
+        int[] nextEdge = new int[nodeCount];
+
+        for ( int start : ids.values() ) {
+            if ( processed.get( start ) ) {
+                continue;
+            }
+
+            int depth = 0;
+            currentPath[0] = start;
+            nextEdge[0] = 0;
+            visited.set( start );
+
+            while ( depth >= 0 ) {
+                int node = currentPath[depth];
+
+                if ( nextEdge[depth] < descendants[node].length ) {
+                    int descendant = descendants[node][nextEdge[depth]++];
+
+                    if ( processed.get( descendant ) ) {
+                        continue;
+                    }
+
+                    // the node is on the path already -> cycle
+                    if ( visited.get( descendant ) ) {
+                        cycles.add( getCycle( currentPath, depth, descendant ) );
+                        continue;
+                    }
+
+                    depth++;
+                    currentPath[depth] = descendant;
+                    nextEdge[depth] = 0;
+                    visited.set( descendant );
+                }
+                else {
+                    processed.set( node );
+                    depth--;
+                }
+            }
+        }
+    }
+
+    private List<String> getCycle(int[] currentPath, int depth, int start) {
         List<String> cycle = new ArrayList<String>();
         boolean inCycle = false;
 
-        for ( Node n : currentPath ) {
-            if ( !inCycle && n.equals( start ) ) {
+        for ( int i = 0; i <= depth; i++ ) {
+            if ( !inCycle && currentPath[i] == start ) {
                 inCycle = true;
             }
 
             if ( inCycle ) {
-                cycle.add( n.getName() );
+                cycle.add( names[currentPath[i]] );
             }
         }
 
+        cycle.add( names[start] );
+
         return cycle;
     }
 
+    /**
+     * An unmodifiable view of the descendants of a node.
+     */
+    private class DescendantSet extends AbstractSet<String> {
+
+        private final BitSet ids;
+
+        DescendantSet(BitSet ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            Integer id = GraphAnalyzer.this.ids.get( o );
+            return id != null && ids.get( id );
+        }
+
+        @Override
+        public int size() {
+            return ids.cardinality();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return ids.isEmpty();
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return new Iterator<String>() {
+
+                private int next = ids.nextSetBit( 0 );
+
+                @Override
+                public boolean hasNext() {
+                    return next >= 0;
+                }
+
+                @Override
+                public String next() {
+                    if ( next < 0 ) {
+                        throw new NoSuchElementException();
+                    }
+
+                    String name = names[next];
+                    next = ids.nextSetBit( next + 1 );
+                    return name;
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+    }
+
     public static class GraphAnalyzerBuilder {
 
-        private final Map<String, Node> nodes = new HashMap<String, Node>();
+        private final Map<String, Integer> ids = new HashMap<String, Integer>();
+        private final List<String> names = new ArrayList<String>();
+        private final List<int[]> descendants = new ArrayList<int[]>();
+        private int[] descendantCounts = new int[16];
 
         public GraphAnalyzerBuilder withNode(String name, List<String> descendants) {
-            Node node = getNode( name );
+            int id = getId( name );
 
             for ( String descendant : descendants ) {
-                node.addDescendant( getNode( descendant ) );
+                addDescendant( id, getId( descendant ) );
             }
 
             return this;
@@ -142,20 +359,41 @@ public GraphAnalyzerBuilder withNode(String name, String... descendants) {
          * full list of descendants of each node.
          */
         public GraphAnalyzer build() {
-            GraphAnalyzer graphAnalyzer = new GraphAnalyzer( nodes );
+            for ( int id = 0; id < names.size(); id++ ) {
+                descendants.set( id, Arrays.copyOf( descendants.get( id ), descendantCounts[id] ) );
+            }
+
+            GraphAnalyzer graphAnalyzer = new GraphAnalyzer( ids, names, descendants );
             graphAnalyzer.analyze();
             return graphAnalyzer;
         }
 
-        private Node getNode(String name) {
-            Node node = nodes.get( name );
+        private int getId(String name) {
+            Integer id = ids.get( name );
+
+            if ( id == null ) {
+                id = names.size();
+                ids.put( name, id );
+                names.add( name );
+                descendants.add( new int[4] );
+
+                if ( id == descendantCounts.length ) {
+                    descendantCounts = Arrays.copyOf( descendantCounts, id * 2 );
+                }
+            }
+
+            return id;
+        }
+
+        private void addDescendant(int id, int descendant) {
+            int[] nodeDescendants = descendants.get( id );
 
-            if ( node == null ) {
-                node = new Node( name );
-                nodes.put( name, node );
+            if ( descendantCounts[id] == nodeDescendants.length ) {
+                nodeDescendants = Arrays.copyOf( nodeDescendants, nodeDescendants.length * 2 );
+                descendants.set( id, nodeDescendants );
             }
 
-            return node;
+            nodeDescendants[descendantCounts[id]++] = descendant;
         }
     }
 }
@@ -24,6 +24,7 @@
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import org.mapstruct.ap.prism.BeanMappingPrism;
+import org.mapstruct.ap.prism.CloneStrategyPrism;
 import org.mapstruct.ap.prism.NullValueMappingStrategyPrism;
 import org.mapstruct.ap.util.Message;
 
@@ -38,6 +39,7 @@ public class BeanMapping {
     private final List<TypeMirror> qualifiers;
     private final TypeMirror resultType;
     private final NullValueMappingStrategyPrism nullValueMappingStrategy;
+    private final CloneStrategyPrism cloneStrategy;
 
     public static BeanMapping fromPrism(BeanMappingPrism beanMapping, ExecutableElement method,
         FormattingMessager messager) {
@@ -50,9 +52,11 @@ public static BeanMapping fromPrism(BeanMappingPrism beanMapping, ExecutableElem
 
         NullValueMappingStrategyPrism nullValueMappingStrategy
             = NullValueMappingStrategyPrism.valueOf( beanMapping.nullValueMappingStrategy() );
+        CloneStrategyPrism cloneStrategy = CloneStrategyPrism.valueOf( beanMapping.cloneStrategy() );
 
         if ( !resultTypeIsDefined && beanMapping.qualifiedBy().isEmpty()
-            && ( nullValueMappingStrategy == NullValueMappingStrategyPrism.DEFAULT ) ) {
+            && ( nullValueMappingStrategy == NullValueMappingStrategyPrism.DEFAULT )
+            && ( cloneStrategy == CloneStrategyPrism.DEFAULT ) ) {
 
             messager.printMessage( method, Message.BEANMAPPING_NO_ELEMENTS );
         }
@@ -60,15 +64,18 @@ public static BeanMapping fromPrism(BeanMappingPrism beanMapping, ExecutableElem
         return new BeanMapping(
             beanMapping.qualifiedBy(),
             resultTypeIsDefined ? beanMapping.resultType() : null,
-            nullValueMappingStrategy
+            nullValueMappingStrategy,
+            cloneStrategy
         );
     }
 
-    private BeanMapping(List<TypeMirror> qualifiers, TypeMirror mirror, NullValueMappingStrategyPrism nvms) {
+    private BeanMapping(List<TypeMirror> qualifiers, TypeMirror mirror, NullValueMappingStrategyPrism nvms,
+        CloneStrategyPrism cloneStrategy) {
 
         this.qualifiers = qualifiers;
         this.resultType = mirror;
         this.nullValueMappingStrategy = nvms;
+        this.cloneStrategy = cloneStrategy;
     }
 
     public List<TypeMirror> getQualifiers() {
@@ -83,4 +90,8 @@ public NullValueMappingStrategyPrism getNullValueMappingStrategy() {
         return nullValueMappingStrategy;
     }
 
+    public CloneStrategyPrism getCloneStrategy() {
+        return cloneStrategy;
+    }
+
 }
@@ -20,7 +20,7 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
@@ -55,10 +55,13 @@ public class Mapping {
     private final String javaExpression;
     private final String targetName;
     private final String dateFormat;
+    private final String numberFormat;
+    private final String unknownEnumStringConstant;
     private final List<TypeMirror> qualifiers;
     private final TypeMirror resultType;
     private final boolean isIgnored;
     private final List<String> dependsOn;
+    private final boolean isLazy;
 
     private final AnnotationMirror mirror;
     private final AnnotationValue sourceAnnotationValue;
@@ -70,7 +73,7 @@ public class Mapping {
     public static Map<String, List<Mapping>> fromMappingsPrism(MappingsPrism mappingsAnnotation,
                                                                ExecutableElement method,
                                                                FormattingMessager messager) {
-        Map<String, List<Mapping>> mappings = new HashMap<String, List<Mapping>>();
+        Map<String, List<Mapping>> mappings = new LinkedHashMap<String, List<Mapping>>();
 
         for ( MappingPrism mappingPrism : mappingsAnnotation.value() ) {
             Mapping mapping = fromMappingPrism( mappingPrism, method, messager );
@@ -122,6 +125,10 @@ else if ( !mappingPrism.expression().isEmpty() && !mappingPrism.constant().isEmp
         String constant = mappingPrism.constant().isEmpty() ? null : mappingPrism.constant();
         String expression = getExpression( mappingPrism, element, messager );
         String dateFormat = mappingPrism.dateFormat().isEmpty() ? null : mappingPrism.dateFormat();
+        String numberFormat = mappingPrism.numberFormat().isEmpty() ? null : mappingPrism.numberFormat();
+        String unknownEnumStringConstant = mappingPrism.unknownEnumStringConstant().isEmpty()
+            ? null
+            : mappingPrism.unknownEnumStringConstant();
 
         boolean resultTypeIsDefined = !TypeKind.VOID.equals( mappingPrism.resultType().getKind() );
         TypeMirror resultType = resultTypeIsDefined ? mappingPrism.resultType() : null;
@@ -134,6 +141,8 @@ else if ( !mappingPrism.expression().isEmpty() && !mappingPrism.constant().isEmp
             expression,
             mappingPrism.target(),
             dateFormat,
+            numberFormat,
+            unknownEnumStringConstant,
             mappingPrism.qualifiedBy(),
             mappingPrism.ignore(),
             mappingPrism.mirror,
@@ -141,22 +150,26 @@ else if ( !mappingPrism.expression().isEmpty() && !mappingPrism.constant().isEmp
             mappingPrism.values.target(),
             mappingPrism.values.dependsOn(),
             resultType,
-            dependsOn
+            dependsOn,
+            mappingPrism.lazy()
         );
     }
 
     @SuppressWarnings("checkstyle:parameternumber")
     private Mapping(String sourceName, String constant, String javaExpression, String targetName,
-                    String dateFormat, List<TypeMirror> qualifiers,
+                    String dateFormat, String numberFormat, String unknownEnumStringConstant,
+                    List<TypeMirror> qualifiers,
                     boolean isIgnored, AnnotationMirror mirror,
                     AnnotationValue sourceAnnotationValue, AnnotationValue targetAnnotationValue,
                     AnnotationValue dependsOnAnnotationValue,
-                    TypeMirror resultType, List<String> dependsOn) {
+                    TypeMirror resultType, List<String> dependsOn, boolean isLazy) {
         this.sourceName = sourceName;
         this.constant = constant;
         this.javaExpression = javaExpression;
         this.targetName = targetName;
         this.dateFormat = dateFormat;
+        this.numberFormat = numberFormat;
+        this.unknownEnumStringConstant = unknownEnumStringConstant;
         this.qualifiers = qualifiers;
         this.isIgnored = isIgnored;
         this.mirror = mirror;
@@ -165,6 +178,7 @@ private Mapping(String sourceName, String constant, String javaExpression, Strin
         this.dependsOnAnnotationValue = dependsOnAnnotationValue;
         this.resultType = resultType;
         this.dependsOn = dependsOn;
+        this.isLazy = isLazy;
     }
 
     private static String getExpression(MappingPrism mappingPrism, ExecutableElement element,
@@ -229,6 +243,18 @@ public String getDateFormat() {
         return dateFormat;
     }
 
+    public String getNumberFormat() {
+        return numberFormat;
+    }
+
+    /**
+     * @return the name of the constant to be returned for strings not matching any constant of the target enum type,
+     *         if given
+     */
+    public String getUnknownEnumStringConstant() {
+        return unknownEnumStringConstant;
+    }
+
     public List<TypeMirror> getQualifiers() {
         return qualifiers;
     }
@@ -265,6 +291,13 @@ public List<String> getDependsOn() {
         return dependsOn;
     }
 
+    /**
+     * @return whether the target property is to be mapped when it is accessed for the first time
+     */
+    public boolean isLazy() {
+        return isLazy;
+    }
+
     private boolean hasPropertyInReverseMethod(String name, SourceMethod method) {
         CollectionMappingStrategyPrism cms = method.getMapperConfiguration().getCollectionMappingStrategy();
         return method.getResultType().getPropertyWriteAccessors( cms ).containsKey( name );
@@ -306,6 +339,8 @@ public Mapping reverse(SourceMethod method, FormattingMessager messager, TypeFac
             null, // expression
             sourceName != null ? sourceName : targetName,
             dateFormat,
+            numberFormat,
+            unknownEnumStringConstant,
             qualifiers,
             isIgnored,
             mirror,
@@ -313,7 +348,8 @@ public Mapping reverse(SourceMethod method, FormattingMessager messager, TypeFac
             targetAnnotationValue,
             dependsOnAnnotationValue,
             null,
-            Collections.<String>emptyList()
+            Collections.<String>emptyList(),
+            false
         );
 
         reverse.init( method, messager, typeFactory );
@@ -330,6 +366,8 @@ public Mapping copyForInheritanceTo(SourceMethod method) {
             javaExpression,
             targetName,
             dateFormat,
+            numberFormat,
+            unknownEnumStringConstant,
             qualifiers,
             isIgnored,
             mirror,
@@ -337,7 +375,8 @@ public Mapping copyForInheritanceTo(SourceMethod method) {
             targetAnnotationValue,
             dependsOnAnnotationValue,
             resultType,
-            dependsOn
+            dependsOn,
+            isLazy
         );
 
         if ( sourceReference != null ) {
@@ -19,7 +19,7 @@
 package org.mapstruct.ap.model.source;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -124,7 +124,7 @@ public void applyInheritedOptions(MappingOptions inherited, boolean isInverse, S
                 }
             }
 
-            Map<String, List<Mapping>> newMappings = new HashMap<String, List<Mapping>>();
+            Map<String, List<Mapping>> newMappings = new LinkedHashMap<String, List<Mapping>>();
 
             for ( List<Mapping> lmappings : inherited.getMappings().values() ) {
                 for ( Mapping mapping : lmappings ) {
@@ -0,0 +1,99 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model.source;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.util.Types;
+
+import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.model.common.TypeFactory;
+
+/**
+ * Keeps the results of matching source methods against given source and target types via {@link MethodMatcher} within
+ * one round, so that e.g. a generic method of a mapper referenced by many other mappers is matched only once against a
+ * given pair of types.
+ * <p>
+ * The results are keyed by the executable of the candidate method, the types examined by the matcher and the matched
+ * source and target types. The {@link Type}s are created separately for each mapper, but they are compared via
+ * {@link Types#isSameType}, so equal types of different mappers share an entry while e.g. type variables of the same
+ * name declared by different methods or classes don't. The signature of the candidate is part of the key, as the same
+ * executable inherited from a generic super-type may have different parameter types in different mappers.
+ */
+public class MethodMatchCache {
+
+    private final Map<List<Object>, Boolean> results = new HashMap<List<Object>, Boolean>();
+
+    private int performedMatches;
+    private int reusedMatches;
+
+    /**
+     * Whether the given source and target types are matched by the given candidate method.
+     *
+     * @param typeUtils the type utilities
+     * @param typeFactory the type factory of the mapper currently processed
+     * @param candidate the candidate method
+     * @param sourceType the source type, may be {@code null} for factory methods
+     * @param targetType the target type
+     *
+     * @return {@code true} if the given types are matched by the candidate method, {@code false} otherwise
+     */
+    public boolean matches(Types typeUtils, TypeFactory typeFactory, SourceMethod candidate, Type sourceType,
+                           Type targetType) {
+        List<Object> key = getKey( candidate, sourceType, targetType );
+        Boolean result = results.get( key );
+
+        if ( result == null ) {
+            result = new MethodMatcher( typeUtils, typeFactory, candidate ).matches( sourceType, targetType );
+            results.put( key, result );
+            performedMatches++;
+        }
+        else {
+            reusedMatches++;
+        }
+
+        return result;
+    }
+
+    private List<Object> getKey(SourceMethod candidate, Type sourceType, Type targetType) {
+        return Arrays.<Object>asList(
+            candidate.getExecutable(),
+            candidate.getMatchSignature(),
+            sourceType,
+            targetType
+        );
+    }
+
+    /**
+     * @return the number of matches actually performed by a {@link MethodMatcher} so far
+     */
+    public int getPerformedMatches() {
+        return performedMatches;
+    }
+
+    /**
+     * @return the number of matches so far whose result has been taken from this cache instead of performing them
+     */
+    public int getReusedMatches() {
+        return reusedMatches;
+    }
+}
@@ -19,14 +19,17 @@
 package org.mapstruct.ap.model.source;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import javax.lang.model.element.AnnotationMirror;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.util.Types;
 
 import org.mapstruct.ap.model.common.Accessibility;
@@ -34,6 +37,7 @@
 import org.mapstruct.ap.model.common.Type;
 import org.mapstruct.ap.model.common.TypeFactory;
 import org.mapstruct.ap.model.source.SourceReference.PropertyEntry;
+import org.mapstruct.ap.prism.QualifierPrism;
 import org.mapstruct.ap.util.FormattingMessager;
 import org.mapstruct.ap.util.MapperConfiguration;
 import org.mapstruct.ap.util.Strings;
@@ -51,6 +55,11 @@
  */
 public class SourceMethod implements Method {
 
+    private static final Set<String> ASYNC_RESULT_TYPES = new HashSet<String>( Arrays.asList(
+        "java.util.concurrent.CompletionStage",
+        "java.util.concurrent.CompletableFuture"
+    ) );
+
     private final Types typeUtils;
     private final TypeFactory typeFactory;
 
@@ -60,9 +69,11 @@ public class SourceMethod implements Method {
     private final Parameter mappingTargetParameter;
     private final Parameter targetTypeParameter;
     private final Type returnType;
+    private final Type asyncResultType;
     private final Accessibility accessibility;
     private final List<Type> exceptionTypes;
     private final MapperConfiguration config;
+    private final MethodMatchCache matchCache;
     private final MappingOptions mappingOptions;
     private final List<SourceMethod> prototypeMethods;
 
@@ -72,6 +83,9 @@ public class SourceMethod implements Method {
 
     private List<SourceMethod> applicablePrototypeMethods;
 
+    private Set<String> qualifiers;
+    private List<Type> matchSignature;
+
     public static class Builder {
 
         private Type declaringMapper = null;
@@ -88,6 +102,7 @@ public static class Builder {
         private FormattingMessager messager = null;
         private MapperConfiguration mapperConfig = null;
         private List<SourceMethod> prototypeMethods = Collections.emptyList();
+        private MethodMatchCache matchCache = null;
 
         public Builder() {
         }
@@ -162,6 +177,11 @@ public Builder setPrototypeMethods(List<SourceMethod> prototypeMethods) {
             return this;
         }
 
+        public Builder setMatchCache(MethodMatchCache matchCache) {
+            this.matchCache = matchCache;
+            return this;
+        }
+
         public SourceMethod build() {
 
             MappingOptions mappingOptions
@@ -177,7 +197,8 @@ public SourceMethod build() {
                 typeUtils,
                 typeFactory,
                 mapperConfig,
-                prototypeMethods
+                prototypeMethods,
+                matchCache
             );
 
             if ( mappings != null ) {
@@ -194,7 +215,8 @@ public SourceMethod build() {
     @SuppressWarnings("checkstyle:parameternumber")
     private SourceMethod(Type declaringMapper, ExecutableElement executable, List<Parameter> parameters,
         Type returnType, List<Type> exceptionTypes, MappingOptions mappingOptions, Types typeUtils,
-        TypeFactory typeFactory, MapperConfiguration config, List<SourceMethod> prototypeMethods) {
+        TypeFactory typeFactory, MapperConfiguration config, List<SourceMethod> prototypeMethods,
+        MethodMatchCache matchCache) {
         this.declaringMapper = declaringMapper;
         this.executable = executable;
         this.parameters = parameters;
@@ -206,11 +228,13 @@ private SourceMethod(Type declaringMapper, ExecutableElement executable, List<Pa
 
         this.mappingTargetParameter = determineMappingTargetParameter( parameters );
         this.targetTypeParameter = determineTargetTypeParameter( parameters );
+        this.asyncResultType = determineAsyncResultType( returnType, mappingTargetParameter );
 
         this.typeUtils = typeUtils;
         this.typeFactory = typeFactory;
         this.config = config;
         this.prototypeMethods = prototypeMethods;
+        this.matchCache = matchCache;
     }
 
     private Parameter determineMappingTargetParameter(Iterable<Parameter> parameters) {
@@ -223,6 +247,24 @@ private Parameter determineMappingTargetParameter(Iterable<Parameter> parameters
         return null;
     }
 
+    private static Type determineAsyncResultType(Type returnType, Parameter mappingTargetParameter) {
+        if ( mappingTargetParameter == null && isAsyncResultType( returnType ) ) {
+            return returnType.getTypeParameters().get( 0 );
+        }
+
+        return null;
+    }
+
+    /**
+     * @param returnType the return type of a method
+     *
+     * @return whether the given type is a {@code CompletionStage} or {@code CompletableFuture} of a given type
+     */
+    public static boolean isAsyncResultType(Type returnType) {
+        return ASYNC_RESULT_TYPES.contains( returnType.getFullyQualifiedName() )
+            && returnType.getTypeParameters().size() == 1;
+    }
+
     private Parameter determineTargetTypeParameter(Iterable<Parameter> parameters) {
         for ( Parameter parameter : parameters ) {
             if ( parameter.isTargetType() ) {
@@ -293,11 +335,29 @@ public List<String> getParameterNames() {
         return parameterNames;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * For asynchronous methods, this is the type the returned {@code CompletionStage} completes with.
+     */
     @Override
     public Type getResultType() {
+        if ( asyncResultType != null ) {
+            return asyncResultType;
+        }
         return mappingTargetParameter != null ? mappingTargetParameter.getType() : returnType;
     }
 
+    /**
+     * Whether this method returns a {@code CompletionStage} (or {@code CompletableFuture}) completing with the mapped
+     * object instead of the object itself. Asynchronous methods are only invoked by other asynchronous methods.
+     *
+     * @return {@code true} if this method is asynchronous, {@code false} otherwise
+     */
+    public boolean isAsync() {
+        return asyncResultType != null;
+    }
+
     /**
      * {@inheritDoc} {@link Method}
      */
@@ -477,10 +537,67 @@ public boolean overridesMethod() {
      */
     @Override
     public boolean matches(Type sourceType, Type targetType) {
+        if ( matchCache != null ) {
+            return matchCache.matches( typeUtils, typeFactory, this, sourceType, targetType );
+        }
+
         MethodMatcher matcher = new MethodMatcher( typeUtils, typeFactory, this );
         return matcher.matches( sourceType, targetType );
     }
 
+    /**
+     * Returns the types examined by {@link MethodMatcher}, i.e. the types of the source parameters, the target type
+     * parameter and the result type, as part of the key of {@link MethodMatchCache}.
+     */
+    List<Type> getMatchSignature() {
+        if ( matchSignature == null ) {
+            List<Type> signature = new ArrayList<Type>();
+
+            for ( Parameter sourceParameter : getSourceParameters() ) {
+                signature.add( sourceParameter.getType() );
+            }
+
+            signature.add( targetTypeParameter != null ? targetTypeParameter.getType() : null );
+            signature.add( getResultType() );
+
+            matchSignature = Collections.unmodifiableList( signature );
+        }
+
+        return matchSignature;
+    }
+
+    /**
+     * Returns the qualified names of the qualifier annotations (i.e. annotations annotated with {@code @Qualifier})
+     * this method is marked with, either given on the method itself or on the mapper declaring it.
+     *
+     * @return the names of the qualifier annotations of this method, empty if there are none
+     */
+    public Set<String> getQualifiers() {
+        if ( qualifiers == null ) {
+            Set<String> names = new HashSet<String>();
+
+            addQualifiers( executable.getAnnotationMirrors(), names );
+
+            if ( declaringMapper != null ) {
+                addQualifiers( declaringMapper.getTypeElement().getAnnotationMirrors(), names );
+            }
+
+            qualifiers = names.isEmpty() ? Collections.<String>emptySet() : Collections.unmodifiableSet( names );
+        }
+
+        return qualifiers;
+    }
+
+    private void addQualifiers(List<? extends AnnotationMirror> annotations, Set<String> names) {
+        for ( AnnotationMirror annotation : annotations ) {
+            TypeElement annotationType = (TypeElement) annotation.getAnnotationType().asElement();
+
+            if ( QualifierPrism.getInstanceOn( annotationType ) != null ) {
+                names.add( annotationType.getQualifiedName().toString() );
+            }
+        }
+    }
+
     /**
      * @param parameters the parameter list to check
      *
@@ -0,0 +1,156 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model.source.builtin;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.DecimalFormat;
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Set;
+
+import org.mapstruct.ap.model.common.Parameter;
+import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.model.common.TypeFactory;
+
+import static org.mapstruct.ap.util.Collections.asSet;
+
+/**
+ * Parses a string into a number of one specific type with a {@link DecimalFormat} parsing into {@link BigDecimal}s.
+ * Unlike {@link DecimalFormat#parse(String)}, the whole string must be a number, e.g. {@code "12abc"} is rejected
+ * rather than parsed into {@code 12}. Numbers not representable by the target type, i.e. numbers with a fraction for
+ * integral types or numbers out of the range of the type, are rejected as well instead of being rounded or wrapped.
+ * In all these cases a {@link ParseException} is thrown. As with {@link SmallNumberToString}, an instance is created
+ * for each number type and is added to the mapper for the conversions invoking it.
+ *
+ * @see org.mapstruct.ap.conversion.AbstractNumberToStringConversion
+ */
+public class ParseNumber extends BuiltInMethod {
+
+    private final String name;
+    private final Parameter parameter;
+    private final Type returnType;
+    private final Set<Type> importTypes;
+    private final Class<?> numberType;
+
+    /**
+     * @param typeFactory the type factory
+     * @param numberType the type to parse into, a primitive number type, {@link BigInteger} or {@link BigDecimal}
+     * @param name the name of the generated method, unique within the mapper
+     */
+    public ParseNumber(TypeFactory typeFactory, Class<?> numberType, String name) {
+        this.name = name;
+        this.parameter = new Parameter( "string", typeFactory.getType( String.class ) );
+        this.returnType = typeFactory.getType( numberType );
+        this.importTypes = asSet(
+            returnType,
+            typeFactory.getType( BigDecimal.class ),
+            typeFactory.getType( DecimalFormat.class ),
+            typeFactory.getType( ParseException.class ),
+            typeFactory.getType( ParsePosition.class )
+        );
+        this.numberType = numberType;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean matches(Type sourceType, Type targetType) {
+        return sourceType.equals( parameter.getType() ) && targetType.equals( returnType );
+    }
+
+    @Override
+    public Parameter getParameter() {
+        return parameter;
+    }
+
+    @Override
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    @Override
+    public Set<Type> getImportTypes() {
+        return importTypes;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@code true}, the generated method is static, so it may also be invoked when prebuilding constants
+     */
+    @Override
+    public boolean isStatic() {
+        return true;
+    }
+
+    /**
+     * @return whether the numbers are parsed into an integral type, i.e. numbers with a fraction are rejected
+     */
+    public boolean isIntegral() {
+        return numberType != float.class && numberType != double.class && numberType != BigDecimal.class;
+    }
+
+    /**
+     * @return whether the numbers are parsed into {@code float} or {@code double}, i.e. numbers exceeding the range of
+     *         the type are rejected instead of becoming infinite
+     */
+    public boolean isFloatingPoint() {
+        return numberType == float.class || numberType == double.class;
+    }
+
+    /**
+     * @return the method of {@link BigDecimal} converting the parsed number into the target type; for integral types
+     *         it throws an {@link ArithmeticException} if the number has a fraction or is out of range; {@code null}
+     *         for {@link BigDecimal}
+     */
+    public String getValueMethod() {
+        if ( numberType == BigDecimal.class ) {
+            return null;
+        }
+        if ( numberType == BigInteger.class ) {
+            return "toBigIntegerExact";
+        }
+        if ( isIntegral() ) {
+            return numberType.getSimpleName() + "ValueExact";
+        }
+
+        return numberType.getSimpleName() + "Value";
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if ( this == obj ) {
+            return true;
+        }
+        if ( obj == null || getClass() != obj.getClass() ) {
+            return false;
+        }
+        ParseNumber other = (ParseNumber) obj;
+        return returnType.equals( other.returnType ) && name.equals( other.name );
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model.source.builtin;
+
+import org.mapstruct.ap.model.common.Parameter;
+import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.model.common.TypeFactory;
+
+/**
+ * Converts a {@code long}, or any smaller integral number, into a string, taking the strings of the numbers from
+ * {@value #LOWEST} to {@value #HIGHEST}, i.e. the range cached by {@link Integer#valueOf(int)}, from a
+ * {@code static final} array of the mapper instead of creating them. Unlike the other built-in methods it doesn't map
+ * any property by itself; it is added to the mapper for the conversions invoking it.
+ *
+ * @see org.mapstruct.ap.conversion.NumberToCharSequenceConversion
+ */
+public class SmallNumberToString extends BuiltInMethod {
+
+    public static final int LOWEST = -128;
+    public static final int HIGHEST = 127;
+
+    private final String name;
+    private final Parameter parameter;
+    private final Type returnType;
+    private final String stringsName;
+
+    /**
+     * @param typeFactory the type factory
+     * @param name the name of the generated method, unique within the mapper
+     * @param stringsName the name of the field holding the strings of small numbers
+     */
+    public SmallNumberToString(TypeFactory typeFactory, String name, String stringsName) {
+        this.name = name;
+        this.parameter = new Parameter( "value", typeFactory.getType( long.class ) );
+        this.returnType = typeFactory.getType( String.class );
+        this.stringsName = stringsName;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Parameter getParameter() {
+        return parameter;
+    }
+
+    @Override
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * @return the name of the field holding the strings of small numbers
+     */
+    public String getStringsName() {
+        return stringsName;
+    }
+
+    public int getLowest() {
+        return LOWEST;
+    }
+
+    public int getHighest() {
+        return HIGHEST;
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if ( this == obj ) {
+            return true;
+        }
+        if ( obj == null || getClass() != obj.getClass() ) {
+            return false;
+        }
+        return name.equals( ( (SmallNumberToString) obj ).name );
+    }
+}
@@ -0,0 +1,194 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.model.source.builtin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.mapstruct.ap.model.common.Parameter;
+import org.mapstruct.ap.model.common.Type;
+import org.mapstruct.ap.model.common.TypeFactory;
+import org.mapstruct.ap.prism.UnknownEnumStringStrategyPrism;
+
+import static org.mapstruct.ap.util.Collections.asSet;
+
+/**
+ * Converts a string into the constant of one specific enum type with that name. Unlike the other built-in methods, an
+ * instance is created for each enum type a string is converted into, as the generated method looks up the constants
+ * of that type without reflection: it switches over the hash codes of the constant names, which are known at
+ * processing time, and compares the names of the constants with the given hash code only. A string not matching any
+ * constant is handled as configured via {@code Mapper#unknownEnumStringStrategy()}, not requiring an exception to be
+ * created unless configured so, or yields the constant given via {@code Mapping#unknownEnumStringConstant()}; a method
+ * is created for each such constant.
+ *
+ * @see org.mapstruct.ap.conversion.EnumStringConversion
+ */
+public class StringToEnum extends BuiltInMethod {
+
+    private final String name;
+    private final Parameter parameter;
+    private final Type returnType;
+    private final Set<Type> importTypes;
+    private final UnknownEnumStringStrategyPrism unknownEnumStringStrategy;
+    private final String unknownConstant;
+    private final String exceptionName;
+    private final List<ConstantGroup> constantGroups;
+
+    /**
+     * @param typeFactory the type factory
+     * @param enumType the enum type to convert into
+     * @param name the name of the generated method, unique within the mapper
+     * @param unknownEnumStringStrategy the strategy for strings not matching any constant
+     * @param unknownConstant the constant to return for strings not matching any constant instead of applying the
+     * strategy, may be {@code null}
+     * @param exceptionName the name of the exception class nested into the mapper, to be thrown without stack trace
+     * for strings not matching any constant; {@code null} if no such exception is to be thrown
+     */
+    public StringToEnum(TypeFactory typeFactory, Type enumType, String name,
+                        UnknownEnumStringStrategyPrism unknownEnumStringStrategy, String unknownConstant,
+                        String exceptionName) {
+        this.name = name;
+        this.parameter = new Parameter( "string", typeFactory.getType( String.class ) );
+        this.returnType = enumType;
+        this.importTypes = asSet( enumType );
+        this.unknownEnumStringStrategy = unknownEnumStringStrategy;
+        this.unknownConstant = unknownConstant;
+        this.exceptionName = exceptionName;
+        this.constantGroups = groupByHashCode( enumType.getEnumConstants() );
+    }
+
+    private static List<ConstantGroup> groupByHashCode(List<String> constants) {
+        Map<Integer, List<String>> constantsByHash = new LinkedHashMap<Integer, List<String>>();
+
+        for ( String constant : constants ) {
+            List<String> constantsWithHash = constantsByHash.get( constant.hashCode() );
+            if ( constantsWithHash == null ) {
+                constantsWithHash = new ArrayList<String>( 1 );
+                constantsByHash.put( constant.hashCode(), constantsWithHash );
+            }
+            constantsWithHash.add( constant );
+        }
+
+        List<ConstantGroup> groups = new ArrayList<ConstantGroup>( constantsByHash.size() );
+        for ( Map.Entry<Integer, List<String>> entry : constantsByHash.entrySet() ) {
+            groups.add( new ConstantGroup( entry.getKey(), entry.getValue() ) );
+        }
+
+        return Collections.unmodifiableList( groups );
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public boolean matches(Type sourceType, Type targetType) {
+        return sourceType.equals( parameter.getType() ) && targetType.equals( returnType );
+    }
+
+    @Override
+    public Parameter getParameter() {
+        return parameter;
+    }
+
+    @Override
+    public Type getReturnType() {
+        return returnType;
+    }
+
+    @Override
+    public Set<Type> getImportTypes() {
+        return importTypes;
+    }
+
+    /**
+     * @return whether {@code null} is to be returned for a string not matching any constant instead of throwing an
+     *         exception
+     */
+    public boolean isReturnNullForUnknown() {
+        return unknownEnumStringStrategy == UnknownEnumStringStrategyPrism.RETURN_NULL;
+    }
+
+    /**
+     * @return the constant to be returned for a string not matching any constant, or {@code null} if the strategy
+     *         applies
+     */
+    public String getUnknownConstant() {
+        return unknownConstant;
+    }
+
+    /**
+     * @return the name of the exception class nested into the mapper, to be thrown without stack trace for a string
+     *         not matching any constant, or {@code null} if no such exception is to be thrown
+     */
+    public String getExceptionName() {
+        return exceptionName;
+    }
+
+    /**
+     * @return the constants of the enum type, grouped by the hash codes of their names
+     */
+    public List<ConstantGroup> getConstantGroups() {
+        return constantGroups;
+    }
+
+    @Override
+    public int hashCode() {
+        return returnType.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if ( this == obj ) {
+            return true;
+        }
+        if ( obj == null || getClass() != obj.getClass() ) {
+            return false;
+        }
+        StringToEnum other = (StringToEnum) obj;
+        return returnType.equals( other.returnType ) && name.equals( other.name );
+    }
+
+    /**
+     * The names of the constants whose names have the same hash code.
+     */
+    public static class ConstantGroup {
+
+        private final int hash;
+        private final List<String> constants;
+
+        private ConstantGroup(int hash, List<String> constants) {
+            this.hash = hash;
+            this.constants = constants;
+        }
+
+        public int getHash() {
+            return hash;
+        }
+
+        public List<String> getConstants() {
+            return constants;
+        }
+    }
+}
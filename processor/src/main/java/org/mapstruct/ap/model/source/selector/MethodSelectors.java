@@ -25,7 +25,6 @@
 import javax.lang.model.util.Types;
 
 import org.mapstruct.ap.model.common.Type;
-import org.mapstruct.ap.model.common.TypeFactory;
 import org.mapstruct.ap.model.source.Method;
 
 /**
@@ -37,7 +36,7 @@ public class MethodSelectors implements MethodSelector {
 
     private final List<MethodSelector> selectors;
 
-    public MethodSelectors(Types typeUtils, Elements elementUtils, TypeFactory typeFactory) {
+    public MethodSelectors(Types typeUtils, Elements elementUtils) {
         selectors =
             Arrays.<MethodSelector>asList(
                 new TypeSelector(),
@@ -23,7 +23,7 @@
 import java.util.List;
 import java.util.Set;
 
-import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
@@ -31,7 +31,6 @@
 import org.mapstruct.ap.model.common.Type;
 import org.mapstruct.ap.model.source.Method;
 import org.mapstruct.ap.model.source.SourceMethod;
-import org.mapstruct.ap.prism.QualifierPrism;
 
 /**
  * This selector selects a best match based on qualifiers name.
@@ -45,6 +44,9 @@
  * removed from the list of potential mapping methods</li>
  * <li>If multiple qualifiers (qualifedBy) are specified, all should match to make a match.</li>
  * </ol>
+ * <p>
+ * The qualifier annotations of a method are determined once and kept by the {@link SourceMethod}, so only the names of
+ * the given qualifiers need to be looked up in them.
  *
  * @author Sjaak Derksen
  */
@@ -69,8 +71,7 @@ public <T extends Method> List<T> getMatchingMethods(Method mappingMethod, List<
             for ( T candidate : methods ) {
 
                 if ( candidate instanceof SourceMethod ) {
-                    Set<TypeMirror> qualifierAnnotations = getQualifierAnnotations( candidate );
-                    if ( qualifierAnnotations.isEmpty() ) {
+                    if ( ( (SourceMethod) candidate ).getQualifiers().isEmpty() ) {
                         nonQualiferAnnotatedMethods.add( candidate );
                     }
                 }
@@ -83,6 +84,8 @@ public <T extends Method> List<T> getMatchingMethods(Method mappingMethod, List<
         }
         else {
 
+            Set<String> qualifierNames = getQualifierNames( qualifiers );
+
             List<T> matches = new ArrayList<T>();
             for ( T candidate : methods ) {
 
@@ -90,21 +93,8 @@ public <T extends Method> List<T> getMatchingMethods(Method mappingMethod, List<
                     continue;
                 }
 
-                // retrieve annotations
-                Set<TypeMirror> qualifierAnnotations = getQualifierAnnotations( candidate );
-
-                // now count if all qualifiers are matched
-                int matchingQualifierCounter = 0;
-                for ( TypeMirror qualifier : qualifiers ) {
-                    for ( TypeMirror annotationType : qualifierAnnotations ) {
-                        if ( typeUtils.isSameType( qualifier, annotationType ) ) {
-                            matchingQualifierCounter++;
-                            break;
-                        }
-                    }
-                }
-
-                if ( matchingQualifierCounter == qualifiers.size() ) {
+                // now check if all qualifiers are matched
+                if ( ( (SourceMethod) candidate ).getQualifiers().containsAll( qualifierNames ) ) {
                     // all qualifiers are matched with a qualifying annotation, add candidate
                     matches.add( candidate );
                 }
@@ -118,36 +108,14 @@ public <T extends Method> List<T> getMatchingMethods(Method mappingMethod, List<
         }
     }
 
-    private Set<TypeMirror> getQualifierAnnotations( Method candidate ) {
-
-        // retrieve annotations
-        Set<TypeMirror> qualiferAnnotations = new HashSet<TypeMirror>();
+    private Set<String> getQualifierNames(List<TypeMirror> qualifiers) {
+        Set<String> qualifierNames = new HashSet<String>();
 
-        // first from the method itself
-        SourceMethod candidateSM = (SourceMethod) candidate;
-        List<? extends AnnotationMirror> methodAnnotations = candidateSM.getExecutable().getAnnotationMirrors();
-        for ( AnnotationMirror methodAnnotation : methodAnnotations ) {
-            addOnlyWhenQualifier( qualiferAnnotations, methodAnnotation );
+        for ( TypeMirror qualifier : qualifiers ) {
+            qualifierNames.add( ( (TypeElement) typeUtils.asElement( qualifier ) ).getQualifiedName().toString() );
         }
 
-        // then from the mapper (if declared)
-        Type mapper = candidate.getDeclaringMapper();
-        if ( mapper != null ) {
-            List<? extends AnnotationMirror> mapperAnnotations = mapper.getTypeElement().getAnnotationMirrors();
-            for ( AnnotationMirror mapperAnnotation : mapperAnnotations ) {
-                addOnlyWhenQualifier( qualiferAnnotations, mapperAnnotation );
-            }
-        }
-
-        return qualiferAnnotations;
-    }
-
-    private void addOnlyWhenQualifier( Set<TypeMirror> annotationSet, AnnotationMirror candidate ) {
-        // only add the candidate annotation when the candidate itself has the annotation 'Qualifier'
-        if ( QualifierPrism.getInstanceOn( candidate.getAnnotationType().asElement() ) != null ) {
-            annotationSet.add( candidate.getAnnotationType() );
-        }
+        return qualifierNames;
     }
-
 }
 
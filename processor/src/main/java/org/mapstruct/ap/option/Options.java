@@ -30,14 +30,23 @@ public class Options {
     private final boolean suppressGeneratorVersionComment;
     private final ReportingPolicy unmappedTargetPolicy;
     private final String defaultComponentModel;
+    private final boolean codeEmitterDisabled;
+    private final boolean dependencyIndexEnabled;
+    private final boolean profilingEnabled;
+    private final boolean skipUnchangedSources;
 
     public Options(boolean suppressGeneratorTimestamp, boolean suppressGeneratorVersionComment,
                    ReportingPolicy unmappedTargetPolicy,
-                   String defaultComponentModel) {
+                   String defaultComponentModel, boolean codeEmitterDisabled,
+                   boolean dependencyIndexEnabled, boolean profilingEnabled, boolean skipUnchangedSources) {
         this.suppressGeneratorTimestamp = suppressGeneratorTimestamp;
         this.suppressGeneratorVersionComment = suppressGeneratorVersionComment;
         this.unmappedTargetPolicy = unmappedTargetPolicy;
         this.defaultComponentModel = defaultComponentModel;
+        this.codeEmitterDisabled = codeEmitterDisabled;
+        this.dependencyIndexEnabled = dependencyIndexEnabled;
+        this.profilingEnabled = profilingEnabled;
+        this.skipUnchangedSources = skipUnchangedSources;
     }
 
     public boolean isSuppressGeneratorTimestamp() {
@@ -55,4 +64,44 @@ public ReportingPolicy getUnmappedTargetPolicy() {
     public String getDefaultComponentModel() {
         return defaultComponentModel;
     }
+
+    /**
+     * Whether all model elements are to be written using their FreeMarker template, also those which otherwise are
+     * emitted directly.
+     *
+     * @return {@code true} if the code emitter is disabled, {@code false} otherwise
+     */
+    public boolean isCodeEmitterDisabled() {
+        return codeEmitterDisabled;
+    }
+
+    /**
+     * Whether the dependencies of the generated types are to be recorded in an index written to the class output
+     * location.
+     *
+     * @return {@code true} if the dependency index is to be written, {@code false} otherwise
+     */
+    public boolean isDependencyIndexEnabled() {
+        return dependencyIndexEnabled;
+    }
+
+    /**
+     * Whether a report with the processing time and statistics of each mapper is to be written to the source output
+     * location.
+     *
+     * @return {@code true} if the profiling report is to be written, {@code false} otherwise
+     */
+    public boolean isProfilingEnabled() {
+        return profilingEnabled;
+    }
+
+    /**
+     * Whether generated source files are to be left untouched if a previous compilation already wrote the same
+     * content.
+     *
+     * @return {@code true} if unchanged source files are not to be rewritten, {@code false} otherwise
+     */
+    public boolean isSkipUnchangedSources() {
+        return skipUnchangedSources;
+    }
 }
@@ -24,6 +24,8 @@
 import net.java.dev.hickory.prism.GeneratePrisms;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.DecoratedWith;
+import org.mapstruct.Flyweight;
+import org.mapstruct.FlyweightField;
 import org.mapstruct.InheritConfiguration;
 import org.mapstruct.InheritInverseConfiguration;
 import org.mapstruct.IterableMapping;
@@ -55,6 +57,8 @@
     @GeneratePrism(value = InheritConfiguration.class, publicAccess = true),
     @GeneratePrism(value = InheritInverseConfiguration.class, publicAccess = true),
     @GeneratePrism(value = Qualifier.class, publicAccess = true),
+    @GeneratePrism(value = Flyweight.class, publicAccess = true),
+    @GeneratePrism(value = FlyweightField.class, publicAccess = true),
 
     // external types
     @GeneratePrism(value = XmlElementDecl.class, publicAccess = true)
@@ -21,6 +21,7 @@
 import java.util.ListIterator;
 import javax.lang.model.element.TypeElement;
 
+import org.mapstruct.ap.model.AllocatorReference;
 import org.mapstruct.ap.model.Annotation;
 import org.mapstruct.ap.model.AnnotationMapperReference;
 import org.mapstruct.ap.model.Mapper;
@@ -60,6 +61,10 @@ public Mapper process(ProcessorContext context, TypeElement mapperTypeElement, M
         ListIterator<MapperReference> iterator = mapper.getReferencedMappers().listIterator();
         while ( iterator.hasNext() ) {
             MapperReference reference = iterator.next();
+            if ( reference instanceof AllocatorReference ) {
+                // the allocator is not a component itself but instantiated by the mapper
+                continue;
+            }
             iterator.remove();
             iterator.add( replacementMapperReference( reference ) );
         }
@@ -29,9 +29,13 @@
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic.Kind;
 
+import org.mapstruct.ap.conversion.Conversions;
 import org.mapstruct.ap.model.common.TypeFactory;
+import org.mapstruct.ap.model.source.MethodMatchCache;
+import org.mapstruct.ap.model.source.selector.MethodSelectors;
 import org.mapstruct.ap.option.Options;
 import org.mapstruct.ap.processor.ModelElementProcessor.ProcessorContext;
+import org.mapstruct.ap.profile.MapperProfile;
 import org.mapstruct.ap.util.Message;
 import org.mapstruct.ap.version.VersionInformation;
 
@@ -43,20 +47,21 @@
 public class DefaultModelElementProcessorContext implements ProcessorContext {
 
     private final ProcessingEnvironment processingEnvironment;
+    private final RoundContext roundContext;
     private final DelegatingMessager messager;
-    private final Options options;
     private final TypeFactory typeFactory;
-    private final VersionInformation versionInformation;
+    private final MapperProfile mapperProfile;
 
-    public DefaultModelElementProcessorContext(ProcessingEnvironment processingEnvironment, Options options) {
-        this.processingEnvironment = processingEnvironment;
+    public DefaultModelElementProcessorContext(RoundContext roundContext, MapperProfile mapperProfile) {
+        this.processingEnvironment = roundContext.getProcessingEnvironment();
+        this.roundContext = roundContext;
+        this.mapperProfile = mapperProfile;
         this.messager = new DelegatingMessager( processingEnvironment.getMessager() );
         this.typeFactory = new TypeFactory(
             processingEnvironment.getElementUtils(),
-            processingEnvironment.getTypeUtils()
+            processingEnvironment.getTypeUtils(),
+            roundContext.getEnclosedExecutableCache()
         );
-        this.options = options;
-        this.versionInformation = DefaultVersionInformation.fromProcessingEnvironment( processingEnvironment );
     }
 
     @Override
@@ -79,19 +84,54 @@ public TypeFactory getTypeFactory() {
         return typeFactory;
     }
 
+    @Override
+    public DependencyIndex getDependencyIndex() {
+        return roundContext.getDependencyIndex();
+    }
+
+    @Override
+    public SourceFileWriter getSourceFileWriter() {
+        return roundContext.getSourceFileWriter();
+    }
+
+    @Override
+    public MapperMethodCache getMapperMethodCache() {
+        return roundContext.getMapperMethodCache();
+    }
+
+    @Override
+    public MethodMatchCache getMethodMatchCache() {
+        return roundContext.getMethodMatchCache();
+    }
+
+    @Override
+    public MapperProfile getMapperProfile() {
+        return mapperProfile;
+    }
+
     @Override
     public FormattingMessager getMessager() {
         return messager;
     }
 
+    @Override
+    public Conversions getConversions() {
+        return roundContext.getConversions();
+    }
+
+    @Override
+    public MethodSelectors getMethodSelectors() {
+        return roundContext.getMethodSelectors();
+    }
+
     @Override
     public Options getOptions() {
-        return options;
+        return roundContext.getOptions();
     }
 
     @Override
     public VersionInformation getVersionInformation() {
-        return versionInformation;
+        return roundContext.getVersionInformation();
     }
 
     @Override
@@ -0,0 +1,222 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.processor;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Records the types each generated type depends on, i.e. the types whose change requires the generated type to be
+ * re-generated: the mapper type itself, its configuration type, referenced mappers, its decorator and all the types
+ * inspected while building the mapper model, such as source and target beans.
+ * <p>
+ * If enabled via the {@code mapstruct.dependencyIndex} processor option, the index is written to the class output
+ * location as {@value #RESOURCE_NAME}, allowing build tools to determine the mappers to re-process after a change.
+ * Entries of an index from a previous compilation are retained unless the corresponding type is generated again.
+ * <p>
+ * The binary format consists of a header (magic number and version), a table of all the type names and the entries,
+ * each represented by the table index of the generated type name, the number of dependencies and the table indexes of
+ * the dependency names.
+ */
+public class DependencyIndex {
+
+    /**
+     * The name of the index resource relative to the class output location.
+     */
+    public static final String RESOURCE_NAME = "META-INF/mapstruct/dependencies.idx";
+
+    private static final int MAGIC_NUMBER = 0x4D534449;
+    private static final int VERSION = 1;
+
+    private final SortedMap<String, SortedSet<String>> dependenciesByGeneratedType =
+        new TreeMap<String, SortedSet<String>>();
+
+    /**
+     * Sets the dependencies of the given generated type, replacing any dependencies recorded for it before.
+     *
+     * @param generatedType the qualified name of the generated type
+     * @param dependencies the qualified names of the types the generated type depends on
+     */
+    public void setDependencies(String generatedType, Collection<String> dependencies) {
+        SortedSet<String> sortedDependencies = new TreeSet<String>( dependencies );
+        sortedDependencies.remove( generatedType );
+
+        dependenciesByGeneratedType.put( generatedType, sortedDependencies );
+    }
+
+    /**
+     * @return the qualified names of all the generated types contained in this index
+     */
+    public SortedSet<String> getGeneratedTypes() {
+        return Collections.unmodifiableSortedSet( new TreeSet<String>( dependenciesByGeneratedType.keySet() ) );
+    }
+
+    /**
+     * @param generatedType the qualified name of a generated type
+     *
+     * @return the qualified names of the types the given type depends on, empty if the type is unknown
+     */
+    public SortedSet<String> getDependencies(String generatedType) {
+        SortedSet<String> dependencies = dependenciesByGeneratedType.get( generatedType );
+        return dependencies != null ?
+            Collections.unmodifiableSortedSet( dependencies ) :
+            Collections.unmodifiableSortedSet( new TreeSet<String>() );
+    }
+
+    /**
+     * @param type the qualified name of a changed type
+     *
+     * @return the qualified names of the generated types which depend on the given type
+     */
+    public SortedSet<String> getGeneratedTypesDependingOn(String type) {
+        SortedSet<String> generatedTypes = new TreeSet<String>();
+
+        for ( Entry<String, SortedSet<String>> entry : dependenciesByGeneratedType.entrySet() ) {
+            if ( entry.getValue().contains( type ) ) {
+                generatedTypes.add( entry.getKey() );
+            }
+        }
+
+        return generatedTypes;
+    }
+
+    /**
+     * Adds all the entries of the given index for which this index doesn't have an entry yet.
+     *
+     * @param other the index to merge
+     */
+    public void addMissingEntries(DependencyIndex other) {
+        for ( Entry<String, SortedSet<String>> entry : other.dependenciesByGeneratedType.entrySet() ) {
+            if ( !dependenciesByGeneratedType.containsKey( entry.getKey() ) ) {
+                dependenciesByGeneratedType.put( entry.getKey(), entry.getValue() );
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return dependenciesByGeneratedType.isEmpty();
+    }
+
+    /**
+     * Writes this index in its binary format into the given stream, which is not closed.
+     *
+     * @param stream the stream to write to
+     *
+     * @throws IOException in case writing to the stream fails
+     */
+    public void write(OutputStream stream) throws IOException {
+        List<String> names = new ArrayList<String>();
+        Map<String, Integer> indexesByName = new HashMap<String, Integer>();
+
+        for ( Entry<String, SortedSet<String>> entry : dependenciesByGeneratedType.entrySet() ) {
+            addName( entry.getKey(), names, indexesByName );
+
+            for ( String dependency : entry.getValue() ) {
+                addName( dependency, names, indexesByName );
+            }
+        }
+
+        DataOutputStream out = new DataOutputStream( stream );
+        out.writeInt( MAGIC_NUMBER );
+        out.writeByte( VERSION );
+
+        out.writeInt( names.size() );
+        for ( String name : names ) {
+            out.writeUTF( name );
+        }
+
+        out.writeInt( dependenciesByGeneratedType.size() );
+        for ( Entry<String, SortedSet<String>> entry : dependenciesByGeneratedType.entrySet() ) {
+            out.writeInt( indexesByName.get( entry.getKey() ) );
+            out.writeInt( entry.getValue().size() );
+
+            for ( String dependency : entry.getValue() ) {
+                out.writeInt( indexesByName.get( dependency ) );
+            }
+        }
+
+        out.flush();
+    }
+
+    /**
+     * Reads an index in its binary format from the given stream, which is not closed.
+     *
+     * @param stream the stream to read from
+     *
+     * @return the index read from the stream
+     *
+     * @throws IOException in case reading from the stream fails or the stream doesn't contain an index in a supported
+     * version
+     */
+    public static DependencyIndex read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream( stream );
+
+        if ( in.readInt() != MAGIC_NUMBER ) {
+            throw new IOException( "Not a MapStruct dependency index." );
+        }
+
+        int version = in.readByte();
+        if ( version != VERSION ) {
+            throw new IOException( "Unsupported version of MapStruct dependency index: " + version + "." );
+        }
+
+        String[] names = new String[in.readInt()];
+        for ( int i = 0; i < names.length; i++ ) {
+            names[i] = in.readUTF();
+        }
+
+        DependencyIndex index = new DependencyIndex();
+
+        int entries = in.readInt();
+        for ( int i = 0; i < entries; i++ ) {
+            String generatedType = names[in.readInt()];
+            SortedSet<String> dependencies = new TreeSet<String>();
+
+            int dependencyCount = in.readInt();
+            for ( int j = 0; j < dependencyCount; j++ ) {
+                dependencies.add( names[in.readInt()] );
+            }
+
+            index.dependenciesByGeneratedType.put( generatedType, dependencies );
+        }
+
+        return index;
+    }
+
+    private static void addName(String name, List<String> names, Map<String, Integer> indexesByName) {
+        if ( !indexesByName.containsKey( name ) ) {
+            indexesByName.put( name, names.size() );
+            names.add( name );
+        }
+    }
+}
@@ -29,13 +29,16 @@
 import java.util.TreeSet;
 
 import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 
+import org.mapstruct.ap.model.AllocatorReference;
 import org.mapstruct.ap.model.BeanMappingMethod;
 import org.mapstruct.ap.model.Decorator;
 import org.mapstruct.ap.model.DefaultMapperReference;
@@ -52,6 +55,7 @@
 import org.mapstruct.ap.model.source.MappingOptions;
 import org.mapstruct.ap.model.source.SourceMethod;
 import org.mapstruct.ap.option.Options;
+import org.mapstruct.ap.prism.CloneStrategyPrism;
 import org.mapstruct.ap.prism.DecoratedWithPrism;
 import org.mapstruct.ap.prism.InheritConfigurationPrism;
 import org.mapstruct.ap.prism.InheritInverseConfigurationPrism;
@@ -61,6 +65,7 @@
 import org.mapstruct.ap.util.FormattingMessager;
 import org.mapstruct.ap.util.MapperConfiguration;
 import org.mapstruct.ap.util.Message;
+import org.mapstruct.ap.util.MemberNames;
 import org.mapstruct.ap.util.Strings;
 import org.mapstruct.ap.version.VersionInformation;
 
@@ -91,6 +96,13 @@ public Mapper process(ProcessorContext context, TypeElement mapperTypeElement, L
 
         MapperConfiguration mapperConfig = MapperConfiguration.getInstanceOn( mapperTypeElement );
         List<MapperReference> mapperReferences = initReferencedMappers( mapperTypeElement, mapperConfig );
+        AllocatorReference allocator = initAllocator( mapperTypeElement, mapperConfig, mapperReferences );
+
+        for ( TypeMirror immutableType : mapperConfig.immutableTypes() ) {
+            typeFactory.addImmutableType( immutableType );
+        }
+
+        MemberNames memberNames = getMemberNames( mapperTypeElement, mapperReferences );
 
         MappingBuilderContext ctx = new MappingBuilderContext(
             typeFactory,
@@ -100,15 +112,21 @@ public Mapper process(ProcessorContext context, TypeElement mapperTypeElement, L
             options,
             new MappingResolverImpl(
                 messager,
-                elementUtils,
                 typeUtils,
                 typeFactory,
+                context.getConversions(),
+                context.getMethodSelectors(),
+                context.getMapperProfile(),
                 sourceModel,
-                mapperReferences
+                mapperReferences,
+                mapperConfig.getUnknownEnumStringStrategy(),
+                memberNames
             ),
             mapperTypeElement,
             sourceModel,
-            mapperReferences
+            mapperReferences,
+            allocator,
+            memberNames
         );
         this.mappingContext = ctx;
         return getMapper( mapperTypeElement, mapperConfig, sourceModel );
@@ -119,6 +137,25 @@ public int getPriority() {
         return 1000;
     }
 
+    /**
+     * Returns the names of the methods and fields declared or inherited by the given mapper type and of the fields
+     * referencing other mappers, which must not be used for members added to the generated mapper.
+     */
+    private MemberNames getMemberNames(TypeElement element, List<MapperReference> mapperReferences) {
+        List<String> names = new ArrayList<String>();
+        for ( ExecutableElement method : ElementFilter.methodsIn( elementUtils.getAllMembers( element ) ) ) {
+            names.add( method.getSimpleName().toString() );
+        }
+        for ( VariableElement field : ElementFilter.fieldsIn( elementUtils.getAllMembers( element ) ) ) {
+            names.add( field.getSimpleName().toString() );
+        }
+        for ( MapperReference mapperReference : mapperReferences ) {
+            names.add( mapperReference.getVariableName() );
+        }
+
+        return new MemberNames( names );
+    }
+
     private List<MapperReference> initReferencedMappers(TypeElement element, MapperConfiguration mapperConfig) {
         List<MapperReference> result = new LinkedList<MapperReference>();
         List<String> variableNames = new LinkedList<String>();
@@ -138,6 +175,35 @@ private List<MapperReference> initReferencedMappers(TypeElement element, MapperC
         return result;
     }
 
+    private AllocatorReference initAllocator(TypeElement element, MapperConfiguration mapperConfig,
+                                             List<MapperReference> mapperReferences) {
+        TypeMirror allocatorMirror = mapperConfig.allocator();
+        if ( allocatorMirror == null ) {
+            return null;
+        }
+
+        Type allocatorType = typeFactory.getType( allocatorMirror );
+        if ( allocatorType.isInterface() || allocatorType.getTypeElement().getModifiers().contains( Modifier.ABSTRACT )
+            || !allocatorType.isAssignableTo( typeFactory.getType( "org.mapstruct.TargetAllocator" ) ) ) {
+            messager.printMessage(
+                element,
+                mapperConfig.getAnnotationMirror(),
+                Message.GENERAL_INVALID_ALLOCATOR,
+                allocatorType
+            );
+            return null;
+        }
+
+        List<String> variableNames = new ArrayList<String>();
+        for ( MapperReference mapperReference : mapperReferences ) {
+            variableNames.add( mapperReference.getVariableName() );
+        }
+
+        AllocatorReference allocator = AllocatorReference.getInstance( allocatorType, variableNames );
+        mapperReferences.add( allocator );
+        return allocator;
+    }
+
     private Mapper getMapper(TypeElement element, MapperConfiguration mapperConfig, List<SourceMethod> methods) {
         List<MapperReference> mapperReferences = mappingContext.getMapperReferences();
         List<MappingMethod> mappingMethods = getMappingMethods( mapperConfig, methods );
@@ -148,6 +214,9 @@ private Mapper getMapper(TypeElement element, MapperConfiguration mapperConfig,
             .element( element )
             .mappingMethods( mappingMethods )
             .mapperReferences( mapperReferences )
+            .constantFields( mappingContext.getConstantFields() )
+            .helperFields( mappingContext.getUsedHelperFields() )
+            .nestedTypes( mappingContext.getUsedNestedTypes() )
             .options( options )
             .versionInformation( versionInformation )
             .decorator( getDecorator( element, methods ) )
@@ -331,11 +400,13 @@ else if ( method.isEnumMapping() ) {
             else {
 
                 NullValueMappingStrategyPrism nullValueMappingStrategy = null;
+                CloneStrategyPrism cloneStrategy = null;
                 TypeMirror resultType = null;
                 List<TypeMirror> qualifiers = null;
 
                 if ( mappingOptions.getBeanMapping() != null ) {
                     nullValueMappingStrategy = mappingOptions.getBeanMapping().getNullValueMappingStrategy();
+                    cloneStrategy = mappingOptions.getBeanMapping().getCloneStrategy();
                     resultType = mappingOptions.getBeanMapping().getResultType();
                     qualifiers = mappingOptions.getBeanMapping().getQualifiers();
                 }
@@ -344,6 +415,7 @@ else if ( method.isEnumMapping() ) {
                     .mappingContext( mappingContext )
                     .souceMethod( method )
                     .nullValueMappingStrategy( nullValueMappingStrategy )
+                    .cloneStrategy( cloneStrategy )
                     .qualifiers( qualifiers )
                     .resultType( resultType )
                     .build();
@@ -420,10 +492,13 @@ else if ( applicablePrototypeMethods.size() > 1 ) {
     }
 
     private void reportErrorIfNoImplementationTypeIsRegisteredForInterfaceReturnType(SourceMethod method) {
-        if ( method.getReturnType().getTypeMirror().getKind() != TypeKind.VOID &&
-            method.getReturnType().isInterface() &&
-            method.getReturnType().getImplementationType() == null ) {
-            messager.printMessage( method.getExecutable(), Message.GENERAL_NO_IMPLEMENTATION, method.getReturnType() );
+        // the stage of an asynchronous method is created by the generated code itself
+        Type returnType = method.isAsync() ? method.getResultType() : method.getReturnType();
+
+        if ( returnType.getTypeMirror().getKind() != TypeKind.VOID &&
+            returnType.isInterface() &&
+            returnType.getImplementationType() == null ) {
+            messager.printMessage( method.getExecutable(), Message.GENERAL_NO_IMPLEMENTATION, returnType );
         }
     }
 
@@ -0,0 +1,184 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.processor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ExecutableType;
+
+import org.mapstruct.ap.model.common.TypeFactory;
+import org.mapstruct.ap.prism.MappingTargetPrism;
+import org.mapstruct.ap.prism.TargetTypePrism;
+import org.mapstruct.ap.util.EnclosedExecutableCache;
+
+/**
+ * Caches the methods of the mapper and mapper configuration types retrieved by the {@link MethodRetrievalProcessor}
+ * within one round, so that a type referenced by many mappers, e.g. via {@code Mapper#uses()}, is only analyzed once.
+ * <p>
+ * Only the information not depending on the mapper currently processed is cached, i.e. the executables of a type, their
+ * types as members of that type and whether they qualify as referenced mapping or factory methods at all. The
+ * {@link org.mapstruct.ap.model.common.Type}s of their parameters and return types are not cached, as these are bound
+ * to the import handling of the source file of one mapper.
+ */
+public class MapperMethodCache {
+
+    private final EnclosedExecutableCache enclosedExecutableCache;
+    private final TypeFactory typeFactory;
+    private final Map<TypeElement, List<MapperMethod>> methodsByType = new HashMap<TypeElement, List<MapperMethod>>();
+
+    /**
+     * @param enclosedExecutableCache the cache of the executables of the types inspected in the current round
+     * @param typeFactory a type factory of the current round, only used for retrieving method types
+     */
+    public MapperMethodCache(EnclosedExecutableCache enclosedExecutableCache, TypeFactory typeFactory) {
+        this.enclosedExecutableCache = enclosedExecutableCache;
+        this.typeFactory = typeFactory;
+    }
+
+    /**
+     * Returns the methods declared by the given type or inherited from its super-types.
+     *
+     * @param typeElement the type of interest
+     *
+     * @return the methods of the given type
+     */
+    public List<MapperMethod> getMethods(TypeElement typeElement) {
+        List<MapperMethod> methods = methodsByType.get( typeElement );
+
+        if ( methods == null ) {
+            methods = retrieveMethods( typeElement );
+            methodsByType.put( typeElement, methods );
+        }
+
+        return methods;
+    }
+
+    private List<MapperMethod> retrieveMethods(TypeElement typeElement) {
+        List<ExecutableElement> executables = enclosedExecutableCache.getAllEnclosedExecutableElements( typeElement );
+        List<MapperMethod> methods = new ArrayList<MapperMethod>( executables.size() );
+
+        for ( ExecutableElement executable : executables ) {
+            ParameterCounts counts = new ParameterCounts( executable );
+
+            methods.add(
+                new MapperMethod(
+                    executable,
+                    typeFactory.getMethodType( typeElement, executable ),
+                    counts.isValidReferencedMethod() || counts.isValidFactoryMethod()
+                )
+            );
+        }
+
+        return Collections.unmodifiableList( methods );
+    }
+
+    /**
+     * A method of a mapper or mapper configuration type.
+     */
+    public static class MapperMethod {
+
+        private final ExecutableElement executable;
+        private final ExecutableType methodType;
+        private final boolean referenceable;
+
+        MapperMethod(ExecutableElement executable, ExecutableType methodType, boolean referenceable) {
+            this.executable = executable;
+            this.methodType = methodType;
+            this.referenceable = referenceable;
+        }
+
+        public ExecutableElement getExecutable() {
+            return executable;
+        }
+
+        /**
+         * Returns the type of this method as member of the type it has been retrieved for, i.e. with the type
+         * variables of generic super-types resolved.
+         *
+         * @return the method type
+         */
+        public ExecutableType getMethodType() {
+            return methodType;
+        }
+
+        public boolean requiresImplementation() {
+            return executable.getModifiers().contains( Modifier.ABSTRACT );
+        }
+
+        /**
+         * Whether this method can be invoked by generated mappers, either as mapping method or as factory method.
+         *
+         * @return {@code true} if this method can be referenced, {@code false} otherwise
+         */
+        public boolean isReferenceable() {
+            return referenceable;
+        }
+    }
+
+    private static class ParameterCounts {
+
+        private final int parameters;
+        private int validSourceParameters;
+        private int targetParameters;
+        private int targetTypeParameters;
+
+        ParameterCounts(ExecutableElement executable) {
+            parameters = executable.getParameters().size();
+
+            for ( VariableElement parameter : executable.getParameters() ) {
+                boolean isMappingTarget = MappingTargetPrism.getInstanceOn( parameter ) != null;
+                boolean isTargetType = TargetTypePrism.getInstanceOn( parameter ) != null;
+
+                if ( isMappingTarget ) {
+                    targetParameters++;
+                }
+
+                if ( isTargetType ) {
+                    targetTypeParameters++;
+                }
+
+                if ( !isMappingTarget && !isTargetType ) {
+                    validSourceParameters++;
+                }
+            }
+        }
+
+        boolean isValidReferencedMethod() {
+            return validSourceParameters == 1
+                && targetParameters <= 1
+                && targetTypeParameters <= 1
+                && parameters == validSourceParameters + targetParameters + targetTypeParameters;
+        }
+
+        boolean isValidFactoryMethod() {
+            return validSourceParameters == 0
+                && targetParameters == 0
+                && targetTypeParameters <= 1
+                && parameters == validSourceParameters + targetParameters + targetTypeParameters;
+        }
+    }
+}
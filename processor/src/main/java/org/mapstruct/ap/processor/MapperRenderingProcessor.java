@@ -18,18 +18,30 @@
  */
 package org.mapstruct.ap.processor;
 
-import java.io.IOException;
-import javax.annotation.processing.Filer;
+import java.io.StringWriter;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import javax.lang.model.element.TypeElement;
-import javax.tools.JavaFileObject;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
 
 import org.mapstruct.ap.model.GeneratedType;
 import org.mapstruct.ap.model.Mapper;
+import org.mapstruct.ap.prism.DecoratedWithPrism;
+import org.mapstruct.ap.util.MapperConfiguration;
 import org.mapstruct.ap.writer.ModelWriter;
 
 /**
  * A {@link ModelElementProcessor} which creates a Java source file representing
  * the given {@link Mapper} object, unless the given mapper type is erroneous.
+ * The files are created using the {@link SourceFileWriter} of the current round.
+ * <p>
+ * The mapper type, its configuration type, its referenced mappers and its
+ * decorator are passed as originating elements of the created files. If
+ * enabled, these and all the types inspected while building the mapper are
+ * recorded in the {@link DependencyIndex}.
  *
  * @author Gunnar Morling
  */
@@ -38,34 +50,100 @@ public class MapperRenderingProcessor implements ModelElementProcessor<Mapper, V
     @Override
     public Void process(ProcessorContext context, TypeElement mapperTypeElement, Mapper mapper) {
         if ( !context.isErroneous() ) {
-            writeToSourceFile( context.getFiler(), mapper );
+            TypeElement[] originatingElements = getOriginatingElements( context.getTypeUtils(), mapperTypeElement );
+
+            ModelWriter modelWriter = new ModelWriter( !context.getOptions().isCodeEmitterDisabled() );
+            writeToSourceFile( context.getSourceFileWriter(), mapper, originatingElements, modelWriter );
+
+            if ( context.getMapperProfile() != null ) {
+                context.getMapperProfile().addWrittenElements(
+                    modelWriter.getTemplateRenderCount(),
+                    modelWriter.getEmittedElementCount()
+                );
+            }
+
+            if ( context.getDependencyIndex() != null ) {
+                addToDependencyIndex( context, mapper, originatingElements );
+            }
         }
 
         return null;
     }
 
-    private void writeToSourceFile(Filer filer, Mapper model) {
-        ModelWriter modelWriter = new ModelWriter();
+    private TypeElement[] getOriginatingElements(Types typeUtils, TypeElement mapperTypeElement) {
+        Set<TypeElement> originatingElements = new LinkedHashSet<TypeElement>();
+        originatingElements.add( mapperTypeElement );
+
+        MapperConfiguration mapperConfig = MapperConfiguration.getInstanceOn( mapperTypeElement );
+        addTypeElement( typeUtils, mapperConfig.getMapperConfigMirror(), originatingElements );
+
+        for ( TypeMirror usedMapper : mapperConfig.uses() ) {
+            addTypeElement( typeUtils, usedMapper, originatingElements );
+        }
+
+        DecoratedWithPrism decoratorPrism = DecoratedWithPrism.getInstanceOn( mapperTypeElement );
+        if ( decoratorPrism != null ) {
+            addTypeElement( typeUtils, decoratorPrism.value(), originatingElements );
+        }
+
+        return originatingElements.toArray( new TypeElement[originatingElements.size()] );
+    }
 
-        createSourceFile( model, modelWriter, filer );
+    private void addTypeElement(Types typeUtils, TypeMirror type, Set<TypeElement> typeElements) {
+        if ( type != null && type.getKind() == TypeKind.DECLARED ) {
+            typeElements.add( (TypeElement) typeUtils.asElement( type ) );
+        }
+    }
+
+    private void addToDependencyIndex(ProcessorContext context, Mapper model, TypeElement[] originatingElements) {
+        Set<String> dependencies = new HashSet<String>();
+
+        for ( TypeElement originatingElement : originatingElements ) {
+            dependencies.add( originatingElement.getQualifiedName().toString() );
+        }
+
+        // types from the JDK can't change between compilations
+        for ( TypeElement inspectedTypeElement : context.getTypeFactory().getInspectedTypeElements() ) {
+            String name = inspectedTypeElement.getQualifiedName().toString();
+            if ( !name.startsWith( "java." ) && !name.startsWith( "javax." ) ) {
+                dependencies.add( name );
+            }
+        }
+
+        context.getDependencyIndex().setDependencies( getQualifiedName( model ), dependencies );
 
         if ( model.getDecorator() != null ) {
-            createSourceFile( model.getDecorator(), modelWriter, filer );
+            context.getDependencyIndex().setDependencies( getQualifiedName( model.getDecorator() ), dependencies );
         }
     }
 
-    private void createSourceFile(GeneratedType model, ModelWriter modelWriter, Filer filer) {
-        String fileName = model.getPackageName() + "." + model.getName();
+    private void writeToSourceFile(SourceFileWriter sourceFileWriter, Mapper model,
+                                   TypeElement[] originatingElements, ModelWriter modelWriter) {
+        createSourceFile( model, originatingElements, modelWriter, sourceFileWriter );
 
-        JavaFileObject sourceFile;
-        try {
-            sourceFile = filer.createSourceFile( fileName );
+        if ( model.getDecorator() != null ) {
+            createSourceFile( model.getDecorator(), originatingElements, modelWriter, sourceFileWriter );
         }
-        catch ( IOException e ) {
-            throw new RuntimeException( e );
+    }
+
+    private void createSourceFile(GeneratedType model, TypeElement[] originatingElements, ModelWriter modelWriter,
+                                  SourceFileWriter sourceFileWriter) {
+        // the source must be rendered into memory first in order to compare it with the existing file
+        if ( sourceFileWriter.isSkipUnchanged() ) {
+            StringWriter source = new StringWriter();
+            modelWriter.writeModel( source, model );
+            sourceFileWriter.write( getQualifiedName( model ), originatingElements, source.toString() );
         }
+        else {
+            modelWriter.writeModel(
+                sourceFileWriter.createSourceFile( getQualifiedName( model ), originatingElements ),
+                model
+            );
+        }
+    }
 
-        modelWriter.writeModel( sourceFile, model );
+    private String getQualifiedName(GeneratedType model) {
+        return model.getPackageName() + "." + model.getName();
     }
 
     @Override
@@ -20,18 +20,16 @@
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 import javax.lang.model.element.ExecutableElement;
-import javax.lang.model.element.Modifier;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.ExecutableType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
-import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 
 import org.mapstruct.ap.model.common.Parameter;
@@ -42,6 +40,7 @@
 import org.mapstruct.ap.model.source.IterableMapping;
 import org.mapstruct.ap.model.source.MapMapping;
 import org.mapstruct.ap.model.source.Mapping;
+import org.mapstruct.ap.model.source.MethodMatchCache;
 import org.mapstruct.ap.model.source.SourceMethod;
 
 import org.mapstruct.ap.prism.BeanMappingPrism;
@@ -49,19 +48,21 @@
 import org.mapstruct.ap.prism.MapMappingPrism;
 import org.mapstruct.ap.prism.MappingPrism;
 import org.mapstruct.ap.prism.MappingsPrism;
+import org.mapstruct.ap.processor.MapperMethodCache.MapperMethod;
 
 import org.mapstruct.ap.util.AnnotationProcessingException;
 import org.mapstruct.ap.util.FormattingMessager;
 import org.mapstruct.ap.util.MapperConfiguration;
 import org.mapstruct.ap.util.Message;
 
-import static org.mapstruct.ap.util.Executables.getAllEnclosedExecutableElements;
-
 /**
  * A {@link ModelElementProcessor} which retrieves a list of {@link SourceMethod}s
  * representing all the mapping methods of the given bean mapper type as well as
  * all referenced mapper methods declared by other mappers referenced by the
  * current mapper.
+ * <p>
+ * The methods of the retrieved types are obtained from the {@link MapperMethodCache} of the current round, so a type
+ * referenced by several mappers is only analyzed once per round.
  *
  * @author Gunnar Morling
  */
@@ -70,14 +71,16 @@ public class MethodRetrievalProcessor implements ModelElementProcessor<Void, Lis
     private FormattingMessager messager;
     private TypeFactory typeFactory;
     private Types typeUtils;
-    private Elements elementUtils;
+    private MapperMethodCache mapperMethodCache;
+    private MethodMatchCache methodMatchCache;
 
     @Override
     public List<SourceMethod> process(ProcessorContext context, TypeElement mapperTypeElement, Void sourceModel) {
         this.messager = context.getMessager();
         this.typeFactory = context.getTypeFactory();
         this.typeUtils = context.getTypeUtils();
-        this.elementUtils = context.getElementUtils();
+        this.mapperMethodCache = context.getMapperMethodCache();
+        this.methodMatchCache = context.getMethodMatchCache();
 
         MapperConfiguration mapperConfig = MapperConfiguration.getInstanceOn( mapperTypeElement );
 
@@ -104,10 +107,13 @@ private List<SourceMethod> retrievePrototypeMethods(TypeMirror typeMirror, Mappe
         }
 
         TypeElement typeElement = asTypeElement( typeMirror );
+        typeFactory.addInspectedTypeHierarchy( typeElement );
+
         List<SourceMethod> methods = new ArrayList<SourceMethod>();
-        for ( ExecutableElement executable : getAllEnclosedExecutableElements( elementUtils, typeElement ) ) {
+        for ( MapperMethod mapperMethod : mapperMethodCache.getMethods( typeElement ) ) {
 
-            ExecutableType methodType = typeFactory.getMethodType( typeElement, executable );
+            ExecutableElement executable = mapperMethod.getExecutable();
+            ExecutableType methodType = mapperMethod.getMethodType();
             List<Parameter> parameters = typeFactory.getParameters( methodType, executable );
             boolean containsTargetTypeParameter = SourceMethod.containsTargetTypeParameter( parameters );
 
@@ -143,11 +149,12 @@ private List<SourceMethod> retrievePrototypeMethods(TypeMirror typeMirror, Mappe
     private List<SourceMethod> retrieveMethods(TypeElement usedMapper, TypeElement mapperToImplement,
                                                MapperConfiguration mapperConfig, List<SourceMethod> prototypeMethods) {
         List<SourceMethod> methods = new ArrayList<SourceMethod>();
+        typeFactory.addInspectedTypeHierarchy( usedMapper );
 
-        for ( ExecutableElement executable : getAllEnclosedExecutableElements( elementUtils, usedMapper ) ) {
+        for ( MapperMethod mapperMethod : mapperMethodCache.getMethods( usedMapper ) ) {
             SourceMethod method = getMethod(
                 usedMapper,
-                executable,
+                mapperMethod,
                 mapperToImplement,
                 mapperConfig,
                 prototypeMethods );
@@ -176,27 +183,29 @@ private TypeElement asTypeElement(TypeMirror usedMapper) {
     }
 
     private SourceMethod getMethod(TypeElement usedMapper,
-                                   ExecutableElement method,
+                                   MapperMethod mapperMethod,
                                    TypeElement mapperToImplement,
                                    MapperConfiguration mapperConfig,
                                    List<SourceMethod> prototypeMethods) {
 
-        ExecutableType methodType = typeFactory.getMethodType( usedMapper, method );
-        List<Parameter> parameters = typeFactory.getParameters( methodType, method );
-        boolean methodRequiresImplementation = method.getModifiers().contains( Modifier.ABSTRACT );
-        boolean containsTargetTypeParameter = SourceMethod.containsTargetTypeParameter( parameters );
+        ExecutableElement method = mapperMethod.getExecutable();
+        ExecutableType methodType = mapperMethod.getMethodType();
 
         //add method with property mappings if an implementation needs to be generated
-        if ( ( usedMapper.equals( mapperToImplement ) ) && methodRequiresImplementation ) {
+        if ( ( usedMapper.equals( mapperToImplement ) ) && mapperMethod.requiresImplementation() ) {
+            List<Parameter> parameters = typeFactory.getParameters( methodType, method );
+
             return getMethodRequiringImplementation( methodType,
                 method,
                 parameters,
-                containsTargetTypeParameter,
+                SourceMethod.containsTargetTypeParameter( parameters ),
                 mapperConfig,
                 prototypeMethods );
         }
         //otherwise add reference to existing mapper method
-        else if ( isValidReferencedMethod( parameters ) || isValidFactoryMethod( parameters ) ) {
+        else if ( mapperMethod.isReferenceable() ) {
+            List<Parameter> parameters = typeFactory.getParameters( methodType, method );
+
             return getReferencedMethod( usedMapper, methodType, method, mapperToImplement, parameters );
         }
         else {
@@ -245,6 +254,7 @@ private SourceMethod getMethodRequiringImplementation(ExecutableType methodType,
                 .setTypeFactory( typeFactory )
                 .setMapperConfiguration( mapperConfig )
                 .setPrototypeMethods( prototypeMethods )
+                .setMatchCache( methodMatchCache )
                 .build();
     }
 
@@ -268,57 +278,10 @@ private SourceMethod getReferencedMethod(TypeElement usedMapper, ExecutableType
                 .setExceptionTypes( exceptionTypes )
                 .setTypeUtils( typeUtils )
                 .setTypeFactory( typeFactory )
+                .setMatchCache( methodMatchCache )
                 .build();
     }
 
-    private boolean isValidReferencedMethod(List<Parameter> parameters) {
-     int validSourceParameters = 0;
-        int targetParameters = 0;
-        int targetTypeParameters = 0;
-
-        for ( Parameter param : parameters ) {
-            if ( param.isMappingTarget() ) {
-                targetParameters++;
-            }
-
-            if ( param.isTargetType() ) {
-                targetTypeParameters++;
-            }
-
-            if ( !param.isMappingTarget() && !param.isTargetType() ) {
-                validSourceParameters++;
-            }
-        }
-        return validSourceParameters == 1
-            && targetParameters <= 1
-            && targetTypeParameters <= 1
-            && parameters.size() == validSourceParameters + targetParameters + targetTypeParameters;
-    }
-
-    private boolean isValidFactoryMethod(List<Parameter> parameters) {
-        int validSourceParameters = 0;
-        int targetParameters = 0;
-        int targetTypeParameters = 0;
-
-        for ( Parameter param : parameters ) {
-            if ( param.isMappingTarget() ) {
-                targetParameters++;
-            }
-
-            if ( param.isTargetType() ) {
-                targetTypeParameters++;
-            }
-
-            if ( !param.isMappingTarget() && !param.isTargetType() ) {
-                validSourceParameters++;
-            }
-        }
-        return validSourceParameters == 0
-            && targetParameters == 0
-            && targetTypeParameters <= 1
-            && parameters.size() == validSourceParameters + targetParameters + targetTypeParameters;
-    }
-
     private Parameter extractTargetParameter(List<Parameter> parameters) {
         for ( Parameter param : parameters ) {
             if ( param.isMappingTarget() ) {
@@ -410,6 +373,11 @@ private boolean checkParameterAndReturnType(ExecutableElement method, List<Param
             return false;
         }
 
+        if ( parameterType.isMapType() && SourceMethod.isAsyncResultType( resultType ) ) {
+            messager.printMessage( method, Message.RETRIEVAL_ASYNC_NON_BEAN_MAPPING );
+            return false;
+        }
+
         return true;
     }
 
@@ -422,7 +390,7 @@ private boolean checkParameterAndReturnType(ExecutableElement method, List<Param
      * @return The mappings for the given method, keyed by target property name
      */
     private Map<String, List<Mapping>> getMappings(ExecutableElement method) {
-        Map<String, List<Mapping>> mappings = new HashMap<String, List<Mapping>>();
+        Map<String, List<Mapping>> mappings = new LinkedHashMap<String, List<Mapping>>();
 
         MappingPrism mappingAnnotation = MappingPrism.getInstanceOn( method );
         MappingsPrism mappingsAnnotation = MappingsPrism.getInstanceOn( method );
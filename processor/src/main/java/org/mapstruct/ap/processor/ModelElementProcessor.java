@@ -25,8 +25,12 @@
 import javax.lang.model.util.Types;
 import javax.tools.Diagnostic.Kind;
 
+import org.mapstruct.ap.conversion.Conversions;
 import org.mapstruct.ap.model.common.TypeFactory;
+import org.mapstruct.ap.model.source.MethodMatchCache;
+import org.mapstruct.ap.model.source.selector.MethodSelectors;
 import org.mapstruct.ap.option.Options;
+import org.mapstruct.ap.profile.MapperProfile;
 import org.mapstruct.ap.version.VersionInformation;
 
 /**
@@ -59,6 +63,46 @@ public interface ProcessorContext {
 
         TypeFactory getTypeFactory();
 
+        Conversions getConversions();
+
+        MethodSelectors getMethodSelectors();
+
+        /**
+         * Returns the index recording the dependencies of the generated types.
+         *
+         * @return the dependency index or {@code null} if the index is not to be written
+         */
+        DependencyIndex getDependencyIndex();
+
+        /**
+         * Returns the writer to create the source files of the current round with.
+         *
+         * @return the source file writer, never {@code null}
+         */
+        SourceFileWriter getSourceFileWriter();
+
+        /**
+         * Returns the cache of the methods of the mapper types processed or referenced in the current round.
+         *
+         * @return the mapper method cache, never {@code null}
+         */
+        MapperMethodCache getMapperMethodCache();
+
+        /**
+         * Returns the cache of the results of matching source methods against source and target types in the current
+         * round.
+         *
+         * @return the method match cache, never {@code null}
+         */
+        MethodMatchCache getMethodMatchCache();
+
+        /**
+         * Returns the profile of the currently processed mapper type.
+         *
+         * @return the mapper profile or {@code null} if profiling is not enabled
+         */
+        MapperProfile getMapperProfile();
+
         FormattingMessager getMessager();
 
         Options getOptions();
@@ -0,0 +1,122 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.processor;
+
+import javax.annotation.processing.ProcessingEnvironment;
+
+import org.mapstruct.ap.conversion.Conversions;
+import org.mapstruct.ap.model.common.TypeFactory;
+import org.mapstruct.ap.model.source.MethodMatchCache;
+import org.mapstruct.ap.model.source.selector.MethodSelectors;
+import org.mapstruct.ap.option.Options;
+import org.mapstruct.ap.util.EnclosedExecutableCache;
+import org.mapstruct.ap.version.VersionInformation;
+
+/**
+ * Holds those infrastructure objects which don't depend on the imports of a specific generated source file and hence
+ * can be shared by all the mappers processed within one annotation processing round.
+ * <p>
+ * A new instance must be obtained for each round, as elements and type mirrors retrieved in one round must not be used
+ * in subsequent rounds.
+ */
+public class RoundContext {
+
+    private final ProcessingEnvironment processingEnvironment;
+    private final Options options;
+    private final VersionInformation versionInformation;
+    private final Conversions conversions;
+    private final MethodSelectors methodSelectors;
+    private final DependencyIndex dependencyIndex;
+    private final SourceFileWriter sourceFileWriter;
+    private final MapperMethodCache mapperMethodCache;
+    private final MethodMatchCache methodMatchCache;
+    private final EnclosedExecutableCache enclosedExecutableCache;
+
+    /**
+     * @param processingEnvironment the current processing environment
+     * @param options the processor options
+     * @param dependencyIndex the dependency index shared by all rounds or {@code null} if it is not to be written
+     */
+    public RoundContext(ProcessingEnvironment processingEnvironment, Options options,
+                        DependencyIndex dependencyIndex) {
+        this.processingEnvironment = processingEnvironment;
+        this.options = options;
+        this.dependencyIndex = dependencyIndex;
+        this.versionInformation = DefaultVersionInformation.fromProcessingEnvironment( processingEnvironment );
+
+        // the types created by this factory are only used as look-up keys and are never rendered, so the import
+        // bookkeeping of this factory doesn't interfere with the one of the generated mappers
+        this.enclosedExecutableCache = new EnclosedExecutableCache( processingEnvironment.getElementUtils() );
+        TypeFactory lookupTypeFactory = new TypeFactory(
+            processingEnvironment.getElementUtils(),
+            processingEnvironment.getTypeUtils(),
+            enclosedExecutableCache
+        );
+
+        this.conversions = new Conversions( lookupTypeFactory );
+        this.mapperMethodCache = new MapperMethodCache( enclosedExecutableCache, lookupTypeFactory );
+        this.methodMatchCache = new MethodMatchCache();
+        this.methodSelectors = new MethodSelectors(
+            processingEnvironment.getTypeUtils(),
+            processingEnvironment.getElementUtils()
+        );
+        this.sourceFileWriter =
+            new SourceFileWriter( processingEnvironment.getFiler(), options.isSkipUnchangedSources() );
+    }
+
+    public ProcessingEnvironment getProcessingEnvironment() {
+        return processingEnvironment;
+    }
+
+    public Options getOptions() {
+        return options;
+    }
+
+    public VersionInformation getVersionInformation() {
+        return versionInformation;
+    }
+
+    public Conversions getConversions() {
+        return conversions;
+    }
+
+    public MethodSelectors getMethodSelectors() {
+        return methodSelectors;
+    }
+
+    public DependencyIndex getDependencyIndex() {
+        return dependencyIndex;
+    }
+
+    public SourceFileWriter getSourceFileWriter() {
+        return sourceFileWriter;
+    }
+
+    public MapperMethodCache getMapperMethodCache() {
+        return mapperMethodCache;
+    }
+
+    public MethodMatchCache getMethodMatchCache() {
+        return methodMatchCache;
+    }
+
+    public EnclosedExecutableCache getEnclosedExecutableCache() {
+        return enclosedExecutableCache;
+    }
+}
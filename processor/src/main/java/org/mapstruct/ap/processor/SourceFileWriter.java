@@ -0,0 +1,149 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Writes the rendered sources of the generated types of one round via the {@link Filer}.
+ * <p>
+ * If enabled via the {@code mapstruct.skipUnchangedSources} option, a rendered source is compared to the content of
+ * the file left in the source output location by a previous compilation, if the filer allows to read it. If both are
+ * equal, the file is not rewritten, retaining its timestamp so that build tools and IDEs don't consider it as
+ * modified. Note that such a file is not passed to the compiler by the filer, so this is only useful if the source
+ * output location is part of the compiled sources, as is the case e.g. with the Maven compiler plug-in.
+ */
+public class SourceFileWriter {
+
+    private final Filer filer;
+    private final boolean skipUnchanged;
+    private int writtenFiles;
+    private int skippedFiles;
+
+    public SourceFileWriter(Filer filer, boolean skipUnchanged) {
+        this.filer = filer;
+        this.skipUnchanged = skipUnchanged;
+    }
+
+    /**
+     * Whether unchanged sources are not rewritten. If so, the sources must be passed to {@link #write} as a whole,
+     * otherwise they can be written directly into the file returned by {@link #createSourceFile}.
+     *
+     * @return {@code true} if unchanged sources are not rewritten, {@code false} otherwise
+     */
+    public boolean isSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+    /**
+     * Creates a new source file for the given type.
+     *
+     * @param qualifiedName the qualified name of the generated type
+     * @param originatingElements the elements causally associated with the creation of the source file
+     *
+     * @return the new source file
+     */
+    public JavaFileObject createSourceFile(String qualifiedName, Element... originatingElements) {
+        try {
+            JavaFileObject sourceFile = filer.createSourceFile( qualifiedName, originatingElements );
+            writtenFiles++;
+            return sourceFile;
+        }
+        catch ( IOException e ) {
+            throw new RuntimeException( e );
+        }
+    }
+
+    /**
+     * Writes the given source of the given type into a new source file, unless skipping unchanged sources is enabled
+     * and the existing file has the same content.
+     *
+     * @param qualifiedName the qualified name of the generated type
+     * @param originatingElements the elements causally associated with the creation of the source file
+     * @param source the rendered source
+     */
+    public void write(String qualifiedName, Element[] originatingElements, String source) {
+        if ( skipUnchanged && isUnchanged( qualifiedName, source ) ) {
+            skippedFiles++;
+            return;
+        }
+
+        try {
+            Writer writer = createSourceFile( qualifiedName, originatingElements ).openWriter();
+            try {
+                writer.write( source );
+            }
+            finally {
+                writer.close();
+            }
+        }
+        catch ( IOException e ) {
+            throw new RuntimeException( e );
+        }
+    }
+
+    private boolean isUnchanged(String qualifiedName, String source) {
+        int lastDot = qualifiedName.lastIndexOf( '.' );
+        String packageName = lastDot > 0 ? qualifiedName.substring( 0, lastDot ) : "";
+        String fileName = qualifiedName.substring( lastDot + 1 ) + JavaFileObject.Kind.SOURCE.extension;
+
+        CharSequence existingSource;
+        try {
+            FileObject existingFile = filer.getResource( StandardLocation.SOURCE_OUTPUT, packageName, fileName );
+            existingSource = existingFile.getCharContent( true );
+        }
+        catch ( IOException e ) {
+            // there is no such file yet
+            return false;
+        }
+        catch ( IllegalArgumentException e ) {
+            // the filer doesn't support reading from the source output location
+            return false;
+        }
+
+        return existingSource != null
+            && existingSource.length() == source.length()
+            && source.contentEquals( existingSource );
+    }
+
+    /**
+     * Returns the number of source files written in the current round.
+     *
+     * @return the number of written files
+     */
+    public int getWrittenFiles() {
+        return writtenFiles;
+    }
+
+    /**
+     * Returns the number of source files not rewritten in the current round, as they were unchanged.
+     *
+     * @return the number of skipped files
+     */
+    public int getSkippedFiles() {
+        return skippedFiles;
+    }
+}
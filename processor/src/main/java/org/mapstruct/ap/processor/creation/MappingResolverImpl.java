@@ -19,21 +19,28 @@
 package org.mapstruct.ap.processor.creation;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import org.mapstruct.ap.util.FormattingMessager;
 import javax.lang.model.type.TypeMirror;
-import javax.lang.model.util.Elements;
 import javax.lang.model.util.Types;
 
 import org.mapstruct.ap.conversion.ConversionProvider;
 import org.mapstruct.ap.conversion.Conversions;
 import org.mapstruct.ap.model.AssignmentFactory;
+import org.mapstruct.ap.model.Field;
 import org.mapstruct.ap.model.MapperReference;
 import org.mapstruct.ap.model.MappingBuilderContext.MappingResolver;
 import org.mapstruct.ap.model.MethodReference;
+import org.mapstruct.ap.model.StacklessException;
+import org.mapstruct.ap.model.TypeConversion;
 import org.mapstruct.ap.model.VirtualMappingMethod;
 import org.mapstruct.ap.model.assignment.Assignment;
 import org.mapstruct.ap.model.common.ConversionContext;
@@ -44,9 +51,13 @@
 import org.mapstruct.ap.model.source.SourceMethod;
 import org.mapstruct.ap.model.source.builtin.BuiltInMappingMethods;
 import org.mapstruct.ap.model.source.builtin.BuiltInMethod;
+import org.mapstruct.ap.model.source.builtin.StringToEnum;
 import org.mapstruct.ap.model.source.selector.MethodSelectors;
 import org.mapstruct.ap.model.source.selector.SelectionCriteria;
+import org.mapstruct.ap.prism.UnknownEnumStringStrategyPrism;
+import org.mapstruct.ap.profile.MapperProfile;
 import org.mapstruct.ap.util.Message;
+import org.mapstruct.ap.util.MemberNames;
 import org.mapstruct.ap.util.Strings;
 
 /**
@@ -68,36 +79,71 @@ public class MappingResolverImpl implements MappingResolver {
     private final Conversions conversions;
     private final BuiltInMappingMethods builtInMethods;
     private final MethodSelectors methodSelectors;
+    private final MapperProfile mapperProfile;
+    private final UnknownEnumStringStrategyPrism unknownEnumStringStrategy;
+    private final Type stringType;
 
     /**
      * Private methods which are not present in the original mapper interface and are added to map certain property
      * types.
      */
-    private final Set<VirtualMappingMethod> usedVirtualMappings = new HashSet<VirtualMappingMethod>();
+    private final Set<VirtualMappingMethod> usedVirtualMappings = new LinkedHashSet<VirtualMappingMethod>();
 
-    public MappingResolverImpl(FormattingMessager messager, Elements elementUtils, Types typeUtils,
-                               TypeFactory typeFactory, List<SourceMethod> sourceModel,
-                               List<MapperReference> mapperReferences) {
+    /**
+     * Fields which are not present in the original mapper type and are added for the conversions of certain property
+     * types, by name.
+     */
+    private final Map<String, Field> usedHelperFields = new LinkedHashMap<String, Field>();
+
+    /**
+     * The methods for converting strings into enum types, by enum type and constant returned for unknown strings;
+     * created once per enum type and constant, as their names must be unique within the mapper.
+     */
+    private final Map<String, StringToEnum> stringToEnumMethods = new HashMap<String, StringToEnum>();
+
+    /**
+     * The exception class nested into the mapper, thrown by the methods converting strings into enum types for
+     * unknown strings if they are to be thrown without stack trace; created on first use.
+     */
+    private StacklessException unknownEnumStringException;
+    private final MemberNames memberNames;
+
+    @SuppressWarnings("checkstyle:parameternumber")
+    public MappingResolverImpl(FormattingMessager messager, Types typeUtils, TypeFactory typeFactory,
+                               Conversions conversions, MethodSelectors methodSelectors, MapperProfile mapperProfile,
+                               List<SourceMethod> sourceModel, List<MapperReference> mapperReferences,
+                               UnknownEnumStringStrategyPrism unknownEnumStringStrategy, MemberNames memberNames) {
         this.messager = messager;
         this.typeUtils = typeUtils;
         this.typeFactory = typeFactory;
+        this.unknownEnumStringStrategy = unknownEnumStringStrategy;
+        this.stringType = typeFactory.getType( String.class );
 
         this.sourceModel = sourceModel;
         this.mapperReferences = mapperReferences;
 
-        this.conversions = new Conversions( elementUtils, typeFactory );
+        this.conversions = conversions;
         this.builtInMethods = new BuiltInMappingMethods( typeFactory );
-        this.methodSelectors = new MethodSelectors(
-            typeUtils,
-            elementUtils,
-            typeFactory
-        );
+        this.methodSelectors = methodSelectors;
+        this.mapperProfile = mapperProfile;
+        this.memberNames = memberNames;
+
+        // built-in methods are added to the mapper under their fixed names
+        for ( BuiltInMethod builtInMethod : builtInMethods.getBuiltInMethods() ) {
+            memberNames.reserve( builtInMethod.getName() );
+        }
     }
 
     @Override
+    @SuppressWarnings("checkstyle:parameternumber")
     public Assignment getTargetAssignment(Method mappingMethod, String mappedElement, Type sourceType,
-        Type targetType, String targetPropertyName, String dateFormat, List<TypeMirror> qualifiers,
-        TypeMirror resultType, String sourceReference, boolean preferUpdateMapping) {
+        Type targetType, String targetPropertyName, String dateFormat, String numberFormat,
+        String unknownEnumStringConstant, List<TypeMirror> qualifiers, TypeMirror resultType, String sourceReference,
+        boolean preferUpdateMapping) {
+
+        if ( mapperProfile != null ) {
+            mapperProfile.assignmentResolved();
+        }
 
         SelectionCriteria criteria =
             new SelectionCriteria(qualifiers, targetPropertyName, resultType, preferUpdateMapping );
@@ -107,18 +153,60 @@ public Assignment getTargetAssignment(Method mappingMethod, String mappedElement
             mappingMethod,
             mappedElement,
             dateFormat,
+            numberFormat,
+            unknownEnumStringConstant,
             sourceReference,
-            criteria
+            criteria,
+            false
         );
 
         return attempt.getTargetAssignment( sourceType, targetType );
     }
 
+    @Override
+    public Assignment getAsyncTargetAssignment(Method mappingMethod, String mappedElement, Type sourceType,
+        Type targetType, String targetPropertyName, List<TypeMirror> qualifiers, TypeMirror resultType,
+        String sourceReference) {
+
+        SelectionCriteria criteria = new SelectionCriteria( qualifiers, targetPropertyName, resultType, false );
+
+        ResolvingAttempt attempt = new ResolvingAttempt(
+            sourceModel,
+            mappingMethod,
+            mappedElement,
+            null,
+            null,
+            null,
+            sourceReference,
+            criteria,
+            true
+        );
+
+        return attempt.getAsyncTargetAssignment( sourceType, targetType );
+    }
+
     @Override
     public Set<VirtualMappingMethod> getUsedVirtualMappings() {
         return usedVirtualMappings;
     }
 
+    @Override
+    public Collection<Field> getUsedHelperFields() {
+        return usedHelperFields.values();
+    }
+
+    @Override
+    public List<StacklessException> getUsedNestedTypes() {
+        for ( VirtualMappingMethod virtualMapping : usedVirtualMappings ) {
+            if ( virtualMapping.getBuiltInMethod() instanceof StringToEnum
+                && ( (StringToEnum) virtualMapping.getBuiltInMethod() ).getExceptionName() != null ) {
+                return Collections.singletonList( unknownEnumStringException );
+            }
+        }
+
+        return Collections.emptyList();
+    }
+
     @Override
     public MethodReference getFactoryMethod( Method mappingMethod, Type targetType, List<TypeMirror> qualifiers,
         TypeMirror resultType ) {
@@ -131,7 +219,10 @@ public MethodReference getFactoryMethod( Method mappingMethod, Type targetType,
             null,
             null,
             null,
-            criteria
+            null,
+            null,
+            criteria,
+            false
         );
 
         SourceMethod matchingSourceMethod = attempt.getBestMatch( sourceModel, null, targetType );
@@ -143,30 +234,74 @@ public MethodReference getFactoryMethod( Method mappingMethod, Type targetType,
 
     }
 
+    private StringToEnum getStringToEnumMethod(Type enumType, String unknownEnumStringConstant) {
+        String key = enumType.getFullyQualifiedName() + ":" + unknownEnumStringConstant;
+        StringToEnum method = stringToEnumMethods.get( key );
+
+        if ( method == null ) {
+            String name = memberNames.getUniqueName( "stringTo" + enumType.getTypeElement().getSimpleName() );
+
+            method = new StringToEnum(
+                typeFactory,
+                enumType,
+                name,
+                unknownEnumStringStrategy,
+                unknownEnumStringConstant,
+                getUnknownEnumStringExceptionName( unknownEnumStringConstant )
+            );
+            stringToEnumMethods.put( key, method );
+        }
+
+        return method;
+    }
+
+    private String getUnknownEnumStringExceptionName(String unknownEnumStringConstant) {
+        if ( unknownEnumStringConstant != null
+            || unknownEnumStringStrategy != UnknownEnumStringStrategyPrism.THROW_EXCEPTION_WITHOUT_STACK_TRACE ) {
+            return null;
+        }
+
+        if ( unknownEnumStringException == null ) {
+            unknownEnumStringException =
+                new StacklessException( memberNames.getUniqueName( "UnknownEnumStringException" ) );
+        }
+
+        return unknownEnumStringException.getName();
+    }
+
     private class ResolvingAttempt {
 
         private final Method mappingMethod;
         private final String mappedElement;
         private final List<SourceMethod> methods;
         private final String dateFormat;
+        private final String numberFormat;
+        private final String unknownEnumStringConstant;
         private final SelectionCriteria selectionCriteria;
         private final String sourceReference;
         private final boolean savedPreferUpdateMapping;
+        private final boolean async;
 
         // resolving via 2 steps creates the possibillity of wrong matches, first builtin method matches,
         // second doesn't. In that case, the first builtin method should not lead to a virtual method
         // so this set must be cleared.
         private final Set<VirtualMappingMethod> virtualMethodCandidates;
+        private final List<Field> helperFieldCandidates;
 
         private ResolvingAttempt(List<SourceMethod> sourceModel, Method mappingMethod, String mappedElement,
-            String dateFormat, String sourceReference, SelectionCriteria criteria) {
+            String dateFormat, String numberFormat, String unknownEnumStringConstant, String sourceReference,
+            SelectionCriteria criteria, boolean async) {
 
             this.mappingMethod = mappingMethod;
+            this.async = async;
             this.mappedElement = mappedElement;
             this.methods = filterPossibleCandidateMethods( sourceModel );
             this.dateFormat = dateFormat;
+            this.numberFormat = numberFormat;
+            this.unknownEnumStringConstant = unknownEnumStringConstant;
             this.sourceReference = sourceReference;
-            this.virtualMethodCandidates = new HashSet<VirtualMappingMethod>();
+            this.virtualMethodCandidates = new LinkedHashSet<VirtualMappingMethod>();
+            this.helperFieldCandidates = new ArrayList<Field>();
             this.selectionCriteria = criteria;
             this.savedPreferUpdateMapping = criteria.isPreferUpdateMapping();
         }
@@ -201,6 +336,7 @@ private Assignment getTargetAssignment(Type sourceType, Type targetType) {
             Assignment conversion = resolveViaConversion( sourceType, targetType );
             if ( conversion != null ) {
                 conversion.setAssignment( AssignmentFactory.createDirect( sourceReference ) );
+                addUsedCandidates();
                 return conversion;
             }
 
@@ -208,21 +344,25 @@ private Assignment getTargetAssignment(Type sourceType, Type targetType) {
             Assignment builtInMethod = resolveViaBuiltInMethod( sourceType, targetType );
             if ( builtInMethod != null ) {
                 builtInMethod.setAssignment( AssignmentFactory.createDirect( sourceReference ) );
-                usedVirtualMappings.addAll( virtualMethodCandidates );
+                addUsedCandidates();
                 return builtInMethod;
             }
 
+            if ( mapperProfile != null ) {
+                mapperProfile.twoStepResolutionAttempted();
+            }
+
             // 2 step method, first: method(method(source))
             referencedMethod = resolveViaMethodAndMethod( sourceType, targetType );
             if ( referencedMethod != null ) {
-                usedVirtualMappings.addAll( virtualMethodCandidates );
+                addUsedCandidates();
                 return referencedMethod;
             }
 
             // 2 step method, then: method(conversion(source))
             referencedMethod = resolveViaConversionAndMethod( sourceType, targetType );
             if ( referencedMethod != null ) {
-                usedVirtualMappings.addAll( virtualMethodCandidates );
+                addUsedCandidates();
                 return referencedMethod;
             }
 
@@ -232,7 +372,7 @@ private Assignment getTargetAssignment(Type sourceType, Type targetType) {
             // 2 step method, finally: conversion(method(source))
             conversion = resolveViaMethodAndConversion( sourceType, targetType );
             if ( conversion != null ) {
-                usedVirtualMappings.addAll( virtualMethodCandidates );
+                addUsedCandidates();
                 return conversion;
             }
 
@@ -240,16 +380,88 @@ private Assignment getTargetAssignment(Type sourceType, Type targetType) {
             return null;
         }
 
+        /**
+         * Adds the methods and fields required by the resolved assignment to the mapper.
+         */
+        private void addUsedCandidates() {
+            usedVirtualMappings.addAll( virtualMethodCandidates );
+            for ( Field helperField : helperFieldCandidates ) {
+                usedHelperFields.put( helperField.getVariableName(), helperField );
+            }
+        }
+
+        /**
+         * Returns a reference to an asynchronous method mapping the given source type into a {@code CompletionStage}
+         * of the given target type, if such a method exists. Other means of mapping are not considered.
+         */
+        private Assignment getAsyncTargetAssignment(Type sourceType, Type targetType) {
+            Assignment referencedMethod = resolveViaMethod( sourceType, targetType, false );
+            if ( referencedMethod != null ) {
+                referencedMethod.setAssignment( AssignmentFactory.createDirect( sourceReference ) );
+            }
+
+            return referencedMethod;
+        }
+
         private Assignment resolveViaConversion(Type sourceType, Type targetType) {
+            if ( targetType.isEnumType() && sourceType.equals( stringType ) ) {
+                return resolveViaStringToEnumMethod( targetType );
+            }
+
             ConversionProvider conversionProvider = conversions.getConversion( sourceType, targetType );
 
             if ( conversionProvider == null ) {
                 return null;
             }
 
-            ConversionContext ctx =
-                new DefaultConversionContext( typeFactory, messager, sourceType, targetType, dateFormat );
-            return conversionProvider.to( ctx );
+            ConversionContext ctx = new DefaultConversionContext(
+                typeFactory,
+                messager,
+                sourceType,
+                targetType,
+                dateFormat,
+                numberFormat,
+                memberNames
+            );
+            Assignment conversion = conversionProvider.to( ctx );
+
+            // methods invoked by the conversion, e.g. for creating a number format, are added to the mapper
+            if ( conversion instanceof TypeConversion ) {
+                for ( BuiltInMethod helperMethod : ( (TypeConversion) conversion ).getHelperMethods() ) {
+                    virtualMethodCandidates.add( new VirtualMappingMethod( helperMethod ) );
+                }
+                helperFieldCandidates.addAll( ( (TypeConversion) conversion ).getHelperFields() );
+            }
+
+            return conversion;
+        }
+
+        /**
+         * Converts a string into an enum type via the method looking up the constants of that type, which is added to
+         * the mapper. The method is invoked within a type conversion, so the string is null-checked as with any other
+         * conversion.
+         */
+        private Assignment resolveViaStringToEnumMethod(Type enumType) {
+            String constant = unknownEnumStringConstant;
+            if ( constant != null && !enumType.getEnumConstants().contains( constant ) ) {
+                messager.printMessage(
+                    mappingMethod.getExecutable(),
+                    Message.PROPERTYMAPPING_UNKNOWN_ENUM_STRING_CONSTANT_NOT_FOUND,
+                    constant,
+                    enumType
+                );
+                constant = null;
+            }
+
+            StringToEnum method = getStringToEnumMethod( enumType, constant );
+            virtualMethodCandidates.add( new VirtualMappingMethod( method ) );
+
+            return AssignmentFactory.createTypeConversion(
+                Collections.<Type>emptySet(),
+                Collections.<Type>emptyList(),
+                method.getName() + "( <SOURCE> )",
+                Collections.<BuiltInMethod>singletonList( method )
+            );
         }
 
         /**
@@ -280,7 +492,8 @@ private Assignment resolveViaBuiltInMethod(Type sourceType, Type targetType) {
                 virtualMethodCandidates.add( new VirtualMappingMethod( matchingBuiltInMethod ) );
                 ConversionContext ctx = new DefaultConversionContext( typeFactory, messager,
                                                                       sourceType,
-                                                                      targetType, dateFormat );
+                                                                      targetType, dateFormat, numberFormat,
+                                                                      memberNames );
                 Assignment methodReference = AssignmentFactory.createMethodReference( matchingBuiltInMethod, ctx );
                 methodReference.setAssignment( AssignmentFactory.createDirect( sourceReference ) );
                 return methodReference;
@@ -329,6 +542,7 @@ private Assignment resolveViaMethodAndMethod(Type sourceType, Type targetType) {
                     else {
                         // both should match;
                         virtualMethodCandidates.clear();
+                        helperFieldCandidates.clear();
                         methodRefY = null;
                     }
                 }
@@ -366,6 +580,7 @@ private Assignment resolveViaConversionAndMethod(Type sourceType, Type targetTyp
                     else {
                         // both should match
                         virtualMethodCandidates.clear();
+                        helperFieldCandidates.clear();
                         methodRefY = null;
                     }
                 }
@@ -405,6 +620,7 @@ private Assignment resolveViaMethodAndConversion(Type sourceType, Type targetTyp
                     else {
                         // both should match;
                         virtualMethodCandidates.clear();
+                        helperFieldCandidates.clear();
                         conversionYRef = null;
                     }
                 }
@@ -413,7 +629,16 @@ private Assignment resolveViaMethodAndConversion(Type sourceType, Type targetTyp
         }
 
         private boolean isCandidateForMapping(Method methodCandidate) {
-            return isCreateMethodForMapping( methodCandidate ) || isUpdateMethodForMapping( methodCandidate );
+            if ( async ) {
+                return isAsyncMethod( methodCandidate ) && isCreateMethodForMapping( methodCandidate );
+            }
+            return !isAsyncMethod( methodCandidate )
+                && ( isCreateMethodForMapping( methodCandidate ) || isUpdateMethodForMapping( methodCandidate ) );
+        }
+
+        private boolean isAsyncMethod(Method methodCandidate) {
+            // asynchronous methods can only be composed by other asynchronous methods
+            return methodCandidate instanceof SourceMethod && ( (SourceMethod) methodCandidate ).isAsync();
         }
 
         private boolean isCreateMethodForMapping(Method methodCandidate) {
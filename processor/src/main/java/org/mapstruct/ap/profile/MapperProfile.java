@@ -0,0 +1,149 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.profile;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the processing time spent in each {@link org.mapstruct.ap.processor.ModelElementProcessor} and some
+ * statistics of the work done while processing one mapper type. Instances are only created if profiling is enabled
+ * via the {@code mapstruct.profile} processor option; otherwise no times are taken and no statistics are collected.
+ * <p>
+ * Instances are not thread-safe, they must only be accessed from the processor thread.
+ */
+public class MapperProfile {
+
+    private final String mapperName;
+    private final Map<String, Long> processingNanosByPhase = new LinkedHashMap<String, Long>();
+
+    private int createdTypes;
+    private int resolvedAssignments;
+    private int twoStepResolutions;
+    private int performedMethodMatches;
+    private int reusedMethodMatches;
+    private int templateRenders;
+    private int emittedElements;
+
+    public MapperProfile(String mapperName) {
+        this.mapperName = mapperName;
+    }
+
+    public String getMapperName() {
+        return mapperName;
+    }
+
+    /**
+     * Adds the given time to the processing time of the given phase.
+     *
+     * @param phase the name of the phase, e.g. the simple name of a model element processor
+     * @param nanos the time spent in nanoseconds
+     */
+    public void addProcessingTime(String phase, long nanos) {
+        Long previous = processingNanosByPhase.get( phase );
+        processingNanosByPhase.put( phase, previous != null ? previous + nanos : nanos );
+    }
+
+    /**
+     * @return the processing time in nanoseconds by phase, in the order in which the phases have been executed
+     */
+    public Map<String, Long> getProcessingNanosByPhase() {
+        return Collections.unmodifiableMap( processingNanosByPhase );
+    }
+
+    public long getTotalNanos() {
+        long total = 0;
+        for ( Long nanos : processingNanosByPhase.values() ) {
+            total += nanos;
+        }
+        return total;
+    }
+
+    /**
+     * @param createdTypes the number of types created by the type factory of the mapper
+     */
+    public void setCreatedTypes(int createdTypes) {
+        this.createdTypes = createdTypes;
+    }
+
+    public int getCreatedTypes() {
+        return createdTypes;
+    }
+
+    /**
+     * Records the resolution of an assignment between a source and a target type.
+     */
+    public void assignmentResolved() {
+        resolvedAssignments++;
+    }
+
+    public int getResolvedAssignments() {
+        return resolvedAssignments;
+    }
+
+    /**
+     * Records an attempt to resolve an assignment in two steps, i.e. via two methods or a method and a conversion.
+     */
+    public void twoStepResolutionAttempted() {
+        twoStepResolutions++;
+    }
+
+    public int getTwoStepResolutions() {
+        return twoStepResolutions;
+    }
+
+    /**
+     * Adds the given numbers of source method matches performed and taken from the cache of the current round.
+     *
+     * @param performedMethodMatches the number of matches performed by walking the types of the candidate methods
+     * @param reusedMethodMatches the number of matches whose result has been reused instead
+     */
+    public void addMethodMatches(int performedMethodMatches, int reusedMethodMatches) {
+        this.performedMethodMatches += performedMethodMatches;
+        this.reusedMethodMatches += reusedMethodMatches;
+    }
+
+    public int getPerformedMethodMatches() {
+        return performedMethodMatches;
+    }
+
+    public int getReusedMethodMatches() {
+        return reusedMethodMatches;
+    }
+
+    /**
+     * Adds the given numbers of processed templates and directly emitted elements.
+     *
+     * @param templateRenders the number of processed templates
+     * @param emittedElements the number of directly emitted elements
+     */
+    public void addWrittenElements(int templateRenders, int emittedElements) {
+        this.templateRenders += templateRenders;
+        this.emittedElements += emittedElements;
+    }
+
+    public int getTemplateRenders() {
+        return templateRenders;
+    }
+
+    public int getEmittedElements() {
+        return emittedElements;
+    }
+}
@@ -0,0 +1,159 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.profile;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map.Entry;
+
+/**
+ * The profiles of all the mappers processed within one compilation, reported if enabled via the
+ * {@code mapstruct.profile} processor option. The report is written as JSON document {@value #RESOURCE_NAME} into the
+ * source output location; in addition a summary listing the slowest mappers is reported as note.
+ */
+public class ProcessingProfile {
+
+    /**
+     * The name of the report relative to the source output location.
+     */
+    public static final String RESOURCE_NAME = "mapstruct-profile.json";
+
+    private static final int SLOWEST_MAPPERS_IN_SUMMARY = 5;
+
+    private final List<MapperProfile> mapperProfiles = new ArrayList<MapperProfile>();
+
+    public void add(MapperProfile mapperProfile) {
+        mapperProfiles.add( mapperProfile );
+    }
+
+    public boolean isEmpty() {
+        return mapperProfiles.isEmpty();
+    }
+
+    /**
+     * Writes the report as JSON document into the given writer, which is not closed.
+     *
+     * @param writer the writer to write to
+     *
+     * @throws IOException in case writing fails
+     */
+    public void writeReport(Writer writer) throws IOException {
+        writer.write( "{\n" );
+        writer.write( "  \"totalNanos\": " + getTotalNanos() + ",\n" );
+        writer.write( "  \"mappers\": [" );
+
+        for ( int i = 0; i < mapperProfiles.size(); i++ ) {
+            MapperProfile profile = mapperProfiles.get( i );
+
+            writer.write( i == 0 ? "\n" : ",\n" );
+            writer.write( "    {\n" );
+            writer.write( "      \"mapper\": " + quote( profile.getMapperName() ) + ",\n" );
+            writer.write( "      \"totalNanos\": " + profile.getTotalNanos() + ",\n" );
+            writer.write( "      \"phaseNanos\": {" );
+
+            boolean first = true;
+            for ( Entry<String, Long> phase : profile.getProcessingNanosByPhase().entrySet() ) {
+                writer.write( first ? " " : ", " );
+                writer.write( quote( phase.getKey() ) + ": " + phase.getValue() );
+                first = false;
+            }
+
+            writer.write( " },\n" );
+            writer.write( "      \"createdTypes\": " + profile.getCreatedTypes() + ",\n" );
+            writer.write( "      \"resolvedAssignments\": " + profile.getResolvedAssignments() + ",\n" );
+            writer.write( "      \"twoStepResolutions\": " + profile.getTwoStepResolutions() + ",\n" );
+            writer.write( "      \"performedMethodMatches\": " + profile.getPerformedMethodMatches() + ",\n" );
+            writer.write( "      \"reusedMethodMatches\": " + profile.getReusedMethodMatches() + ",\n" );
+            writer.write( "      \"templateRenders\": " + profile.getTemplateRenders() + ",\n" );
+            writer.write( "      \"emittedElements\": " + profile.getEmittedElements() + "\n" );
+            writer.write( "    }" );
+        }
+
+        writer.write( mapperProfiles.isEmpty() ? "]\n" : "\n  ]\n" );
+        writer.write( "}\n" );
+    }
+
+    /**
+     * @return a one-line summary of the overall processing time and the slowest mappers
+     */
+    public String getSummary() {
+        List<MapperProfile> slowest = new ArrayList<MapperProfile>( mapperProfiles );
+        Collections.sort( slowest, new SlowestFirstComparator() );
+
+        StringBuilder summary = new StringBuilder();
+        summary.append( "Processed " ).append( mapperProfiles.size() ).append( " mapper(s) in " )
+            .append( toMillis( getTotalNanos() ) ).append( " ms. Slowest mappers: " );
+
+        for ( int i = 0; i < Math.min( SLOWEST_MAPPERS_IN_SUMMARY, slowest.size() ); i++ ) {
+            if ( i > 0 ) {
+                summary.append( ", " );
+            }
+            summary.append( slowest.get( i ).getMapperName() )
+                .append( " (" ).append( toMillis( slowest.get( i ).getTotalNanos() ) ).append( " ms)" );
+        }
+
+        return summary.append( '.' ).toString();
+    }
+
+    private long getTotalNanos() {
+        long total = 0;
+        for ( MapperProfile profile : mapperProfiles ) {
+            total += profile.getTotalNanos();
+        }
+        return total;
+    }
+
+    private static long toMillis(long nanos) {
+        return nanos / 1000000;
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder( value.length() + 2 );
+        quoted.append( '"' );
+
+        for ( int i = 0; i < value.length(); i++ ) {
+            char c = value.charAt( i );
+            if ( c == '"' || c == '\\' ) {
+                quoted.append( '\\' ).append( c );
+            }
+            else if ( c < ' ' ) {
+                quoted.append( String.format( "\\u%04x", (int) c ) );
+            }
+            else {
+                quoted.append( c );
+            }
+        }
+
+        return quoted.append( '"' ).toString();
+    }
+
+    private static class SlowestFirstComparator implements Comparator<MapperProfile> {
+
+        @Override
+        public int compare(MapperProfile o1, MapperProfile o2) {
+            long t1 = o1.getTotalNanos();
+            long t2 = o2.getTotalNanos();
+            return t1 > t2 ? -1 : t1 == t2 ? 0 : 1;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.util;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+
+/**
+ * Caches the executables returned by {@link Executables#getAllEnclosedExecutableElements(Elements, TypeElement)} per
+ * type element. The same source, target and mapper types are inspected for many mapping methods and mappers, so one
+ * instance is shared by all the mappers processed within one round.
+ * <p>
+ * A new instance must be obtained for each round, as elements retrieved in one round must not be used in subsequent
+ * rounds.
+ */
+public class EnclosedExecutableCache {
+
+    private final Elements elementUtils;
+    private final Map<TypeElement, List<ExecutableElement>> executablesByType =
+        new HashMap<TypeElement, List<ExecutableElement>>();
+    private final Map<TypeElement, Set<TypeElement>> inspectedTypesByType =
+        new HashMap<TypeElement, Set<TypeElement>>();
+
+    public EnclosedExecutableCache(Elements elementUtils) {
+        this.elementUtils = elementUtils;
+    }
+
+    /**
+     * Returns all executable elements within the given type element, including executable elements defined in super
+     * classes and implemented interfaces, as described at
+     * {@link Executables#getAllEnclosedExecutableElements(Elements, TypeElement)}.
+     *
+     * @param element the element to inspect
+     *
+     * @return the executable elements usable in the type, not modifiable
+     */
+    public List<ExecutableElement> getAllEnclosedExecutableElements(TypeElement element) {
+        List<ExecutableElement> executables = executablesByType.get( element );
+
+        if ( executables == null ) {
+            executables = retrieveExecutables( element );
+        }
+
+        return executables;
+    }
+
+    /**
+     * Returns the given type element and all the super classes and interfaces inspected for obtaining the executables
+     * returned by {@link #getAllEnclosedExecutableElements(TypeElement)}.
+     *
+     * @param element the element to inspect
+     *
+     * @return the inspected type elements, not modifiable
+     */
+    public Set<TypeElement> getInspectedTypes(TypeElement element) {
+        Set<TypeElement> inspectedTypes = inspectedTypesByType.get( element );
+
+        if ( inspectedTypes == null ) {
+            retrieveExecutables( element );
+            inspectedTypes = inspectedTypesByType.get( element );
+        }
+
+        return inspectedTypes;
+    }
+
+    private List<ExecutableElement> retrieveExecutables(TypeElement element) {
+        Set<TypeElement> inspectedTypes = new LinkedHashSet<TypeElement>();
+        List<ExecutableElement> executables = Collections.unmodifiableList(
+            Executables.getAllEnclosedExecutableElements( elementUtils, element, inspectedTypes )
+        );
+
+        executablesByType.put( element, executables );
+        inspectedTypesByType.put( element, Collections.unmodifiableSet( inspectedTypes ) );
+
+        return executables;
+    }
+}
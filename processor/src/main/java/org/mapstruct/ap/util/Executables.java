@@ -20,8 +20,11 @@
 
 import java.beans.Introspector;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.lang.model.element.ExecutableElement;
@@ -178,6 +181,8 @@ private static TypeElement asTypeElement(TypeMirror mirror) {
      * Finds all executable elements within the given type element, including executable elements defined in super
      * classes and implemented interfaces. Methods defined in {@link java.lang.Object} are ignored, as well as
      * implementations of {@link java.lang.Object#equals(Object)}.
+     * <p>
+     * Use {@link EnclosedExecutableCache} to obtain the executables of types inspected repeatedly.
      *
      * @param elementUtils element helper
      * @param element the element to inspect
@@ -185,25 +190,62 @@ private static TypeElement asTypeElement(TypeMirror mirror) {
      * @return the executable elements usable in the type
      */
     public static List<ExecutableElement> getAllEnclosedExecutableElements(Elements elementUtils, TypeElement element) {
+        return getAllEnclosedExecutableElements( elementUtils, element, new ArrayList<TypeElement>() );
+    }
+
+    /**
+     * Finds all executable elements within the given type element as described at
+     * {@link #getAllEnclosedExecutableElements(Elements, TypeElement)}, adding the given type element and all the
+     * super classes and interfaces inspected for that to the given collection.
+     *
+     * @param elementUtils element helper
+     * @param element the element to inspect
+     * @param inspectedTypes collects the inspected type elements
+     *
+     * @return the executable elements usable in the type
+     */
+    public static List<ExecutableElement> getAllEnclosedExecutableElements(Elements elementUtils, TypeElement element,
+                                                                           Collection<TypeElement> inspectedTypes) {
         List<ExecutableElement> enclosedElements = new ArrayList<ExecutableElement>();
+        Map<String, List<ExecutableElement>> enclosedElementsBySignature =
+            new HashMap<String, List<ExecutableElement>>();
         element = replaceTypeElementIfNecessary( elementUtils, element );
-        addEnclosedElementsInHierarchy( elementUtils, enclosedElements, element, element );
+        addEnclosedElementsInHierarchy(
+            elementUtils,
+            enclosedElements,
+            enclosedElementsBySignature,
+            inspectedTypes,
+            element,
+            element
+        );
 
         return enclosedElements;
     }
 
     private static void addEnclosedElementsInHierarchy(Elements elementUtils, List<ExecutableElement> alreadyAdded,
+                                                       Map<String, List<ExecutableElement>> alreadyAddedBySignature,
+                                                       Collection<TypeElement> inspectedTypes,
                                                        TypeElement element, TypeElement parentType) {
         if ( element != parentType ) { // otherwise the element was already checked for replacement
             element = replaceTypeElementIfNecessary( elementUtils, element );
         }
 
-        addNotYetOverridden( elementUtils, alreadyAdded, methodsIn( element.getEnclosedElements() ), parentType );
+        inspectedTypes.add( element );
+
+        addNotYetOverridden(
+            elementUtils,
+            alreadyAdded,
+            alreadyAddedBySignature,
+            methodsIn( element.getEnclosedElements() ),
+            parentType
+        );
 
         if ( hasNonObjectSuperclass( element ) ) {
             addEnclosedElementsInHierarchy(
                 elementUtils,
                 alreadyAdded,
+                alreadyAddedBySignature,
+                inspectedTypes,
                 asTypeElement( element.getSuperclass() ),
                 parentType );
         }
@@ -212,6 +254,8 @@ private static void addEnclosedElementsInHierarchy(Elements elementUtils, List<E
             addEnclosedElementsInHierarchy(
                 elementUtils,
                 alreadyAdded,
+                alreadyAddedBySignature,
+                inspectedTypes,
                 asTypeElement( interfaceType ),
                 parentType );
         }
@@ -221,22 +265,45 @@ private static void addEnclosedElementsInHierarchy(Elements elementUtils, List<E
     /**
      * @param alreadyCollected methods that have already been collected and to which the not-yet-overridden methods will
      *            be added
+     * @param alreadyCollectedBySignature the methods already collected, indexed by {@link #getSignatureKey}
      * @param methodsToAdd methods to add to alreadyAdded, if they are not yet overridden by an element in the list
      * @param parentType the type for with elements are collected
      */
     private static void addNotYetOverridden(Elements elementUtils, List<ExecutableElement> alreadyCollected,
+                                            Map<String, List<ExecutableElement>> alreadyCollectedBySignature,
                                             List<ExecutableElement> methodsToAdd, TypeElement parentType) {
         List<ExecutableElement> safeToAdd = new ArrayList<ExecutableElement>( methodsToAdd.size() );
         for ( ExecutableElement toAdd : methodsToAdd ) {
             if ( isNotObjectEquals( toAdd )
-               && wasNotYetOverridden( elementUtils, alreadyCollected, toAdd, parentType ) ) {
+               && wasNotYetOverridden( elementUtils, alreadyCollectedBySignature, toAdd, parentType ) ) {
                 safeToAdd.add( toAdd );
             }
         }
 
+        for ( ExecutableElement added : safeToAdd ) {
+            String signatureKey = getSignatureKey( added );
+            List<ExecutableElement> withSameSignatureKey = alreadyCollectedBySignature.get( signatureKey );
+
+            if ( withSameSignatureKey == null ) {
+                withSameSignatureKey = new ArrayList<ExecutableElement>( 1 );
+                alreadyCollectedBySignature.put( signatureKey, withSameSignatureKey );
+            }
+
+            withSameSignatureKey.add( added );
+        }
+
         alreadyCollected.addAll( safeToAdd );
     }
 
+    /**
+     * Returns a key which is the same for a method and all the methods it may override, i.e. made up of the name and
+     * the number of parameters. The parameter types are not part of the key, as a method may override a method of a
+     * generic super-type whose parameters have different erasures.
+     */
+    private static String getSignatureKey(ExecutableElement executable) {
+        return executable.getSimpleName() + "/" + executable.getParameters().size();
+    }
+
     /**
      * @param executable the executable to check
      *
@@ -255,15 +322,22 @@ && asTypeElement( executable.getParameters().get( 0 ).asType() ).getQualifiedNam
 
     /**
      * @param elementUtils the elementUtils
-     * @param methods the list of already collected methods of one type hierarchy (order is from sub-types to
-     *            super-types)
+     * @param alreadyAddedBySignature the already collected methods of one type hierarchy, indexed by
+     *            {@link #getSignatureKey}
      * @param executable the method to check
      * @param parentType the type for which elements are collected
-     * @return {@code true}, iff the given executable was not yet overridden by a method in the given list.
+     * @return {@code true}, iff the given executable was not yet overridden by an already collected method
      */
-    private static boolean wasNotYetOverridden(Elements elementUtils, List<ExecutableElement> alreadyAdded,
+    private static boolean wasNotYetOverridden(Elements elementUtils,
+                                               Map<String, List<ExecutableElement>> alreadyAddedBySignature,
                                                ExecutableElement executable, TypeElement parentType) {
-        for ( ExecutableElement executableInSubtype : alreadyAdded ) {
+        List<ExecutableElement> candidates = alreadyAddedBySignature.get( getSignatureKey( executable ) );
+
+        if ( candidates == null ) {
+            return true;
+        }
+
+        for ( ExecutableElement executableInSubtype : candidates ) {
             if ( elementUtils.overrides( executableInSubtype, executable, parentType ) ) {
                 return false;
             }
@@ -30,11 +30,13 @@
 import javax.lang.model.type.TypeMirror;
 
 import org.mapstruct.ap.option.ReportingPolicy;
+import org.mapstruct.ap.prism.CloneStrategyPrism;
 import org.mapstruct.ap.prism.CollectionMappingStrategyPrism;
 import org.mapstruct.ap.prism.MapperConfigPrism;
 import org.mapstruct.ap.prism.MapperPrism;
 import org.mapstruct.ap.prism.MappingInheritanceStrategyPrism;
 import org.mapstruct.ap.prism.NullValueMappingStrategyPrism;
+import org.mapstruct.ap.prism.UnknownEnumStringStrategyPrism;
 
 /**
  * Provides an aggregated view to the settings given via {@link org.mapstruct.Mapper} and
@@ -78,6 +80,33 @@ public List<TypeMirror> imports() {
         return mapperPrism.imports();
     }
 
+    /**
+     * @return the types given via {@code Mapper#immutableTypes()} and {@code MapperConfig#immutableTypes()}
+     */
+    public List<TypeMirror> immutableTypes() {
+        Set<TypeMirror> immutableTypes = new LinkedHashSet<TypeMirror>( mapperPrism.immutableTypes() );
+        if ( mapperConfigPrism != null ) {
+            immutableTypes.addAll( mapperConfigPrism.immutableTypes() );
+        }
+        return new ArrayList<TypeMirror>( immutableTypes );
+    }
+
+    /**
+     * @return whether values of immutable types are to be passed on without copying them, as given via
+     *         {@code Mapper#shareImmutableValues()} or, if not set there, {@code MapperConfig#shareImmutableValues()}
+     */
+    public boolean isShareImmutableValues() {
+        if ( mapperPrism.values.shareImmutableValues() != null ) {
+            return mapperPrism.shareImmutableValues();
+        }
+        else if ( mapperConfigPrism != null ) {
+            return mapperConfigPrism.shareImmutableValues();
+        }
+        else {
+            return false;
+        }
+    }
+
     public String unmappedTargetPolicy() {
         if ( ReportingPolicy.valueOf( mapperPrism.unmappedTargetPolicy() ) != ReportingPolicy.DEFAULT ) {
             // it is not the default configuration
@@ -131,6 +160,65 @@ else if ( mapperConfigPrism != null ) {
         return MappingInheritanceStrategyPrism.EXPLICIT;
     }
 
+    public UnknownEnumStringStrategyPrism getUnknownEnumStringStrategy() {
+        UnknownEnumStringStrategyPrism mapperPolicy =
+            UnknownEnumStringStrategyPrism.valueOf( mapperPrism.unknownEnumStringStrategy() );
+
+        if ( mapperPolicy != UnknownEnumStringStrategyPrism.DEFAULT ) {
+            return mapperPolicy;
+        }
+        else if ( mapperConfigPrism != null ) {
+            UnknownEnumStringStrategyPrism configPolicy =
+                UnknownEnumStringStrategyPrism.valueOf( mapperConfigPrism.unknownEnumStringStrategy() );
+            if ( configPolicy != UnknownEnumStringStrategyPrism.DEFAULT ) {
+                return configPolicy;
+            }
+        }
+
+        return UnknownEnumStringStrategyPrism.THROW_EXCEPTION;
+    }
+
+    /**
+     * @param cloneStrategy the strategy given via {@code BeanMapping#cloneStrategy()}, if any
+     *
+     * @return the strategy for implementing mapping methods copying an object of the given type
+     */
+    public CloneStrategyPrism getCloneStrategy(CloneStrategyPrism cloneStrategy) {
+        if ( cloneStrategy != null && cloneStrategy != CloneStrategyPrism.DEFAULT ) {
+            return cloneStrategy;
+        }
+
+        CloneStrategyPrism mapperPolicy = CloneStrategyPrism.valueOf( mapperPrism.cloneStrategy() );
+
+        if ( mapperPolicy != CloneStrategyPrism.DEFAULT ) {
+            return mapperPolicy;
+        }
+        else if ( mapperConfigPrism != null ) {
+            CloneStrategyPrism configPolicy = CloneStrategyPrism.valueOf( mapperConfigPrism.cloneStrategy() );
+            if ( configPolicy != CloneStrategyPrism.DEFAULT ) {
+                return configPolicy;
+            }
+        }
+
+        return CloneStrategyPrism.NONE;
+    }
+
+    /**
+     * @return the allocator type given via {@code Mapper#allocator()} or {@code MapperConfig#allocator()}, or
+     *         {@code null} if target instances are to be created via their constructor
+     */
+    public TypeMirror allocator() {
+        if ( mapperPrism.allocator().getKind() == TypeKind.DECLARED ) {
+            return mapperPrism.allocator();
+        }
+        else if ( mapperConfigPrism != null && mapperConfigPrism.allocator().getKind() == TypeKind.DECLARED ) {
+            return mapperConfigPrism.allocator();
+        }
+        else {
+            return null;
+        }
+    }
+
     public boolean isMapToDefault(NullValueMappingStrategyPrism mapNullToDefault) {
 
         // check on method level
@@ -0,0 +1,94 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.util;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The names of the members of a generated mapper. Methods and fields added to a mapper for its own purposes, e.g. for
+ * converting strings into enums or for caching values shared by all invocations of a conversion, obtain their names
+ * from here, so that they clash neither with each other nor with the members declared or inherited by the mapper type.
+ */
+public class MemberNames {
+
+    private final Set<String> names;
+    private final Map<String, String> namesByKey = new HashMap<String, String>();
+
+    /**
+     * @param reservedNames the names of the members declared or inherited by the mapper type
+     */
+    public MemberNames(Collection<String> reservedNames) {
+        this.names = new HashSet<String>( reservedNames );
+    }
+
+    /**
+     * Marks the given name as taken, e.g. as it is the fixed name of a built-in method which may be added to the
+     * mapper.
+     *
+     * @param name the name to reserve
+     */
+    public void reserve(String name) {
+        names.add( name );
+    }
+
+    /**
+     * Returns the given name, or, if that's taken already, the given name with the lowest number appended which isn't
+     * taken yet. For constant names, i.e. names without lower-case letters, the number is separated by an underscore.
+     * The returned name is taken from then on.
+     *
+     * @param baseName the name to derive the returned name from
+     *
+     * @return a name not taken before
+     */
+    public String getUniqueName(String baseName) {
+        String separator = baseName.equals( baseName.toUpperCase() ) ? "_" : "";
+
+        String name = baseName;
+        for ( int i = 1; !names.add( name ); i++ ) {
+            name = baseName + separator + i;
+        }
+
+        return name;
+    }
+
+    /**
+     * Returns the name of the member identified by the given key, e.g. a field holding a value derived from the key.
+     * When invoked for the first time for a key, a new name is obtained via {@link #getUniqueName(String)}; the same
+     * name is returned for that key from then on.
+     *
+     * @param key identifies the member within the mapper
+     * @param baseName the name to derive the name from when invoked for the first time for the given key
+     *
+     * @return the name of the member identified by the given key
+     */
+    public String getName(String key, String baseName) {
+        String name = namesByKey.get( key );
+
+        if ( name == null ) {
+            name = getUniqueName( baseName );
+            namesByKey.put( key, name );
+        }
+
+        return name;
+    }
+}
@@ -28,7 +28,7 @@
 public enum Message {
 
     // CHECKSTYLE:OFF
-    BEANMAPPING_NO_ELEMENTS( "'nullValueMappingStrategy', 'resultType' and 'qualifiedBy' are undefined in @BeanMapping, define at least one of them." ),
+    BEANMAPPING_NO_ELEMENTS( "'nullValueMappingStrategy', 'cloneStrategy', 'resultType' and 'qualifiedBy' are undefined in @BeanMapping, define at least one of them." ),
     BEANMAPPING_NOT_ASSIGNABLE( "%s not assignable to: %s." ),
     BEANMAPPING_UNKNOWN_PROPERTY_IN_RETURNTYPE( "Unknown property \"%s\" in return type." ),
     BEANMAPPING_SEVERAL_POSSIBLE_SOURCES( "Several possible source properties for target property \"%s\"." ),
@@ -50,6 +50,11 @@ public enum Message {
     PROPERTYMAPPING_NO_PROPERTY_IN_PARAMETER( "The type of parameter \"%s\" has no property named \"%s\"." ),
     PROPERTYMAPPING_INVALID_PROPERTY_NAME( "No property named \"%s\" exists in source parameter(s)." ),
     PROPERTYMAPPING_NO_READ_ACCESSOR_FOR_TARGET_TYPE( "No read accessor found for property \"%s\" in target type." ),
+    PROPERTYMAPPING_FLYWEIGHT_TYPE_MISSING( "Flyweight field \"%s\" must be declared by a type annotated with @Flyweight." ),
+    PROPERTYMAPPING_SHARED_BY_DEEP_CLONE( "The value of property \"%s\" is shared between source and target of the deep clone, as no method copying %s exists.", Diagnostic.Kind.WARNING ),
+    PROPERTYMAPPING_INVALID_FLYWEIGHT_FIELD( "Flyweight field \"%s\" of type %s can't be stored with a width of %s bytes." ),
+    PROPERTYMAPPING_LAZY_NOT_SUPPORTED( "Property \"%s\" can't be mapped lazily, as %s." ),
+    PROPERTYMAPPING_UNKNOWN_ENUM_STRING_CONSTANT_NOT_FOUND( "Constant %s to be returned for unknown strings doesn't exist in enum type %s." ),
 
     CONSTANTMAPPING_MAPPING_NOT_FOUND( "Can't map \"%s %s\" to \"%s %s\"." ),
     CONSTANTMAPPING_NO_READ_ACCESSOR_FOR_TARGET_TYPE( "No read accessor found for property \"%s\" in target type." ),
@@ -76,6 +81,13 @@ public enum Message {
     GENERAL_UNSUPPORTED_DATE_FORMAT_CHECK( "No dateFormat check is supported for types %s, %s" ),
     GENERAL_VALID_DATE( "Given date format \"%s\" is valid.", Diagnostic.Kind.NOTE ),
     GENERAL_INVALID_DATE( "Given date format \"%s\" is invalid. Message: \"%s\"." ),
+    GENERAL_INVALID_NUMBER( "Given number format \"%s\" is invalid. Message: \"%s\"." ),
+    GENERAL_INVALID_ALLOCATOR( "Specified allocator type %s is no concrete class implementing org.mapstruct.TargetAllocator." ),
+    GENERAL_DEPENDENCY_INDEX_NOT_WRITTEN( "The dependency index %s could not be written: %s.", Diagnostic.Kind.WARNING ),
+    GENERAL_PROFILE_NOT_WRITTEN( "The profiling report %s could not be written: %s.", Diagnostic.Kind.WARNING ),
+    GENERAL_PROFILE_SUMMARY( "MapStruct profile: %s See %s for details.", Diagnostic.Kind.NOTE ),
+    GENERAL_UNCHANGED_SOURCES_SKIPPED( "%s of %s generated source files are unchanged and have not been rewritten.",
+        Diagnostic.Kind.NOTE ),
 
     RETRIEVAL_NO_INPUT_ARGS( "Can't generate mapping method with no input arguments." ),
     RETRIEVAL_DUPLICATE_MAPPING_TARGETS( "Can't generate mapping method with more than one @MappingTarget parameter." ),
@@ -88,6 +100,7 @@ public enum Message {
     RETRIEVAL_PRIMITIVE_RETURN( "Can't generate mapping method with primitive return type." ),
     RETRIEVAL_ENUM_TO_NON_ENUM( "Can't generate mapping method from enum type to non-enum type." ),
     RETRIEVAL_NON_ENUM_TO_ENUM( "Can't generate mapping method from non-enum type to enum type." ),
+    RETRIEVAL_ASYNC_NON_BEAN_MAPPING( "Can't generate asynchronous mapping method for non-bean types." ),
 
     INHERITCONFIGURATION_BOTH( "Method cannot be annotated with both a @InheritConfiguration and @InheritInverseConfiguration." ),
     INHERITINVERSECONFIGURATION_DUPLICATES( "Several matching inverse methods exist: %s(). Specify a name explicitly." ),
@@ -131,6 +131,28 @@ public static String joinAndCamelize(Iterable<?> iterable) {
         return sb.toString();
     }
 
+    /**
+     * Converts the given camel-cased name into the name of a constant, e.g. {@code orderDate} into
+     * {@code ORDER_DATE}.
+     *
+     * @param name the name to convert
+     *
+     * @return the name of the constant
+     */
+    public static String toConstantName(String name) {
+        StringBuilder sb = new StringBuilder( name.length() + 4 );
+
+        for ( int i = 0; i < name.length(); i++ ) {
+            char c = name.charAt( i );
+            if ( Character.isUpperCase( c ) && i > 0 && !Character.isUpperCase( name.charAt( i - 1 ) ) ) {
+                sb.append( '_' );
+            }
+            sb.append( Character.toUpperCase( c ) );
+        }
+
+        return sb.toString();
+    }
+
     public static boolean isEmpty(String string) {
         return string == null || string.isEmpty();
     }
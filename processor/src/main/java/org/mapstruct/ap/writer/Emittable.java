@@ -0,0 +1,41 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.writer;
+
+import java.io.Writer;
+
+import org.mapstruct.ap.writer.Writable.Context;
+
+/**
+ * Implemented by those {@link FreeMarkerWritable}s which can write their source code directly, avoiding the overhead
+ * of processing their template. The output must be exactly the same as the one of the template, which is still used
+ * if the code emitter has been disabled for the current {@link ModelWriter}.
+ */
+public interface Emittable {
+
+    /**
+     * Writes the source code of this element directly into the given writer.
+     *
+     * @param context the writer context; any parameters passed via {@code <@includeModel>} can be obtained using
+     * {@link FreeMarkerWritable#getIncludeParameter(Context, String)}
+     * @param writer the writer to write to
+     * @throws Exception in case of an error while writing
+     */
+    void emit(Context context, Writer writer) throws Exception;
+}
@@ -18,9 +18,12 @@
  */
 package org.mapstruct.ap.writer;
 
+import java.io.IOException;
 import java.io.Writer;
+import java.util.Collections;
 import java.util.Map;
 
+import freemarker.core.Environment;
 import freemarker.ext.beans.BeanModel;
 import freemarker.ext.beans.BeansWrapper;
 import freemarker.ext.beans.SimpleMapModel;
@@ -41,16 +44,47 @@
  */
 public class FreeMarkerModelElementWriter {
 
+    /**
+     * Used for all elements included without parameters.
+     */
+    private static final SimpleMapModel NO_PARAMETERS =
+        new SimpleMapModel( Collections.emptyMap(), BeansWrapper.getDefaultInstance() );
+
     public void write(FreeMarkerWritable writable, Context context, Writer writer) throws Exception {
-        Configuration configuration = context.get( Configuration.class );
-        Template template = configuration.getTemplate( writable.getTemplateName() );
-        template.process(
+        Template template = getTemplate( context, writable.getTemplateName() );
+        Environment environment = template.createProcessingEnvironment(
             new ExternalParamsTemplateModel(
-                new BeanModel( writable, BeansWrapper.getDefaultInstance() ),
-                new SimpleMapModel( context.get( Map.class ), BeansWrapper.getDefaultInstance() )
+                ModelWriter.getBeanModel( context, writable ),
+                getParameters( context )
             ),
             writer
         );
+
+        // allows the elements included from within the template to be written within the same context
+        environment.setCustomAttribute( ModelIncludeDirective.PARENT_CONTEXT, context );
+
+        ModelWriter.templateRendered( context );
+        environment.process();
+    }
+
+    private SimpleMapModel getParameters(Context context) {
+        Map<?, ?> parameters = context.get( Map.class );
+
+        if ( parameters == null || parameters.isEmpty() ) {
+            return NO_PARAMETERS;
+        }
+
+        return new SimpleMapModel( parameters, BeansWrapper.getDefaultInstance() );
+    }
+
+    private Template getTemplate(Context context, String templateName) throws IOException {
+        ModelWriterConfiguration configuration = context.get( ModelWriterConfiguration.class );
+
+        if ( configuration != null ) {
+            return configuration.getTemplate( templateName );
+        }
+
+        return context.get( Configuration.class ).getTemplate( templateName );
     }
 
     private static class ExternalParamsTemplateModel implements TemplateHashModel {
@@ -19,9 +19,16 @@
 package org.mapstruct.ap.writer;
 
 import java.io.Writer;
+import java.util.Map;
+
+import freemarker.template.TemplateModelException;
+import freemarker.template.TemplateScalarModel;
 
 /**
  * A {@link Writable} which uses the FreeMarker template engine to generate the output.
+ * <p>
+ * Frequently written elements may in addition implement {@link Emittable}, in which case they are emitted directly
+ * unless the code emitter has been disabled for the current {@link ModelWriter}.
  *
  * @author Gunnar Morling
  */
@@ -29,7 +36,71 @@ public abstract class FreeMarkerWritable implements Writable {
 
     @Override
     public void write(Context context, Writer writer) throws Exception {
-        new FreeMarkerModelElementWriter().write( this, context, writer );
+        if ( this instanceof Emittable && ModelWriter.isCodeEmitterEnabled( context ) ) {
+            ModelWriter.elementEmitted( context );
+            ( (Emittable) this ).emit( context, writer );
+        }
+        else {
+            new FreeMarkerModelElementWriter().write( this, context, writer );
+        }
+    }
+
+    /**
+     * Writes the given element into the given writer, the same way as {@code <@includeModel object=element/>} does.
+     *
+     * @param element the element to write
+     * @param context the context of the including element
+     * @param writer the writer to write to
+     * @throws Exception in case of an error while writing
+     */
+    protected static void includeModel(Writable element, Context context, Writer writer) throws Exception {
+        element.write( ModelWriter.getContextWithoutParameters( context ), writer );
+    }
+
+    /**
+     * Writes the given element into the given writer, the same way as {@code <@includeModel object=element .../>}
+     * with the given parameters does.
+     *
+     * @param element the element to write
+     * @param context the context of the including element
+     * @param parameters the parameters to pass to the element
+     * @param writer the writer to write to
+     * @throws Exception in case of an error while writing
+     */
+    protected static void includeModel(Writable element, Context context, Map<String, Object> parameters,
+                                       Writer writer) throws Exception {
+        element.write( ModelWriter.getContextWithParameters( context, parameters ), writer );
+    }
+
+    /**
+     * Returns the given parameter as passed to {@code <@includeModel>} when including the current element.
+     *
+     * @param context the writer context of the current element
+     * @param name the parameter name
+     * @return the parameter value or {@code null} if the parameter has not been given
+     */
+    protected static Object getIncludeParameter(Context context, String name) {
+        Map<?, ?> parameters = context.get( Map.class );
+        return parameters != null ? parameters.get( name ) : null;
+    }
+
+    /**
+     * Returns the given parameter as passed to {@code <@includeModel>} when including the current element as string,
+     * the same way as it would be output by {@code ${ext.name}} within a template.
+     *
+     * @param context the writer context of the current element
+     * @param name the parameter name
+     * @return the parameter value or {@code null} if the parameter has not been given
+     * @throws TemplateModelException in case the parameter value can't be converted into a string
+     */
+    protected static String getIncludeParameterAsString(Context context, String name) throws TemplateModelException {
+        Object parameter = getIncludeParameter( context, name );
+
+        if ( parameter instanceof TemplateScalarModel ) {
+            return ( (TemplateScalarModel) parameter ).getAsString();
+        }
+
+        return parameter != null ? parameter.toString() : null;
     }
 
     /**
@@ -30,257 +30,226 @@
  * non-whitespace character is written after a line break, the correct indentation characters are added, which is four
  * whitespace characters per indentation level.
  * <p>
+ * The given characters are processed in a single pass over each written chunk, copying runs of text within a line
+ * into an internal buffer at once. That buffer is passed on to the underlying writer when it is full or upon flushing,
+ * so this writer should not be wrapped within a {@link java.io.BufferedWriter}.
+ * <p>
  * This is a very basic implementation which does not take into account comments, escaping etc.
  *
  * @author Gunnar Morling
  */
 class IndentationCorrectingWriter extends Writer {
 
-    /**
-     * Set to true to enable output of written characters on the console.
-     */
-    private static final boolean DEBUG = false;
-    private static final String LINE_SEPARATOR = System.getProperty( "line.separator" );
+    private static final int BUFFER_SIZE = 16 * 1024;
+    private static final char[] LINE_SEPARATOR = System.getProperty( "line.separator" ).toCharArray();
     private static final boolean IS_WINDOWS = System.getProperty( "os.name" ).startsWith( "Windows" );
+    private static final char[] INDENTATION = new char[64];
 
-    private State currentState = State.IN_TEXT;
-    private final StateContext context;
-
-    IndentationCorrectingWriter(Writer out) {
-        super( out );
-        this.context = new StateContext( out );
+    static {
+        Arrays.fill( INDENTATION, ' ' );
     }
 
-    @Override
-    public void write(char[] cbuf, int off, int len) throws IOException {
-        context.reset( cbuf, off );
+    /**
+     * Within any text.
+     */
+    private static final int IN_TEXT = 0;
 
-        for ( int i = off; i < len; i++ ) {
-            char c = cbuf[i];
+    /**
+     * Between \r and \n of a Windows line-break.
+     */
+    private static final int IN_LINE_BREAK = 1;
 
-            State newState = currentState.handleCharacter( c, context );
+    /**
+     * Directly after a line-break, or within leading whitespace following to a line-break.
+     */
+    private static final int AFTER_LINE_BREAK = 2;
 
-            if ( newState != currentState ) {
-                currentState.onExit( context );
-                newState.onEntry( context );
-                currentState = newState;
-            }
+    private final Writer out;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
 
-            context.currentIndex++;
-        }
+    /**
+     * Used for passing single characters and strings to {@link #write(char[], int, int)}; allocated upon first use.
+     */
+    private char[] characters;
 
-        currentState.onBufferFinished( context );
-    }
+    private int state = IN_TEXT;
 
-    @Override
-    public void flush() throws IOException {
-        context.writer.flush();
-    }
+    /**
+     * Keeps track of the current indentation level, as implied by brace characters.
+     */
+    private int indentationLevel;
 
-    @Override
-    public void close() throws IOException {
-        currentState.onExit( context );
-        context.writer.close();
-    }
+    /**
+     * The number of consecutive line-breaks when within {@link #AFTER_LINE_BREAK}.
+     */
+    private int consecutiveLineBreaks;
 
-    private static boolean isWindows() {
-        return IS_WINDOWS;
+    IndentationCorrectingWriter(Writer out) {
+        super( out );
+        this.out = out;
     }
 
-    private static char[] getIndentation(int indentationLevel) {
-        char[] indentation = new char[indentationLevel * 4];
-        Arrays.fill( indentation, ' ' );
-        return indentation;
-    }
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        int end = off + len;
+        int i = off;
 
-    /**
-     * A state of parsing a given character buffer.
-     */
-    private enum State {
-
-        /**
-         * Within any text.
-         */
-        IN_TEXT {
-            @Override
-            State doHandleCharacter(char c, StateContext context) {
-                switch ( c ) {
-                    case '\r':
-                        return isWindows() ? IN_LINE_BREAK : AFTER_LINE_BREAK;
-                    case '\n':
-                        return AFTER_LINE_BREAK;
-                    default:
-                        return IN_TEXT;
-                }
-            }
+        while ( i < end ) {
+            if ( state == IN_TEXT ) {
+                int textStart = i;
+                char c = cbuf[i];
 
-            /**
-             * Writes out leading whitespace as per the current indentation level.
-             */
-            @Override
-            void doOnEntry(StateContext context) throws IOException {
-                context.writer.write( getIndentation( context.indentationLevel ) );
+                while ( c != '\n' && c != '\r' ) {
+                    updateIndentationLevel( c );
 
-                if ( DEBUG ) {
-                    System.out.print( new String( getIndentation( context.indentationLevel ) ).replace( " ", "_" ) );
+                    if ( ++i == end ) {
+                        break;
+                    }
+                    c = cbuf[i];
                 }
-            }
 
-            /**
-             * Writes out the current text.
-             */
-            @Override
-            void onExit(StateContext context) throws IOException {
-                flush( context );
-            }
+                append( cbuf, textStart, i - textStart );
 
-            /**
-             * Writes out the current text.
-             */
-            @Override
-            void onBufferFinished(StateContext context) throws IOException {
-                flush( context );
+                if ( i < end ) {
+                    state = c == '\r' && IS_WINDOWS ? IN_LINE_BREAK : AFTER_LINE_BREAK;
+                    i++;
+                }
             }
+            else {
+                char c = cbuf[i];
+                updateIndentationLevel( c );
 
-            private void flush(StateContext context) throws IOException {
-                context.writer.write(
-                    context.characters,
-                    context.lastStateChange,
-                    context.currentIndex - context.lastStateChange
-                );
-
-                if ( DEBUG ) {
-                    System.out.print(
-                        new String(
-                            java.util.Arrays.copyOfRange(
-                                context.characters,
-                                context.lastStateChange,
-                                context.currentIndex
-                            )
-                        )
-                    );
+                if ( state == IN_LINE_BREAK ) {
+                    if ( c != '\n' ) {
+                        throw new IllegalArgumentException( "Unexpected character: " + c );
+                    }
+                    state = AFTER_LINE_BREAK;
+                    i++;
                 }
-            }
-        },
-
-        /**
-         * Between \r and \n of a Windows line-break.
-         */
-        IN_LINE_BREAK {
-            @Override
-            State doHandleCharacter(char c, StateContext context) {
-                if ( c == '\n' ) {
-                    return AFTER_LINE_BREAK;
+                else if ( c == '\r' ) {
+                    if ( IS_WINDOWS ) {
+                        writeLineBreaks();
+                        state = IN_LINE_BREAK;
+                    }
+                    i++;
                 }
-                else {
-                    throw new IllegalArgumentException( "Unexpected character: " + c );
+                else if ( c == ' ' ) {
+                    i++;
                 }
-            }
-        },
-
-        /**
-         * Directly after a line-break, or within leading whitespace following to a line-break.
-         */
-        AFTER_LINE_BREAK {
-            @Override
-            State doHandleCharacter(char c, StateContext context) {
-                switch ( c ) {
-                    case '\r':
-                        return isWindows() ? IN_LINE_BREAK : AFTER_LINE_BREAK;
-                    case ' ':
-                        return AFTER_LINE_BREAK;
-                    case '\n':
-                        context.consecutiveLineBreaks++;
-                        return AFTER_LINE_BREAK;
-                    default:
-                        return IN_TEXT;
+                else if ( c == '\n' ) {
+                    consecutiveLineBreaks++;
+                    i++;
                 }
-            }
-
-            /**
-             * Writes out the current line-breaks, avoiding more than one consecutive empty line
-             */
-            @Override
-            void onExit(StateContext context) throws IOException {
-                context.consecutiveLineBreaks++;
-                int lineBreaks = Math.min( context.consecutiveLineBreaks, 2 );
-
-                for ( int i = 0; i < lineBreaks; i++ ) {
-                    context.writer.append( LINE_SEPARATOR );
-
-                    if ( DEBUG ) {
-                        System.out.print( "\\n" + LINE_SEPARATOR );
-                    }
+                else {
+                    // the first character of the line is part of the text and has been accounted for already
+                    writeLineBreaks();
+                    writeIndentation();
+                    state = IN_TEXT;
+                    append( cbuf, i, 1 );
+                    i++;
                 }
-
-                context.consecutiveLineBreaks = 0;
             }
-        };
+        }
+    }
 
-        final State handleCharacter(char c, StateContext context) throws IOException {
-            if ( c == '{' || c == '(' ) {
-                context.indentationLevel++;
-            }
-            else if ( c == '}' || c == ')' ) {
-                context.indentationLevel--;
-            }
+    @Override
+    public void write(int c) throws IOException {
+        char[] chars = getCharacters();
+        chars[0] = (char) c;
+        write( chars, 0, 1 );
+    }
 
-            return doHandleCharacter( c, context );
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        char[] chars = getCharacters();
+
+        while ( len > 0 ) {
+            int chunk = Math.min( len, chars.length );
+            str.getChars( off, off + chunk, chars, 0 );
+            write( chars, 0, chunk );
+            off += chunk;
+            len -= chunk;
         }
+    }
 
-        abstract State doHandleCharacter(char c, StateContext context) throws IOException;
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
 
-        final void onEntry(StateContext context) throws IOException {
-            context.lastStateChange = context.currentIndex;
-            doOnEntry( context );
+    @Override
+    public void close() throws IOException {
+        if ( state == AFTER_LINE_BREAK ) {
+            writeLineBreaks();
         }
 
-        void doOnEntry(StateContext context) throws IOException {
-        }
+        flushBuffer();
+        out.close();
+    }
 
-        void onExit(StateContext context) throws IOException {
+    private void updateIndentationLevel(char c) {
+        if ( c == '{' || c == '(' ) {
+            indentationLevel++;
         }
-
-        void onBufferFinished(StateContext context) throws IOException {
+        else if ( c == '}' || c == ')' ) {
+            indentationLevel--;
         }
     }
 
     /**
-     * Keeps the current context of parsing the given character buffer.
+     * Writes out the current line-breaks, avoiding more than one consecutive empty line
      */
-    private static class StateContext {
-        final Writer writer;
+    private void writeLineBreaks() throws IOException {
+        consecutiveLineBreaks++;
+        int lineBreaks = Math.min( consecutiveLineBreaks, 2 );
+
+        for ( int i = 0; i < lineBreaks; i++ ) {
+            append( LINE_SEPARATOR, 0, LINE_SEPARATOR.length );
+        }
 
-        char[] characters;
+        consecutiveLineBreaks = 0;
+    }
 
-        /**
-         * The position at which when the current state was entered.
-         */
-        int lastStateChange;
+    /**
+     * Writes out leading whitespace as per the current indentation level.
+     */
+    private void writeIndentation() throws IOException {
+        int remaining = indentationLevel * 4;
+
+        while ( remaining > 0 ) {
+            int chunk = Math.min( remaining, INDENTATION.length );
+            append( INDENTATION, 0, chunk );
+            remaining -= chunk;
+        }
+    }
 
-        /**
-         * The current position within the buffer.
-         */
-        int currentIndex;
+    private void append(char[] cbuf, int off, int len) throws IOException {
+        if ( len > buffer.length - position ) {
+            flushBuffer();
 
-        /**
-         * Keeps track of the current indentation level, as implied by brace characters.
-         */
-        int indentationLevel;
+            if ( len > buffer.length ) {
+                out.write( cbuf, off, len );
+                return;
+            }
+        }
 
-        /**
-         * The number of consecutive line-breaks when within {@link State#AFTER_LINE_BREAK}.
-         */
-        int consecutiveLineBreaks;
+        System.arraycopy( cbuf, off, buffer, position, len );
+        position += len;
+    }
 
-        StateContext(Writer writer) {
-            this.writer = writer;
+    private void flushBuffer() throws IOException {
+        if ( position > 0 ) {
+            out.write( buffer, 0, position );
+            position = 0;
         }
+    }
 
-        void reset(char[] characters, int off) {
-            this.characters = characters;
-            this.lastStateChange = off;
-            this.currentIndex = 0;
+    private char[] getCharacters() {
+        if ( characters == null ) {
+            characters = new char[1024];
         }
+        return characters;
     }
 }
@@ -19,8 +19,11 @@
 package org.mapstruct.ap.writer;
 
 import java.io.IOException;
-import java.util.HashMap;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 
 import freemarker.core.Environment;
 import freemarker.ext.beans.BeanModel;
@@ -41,9 +44,15 @@
  */
 public class ModelIncludeDirective implements TemplateDirectiveModel {
 
-    private final Configuration configuration;
+    /**
+     * The name of the custom attribute of the FreeMarker {@link Environment} holding the context of the element whose
+     * template is processed.
+     */
+    static final String PARENT_CONTEXT = ModelIncludeDirective.class.getName() + ".parentContext";
+
+    private final ModelWriterConfiguration configuration;
 
-    public ModelIncludeDirective(Configuration configuration) {
+    ModelIncludeDirective(ModelWriterConfiguration configuration) {
         this.configuration = configuration;
     }
 
@@ -53,7 +62,7 @@ public void execute(Environment env, @SuppressWarnings("rawtypes") Map params, T
         throws TemplateException, IOException {
 
         Writable modelElement = getModelElement( params );
-        DefaultModelElementWriterContext context = createContext( params );
+        DefaultModelElementWriterContext context = createContext( env, params );
 
         try {
             if ( modelElement != null ) {
@@ -97,22 +106,58 @@ private Writable getModelElement(Map params) {
 
     /**
      * Creates a writer context providing access to the FreeMarker
-     * {@link Configuration} and a map with any additional parameters passed to
-     * the directive.
+     * {@link Configuration} and a read-only view of any additional
+     * parameters passed to the directive.
      *
+     * @param env The environment of the including template.
      * @param params The parameter map passed to this directive.
      *
      * @return A writer context.
      */
     @SuppressWarnings({ "rawtypes", "unchecked" })
-    private DefaultModelElementWriterContext createContext(Map params) {
-        Map<String, Object> ext = new HashMap<String, Object>( params );
-        ext.remove( "object" );
+    private DefaultModelElementWriterContext createContext(Environment env, Map params) {
+        Object parentContext = env.getCustomAttribute( PARENT_CONTEXT );
+        ModelWriter modelWriter = parentContext instanceof DefaultModelElementWriterContext ?
+            ( (DefaultModelElementWriterContext) parentContext ).getModelWriter() :
+            null;
+
+        return new DefaultModelElementWriterContext( configuration, new IncludeParameters( params ), modelWriter );
+    }
+
+    /**
+     * A read-only view of the parameters passed to the directive, without the included object itself. Avoids copying
+     * the parameter map or altering the one owned by FreeMarker.
+     */
+    private static class IncludeParameters extends AbstractMap<String, Object> {
+
+        private static final String OBJECT = "object";
 
-        Map<Class<?>, Object> values = new HashMap<Class<?>, Object>();
-        values.put( Configuration.class, configuration );
-        values.put( Map.class, ext );
+        private final Map<String, Object> parameters;
 
-        return new DefaultModelElementWriterContext( values );
+        IncludeParameters(Map<String, Object> parameters) {
+            this.parameters = parameters;
+        }
+
+        @Override
+        public Object get(Object key) {
+            return OBJECT.equals( key ) ? null : parameters.get( key );
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return !OBJECT.equals( key ) && parameters.containsKey( key );
+        }
+
+        @Override
+        public int size() {
+            return parameters.containsKey( OBJECT ) ? parameters.size() - 1 : parameters.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            Map<String, Object> copy = new LinkedHashMap<String, Object>( parameters );
+            copy.remove( OBJECT );
+            return Collections.unmodifiableMap( copy ).entrySet();
+        }
     }
 }
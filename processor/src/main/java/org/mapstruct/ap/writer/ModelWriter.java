@@ -18,14 +18,17 @@
  */
 package org.mapstruct.ap.writer;
 
-import java.io.BufferedWriter;
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import javax.tools.JavaFileObject;
 
+import freemarker.ext.beans.BeanModel;
+import freemarker.ext.beans.BeansWrapper;
 import freemarker.log.Logger;
 import freemarker.template.Configuration;
-import freemarker.template.DefaultObjectWrapper;
 import org.mapstruct.ap.writer.Writable.Context;
 
 /**
@@ -37,10 +40,10 @@
 public class ModelWriter {
 
     /**
-     * FreeMarker configuration. As per the documentation, thread-safe if not
-     * altered after original initialization
+     * Writer configurations, with and without the code emitter being enabled.
      */
-    private static final Configuration CONFIGURATION;
+    private static final ModelWriterConfiguration CONFIGURATION;
+    private static final ModelWriterConfiguration TEMPLATE_ONLY_CONFIGURATION;
 
     static {
         try {
@@ -50,22 +53,150 @@ public class ModelWriter {
             throw new RuntimeException( e );
         }
 
-        CONFIGURATION = new Configuration();
-        CONFIGURATION.setClassForTemplateLoading( ModelWriter.class, "/" );
-        CONFIGURATION.setObjectWrapper( new DefaultObjectWrapper() );
-        CONFIGURATION.setSharedVariable(
-            "includeModel",
-            new ModelIncludeDirective( CONFIGURATION )
+        CONFIGURATION = new ModelWriterConfiguration( true );
+        TEMPLATE_ONLY_CONFIGURATION = new ModelWriterConfiguration( false );
+    }
+
+    private final ModelWriterConfiguration configuration;
+
+    /**
+     * The FreeMarker wrappers of the elements written via their template so far; an element such as a type or a
+     * method reference may be written several times within one source file, and each wrapper caches the models of
+     * the properties accessed from the template.
+     */
+    private final Map<Writable, BeanModel> beanModels = new IdentityHashMap<Writable, BeanModel>();
+
+    private int templateRenderCount;
+    private int emittedElementCount;
+
+    /**
+     * Creates a model writer which emits those elements supporting it directly.
+     */
+    public ModelWriter() {
+        this( true );
+    }
+
+    /**
+     * Creates a model writer.
+     *
+     * @param codeEmitterEnabled whether elements supporting it are emitted directly or all elements are written using
+     * their template
+     */
+    public ModelWriter(boolean codeEmitterEnabled) {
+        this.configuration = codeEmitterEnabled ? CONFIGURATION : TEMPLATE_ONLY_CONFIGURATION;
+    }
+
+    /**
+     * Returns the number of templates processed by this writer so far.
+     *
+     * @return the number of processed templates
+     */
+    public int getTemplateRenderCount() {
+        return templateRenderCount;
+    }
+
+    /**
+     * Returns the number of elements emitted directly by this writer so far.
+     *
+     * @return the number of emitted elements
+     */
+    public int getEmittedElementCount() {
+        return emittedElementCount;
+    }
+
+    static void templateRendered(Context context) {
+        ModelWriter modelWriter = getModelWriter( context );
+        if ( modelWriter != null ) {
+            modelWriter.templateRenderCount++;
+        }
+    }
+
+    static void elementEmitted(Context context) {
+        ModelWriter modelWriter = getModelWriter( context );
+        if ( modelWriter != null ) {
+            modelWriter.emittedElementCount++;
+        }
+    }
+
+    /**
+     * Returns the FreeMarker wrapper of the given element written within the given context, creating it upon first
+     * use.
+     */
+    static BeanModel getBeanModel(Context context, Writable writable) {
+        ModelWriter modelWriter = getModelWriter( context );
+        if ( modelWriter == null ) {
+            return new BeanModel( writable, BeansWrapper.getDefaultInstance() );
+        }
+
+        BeanModel beanModel = modelWriter.beanModels.get( writable );
+        if ( beanModel == null ) {
+            beanModel = new BeanModel( writable, BeansWrapper.getDefaultInstance() );
+            modelWriter.beanModels.put( writable, beanModel );
+        }
+
+        return beanModel;
+    }
+
+    private static ModelWriter getModelWriter(Context context) {
+        return context instanceof DefaultModelElementWriterContext ?
+            ( (DefaultModelElementWriterContext) context ).getModelWriter() :
+            null;
+    }
+
+    static boolean isCodeEmitterEnabled(Context context) {
+        return context instanceof DefaultModelElementWriterContext
+            && ( (DefaultModelElementWriterContext) context ).getConfiguration().isCodeEmitterEnabled();
+    }
+
+    /**
+     * Returns a context for including an element without any parameters from within the element with the given
+     * context.
+     */
+    static Context getContextWithoutParameters(Context context) {
+        Map<?, ?> parameters = context.get( Map.class );
+        if ( parameters != null && parameters.isEmpty() ) {
+            return context;
+        }
+
+        return new DefaultModelElementWriterContext(
+            ( (DefaultModelElementWriterContext) context ).getConfiguration(),
+            Collections.<String, Object>emptyMap(),
+            getModelWriter( context )
+        );
+    }
+
+    /**
+     * Returns a context for including an element with the given parameters from within the element with the given
+     * context.
+     */
+    static Context getContextWithParameters(Context context, Map<String, Object> parameters) {
+        return new DefaultModelElementWriterContext(
+            ( (DefaultModelElementWriterContext) context ).getConfiguration(),
+            parameters,
+            getModelWriter( context )
         );
     }
 
     public void writeModel(JavaFileObject sourceFile, Writable model) {
         try {
-            BufferedWriter writer = new BufferedWriter( new IndentationCorrectingWriter( sourceFile.openWriter() ) );
+            writeModel( sourceFile.openWriter(), model );
+        }
+        catch ( IOException e ) {
+            throw new RuntimeException( e );
+        }
+    }
+
+    /**
+     * Writes the given model into the given writer, which is closed afterwards.
+     *
+     * @param out the writer to write to
+     * @param model the model to write
+     */
+    public void writeModel(Writer out, Writable model) {
+        try {
+            IndentationCorrectingWriter writer = new IndentationCorrectingWriter( out );
 
-            Map<Class<?>, Object> values = new HashMap<Class<?>, Object>();
-            values.put( Configuration.class, CONFIGURATION );
-            model.write( new DefaultModelElementWriterContext( values ), writer );
+            model.write( new DefaultModelElementWriterContext( configuration, null, this ), writer );
 
             writer.flush();
             writer.close();
@@ -80,22 +211,51 @@ public void writeModel(JavaFileObject sourceFile, Writable model) {
 
     /**
      * {@link Context} implementation which provides access to the current
-     * FreeMarker {@link Configuration}.
+     * FreeMarker {@link Configuration} and the parameters passed when including
+     * the current element. Immutable, so no copies need to be created when
+     * passing it on.
      *
      * @author Gunnar Morling
      */
     static class DefaultModelElementWriterContext implements Context {
 
-        private final Map<Class<?>, Object> values;
+        private final ModelWriterConfiguration configuration;
+        private final Map<String, Object> parameters;
+        private final ModelWriter modelWriter;
+
+        DefaultModelElementWriterContext(ModelWriterConfiguration configuration, Map<String, Object> parameters,
+                                         ModelWriter modelWriter) {
+            this.configuration = configuration;
+            this.parameters = parameters;
+            this.modelWriter = modelWriter;
+        }
+
+        ModelWriterConfiguration getConfiguration() {
+            return configuration;
+        }
 
-        DefaultModelElementWriterContext(Map<Class<?>, Object> values) {
-            this.values = new HashMap<Class<?>, Object>( values );
+        /**
+         * Returns the writer on behalf of which the current element is written, used for counting the written
+         * elements.
+         */
+        ModelWriter getModelWriter() {
+            return modelWriter;
         }
 
         @Override
         @SuppressWarnings("unchecked")
         public <T> T get(Class<T> type) {
-            return (T) values.get( type );
+            if ( type == Configuration.class ) {
+                return (T) configuration.getConfiguration();
+            }
+            else if ( type == Map.class ) {
+                return (T) parameters;
+            }
+            else if ( type == ModelWriterConfiguration.class ) {
+                return (T) configuration;
+            }
+
+            return null;
         }
     }
 }
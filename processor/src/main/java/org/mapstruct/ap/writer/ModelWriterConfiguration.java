@@ -0,0 +1,75 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.writer;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import freemarker.template.Configuration;
+import freemarker.template.DefaultObjectWrapper;
+import freemarker.template.Template;
+
+/**
+ * The settings used for writing models: the FreeMarker {@link Configuration}, whether the code emitter is enabled and
+ * the templates resolved so far. Thread-safe, as the FreeMarker configuration is not altered after its initialization.
+ */
+class ModelWriterConfiguration {
+
+    private final Configuration configuration;
+    private final boolean codeEmitterEnabled;
+
+    /**
+     * The templates by name; resolving a template via the FreeMarker configuration involves locale-specific look-ups
+     * and checks for modifications of the template source, which is not needed for templates loaded from the
+     * processor JAR.
+     */
+    private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<String, Template>();
+
+    ModelWriterConfiguration(boolean codeEmitterEnabled) {
+        this.codeEmitterEnabled = codeEmitterEnabled;
+
+        configuration = new Configuration();
+        configuration.setClassForTemplateLoading( ModelWriter.class, "/" );
+        configuration.setObjectWrapper( new DefaultObjectWrapper() );
+        configuration.setSharedVariable(
+            "includeModel",
+            new ModelIncludeDirective( this )
+        );
+    }
+
+    Configuration getConfiguration() {
+        return configuration;
+    }
+
+    boolean isCodeEmitterEnabled() {
+        return codeEmitterEnabled;
+    }
+
+    Template getTemplate(String name) throws IOException {
+        Template template = templates.get( name );
+
+        if ( template == null ) {
+            template = configuration.getTemplate( name );
+            templates.putIfAbsent( name, template );
+        }
+
+        return template;
+    }
+}
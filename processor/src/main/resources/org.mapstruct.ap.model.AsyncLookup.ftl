@@ -0,0 +1,45 @@
+<#--
+
+     Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+     and/or other contributors as indicated by the @authors tag. See the
+     copyright.txt file in the distribution for a full listing of all
+     contributors.
+
+     Licensed under the Apache License, Version 2.0 (the "License");
+     you may not use this file except in compliance with the License.
+     You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+     Unless required by applicable law or agreed to in writing, software
+     distributed under the License is distributed on an "AS IS" BASIS,
+     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+     See the License for the specific language governing permissions and
+     limitations under the License.
+
+-->
+<#if (exceptionTypes?size == 0)>
+CompletableFuture<<@includeModel object=resultType/>> ${variableName} = <#if (prerequisites?size > 0)><@_allOf/>.thenCompose( ${ext.joinedName} -> <@_lookup/> )<#else><@_lookup/></#if>.toCompletableFuture();
+<#elseif (prerequisites?size > 0)>
+CompletableFuture<<@includeModel object=resultType/>> ${variableName} = <@_allOf/>.thenCompose( ${ext.joinedName} -> {
+    try {
+        return <@_lookup/>;
+    }
+    <@_catch/>
+} ).toCompletableFuture();
+<#else>
+CompletableFuture<<@includeModel object=resultType/>> ${variableName};
+try {
+    ${variableName} = <@_lookup/>.toCompletableFuture();
+}
+<@_catch/>
+</#if>
+<#macro _allOf>CompletableFuture.allOf( <#list prerequisites as prerequisite>${prerequisite}<#if prerequisite_has_next>, </#if></#list> )</#macro>
+<#macro _lookup><@includeModel object=lookup targetType=resultType/></#macro>
+<#macro _catch>
+    <#list exceptionTypes as exceptionType>
+    catch ( <@includeModel object=exceptionType/> e ) {
+        throw new RuntimeException( e );
+    }
+    </#list>
+</#macro>
\ No newline at end of file
@@ -22,11 +22,18 @@
 <#lt>${accessibility.keyword} <@includeModel object=returnType/> ${name}(<#list parameters as param><@includeModel object=param/><#if param_has_next>, </#if></#list>)<@throws/> {
     <#if !mapNullToDefault>
     if ( <#list sourceParametersExcludingPrimitives as sourceParam>${sourceParam.name} == null<#if sourceParam_has_next> && </#if></#list> ) {
-        return<#if returnType.name != "void"> null</#if>;
+        return<#if async> CompletableFuture.completedFuture( null )<#elseif returnType.name != "void"> null</#if>;
     }
     </#if>
 
-    <#if !existingInstanceMapping><@includeModel object=resultType/> ${resultName} = <#if factoryMethod??><@includeModel object=factoryMethod targetType=resultType raw=true/><#else>new <@includeModel object=resultType/>()</#if>;</#if>
+    <#if async && (asyncLookups?size > 0)>
+    <#list asyncLookups as asyncLookup>
+    <@includeModel object=asyncLookup joinedName=joinedName/>
+    </#list>
+
+    return CompletableFuture.allOf( <#list asyncLookups as asyncLookup>${asyncLookup.variableName}<#if asyncLookup_has_next>, </#if></#list> ).thenApply( ${joinedName} -> {
+    </#if>
+    <#if lazyTarget??>${lazyTarget.name} ${resultName} = new ${lazyTarget.name}( this );<#elseif !existingInstanceMapping><@includeModel object=resultType/> ${resultName} = <#if factoryMethod??><@includeModel object=factoryMethod targetType=resultType raw=true/><#elseif allocator??>${allocator.variableName}.acquire( <@includeModel object=resultType/>.class )<#else>new <@includeModel object=resultType/>()</#if>;</#if>
     <#if (sourceParameters?size > 1)>
         <#list sourceParametersExcludingPrimitives as sourceParam>
             <#if (propertyMappingsByParameter[sourceParam.name]?size > 0)>
@@ -54,11 +61,23 @@
     <#list constantMappings as constantMapping>
          <@includeModel object=constantMapping targetBeanName=resultName existingInstanceMapping=existingInstanceMapping/>
     </#list>
-    <#if returnType.name != "void">
+    <#if async && (asyncLookups?size > 0)>
+
+        return ${resultName};
+    } );
+    <#elseif async>
+
+    return CompletableFuture.completedFuture( ${resultName} );
+    <#elseif returnType.name != "void">
 
     return ${resultName};
     </#if>
 }
+<#if lazyTarget??>
+
+<@includeModel object=lazyTarget targetBeanName=resultName/>
+
+</#if>
 <#macro throws>
     <@compress single_line=true>
         <#if (thrownTypes?size > 0)> throws </#if>
@@ -42,4 +42,8 @@ import ${importedType.importName};
 <#list methods as method>
 <#nt>    <@includeModel object=method/>
 </#list>
+<#list nestedTypes as nestedType>
+
+<#nt>    <@includeModel object=nestedType/>
+</#list>
 }
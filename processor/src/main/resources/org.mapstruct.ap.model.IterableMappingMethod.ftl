@@ -37,6 +37,7 @@
                 </#if>
             <#else>
                 <#if existingInstanceMapping>
+                    <@releaseElementsToAllocator/>
                     ${resultName}.clear();
                     return<#if returnType.name != "void"> ${resultName}</#if>;
                 <#else>
@@ -62,10 +63,11 @@
         }
     <#else>
         <#if existingInstanceMapping>
+            <@releaseElementsToAllocator/>
             ${resultName}.clear();
         <#else>
             <#-- Use the interface type on the left side, except it is java.lang.Iterable; use the implementation type - if present - on the right side -->
-            <@iterableLocalVarDef/> ${resultName} = <@iterableCreation/>;
+            <@iterableLocalVarDef/> ${resultName} = <@iterableCreation presize=true/>;
         </#if>
 
         for ( <@includeModel object=sourceElementType/> ${loopVariableName} : ${sourceParameter.name} ) {
@@ -104,7 +106,7 @@
         </#if>
     </@compress>
 </#macro>
-<#macro iterableCreation>
+<#macro iterableCreation presize=false>
     <@compress single_line=true>
         <#if factoryMethod??>
             <@includeModel object=factoryMethod targetType=resultType raw=true/>
@@ -114,7 +116,16 @@
                 <@includeModel object=resultType.implementationType/>
             <#else>
                 <@includeModel object=resultType/>
-            </#if>()
+            </#if>(<#if presize && presized> <@iterableSize/> </#if>)
         </#if>
     </@compress>
+</#macro>
+<#macro releaseElementsToAllocator>
+    <#if releaseElements>
+    for ( <@includeModel object=resultElementType/> ${loopVariableName} : ${resultName} ) {
+        if ( ${loopVariableName} != null ) {
+            ${allocator.variableName}.release( ${loopVariableName} );
+        }
+    }
+    </#if>
 </#macro>
\ No newline at end of file
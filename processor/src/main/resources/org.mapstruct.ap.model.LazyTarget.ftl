@@ -0,0 +1,89 @@
+<#--
+
+     Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+     and/or other contributors as indicated by the @authors tag. See the
+     copyright.txt file in the distribution for a full listing of all
+     contributors.
+
+     Licensed under the Apache License, Version 2.0 (the "License");
+     you may not use this file except in compliance with the License.
+     You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+     Unless required by applicable law or agreed to in writing, software
+     distributed under the License is distributed on an "AS IS" BASIS,
+     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+     See the License for the specific language governing permissions and
+     limitations under the License.
+
+-->
+<#list propertyMappings as propertyMapping>
+private void ${mapperMethodNames[propertyMapping_index]}(${name} ${ext.targetBeanName}, <@includeModel object=propertyMapping.lazyProperty.sourceType/> ${propertyMapping.lazyProperty.sourceName}) {
+    <@includeModel object=propertyMapping.assignment
+               targetBeanName=ext.targetBeanName
+               raw=false
+               existingInstanceMapping=false
+               targetReadAccessorName=propertyMapping.targetReadAccessorName
+               targetWriteAccessorName=propertyMapping.targetWriteAccessorName
+               targetType=propertyMapping.targetType/>
+}
+
+</#list>
+private static class ${name} extends <@includeModel object=targetType/> {
+    <#if serializable>
+
+    private static final long serialVersionUID = 1L;
+    </#if>
+
+    private final transient ${mapperName} mapper;
+    <#list propertyMappings as propertyMapping>
+    private transient volatile boolean ${propertyMapping.name}Pending;
+    private transient <@includeModel object=propertyMapping.lazyProperty.sourceType/> ${propertyMapping.name}Source;
+    </#list>
+
+    ${name}(${mapperName} mapper) {
+        this.mapper = mapper;
+    }
+    <#list propertyMappings as propertyMapping>
+
+    void defer${propertyMapping.name?cap_first}(<@includeModel object=propertyMapping.lazyProperty.sourceType/> ${propertyMapping.name}Source) {
+        this.${propertyMapping.name}Source = ${propertyMapping.name}Source;
+        ${propertyMapping.name}Pending = true;
+    }
+
+    @Override
+    public <@includeModel object=propertyMapping.lazyProperty.getterType/> ${propertyMapping.targetReadAccessorName}() {
+        if ( ${propertyMapping.name}Pending ) {
+            synchronized ( this ) {
+                if ( ${propertyMapping.name}Pending ) {
+                    mapper.${mapperMethodNames[propertyMapping_index]}( this, ${propertyMapping.name}Source );
+                    ${propertyMapping.name}Source = null;
+                    ${propertyMapping.name}Pending = false;
+                }
+            }
+        }
+        return super.${propertyMapping.targetReadAccessorName}();
+    }
+
+    @Override
+    public void ${propertyMapping.targetWriteAccessorName}(<@includeModel object=propertyMapping.targetType/> ${propertyMapping.name}) {
+        synchronized ( this ) {
+            ${propertyMapping.name}Source = null;
+            ${propertyMapping.name}Pending = false;
+            super.${propertyMapping.targetWriteAccessorName}( ${propertyMapping.name} );
+        }
+    }
+    </#list>
+
+    <#if serializable>
+
+    private Object writeReplace() {
+        <@includeModel object=targetType/> replacement = new <@includeModel object=targetType/>();
+        <#list copiedProperties as copiedProperty>
+        replacement.${copiedProperty.writeAccessorName}( ${copiedProperty.readAccessorName}() );
+        </#list>
+        return replacement;
+    }
+    </#if>
+}
\ No newline at end of file
@@ -25,6 +25,7 @@
             return<#if returnType.name != "void"> null</#if>;
         <#else>
             <#if existingInstanceMapping>
+                 <@releaseEntries/>
                  ${resultName}.clear();
                  return<#if returnType.name != "void"> ${resultName} </#if>;
             <#else>
@@ -34,6 +35,7 @@
     }
 
     <#if existingInstanceMapping>
+        <@releaseEntries/>
         ${resultName}.clear();
     <#else>
         <@includeModel object=resultType /> ${resultName} = <@returnObjectCreation/>;
@@ -78,4 +80,20 @@
              </#if>()
         </#if>
     </@compress>
+</#macro>
+<#macro releaseEntries>
+    <#if releaseKeys>
+    for ( <@includeModel object=resultType.typeParameters[0]/> ${keyVariableName} : ${resultName}.keySet() ) {
+        if ( ${keyVariableName} != null ) {
+            ${allocator.variableName}.release( ${keyVariableName} );
+        }
+    }
+    </#if>
+    <#if releaseValues>
+    for ( <@includeModel object=resultType.typeParameters[1]/> ${valueVariableName} : ${resultName}.values() ) {
+        if ( ${valueVariableName} != null ) {
+            ${allocator.variableName}.release( ${valueVariableName} );
+        }
+    }
+    </#if>
 </#macro>
\ No newline at end of file
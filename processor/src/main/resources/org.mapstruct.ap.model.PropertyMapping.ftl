@@ -18,6 +18,9 @@
      limitations under the License.
 
 -->
+<#if lazyProperty??>
+${ext.targetBeanName}.defer${name?cap_first}( ${lazyProperty.sourceReference} );
+<#else>
 <@includeModel object=assignment
                targetBeanName=ext.targetBeanName
                raw=ext.raw
@@ -25,3 +28,4 @@
                targetReadAccessorName=targetReadAccessorName
                targetWriteAccessorName=targetWriteAccessorName
                targetType=targetType/>
+</#if>
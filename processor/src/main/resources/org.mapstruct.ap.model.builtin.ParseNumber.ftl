@@ -0,0 +1,49 @@
+<#--
+
+     Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+     and/or other contributors as indicated by the @authors tag. See the
+     copyright.txt file in the distribution for a full listing of all
+     contributors.
+
+     Licensed under the Apache License, Version 2.0 (the "License");
+     you may not use this file except in compliance with the License.
+     You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+     Unless required by applicable law or agreed to in writing, software
+     distributed under the License is distributed on an "AS IS" BASIS,
+     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+     See the License for the specific language governing permissions and
+     limitations under the License.
+
+-->
+private static <@includeModel object=returnType/> ${name}( String string, DecimalFormat format ) throws ParseException {
+    ParsePosition position = new ParsePosition( 0 );
+    Number number = format.parse( string, position );
+
+    if ( !( number instanceof BigDecimal ) || position.getIndex() != string.length() ) {
+        throw new ParseException(
+            "Unparseable number: \"" + string + "\"",
+            position.getErrorIndex() >= 0 ? position.getErrorIndex() : position.getIndex()
+        );
+    }
+
+    <#if builtInMethod.integral>
+    try {
+        return ( (BigDecimal) number ).${builtInMethod.valueMethod}();
+    }
+    catch ( ArithmeticException e ) {
+        throw new ParseException( "Not a valid <@includeModel object=returnType/>: \"" + string + "\"", 0 );
+    }
+    <#elseif builtInMethod.floatingPoint>
+    <@includeModel object=returnType/> value = ( (BigDecimal) number ).${builtInMethod.valueMethod}();
+    if ( <#if returnType.name == "float">Float<#else>Double</#if>.isInfinite( value ) ) {
+        throw new ParseException( "Not a valid <@includeModel object=returnType/>: \"" + string + "\"", 0 );
+    }
+
+    return value;
+    <#else>
+    return (BigDecimal) number;
+    </#if>
+}
\ No newline at end of file
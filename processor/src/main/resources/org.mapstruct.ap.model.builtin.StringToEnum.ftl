@@ -0,0 +1,47 @@
+<#--
+
+     Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+     and/or other contributors as indicated by the @authors tag. See the
+     copyright.txt file in the distribution for a full listing of all
+     contributors.
+
+     Licensed under the Apache License, Version 2.0 (the "License");
+     you may not use this file except in compliance with the License.
+     You may obtain a copy of the License at
+
+         http://www.apache.org/licenses/LICENSE-2.0
+
+     Unless required by applicable law or agreed to in writing, software
+     distributed under the License is distributed on an "AS IS" BASIS,
+     WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+     See the License for the specific language governing permissions and
+     limitations under the License.
+
+-->
+private <@includeModel object=returnType/> ${name}( String string ) {
+    if ( string == null ) {
+        return null;
+    }
+
+    switch ( string.hashCode() ) {
+    <#list builtInMethod.constantGroups as group>
+        case ${group.hash?c}:
+        <#list group.constants as constant>
+            if ( "${constant}".equals( string ) ) {
+                return <@includeModel object=returnType/>.${constant};
+            }
+        </#list>
+            break;
+    </#list>
+    }
+
+    <#if builtInMethod.unknownConstant??>
+    return <@includeModel object=returnType/>.${builtInMethod.unknownConstant};
+    <#elseif builtInMethod.returnNullForUnknown>
+    return null;
+    <#elseif builtInMethod.exceptionName??>
+    throw new ${builtInMethod.exceptionName}( "No enum constant ${returnType.fullyQualifiedName}." + string );
+    <#else>
+    throw new IllegalArgumentException( "No enum constant ${returnType.fullyQualifiedName}." + string );
+    </#if>
+}
\ No newline at end of file
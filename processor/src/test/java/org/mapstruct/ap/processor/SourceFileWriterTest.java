@@ -0,0 +1,169 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.processor;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.tools.FileObject;
+import javax.tools.JavaFileManager.Location;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardLocation;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests for {@link SourceFileWriter}, using a {@link Filer} which keeps the written files in memory.
+ */
+public class SourceFileWriterTest {
+
+    private static final String SOURCE = "package com.example;\n\npublic class FooImpl {\n}\n";
+
+    @Test
+    public void shouldRewriteUnchangedSourceByDefault() {
+        InMemoryFiler filer = new InMemoryFiler();
+
+        new SourceFileWriter( filer, false ).write( "com.example.FooImpl", new Element[0], SOURCE );
+
+        SourceFileWriter sourceFileWriter = new SourceFileWriter( filer, false );
+        sourceFileWriter.write( "com.example.FooImpl", new Element[0], SOURCE );
+
+        assertThat( filer.createdFiles ).isEqualTo( 2 );
+        assertThat( sourceFileWriter.getWrittenFiles() ).isEqualTo( 1 );
+        assertThat( sourceFileWriter.getSkippedFiles() ).isEqualTo( 0 );
+    }
+
+    @Test
+    public void shouldSkipUnchangedSource() {
+        InMemoryFiler filer = new InMemoryFiler();
+
+        SourceFileWriter firstRound = new SourceFileWriter( filer, true );
+        firstRound.write( "com.example.FooImpl", new Element[0], SOURCE );
+
+        assertThat( firstRound.getWrittenFiles() ).isEqualTo( 1 );
+        assertThat( firstRound.getSkippedFiles() ).isEqualTo( 0 );
+
+        SourceFileWriter secondRound = new SourceFileWriter( filer, true );
+        secondRound.write( "com.example.FooImpl", new Element[0], SOURCE );
+
+        assertThat( filer.createdFiles ).isEqualTo( 1 );
+        assertThat( secondRound.getWrittenFiles() ).isEqualTo( 0 );
+        assertThat( secondRound.getSkippedFiles() ).isEqualTo( 1 );
+    }
+
+    @Test
+    public void shouldRewriteChangedSource() {
+        InMemoryFiler filer = new InMemoryFiler();
+
+        new SourceFileWriter( filer, true ).write( "com.example.FooImpl", new Element[0], SOURCE );
+
+        String changedSource = SOURCE.replace( "FooImpl {", "FooImpl implements Foo {" );
+        SourceFileWriter sourceFileWriter = new SourceFileWriter( filer, true );
+        sourceFileWriter.write( "com.example.FooImpl", new Element[0], changedSource );
+
+        assertThat( filer.createdFiles ).isEqualTo( 2 );
+        assertThat( filer.files.get( "com/example/FooImpl.java" ) ).isEqualTo( changedSource );
+        assertThat( sourceFileWriter.getWrittenFiles() ).isEqualTo( 1 );
+        assertThat( sourceFileWriter.getSkippedFiles() ).isEqualTo( 0 );
+    }
+
+    @Test
+    public void shouldWriteSourceOfTypeInDefaultPackage() {
+        InMemoryFiler filer = new InMemoryFiler();
+
+        new SourceFileWriter( filer, true ).write( "FooImpl", new Element[0], SOURCE );
+
+        SourceFileWriter sourceFileWriter = new SourceFileWriter( filer, true );
+        sourceFileWriter.write( "FooImpl", new Element[0], SOURCE );
+
+        assertThat( filer.files.keySet() ).containsOnly( "FooImpl.java" );
+        assertThat( sourceFileWriter.getSkippedFiles() ).isEqualTo( 1 );
+    }
+
+    private static class InMemoryFiler implements Filer {
+
+        private final Map<String, String> files = new HashMap<String, String>();
+        private int createdFiles;
+
+        @Override
+        public JavaFileObject createSourceFile(CharSequence name, Element... originatingElements) {
+            createdFiles++;
+            return new InMemoryFileObject( name.toString().replace( '.', '/' ) + Kind.SOURCE.extension );
+        }
+
+        @Override
+        public JavaFileObject createClassFile(CharSequence name, Element... originatingElements) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileObject createResource(Location location, CharSequence pkg, CharSequence relativeName,
+                                         Element... originatingElements) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileObject getResource(Location location, CharSequence pkg, CharSequence relativeName) {
+            assertThat( location ).isEqualTo( StandardLocation.SOURCE_OUTPUT );
+
+            String path = pkg.length() == 0 ? relativeName.toString() : pkg.toString().replace( '.', '/' ) + "/"
+                + relativeName;
+            return new InMemoryFileObject( path );
+        }
+
+        private class InMemoryFileObject extends SimpleJavaFileObject {
+
+            private final String path;
+
+            InMemoryFileObject(String path) {
+                super( URI.create( "mem:///" + path ), Kind.SOURCE );
+                this.path = path;
+            }
+
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) throws IOException {
+                if ( !files.containsKey( path ) ) {
+                    throw new FileNotFoundException( path );
+                }
+                return files.get( path );
+            }
+
+            @Override
+            public Writer openWriter() {
+                return new StringWriter() {
+                    @Override
+                    public void close() {
+                        files.put( path, toString() );
+                    }
+                };
+            }
+        }
+    }
+}
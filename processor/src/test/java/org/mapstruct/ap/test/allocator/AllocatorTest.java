@@ -0,0 +1,166 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.allocator;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.Diagnostic.Kind;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.compilation.annotation.CompilationResult;
+import org.mapstruct.ap.testutil.compilation.annotation.Diagnostic;
+import org.mapstruct.ap.testutil.compilation.annotation.ExpectedCompilationOutcome;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests obtaining target instances from the allocator configured via {@code Mapper#allocator()}.
+ */
+@WithClasses({ Order.class, OrderDto.class, OrderLine.class, OrderLineDto.class, PoolingAllocator.class })
+@RunWith(AnnotationProcessorTestRunner.class)
+public class AllocatorTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Before
+    public void resetAllocator() {
+        PoolingAllocator.reset();
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldObtainTargetsFromAllocator() {
+        Order order = new Order();
+        order.setCustomer( "Bob" );
+        order.setLines( Arrays.asList( new OrderLine( "Apple", 3 ), new OrderLine( "Pear", 1 ) ) );
+
+        OrderDto dto = OrderMapper.INSTANCE.orderToDto( order );
+
+        assertThat( dto.getCustomer() ).isEqualTo( "Bob" );
+        assertThat( dto.getLines() ).hasSize( 2 );
+        assertThat( PoolingAllocator.getCreated() )
+            .containsOnly( dto, dto.getLines().get( 0 ), dto.getLines().get( 1 ) );
+
+        generatedSource.forMapper( OrderMapper.class )
+            .content()
+            .contains( "private final PoolingAllocator allocator = new PoolingAllocator();" )
+            .contains( "OrderDto orderDto = allocator.acquire( OrderDto.class );" )
+            .doesNotContain( "setPriority" );
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldKeepDefaultsOfUnmappedProperties() {
+        OrderLineDto dto = OrderMapper.INSTANCE.lineToDto( new OrderLine( "Apple", 3 ) );
+
+        assertThat( dto.getItem() ).isEqualTo( "Apple" );
+        assertThat( dto.getPriority() ).isEqualTo( OrderLineDto.DEFAULT_PRIORITY );
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldPopulateTargetResetByAllocator() {
+        OrderDto released = new OrderDto();
+        released.setCustomer( "Alice" );
+        released.setComment( "deliver on Monday" );
+        released.getLines().add( new OrderLineDto() );
+        new PoolingAllocator().release( released );
+
+        Order order = new Order();
+        order.setCustomer( "Bob" );
+
+        OrderDto dto = OrderMapper.INSTANCE.orderToDto( order );
+
+        assertThat( dto ).isSameAs( released );
+        assertThat( dto.getCustomer() ).isEqualTo( "Bob" );
+        assertThat( dto.getComment() ).isNull();
+        assertThat( dto.getLines() ).isEmpty();
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldReleaseCollectionElementsBeforeClearing() {
+        List<OrderLineDto> dtos = new ArrayList<OrderLineDto>();
+        OrderMapper.INSTANCE.updateLines( Arrays.asList( new OrderLine( "Apple", 3 ) ), dtos );
+        OrderLineDto first = dtos.get( 0 );
+
+        OrderMapper.INSTANCE.updateLines( Arrays.asList( new OrderLine( "Pear", 1 ) ), dtos );
+
+        assertThat( PoolingAllocator.getReleased() ).containsOnly( first );
+        assertThat( PoolingAllocator.getCreated() ).containsOnly( first );
+        assertThat( dtos ).containsOnly( first );
+        assertThat( first.getItem() ).isEqualTo( "Pear" );
+        assertThat( first.getQuantity() ).isEqualTo( 1 );
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldReleaseMapValuesBeforeClearing() {
+        Map<String, OrderLine> lines = new HashMap<String, OrderLine>();
+        lines.put( "Apple", new OrderLine( "Apple", 3 ) );
+        Map<String, OrderLineDto> dtos = new HashMap<String, OrderLineDto>();
+        OrderMapper.INSTANCE.updateLinesByItem( lines, dtos );
+        OrderLineDto first = dtos.get( "Apple" );
+
+        OrderMapper.INSTANCE.updateLinesByItem( lines, dtos );
+
+        assertThat( PoolingAllocator.getReleased() ).containsOnly( first );
+        assertThat( PoolingAllocator.getCreated() ).containsOnly( first );
+        assertThat( dtos.get( "Apple" ) ).isSameAs( first );
+    }
+
+    @Test
+    @WithClasses({ OrderMapperConfig.class, ConfiguredOrderMapper.class })
+    public void shouldApplyAllocatorFromConfig() {
+        OrderLineDto dto = ConfiguredOrderMapper.INSTANCE.lineToDto( new OrderLine( "Apple", 3 ) );
+
+        assertThat( dto.getItem() ).isEqualTo( "Apple" );
+        assertThat( PoolingAllocator.getCreated() ).containsOnly( dto );
+    }
+
+    @Test
+    @WithClasses(ErroneousOrderMapper.class)
+    @ExpectedCompilationOutcome(
+        value = CompilationResult.FAILED,
+        diagnostics = {
+            @Diagnostic(type = ErroneousOrderMapper.class,
+                kind = Kind.ERROR,
+                line = 24,
+                messageRegExp = "Specified allocator type java\\.lang\\.String is no concrete class implementing "
+                    + "org\\.mapstruct\\.TargetAllocator\\.")
+        }
+    )
+    public void shouldFailOnInvalidAllocator() {
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.allocator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.mapstruct.TargetAllocator;
+
+/**
+ * Pools the released instances after resetting them, keeping track of the instances it had to create.
+ */
+public class PoolingAllocator implements TargetAllocator {
+
+    private static final Deque<Object> FREE = new ArrayDeque<Object>();
+    private static final List<Object> CREATED = new ArrayList<Object>();
+    private static final List<Object> RELEASED = new ArrayList<Object>();
+
+    @Override
+    public synchronized <T> T acquire(Class<T> type) {
+        for ( Object instance : FREE ) {
+            if ( type.isInstance( instance ) ) {
+                FREE.remove( instance );
+                return type.cast( instance );
+            }
+        }
+
+        try {
+            T instance = type.newInstance();
+            CREATED.add( instance );
+            return instance;
+        }
+        catch ( Exception e ) {
+            throw new IllegalArgumentException( e );
+        }
+    }
+
+    @Override
+    public synchronized void release(Object instance) {
+        RELEASED.add( instance );
+
+        if ( instance instanceof OrderDto ) {
+            OrderDto order = (OrderDto) instance;
+            order.setCustomer( null );
+            order.setComment( null );
+            order.getLines().clear();
+        }
+        else if ( instance instanceof OrderLineDto ) {
+            OrderLineDto line = (OrderLineDto) instance;
+            line.setItem( null );
+            line.setQuantity( 0 );
+            line.setPriority( OrderLineDto.DEFAULT_PRIORITY );
+        }
+
+        FREE.push( instance );
+    }
+
+    public static synchronized List<Object> getCreated() {
+        return CREATED;
+    }
+
+    public static synchronized List<Object> getReleased() {
+        return RELEASED;
+    }
+
+    public static synchronized void reset() {
+        FREE.clear();
+        CREATED.clear();
+        RELEASED.clear();
+    }
+}
@@ -0,0 +1,195 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.async;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.GregorianCalendar;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+
+import javax.tools.Diagnostic.Kind;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.compilation.annotation.CompilationResult;
+import org.mapstruct.ap.testutil.compilation.annotation.Diagnostic;
+import org.mapstruct.ap.testutil.compilation.annotation.ExpectedCompilationOutcome;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests the generation of mapping methods returning {@code CompletionStage}.
+ */
+@WithClasses({ Order.class, OrderDto.class, CustomerDto.class, ProductDto.class, OrderLookups.class })
+@RunWith(AnnotationProcessorTestRunner.class)
+public class AsyncMappingTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Before
+    public void resetLookups() {
+        OrderLookups.reset();
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldComposeIndependentLookups() throws Exception {
+        CompletionStage<OrderDto> result = OrderMapper.INSTANCE.orderToDto( createOrder() );
+        OrderDto dto = result.toCompletableFuture().get();
+
+        assertThat( dto.getCustomer().getName() ).isEqualTo( "Customer 42" );
+        assertThat( dto.getProduct().getDescription() ).isEqualTo( "Product P-1" );
+        assertThat( dto.getComment() ).isEqualTo( "urgent" );
+        assertThat( OrderLookups.getCompleted() ).containsExactly( "product", "customer" );
+
+        generatedSource.forMapper( OrderMapper.class )
+            .content()
+            .contains( "CompletableFuture.allOf( customer, product ).thenApply( joined -> {" )
+            .contains( "orderDto.setCustomer( customer.join() );" );
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldReturnCompletedStageForNullSource() throws Exception {
+        assertThat( OrderMapper.INSTANCE.orderToDto( null ).toCompletableFuture().get() ).isNull();
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldNotUseAsyncLookupsInSynchronousMethod() {
+        OrderDto dto = OrderMapper.INSTANCE.orderToDtoWithoutLookups( createOrder() );
+
+        assertThat( dto.getComment() ).isEqualTo( "urgent" );
+        assertThat( OrderLookups.getCompleted() ).isEmpty();
+    }
+
+    @Test
+    @WithClasses(DependentOrderMapper.class)
+    public void shouldChainDependentLookups() throws Exception {
+        OrderDto dto = DependentOrderMapper.INSTANCE.orderToDto( createOrder() ).get();
+
+        assertThat( dto.getCustomer().getName() ).isEqualTo( "Customer 42" );
+        assertThat( dto.getProduct().getDescription() ).isEqualTo( "Product P-1" );
+        assertThat( OrderLookups.getCompleted() ).containsExactly( "customer", "product" );
+
+        generatedSource.forMapper( DependentOrderMapper.class )
+            .content()
+            .contains( "CompletableFuture.allOf( customer ).thenCompose( joined -> " );
+    }
+
+    @Test
+    @WithClasses(ErroneousOrderMapper.class)
+    @ExpectedCompilationOutcome(
+        value = CompilationResult.FAILED,
+        diagnostics = {
+            @Diagnostic(type = ErroneousOrderMapper.class,
+                kind = Kind.ERROR,
+                line = 29,
+                messageRegExp = "Can't generate asynchronous mapping method for non-bean types\\.")
+        }
+    )
+    public void shouldRaiseErrorForAsyncMapMapping() {
+    }
+
+    @Test
+    @WithClasses({
+        ScheduledOrder.class, ScheduledOrderDto.class, CheckedOrderLookups.class, ScheduledOrderMapper.class
+    })
+    public void shouldWrapCheckedExceptionsWithinStages() throws Exception {
+        ScheduledOrderDto dto = ScheduledOrderMapper.INSTANCE.orderToDto( createScheduledOrder( "P-1", "24.12.2015" ) )
+            .toCompletableFuture()
+            .get();
+
+        assertThat( dto.getCustomer().getName() ).isEqualTo( "Customer 42" );
+        assertThat( dto.getProduct().getDescription() ).isEqualTo( "Product P-1" );
+        assertThat( dto.getDeliveryDate() ).isEqualTo( new GregorianCalendar( 2015, 11, 24 ).getTime() );
+
+        generatedSource.forMapper( ScheduledOrderMapper.class )
+            .content()
+            .contains( "catch ( ParseException e ) {" )
+            .contains( "catch ( IOException e ) {" );
+    }
+
+    @Test
+    @WithClasses({
+        ScheduledOrder.class, ScheduledOrderDto.class, CheckedOrderLookups.class, ScheduledOrderMapper.class
+    })
+    public void shouldCompleteExceptionallyIfPropertyCantBeConverted() throws ParseException, InterruptedException {
+        CompletableFuture<ScheduledOrderDto> result = ScheduledOrderMapper.INSTANCE
+            .orderToDto( createScheduledOrder( "P-1", "Christmas" ) )
+            .toCompletableFuture();
+
+        try {
+            result.get();
+            fail( "Expected an ExecutionException" );
+        }
+        catch ( ExecutionException e ) {
+            assertThat( e.getCause() ).isInstanceOf( RuntimeException.class );
+            assertThat( e.getCause().getCause() ).isInstanceOf( ParseException.class );
+        }
+    }
+
+    @Test
+    @WithClasses({
+        ScheduledOrder.class, ScheduledOrderDto.class, CheckedOrderLookups.class, ScheduledOrderMapper.class
+    })
+    public void shouldCompleteExceptionallyIfDependentLookupFails() throws ParseException, InterruptedException {
+        CompletableFuture<ScheduledOrderDto> result = ScheduledOrderMapper.INSTANCE
+            .orderToDto( createScheduledOrder( "unknown", "24.12.2015" ) )
+            .toCompletableFuture();
+
+        try {
+            result.get();
+            fail( "Expected an ExecutionException" );
+        }
+        catch ( ExecutionException e ) {
+            assertThat( e.getCause() ).isInstanceOf( RuntimeException.class );
+            assertThat( e.getCause().getCause() ).isInstanceOf( IOException.class );
+        }
+    }
+
+    private ScheduledOrder createScheduledOrder(String productCode, String deliveryDate) {
+        ScheduledOrder order = new ScheduledOrder();
+        order.setCustomerId( 42L );
+        order.setProductCode( productCode );
+        order.setDeliveryDate( deliveryDate );
+        return order;
+    }
+
+    private Order createOrder() {
+        Order order = new Order();
+        order.setCustomerId( 42L );
+        order.setProductCode( "P-1" );
+        order.setComment( "urgent" );
+        return order;
+    }
+}
@@ -0,0 +1,41 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.async;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Asynchronous look-ups declaring a checked exception, failing for unknown products.
+ */
+public class CheckedOrderLookups {
+
+    public CompletionStage<CustomerDto> lookupCustomer(Long id) throws IOException {
+        return CompletableFuture.completedFuture( new CustomerDto( "Customer " + id ) );
+    }
+
+    public CompletableFuture<ProductDto> lookupProduct(String code) throws IOException {
+        if ( "unknown".equals( code ) ) {
+            throw new IOException( "Unknown product " + code );
+        }
+
+        return CompletableFuture.completedFuture( new ProductDto( "Product " + code ) );
+    }
+}
@@ -0,0 +1,69 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.async;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+/**
+ * Asynchronous look-ups used by the async mappers, recording the order in which they complete.
+ */
+public class OrderLookups {
+
+    private static final List<String> COMPLETED = Collections.synchronizedList( new ArrayList<String>() );
+
+    public CompletionStage<CustomerDto> lookupCustomer(final Long id) {
+        return CompletableFuture.supplyAsync(
+            new Supplier<CustomerDto>() {
+                @Override
+                public CustomerDto get() {
+                    sleep();
+                    COMPLETED.add( "customer" );
+                    return new CustomerDto( "Customer " + id );
+                }
+            }
+        );
+    }
+
+    public CompletableFuture<ProductDto> lookupProduct(String code) {
+        COMPLETED.add( "product" );
+        return CompletableFuture.completedFuture( new ProductDto( "Product " + code ) );
+    }
+
+    public static List<String> getCompleted() {
+        return COMPLETED;
+    }
+
+    public static void reset() {
+        COMPLETED.clear();
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep( 50 );
+        }
+        catch ( InterruptedException e ) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
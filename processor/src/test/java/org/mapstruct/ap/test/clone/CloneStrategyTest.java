@@ -0,0 +1,164 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.clone;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.tools.Diagnostic.Kind;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.compilation.annotation.CompilationResult;
+import org.mapstruct.ap.testutil.compilation.annotation.Diagnostic;
+import org.mapstruct.ap.testutil.compilation.annotation.ExpectedCompilationOutcome;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests the implementation of same-type mapping methods as configured via {@code cloneStrategy()}.
+ */
+@WithClasses({ Customer.class, Address.class, Status.class })
+@RunWith(AnnotationProcessorTestRunner.class)
+public class CloneStrategyTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Test
+    @WithClasses(ShallowCustomerMapper.class)
+    public void shouldShareAllPropertyValuesWhenCloningShallowly() {
+        Customer customer = createCustomer();
+
+        Customer copy = ShallowCustomerMapper.INSTANCE.copy( customer );
+
+        assertThat( copy ).isNotSameAs( customer );
+        assertThat( copy.getName() ).isEqualTo( "Bob" );
+        assertThat( copy.getRank() ).isEqualTo( 3 );
+        assertThat( copy.getStatus() ).isEqualTo( Status.ACTIVE );
+        assertThat( copy.getAliases() ).isSameAs( customer.getAliases() );
+        assertThat( copy.getTags() ).isSameAs( customer.getTags() );
+        assertThat( copy.getScores() ).isSameAs( customer.getScores() );
+        assertThat( copy.getAddress() ).isSameAs( customer.getAddress() );
+        assertThat( copy.getAddresses() ).isSameAs( customer.getAddresses() );
+        assertThat( copy.getNotes() ).containsExactly( "vip" );
+
+        generatedSource.forMapper( ShallowCustomerMapper.class )
+            .content()
+            .contains( "customer_.setTags( customer.getTags() );" )
+            .contains( "customer_.setAddress( customer.getAddress() );" )
+            .doesNotContain( "new ArrayList" );
+    }
+
+    @Test
+    @WithClasses(DeepCustomerMapper.class)
+    public void shouldCopyMutablePropertyValuesWhenCloningDeeply() {
+        Customer customer = createCustomer();
+
+        Customer copy = DeepCustomerMapper.INSTANCE.copy( customer );
+
+        assertThat( copy.getName() ).isEqualTo( "Bob" );
+        assertThat( copy.getId() ).isEqualTo( 42L );
+        assertThat( copy.getBalance() ).isSameAs( customer.getBalance() );
+        assertThat( copy.getAliases() ).isNotSameAs( customer.getAliases() ).isEqualTo( customer.getAliases() );
+        assertThat( copy.getTags() ).isNotSameAs( customer.getTags() ).containsExactly( "a", "b" );
+        assertThat( copy.getScores() ).isNotSameAs( customer.getScores() ).isEqualTo( customer.getScores() );
+        assertThat( copy.getAddress() ).isNotSameAs( customer.getAddress() );
+        assertThat( copy.getAddress().getStreet() ).isEqualTo( "Main Street" );
+        assertThat( copy.getAddresses() ).isNotSameAs( customer.getAddresses() ).hasSize( 1 );
+        assertThat( copy.getAddresses().get( 0 ) ).isNotSameAs( customer.getAddresses().get( 0 ) );
+        assertThat( copy.getAddresses().get( 0 ).getStreet() ).isEqualTo( "Side Street" );
+        assertThat( copy.getNotes() ).containsExactly( "vip" );
+
+        generatedSource.forMapper( DeepCustomerMapper.class )
+            .content()
+            .contains( "customer_.setName( customer.getName() );" )
+            .contains( "customer_.setBalance( customer.getBalance() );" )
+            .contains( "customer_.setAddress( copy( customer.getAddress() ) );" )
+            .contains( "new ArrayList<Address>( list.size() );" );
+    }
+
+    @Test
+    @WithClasses({ AddressDto.class, CustomerDto.class, CustomerDtoMapper.class })
+    public void shouldNotPresizeListsOfMappingsOtherThanClones() {
+        CustomerDto dto = CustomerDtoMapper.INSTANCE.toDto( createCustomer() );
+
+        assertThat( dto.getAddresses() ).hasSize( 1 );
+        assertThat( dto.getAddresses().get( 0 ).getStreet() ).isEqualTo( "Side Street" );
+
+        generatedSource.forMapper( CustomerDtoMapper.class )
+            .content()
+            .contains( "new ArrayList<AddressDto>();" )
+            .doesNotContain( "list.size()" );
+    }
+
+    @Test
+    @WithClasses({ CloneConfig.class, ConfiguredCustomerMapper.class })
+    public void shouldApplyCloneStrategyFromConfigAndBeanMapping() {
+        Customer customer = createCustomer();
+
+        Customer copy = ConfiguredCustomerMapper.INSTANCE.copy( customer );
+
+        assertThat( copy.getName() ).isNull();
+        assertThat( copy.getTags() ).isSameAs( customer.getTags() );
+        assertThat( copy.getAddress() ).isSameAs( customer.getAddress() );
+
+        Address address = ConfiguredCustomerMapper.INSTANCE.copy( customer.getAddress() );
+        assertThat( address ).isNotSameAs( customer.getAddress() );
+        assertThat( address.getStreet() ).isEqualTo( "Main Street" );
+    }
+
+    @Test
+    @WithClasses(DeepCustomerMapperWithoutAddressCopy.class)
+    @ExpectedCompilationOutcome(value = CompilationResult.SUCCEEDED,
+        diagnostics = {
+            @Diagnostic(type = DeepCustomerMapperWithoutAddressCopy.class,
+                kind = Kind.WARNING,
+                line = 29,
+                messageRegExp = "The value of property \"address\" is shared between source and target of the deep "
+                    + "clone, as no method copying org.mapstruct.ap.test.clone.Address exists\\.")
+        })
+    public void shouldWarnAboutSharedValuesWhenCloningDeeply() {
+    }
+
+    private Customer createCustomer() {
+        Customer customer = new Customer();
+        customer.setName( "Bob" );
+        customer.setRank( 3 );
+        customer.setId( 42L );
+        customer.setBalance( new BigDecimal( "12.50" ) );
+        customer.setStatus( Status.ACTIVE );
+        customer.setAliases( new String[] { "Bobby" } );
+        customer.setTags( Arrays.asList( "a", "b" ) );
+        customer.setScores( Collections.singletonMap( "x", 1 ) );
+        customer.setAddress( new Address( "Main Street" ) );
+        customer.setAddresses( Arrays.asList( new Address( "Side Street" ) ) );
+        customer.getNotes().add( "vip" );
+        return customer;
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.conversion.charsequence;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests the conversions between numeric types and {@link CharSequence}, {@link StringBuilder} and {@link Appendable}.
+ */
+@WithClasses({ Measurement.class, MeasurementDto.class, MeasurementMapper.class })
+@RunWith(AnnotationProcessorTestRunner.class)
+public class CharSequenceConversionTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Test
+    public void shouldConvertNumbersIntoCharSequences() {
+        Measurement measurement = new Measurement();
+        measurement.setCount( 42 );
+        measurement.setTotal( 1234567890123L );
+        measurement.setRatio( 0.5 );
+        measurement.setCode( (short) 7 );
+
+        MeasurementDto dto = MeasurementMapper.INSTANCE.measurementToMeasurementDto( measurement );
+
+        assertThat( dto ).isNotNull();
+        assertThat( dto.getCount().toString() ).isEqualTo( "42" );
+        assertThat( dto.getTotal().toString() ).isEqualTo( "1234567890123" );
+        assertThat( dto.getRatio().toString() ).isEqualTo( "0.5" );
+        assertThat( dto.getCode().toString() ).isEqualTo( "7" );
+    }
+
+    @Test
+    public void shouldNotConvertNullWrappers() {
+        Measurement measurement = new Measurement();
+
+        MeasurementDto dto = MeasurementMapper.INSTANCE.measurementToMeasurementDto( measurement );
+
+        assertThat( dto ).isNotNull();
+        assertThat( dto.getCount().toString() ).isEqualTo( "0" );
+        assertThat( dto.getTotal() ).isNull();
+        assertThat( dto.getCode() ).isNull();
+    }
+
+    @Test
+    public void shouldConvertCharSequencesIntoNumbers() {
+        MeasurementDto dto = new MeasurementDto();
+        dto.setCount( new StringBuilder( "42" ) );
+        dto.setTotal( new StringBuilder().append( 1234567890123L ) );
+        dto.setCode( "7" );
+
+        Measurement measurement = MeasurementMapper.INSTANCE.measurementDtoToMeasurement( dto );
+
+        assertThat( measurement ).isNotNull();
+        assertThat( measurement.getCount() ).isEqualTo( 42 );
+        assertThat( measurement.getTotal() ).isEqualTo( 1234567890123L );
+        assertThat( measurement.getCode() ).isEqualTo( (short) 7 );
+    }
+
+    @Test
+    public void shouldAppendUnboxedValuesWithoutIntermediaryStrings() {
+        generatedSource.forMapper( MeasurementMapper.class )
+            .content()
+            .contains( "new StringBuilder().append( measurement.getCount() )" )
+            .contains( "new StringBuilder().append( measurement.getTotal().longValue() )" )
+            .contains( "new StringBuilder().append( measurement.getRatio() )" )
+            .contains( "smallNumberToString( measurement.getCode() )" )
+            .doesNotContain( "String.valueOf( measurement.getTotal() )" );
+    }
+
+    @Test
+    public void shouldTakeStringsOfSmallNumbersFromCache() {
+        Measurement measurement = new Measurement();
+        measurement.setCode( (short) 7 );
+
+        MeasurementDto first = MeasurementMapper.INSTANCE.measurementToMeasurementDto( measurement );
+        MeasurementDto second = MeasurementMapper.INSTANCE.measurementToMeasurementDto( measurement );
+
+        assertThat( first.getCode() ).isEqualTo( "7" );
+        assertThat( second.getCode() ).isSameAs( first.getCode() );
+
+        generatedSource.forMapper( MeasurementMapper.class )
+            .content()
+            .contains( "private static final String[] SMALL_NUMBER_STRINGS = new String[256];" );
+    }
+
+    @Test
+    public void shouldConvertNumbersOutsideOfCachedRange() {
+        Measurement measurement = new Measurement();
+
+        measurement.setCode( (short) -128 );
+        assertThat( MeasurementMapper.INSTANCE.measurementToMeasurementDto( measurement ).getCode() )
+            .isEqualTo( "-128" );
+
+        measurement.setCode( (short) 127 );
+        assertThat( MeasurementMapper.INSTANCE.measurementToMeasurementDto( measurement ).getCode() )
+            .isEqualTo( "127" );
+
+        measurement.setCode( (short) -129 );
+        assertThat( MeasurementMapper.INSTANCE.measurementToMeasurementDto( measurement ).getCode() )
+            .isEqualTo( "-129" );
+
+        measurement.setCode( Short.MAX_VALUE );
+        assertThat( MeasurementMapper.INSTANCE.measurementToMeasurementDto( measurement ).getCode() )
+            .isEqualTo( "32767" );
+    }
+
+    @Test
+    public void shouldAppendToBuildersOfExistingTarget() {
+        Measurement measurement = new Measurement();
+        measurement.setCount( 42 );
+        measurement.setTotal( 1234567890123L );
+
+        StringBuilder count = new StringBuilder( "17" );
+        MeasurementDto dto = new MeasurementDto();
+        dto.setCount( count );
+
+        MeasurementMapper.INSTANCE.updateMeasurementDto( measurement, dto );
+
+        assertThat( dto.getCount() ).isSameAs( count );
+        assertThat( dto.getCount().toString() ).isEqualTo( "42" );
+        assertThat( dto.getTotal().toString() ).isEqualTo( "1234567890123" );
+
+        generatedSource.forMapper( MeasurementMapper.class )
+            .content()
+            .contains( "measurementDto.getCount().setLength( 0 );" )
+            .contains( "measurementDto.getCount().append( measurement.getCount() );" )
+            .contains( "measurementDto.getTotal().append( measurement.getTotal().longValue() );" );
+    }
+}
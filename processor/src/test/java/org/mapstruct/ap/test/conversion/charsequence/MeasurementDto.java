@@ -0,0 +1,59 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.conversion.charsequence;
+
+public class MeasurementDto {
+
+    private StringBuilder count;
+    private StringBuilder total;
+    private Appendable ratio;
+    private CharSequence code;
+
+    public StringBuilder getCount() {
+        return count;
+    }
+
+    public void setCount(StringBuilder count) {
+        this.count = count;
+    }
+
+    public StringBuilder getTotal() {
+        return total;
+    }
+
+    public void setTotal(StringBuilder total) {
+        this.total = total;
+    }
+
+    public Appendable getRatio() {
+        return ratio;
+    }
+
+    public void setRatio(Appendable ratio) {
+        this.ratio = ratio;
+    }
+
+    public CharSequence getCode() {
+        return code;
+    }
+
+    public void setCode(CharSequence code) {
+        this.code = code;
+    }
+}
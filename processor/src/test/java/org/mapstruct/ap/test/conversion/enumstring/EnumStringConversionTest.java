@@ -0,0 +1,161 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.conversion.enumstring;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import javax.tools.Diagnostic.Kind;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.compilation.annotation.CompilationResult;
+import org.mapstruct.ap.testutil.compilation.annotation.Diagnostic;
+import org.mapstruct.ap.testutil.compilation.annotation.ExpectedCompilationOutcome;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests the conversion between strings and enum types via the generated look-up of the constants.
+ */
+@RunWith(AnnotationProcessorTestRunner.class)
+@WithClasses({ Fruit.class, Basket.class, BasketDto.class })
+public class EnumStringConversionTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Test
+    @WithClasses(BasketMapper.class)
+    public void shouldConvertStringIntoEnum() {
+        assertThat( BasketMapper.INSTANCE.dtoToBasket( dto( "APPLE" ) ).getFruit() ).isEqualTo( Fruit.APPLE );
+        assertThat( BasketMapper.INSTANCE.dtoToBasket( dto( "BANANA" ) ).getFruit() ).isEqualTo( Fruit.BANANA );
+        assertThat( BasketMapper.INSTANCE.dtoToBasket( dto( null ) ).getFruit() ).isNull();
+
+        generatedSource.forMapper( BasketMapper.class ).content()
+            .contains( "private Fruit stringToFruit( String string )" )
+            .doesNotContain( "Enum.valueOf" );
+    }
+
+    @Test
+    @WithClasses(BasketMapper.class)
+    public void shouldConvertStringIntoEnumConstantsWithSameHashCode() {
+        assertThat( "Aa".hashCode() ).isEqualTo( "BB".hashCode() );
+
+        assertThat( BasketMapper.INSTANCE.dtoToBasket( dto( "Aa" ) ).getFruit() ).isEqualTo( Fruit.Aa );
+        assertThat( BasketMapper.INSTANCE.dtoToBasket( dto( "BB" ) ).getFruit() ).isEqualTo( Fruit.BB );
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @WithClasses(BasketMapper.class)
+    public void shouldThrowExceptionForUnknownStringByDefault() {
+        BasketMapper.INSTANCE.dtoToBasket( dto( "CHERRY" ) );
+    }
+
+    @Test
+    @WithClasses({ LenientConfig.class, LenientBasketMapper.class })
+    public void shouldReturnNullForUnknownStringIfConfigured() {
+        assertThat( LenientBasketMapper.INSTANCE.dtoToBasket( dto( "CHERRY" ) ).getFruit() ).isNull();
+        assertThat( LenientBasketMapper.INSTANCE.dtoToBasket( dto( "APPLE" ) ).getFruit() ).isEqualTo( Fruit.APPLE );
+    }
+
+    @Test
+    @WithClasses(StacklessBasketMapper.class)
+    public void shouldThrowExceptionWithoutStackTraceForUnknownStringIfConfigured() {
+        try {
+            StacklessBasketMapper.INSTANCE.dtoToBasket( dto( "CHERRY" ) );
+            fail( "Expected an IllegalArgumentException" );
+        }
+        catch ( IllegalArgumentException e ) {
+            assertThat( e.getMessage() ).isEqualTo( "No enum constant " + Fruit.class.getName() + ".CHERRY" );
+            assertThat( e.getStackTrace() ).isEmpty();
+            assertThat( e.getClass().getEnclosingClass().getSimpleName() ).isEqualTo( "StacklessBasketMapperImpl" );
+        }
+
+        generatedSource.forMapper( StacklessBasketMapper.class ).content()
+            .contains( "private static class UnknownEnumStringException extends IllegalArgumentException {" )
+            .contains( "throw new UnknownEnumStringException( " );
+    }
+
+    @Test
+    @WithClasses(DefaultingBasketMapper.class)
+    public void shouldReturnGivenConstantForUnknownStringOfMapping() {
+        assertThat( DefaultingBasketMapper.INSTANCE.dtoToBasket( dto( "CHERRY" ) ).getFruit() )
+            .isEqualTo( Fruit.APPLE );
+        assertThat( DefaultingBasketMapper.INSTANCE.dtoToBasket( dto( "BANANA" ) ).getFruit() )
+            .isEqualTo( Fruit.BANANA );
+
+        try {
+            DefaultingBasketMapper.INSTANCE.dtoToBasketStrictly( dto( "CHERRY" ) );
+            fail( "Expected an IllegalArgumentException" );
+        }
+        catch ( IllegalArgumentException e ) {
+            assertThat( e.getStackTrace() ).isEmpty();
+        }
+
+        generatedSource.forMapper( DefaultingBasketMapper.class ).content()
+            .contains( "private Fruit stringToFruit( String string )" )
+            .contains( "private Fruit stringToFruit1( String string )" )
+            .contains( "return Fruit.APPLE;" );
+    }
+
+    @Test
+    @WithClasses(ErroneousDefaultingBasketMapper.class)
+    @ExpectedCompilationOutcome(
+        value = CompilationResult.FAILED,
+        diagnostics = {
+            @Diagnostic(type = ErroneousDefaultingBasketMapper.class,
+                kind = Kind.ERROR,
+                line = 28,
+                messageRegExp = "Constant CHERRY to be returned for unknown strings doesn't exist in enum type .*Fruit")
+        }
+    )
+    public void shouldFailForUnknownConstantToBeReturnedForUnknownStrings() {
+    }
+
+    @Test
+    @WithClasses(BasketMapper.class)
+    public void shouldConvertEnumIntoStringUsingToString() {
+        Basket basket = new Basket();
+        basket.setFruit( Fruit.BANANA );
+
+        assertThat( BasketMapper.INSTANCE.basketToDto( basket ).getFruit() ).isEqualTo( "banana" );
+    }
+
+    @Test
+    @WithClasses(TrimmingBasketMapper.class)
+    public void shouldNotClashWithMethodOfMapper() {
+        assertThat( TrimmingBasketMapper.INSTANCE.dtoToBasket( dto( "APPLE" ) ).getFruit() ).isEqualTo( Fruit.APPLE );
+
+        generatedSource.forMapper( TrimmingBasketMapper.class ).content()
+            .contains( "private Fruit stringToFruit1( String string )" );
+    }
+
+    private static BasketDto dto(String fruit) {
+        BasketDto dto = new BasketDto();
+        dto.setFruit( fruit );
+        return dto;
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.conversion.numberformat;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests the conversions between number types and strings with a number format given via
+ * {@code Mapping#numberFormat()}.
+ */
+@WithClasses({ Price.class, PriceDto.class, PriceMapper.class })
+@RunWith(AnnotationProcessorTestRunner.class)
+public class NumberFormatConversionTest {
+
+    private static Locale originalLocale;
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @BeforeClass
+    public static void setDefaultLocale() {
+        originalLocale = Locale.getDefault();
+        Locale.setDefault( Locale.US );
+    }
+
+    @AfterClass
+    public static void resetDefaultLocale() {
+        Locale.setDefault( originalLocale );
+    }
+
+    @Test
+    public void shouldFormatNumbers() {
+        Price price = new Price();
+        price.setAmount( new BigDecimal( "1234567.891" ) );
+        price.setUnits( new BigInteger( "12345678901234567890" ) );
+        price.setRate( 0.0425 );
+        price.setQuantity( 7 );
+        price.setTotal( 9876543210L );
+        price.setAvailable( true );
+
+        PriceDto dto = PriceMapper.INSTANCE.priceToPriceDto( price );
+
+        assertThat( dto ).isNotNull();
+        assertThat( dto.getAmount() ).isEqualTo( "1,234,567.89" );
+        assertThat( dto.getUnits() ).isEqualTo( "12,345,678,901,234,567,890" );
+        assertThat( dto.getRate() ).isEqualTo( "4.25%" );
+        assertThat( dto.getQuantity() ).isEqualTo( "007" );
+        assertThat( dto.getTotal() ).isEqualTo( "9,876,543,210" );
+        assertThat( dto.getAvailable() ).isEqualTo( "true" );
+    }
+
+    @Test
+    public void shouldParseNumbersWithoutLosingPrecision() {
+        PriceDto dto = new PriceDto();
+        dto.setAmount( "12,345,678,901,234,567.89" );
+        dto.setUnits( "12,345,678,901,234,567,890" );
+        dto.setRate( "4.25%" );
+        dto.setQuantity( "007" );
+        dto.setTotal( "9,876,543,210" );
+        dto.setAvailable( "true" );
+
+        Price price = PriceMapper.INSTANCE.priceDtoToPrice( dto );
+
+        assertThat( price ).isNotNull();
+        assertThat( price.getAmount() ).isEqualTo( new BigDecimal( "12345678901234567.89" ) );
+        assertThat( price.getUnits() ).isEqualTo( new BigInteger( "12345678901234567890" ) );
+        assertThat( price.getRate() ).isEqualTo( 0.0425 );
+        assertThat( price.getQuantity() ).isEqualTo( 7 );
+        assertThat( price.getTotal() ).isEqualTo( 9876543210L );
+        assertThat( price.isAvailable() ).isTrue();
+    }
+
+    @Test
+    public void shouldWrapParseExceptionForInvalidNumber() {
+        PriceDto dto = new PriceDto();
+        dto.setQuantity( "seven" );
+
+        try {
+            PriceMapper.INSTANCE.priceDtoToPrice( dto );
+            fail( "Expected a RuntimeException" );
+        }
+        catch ( RuntimeException e ) {
+            assertThat( e.getCause() ).isInstanceOf( ParseException.class );
+        }
+    }
+
+    @Test
+    public void shouldRejectTrailingCharacters() {
+        PriceDto dto = new PriceDto();
+        dto.setQuantity( "12abc" );
+
+        assertParseException( dto );
+    }
+
+    @Test
+    public void shouldRejectTrailingCharactersOfBigDecimal() {
+        PriceDto dto = new PriceDto();
+        dto.setAmount( "1,234.56 EUR" );
+
+        assertParseException( dto );
+    }
+
+    @Test
+    public void shouldRejectEmptyString() {
+        PriceDto dto = new PriceDto();
+        dto.setTotal( "" );
+
+        assertParseException( dto );
+    }
+
+    @Test
+    public void shouldRejectFractionForIntegralType() {
+        PriceDto dto = new PriceDto();
+        dto.setQuantity( "3.7" );
+
+        assertParseException( dto );
+    }
+
+    @Test
+    public void shouldRejectFractionForBigInteger() {
+        PriceDto dto = new PriceDto();
+        dto.setUnits( "1,234.5" );
+
+        assertParseException( dto );
+    }
+
+    @Test
+    public void shouldAcceptZeroFractionForIntegralType() {
+        PriceDto dto = new PriceDto();
+        dto.setQuantity( "3.00" );
+
+        Price price = PriceMapper.INSTANCE.priceDtoToPrice( dto );
+
+        assertThat( price.getQuantity() ).isEqualTo( 3 );
+    }
+
+    @Test
+    public void shouldRejectNumberOutOfRangeOfIntegralType() {
+        PriceDto dto = new PriceDto();
+        dto.setQuantity( "2147483648" );
+
+        assertParseException( dto );
+    }
+
+    @Test
+    public void shouldRejectNumberOutOfRangeOfLong() {
+        PriceDto dto = new PriceDto();
+        dto.setTotal( "9,223,372,036,854,775,808" );
+
+        assertParseException( dto );
+    }
+
+    @Test
+    public void shouldRejectNumberOutOfRangeOfDouble() {
+        StringBuilder rate = new StringBuilder( "1" );
+        for ( int i = 0; i < 400; i++ ) {
+            rate.append( '0' );
+        }
+        PriceDto dto = new PriceDto();
+        dto.setRate( rate.append( '%' ).toString() );
+
+        assertParseException( dto );
+    }
+
+    @Test
+    public void shouldRejectInfinity() {
+        PriceDto dto = new PriceDto();
+        dto.setRate( "\u221E" );
+
+        assertParseException( dto );
+    }
+
+    private void assertParseException(PriceDto dto) {
+        try {
+            PriceMapper.INSTANCE.priceDtoToPrice( dto );
+            fail( "Expected a RuntimeException" );
+        }
+        catch ( RuntimeException e ) {
+            assertThat( e.getCause() ).isInstanceOf( ParseException.class );
+        }
+    }
+
+    @Test
+    public void shouldKeepDecimalFormatsPerThread() {
+        generatedSource.forMapper( PriceMapper.class )
+            .content()
+            .contains( "private static final ThreadLocal<DecimalFormat> DECIMAL_FORMAT = "
+                + "new ThreadLocal<DecimalFormat>() {" )
+            .contains( "protected DecimalFormat initialValue() {" )
+            .contains( "DECIMAL_FORMAT.get().format( price.getAmount() )" )
+            .contains( "parseBigDecimal( priceDto.getAmount(), BIG_DECIMAL_FORMAT.get() )" )
+            .contains( "parseBigInteger( priceDto.getUnits(), BIG_DECIMAL_FORMAT_1.get() )" )
+            .contains( "parseInt( priceDto.getQuantity(), BIG_DECIMAL_FORMAT_3.get() )" )
+            .contains( "decimalFormat.setParseBigDecimal( true );" )
+            .doesNotContain( "new DecimalFormat( \"0\" )" )
+            .doesNotContain( "DecimalFormat( \"#,##0.00\" ).format" );
+    }
+
+    @Test
+    public void shouldFormatConcurrently() throws Exception {
+        final Price price = new Price();
+        price.setAmount( new BigDecimal( "1234.5" ) );
+        price.setQuantity( 7 );
+
+        final List<String> failures = Collections.synchronizedList( new ArrayList<String>() );
+        Thread[] threads = new Thread[4];
+        for ( int i = 0; i < threads.length; i++ ) {
+            threads[i] = new Thread() {
+                @Override
+                public void run() {
+                    for ( int j = 0; j < 1000; j++ ) {
+                        PriceDto dto = PriceMapper.INSTANCE.priceToPriceDto( price );
+                        if ( !"1,234.50".equals( dto.getAmount() ) || !"007".equals( dto.getQuantity() ) ) {
+                            failures.add( dto.getAmount() + " " + dto.getQuantity() );
+                        }
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for ( Thread thread : threads ) {
+            thread.join();
+        }
+
+        assertThat( failures ).isEmpty();
+    }
+}
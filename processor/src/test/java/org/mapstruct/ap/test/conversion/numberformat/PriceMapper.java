@@ -0,0 +1,44 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.conversion.numberformat;
+
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.Mappings;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface PriceMapper {
+
+    PriceMapper INSTANCE = Mappers.getMapper( PriceMapper.class );
+
+    @Mappings({
+        @Mapping(target = "amount", numberFormat = "#,##0.00"),
+        @Mapping(target = "units", numberFormat = "#,##0"),
+        @Mapping(target = "rate", numberFormat = "0.0##%"),
+        @Mapping(target = "quantity", numberFormat = "000"),
+        @Mapping(target = "total", numberFormat = "#,##0"),
+        @Mapping(target = "available", numberFormat = "0")
+    })
+    PriceDto priceToPriceDto(Price price);
+
+    @InheritInverseConfiguration
+    Price priceDtoToPrice(PriceDto priceDto);
+}
@@ -27,6 +27,7 @@
 
 import org.junit.Test;
 import org.mapstruct.ap.model.dependency.GraphAnalyzer;
+import org.mapstruct.ap.model.dependency.GraphAnalyzer.GraphAnalyzerBuilder;
 import org.mapstruct.ap.util.Strings;
 
 /**
@@ -171,6 +172,66 @@ public void eightNodesWithoutCycle() {
         assertThat( detector.getAllDescendants( "b2" ) ).containsOnly( "c3", "c4" );
     }
 
+    @Test
+    public void selfReference() {
+        GraphAnalyzer detector = GraphAnalyzer.withNode( "a", "a" )
+                .withNode( "b", "a" )
+                .build();
+
+        assertThat( asStrings( detector.getCycles() ) ).containsOnly( "a -> a" );
+        assertThat( detector.getAllDescendants( "a" ) ).containsOnly( "a" );
+        assertThat( detector.getAllDescendants( "b" ) ).containsOnly( "a" );
+    }
+
+    @Test
+    public void descendantsOfNodesInCycle() {
+        GraphAnalyzer detector = GraphAnalyzer.withNode( "a", "b" )
+                .withNode( "b", "c" )
+                .withNode( "c", "b", "d" )
+                .build();
+
+        assertThat( asStrings( detector.getCycles() ) ).containsOnly( "b -> c -> b" );
+        assertThat( detector.getAllDescendants( "a" ) ).containsOnly( "b", "c", "d" );
+        assertThat( detector.getAllDescendants( "b" ) ).containsOnly( "b", "c", "d" );
+        assertThat( detector.getAllDescendants( "c" ) ).containsOnly( "b", "c", "d" );
+        assertThat( detector.getAllDescendants( "d" ) ).isEmpty();
+    }
+
+    @Test
+    public void longChainWithoutCycle() {
+        GraphAnalyzerBuilder builder = GraphAnalyzer.builder();
+        for ( int i = 0; i < 5000; i++ ) {
+            builder.withNode( "n" + i, "n" + ( i + 1 ) );
+        }
+        GraphAnalyzer detector = builder.build();
+
+        assertThat( detector.getCycles() ).isEmpty();
+        assertThat( detector.getAllDescendants( "n0" ) ).hasSize( 5000 );
+        assertThat( detector.getAllDescendants( "n4999" ) ).containsOnly( "n5000" );
+        assertThat( detector.getAllDescendants( "n0" ).contains( "n5000" ) ).isTrue();
+        assertThat( detector.getAllDescendants( "n1" ).contains( "n0" ) ).isFalse();
+    }
+
+    @Test
+    public void longChainWithCycle() {
+        GraphAnalyzerBuilder builder = GraphAnalyzer.builder();
+        for ( int i = 0; i < 5000; i++ ) {
+            builder.withNode( "n" + i, "n" + ( i + 1 ) );
+        }
+        builder.withNode( "n5000", "n4998" );
+        GraphAnalyzer detector = builder.build();
+
+        assertThat( asStrings( detector.getCycles() ) ).containsOnly( "n4998 -> n4999 -> n5000 -> n4998" );
+    }
+
+    @Test
+    public void unknownNode() {
+        GraphAnalyzer detector = GraphAnalyzer.withNode( "a", "b" ).build();
+
+        assertThat( detector.getAllDescendants( "c" ) ).isEmpty();
+        assertThat( detector.getAllDescendants( "a" ).contains( "c" ) ).isFalse();
+    }
+
     private Set<String> asStrings(Set<List<String>> cycles) {
         Set<String> asStrings = new HashSet<String>();
 
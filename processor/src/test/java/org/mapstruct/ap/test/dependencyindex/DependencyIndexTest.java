@@ -0,0 +1,135 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.dependencyindex;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.processor.DependencyIndex;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.compilation.annotation.ProcessorOption;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+
+/**
+ * Tests the recording of the dependencies of generated mappers in the dependency index.
+ */
+@RunWith(AnnotationProcessorTestRunner.class)
+@WithClasses({
+    AddressDto.class,
+    AddressEntity.class,
+    BaseEntity.class,
+    Birthday.class,
+    BirthdayMapper.class,
+    Identifiable.class,
+    PersonConfig.class,
+    PersonDto.class,
+    PersonEntity.class,
+    PersonMapper.class
+})
+@ProcessorOption(name = "mapstruct.dependencyIndex", value = "true")
+public class DependencyIndexTest {
+
+    private static final String PERSON_MAPPER_IMPL = PersonMapper.class.getName() + "Impl";
+
+    @Test
+    public void shouldRecordDependenciesOfGeneratedMapper() throws IOException {
+        DependencyIndex index = readIndex();
+
+        assertThat( index.getGeneratedTypes() ).containsOnly( PERSON_MAPPER_IMPL );
+        assertThat( index.getDependencies( PERSON_MAPPER_IMPL ) ).containsOnly(
+            AddressDto.class.getName(),
+            AddressEntity.class.getName(),
+            BaseEntity.class.getName(),
+            Birthday.class.getName(),
+            BirthdayMapper.class.getName(),
+            Identifiable.class.getName(),
+            PersonConfig.class.getName(),
+            PersonDto.class.getName(),
+            PersonEntity.class.getName(),
+            PersonMapper.class.getName()
+        );
+        assertThat( index.getGeneratedTypesDependingOn( AddressEntity.class.getName() ) )
+            .containsOnly( PERSON_MAPPER_IMPL );
+        assertThat( index.getGeneratedTypesDependingOn( String.class.getName() ) ).isEmpty();
+    }
+
+    @Test
+    public void shouldRecordSuperTypesOfInheritedProperties() throws IOException {
+        DependencyIndex index = readIndex();
+
+        assertThat( index.getGeneratedTypesDependingOn( BaseEntity.class.getName() ) )
+            .containsOnly( PERSON_MAPPER_IMPL );
+        assertThat( index.getGeneratedTypesDependingOn( Identifiable.class.getName() ) )
+            .containsOnly( PERSON_MAPPER_IMPL );
+    }
+
+    @Test
+    public void shouldWriteAndReadIndex() throws IOException {
+        DependencyIndex index = new DependencyIndex();
+        index.setDependencies( "com.example.FooMapperImpl", Arrays.asList( "com.example.Foo", "com.example.Bar" ) );
+        index.setDependencies( "com.example.BarMapperImpl", Arrays.asList( "com.example.Bar" ) );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        index.write( out );
+
+        DependencyIndex read = DependencyIndex.read( new ByteArrayInputStream( out.toByteArray() ) );
+
+        assertThat( read.getGeneratedTypes() ).containsOnly( "com.example.FooMapperImpl", "com.example.BarMapperImpl" );
+        assertThat( read.getDependencies( "com.example.FooMapperImpl" ) )
+            .containsOnly( "com.example.Foo", "com.example.Bar" );
+        assertThat( read.getGeneratedTypesDependingOn( "com.example.Bar" ) )
+            .containsOnly( "com.example.FooMapperImpl", "com.example.BarMapperImpl" );
+    }
+
+    @Test
+    public void shouldMapWithIndexEnabled() {
+        PersonEntity person = new PersonEntity();
+        person.setId( 7L );
+        person.setName( "Bob" );
+        person.setBirthday( 42L );
+        person.setAddress( new AddressEntity() );
+        person.getAddress().setStreet( "Main Street" );
+
+        PersonDto dto = PersonMapper.INSTANCE.personEntityToPersonDto( person );
+
+        assertThat( dto.getId() ).isEqualTo( 7L );
+        assertThat( dto.getName() ).isEqualTo( "Bob" );
+        assertThat( dto.getBirthday().getMillis() ).isEqualTo( 42L );
+        assertThat( dto.getAddress().getStreet() ).isEqualTo( "Main Street" );
+    }
+
+    private DependencyIndex readIndex() throws IOException {
+        InputStream in = getClass().getClassLoader().getResourceAsStream( DependencyIndex.RESOURCE_NAME );
+        assertThat( in ).isNotNull();
+
+        try {
+            return DependencyIndex.read( in );
+        }
+        finally {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.emitter;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.compilation.annotation.ProcessorOption;
+import org.mapstruct.ap.testutil.compilation.annotation.ProcessorOptions;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests that the source code written by the code emitter is the same as the one created by processing the FreeMarker
+ * templates, by comparing both against the same expected source file.
+ */
+@RunWith(AnnotationProcessorTestRunner.class)
+@WithClasses({
+    OrderMapper.class,
+    OrderEntity.class,
+    OrderDto.class,
+    CustomerEntity.class,
+    CustomerDto.class
+})
+public class CodeEmitterTest {
+
+    private static final File EXPECTED_MAPPER_SOURCE =
+        new File( "src/test/resources/fixtures/org/mapstruct/ap/test/emitter/OrderMapperImpl.java.golden" );
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Test
+    @ProcessorOptions({
+        @ProcessorOption(name = "mapstruct.suppressGeneratorTimestamp", value = "true"),
+        @ProcessorOption(name = "mapstruct.suppressGeneratorVersionInfoComment", value = "true")
+    })
+    public void shouldCreateExpectedSourceWithCodeEmitter() {
+        generatedSource.forMapper( OrderMapper.class ).hasSameContentAs( EXPECTED_MAPPER_SOURCE );
+    }
+
+    @Test
+    @ProcessorOptions({
+        @ProcessorOption(name = "mapstruct.suppressGeneratorTimestamp", value = "true"),
+        @ProcessorOption(name = "mapstruct.suppressGeneratorVersionInfoComment", value = "true"),
+        @ProcessorOption(name = "mapstruct.disableCodeEmitter", value = "true")
+    })
+    public void shouldCreateExpectedSourceWithTemplatesOnly() {
+        generatedSource.forMapper( OrderMapper.class ).hasSameContentAs( EXPECTED_MAPPER_SOURCE );
+    }
+
+    @Test
+    public void shouldMapWithEmittedMapper() {
+        CustomerEntity customer = new CustomerEntity();
+        customer.setName( "Bob" );
+        customer.setId( 42L );
+
+        OrderEntity order = new OrderEntity();
+        order.setId( "order-1" );
+        order.setQuantity( 3 );
+        order.setCustomer( customer );
+        order.setTags( Arrays.asList( "a", "b" ) );
+
+        OrderDto dto = OrderMapper.INSTANCE.orderEntityToOrderDto( order );
+
+        assertThat( dto.getId() ).isEqualTo( "order-1" );
+        assertThat( dto.getQuantity() ).isEqualTo( "3" );
+        assertThat( dto.getTags() ).containsExactly( "a", "b" );
+        assertThat( dto.getCustomer().getName() ).isEqualTo( "Bob" );
+        assertThat( dto.getCustomer().getId() ).isEqualTo( "42" );
+
+        Map<Long, Date> dates = new HashMap<Long, Date>();
+        dates.put( 1L, new GregorianCalendar( 2015, Calendar.MARCH, 1 ).getTime() );
+
+        assertThat( OrderMapper.INSTANCE.datesToStrings( dates ) ).isEqualTo(
+            Collections.singletonMap( "1", "01.03.2015" )
+        );
+    }
+}
@@ -0,0 +1,52 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.emitter;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.mapstruct.MapMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.factory.Mappers;
+
+@Mapper
+public interface OrderMapper {
+
+    OrderMapper INSTANCE = Mappers.getMapper( OrderMapper.class );
+
+    @Mapping(target = "orderDate", dateFormat = "dd.MM.yyyy")
+    OrderDto orderEntityToOrderDto(OrderEntity order);
+
+    CustomerDto customerEntityToCustomerDto(CustomerEntity customer);
+
+    @Mapping(target = "orderDate", dateFormat = "dd.MM.yyyy")
+    OrderEntity orderDtoToOrderEntity(OrderDto order);
+
+    CustomerEntity customerDtoToCustomerEntity(CustomerDto customer);
+
+    void updateCustomerDto(CustomerEntity customer, @MappingTarget CustomerDto customerDto);
+
+    List<OrderDto> orderEntitiesToOrderDtos(List<OrderEntity> orders);
+
+    @MapMapping(valueDateFormat = "dd.MM.yyyy")
+    Map<String, String> datesToStrings(Map<Long, Date> dates);
+}
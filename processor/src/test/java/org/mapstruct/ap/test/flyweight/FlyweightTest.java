@@ -0,0 +1,135 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.flyweight;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+
+import javax.tools.Diagnostic.Kind;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.compilation.annotation.CompilationResult;
+import org.mapstruct.ap.testutil.compilation.annotation.Diagnostic;
+import org.mapstruct.ap.testutil.compilation.annotation.ExpectedCompilationOutcome;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests mapping from and to flyweight types, reading and writing their buffers directly.
+ */
+@WithClasses({ Quote.class, QuoteView.class })
+@RunWith(AnnotationProcessorTestRunner.class)
+public class FlyweightTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Test
+    @WithClasses(QuoteMapper.class)
+    public void shouldReadFromBuffer() {
+        ByteBuffer buffer = ByteBuffer.allocate( 20 );
+        buffer.putLong( 0, 1234567890123L );
+        buffer.putShort( 8, (short) 500 );
+        buffer.putFloat( 10, 1.5f );
+        buffer.put( 14, (byte) 1 );
+
+        QuoteView view = new QuoteView( buffer );
+        view.setVenue( "XNYS" );
+
+        Quote quote = QuoteMapper.INSTANCE.viewToQuote( view );
+
+        assertThat( quote.getPrice() ).isEqualTo( 1234567890123L );
+        assertThat( quote.getSize() ).isEqualTo( 500 );
+        assertThat( quote.getBid() ).isEqualTo( 1.5 );
+        assertThat( quote.isActive() ).isTrue();
+        assertThat( quote.getVenue() ).isEqualTo( "XNYS" );
+    }
+
+    @Test
+    @WithClasses(QuoteMapper.class)
+    public void shouldReadIntoExistingTarget() {
+        QuoteView view = new QuoteView();
+        view.buffer().putLong( 0, 42L );
+
+        Quote quote = new Quote();
+        quote.setActive( true );
+        QuoteMapper.INSTANCE.updateQuoteFromView( view, quote );
+
+        assertThat( quote.getPrice() ).isEqualTo( 42L );
+        assertThat( quote.isActive() ).isFalse();
+    }
+
+    @Test
+    @WithClasses(QuoteMapper.class)
+    public void shouldWriteToBuffer() {
+        Quote quote = new Quote();
+        quote.setPrice( 1234567890123L );
+        quote.setSize( 500 );
+        quote.setBid( 1.5 );
+        quote.setActive( true );
+        quote.setVenue( "XNYS" );
+
+        QuoteView view = new QuoteView();
+        QuoteMapper.INSTANCE.writeQuoteToView( quote, view );
+
+        assertThat( view.buffer().getLong( 0 ) ).isEqualTo( 1234567890123L );
+        assertThat( view.buffer().getShort( 8 ) ).isEqualTo( (short) 500 );
+        assertThat( view.buffer().getFloat( 10 ) ).isEqualTo( 1.5f );
+        assertThat( view.buffer().get( 14 ) ).isEqualTo( (byte) 1 );
+        assertThat( view.getVenue() ).isEqualTo( "XNYS" );
+    }
+
+    @Test
+    @WithClasses(QuoteMapper.class)
+    public void shouldAccessBufferWithAbsoluteOffsets() {
+        generatedSource.forMapper( QuoteMapper.class )
+            .content()
+            .contains( "quote.setPrice( view.buffer().getLong( 0 ) );" )
+            .contains( "quote.setSize( view.buffer().getShort( 8 ) );" )
+            .contains( "quote.setBid( view.buffer().getFloat( 10 ) );" )
+            .contains( "quote.setActive( ( view.buffer().get( 14 ) != 0 ) );" )
+            .contains( "view.buffer().putLong( 0, quote.getPrice() );" )
+            .contains( "view.buffer().putShort( 8, (short) ( quote.getSize() ) );" )
+            .contains( "view.buffer().putFloat( 10, (float) ( quote.getBid() ) );" )
+            .contains( "view.buffer().put( 14, (byte) ( quote.isActive() ? 1 : 0 ) );" )
+            .contains( "view.setVenue( quote.getVenue() );" );
+    }
+
+    @Test
+    @WithClasses({ ErroneousQuoteView.class, ErroneousQuoteMapper.class })
+    @ExpectedCompilationOutcome(
+        value = CompilationResult.FAILED,
+        diagnostics = {
+            @Diagnostic(type = ErroneousQuoteMapper.class,
+                kind = Kind.ERROR,
+                line = 27,
+                messageRegExp = "Flyweight field \"size\" of type int can't be stored with a width of 3 bytes\\.")
+        }
+    )
+    public void shouldFailOnUnsupportedWidth() {
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.flyweight;
+
+import java.nio.ByteBuffer;
+
+import org.mapstruct.Flyweight;
+import org.mapstruct.FlyweightField;
+
+@Flyweight
+public class QuoteView {
+
+    private final ByteBuffer buffer;
+    private String venue;
+
+    public QuoteView() {
+        this( ByteBuffer.allocate( 20 ) );
+    }
+
+    public QuoteView(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public ByteBuffer buffer() {
+        return buffer;
+    }
+
+    @FlyweightField(offset = 0)
+    public long getPrice() {
+        throw new UnsupportedOperationException( "Should be read from the buffer" );
+    }
+
+    public void setPrice(long price) {
+        throw new UnsupportedOperationException( "Should be written to the buffer" );
+    }
+
+    @FlyweightField(offset = 8, width = 2)
+    public int getSize() {
+        throw new UnsupportedOperationException( "Should be read from the buffer" );
+    }
+
+    public void setSize(int size) {
+        throw new UnsupportedOperationException( "Should be written to the buffer" );
+    }
+
+    @FlyweightField(offset = 10, width = 4)
+    public double getBid() {
+        throw new UnsupportedOperationException( "Should be read from the buffer" );
+    }
+
+    public void setBid(double bid) {
+        throw new UnsupportedOperationException( "Should be written to the buffer" );
+    }
+
+    @FlyweightField(offset = 14)
+    public boolean isActive() {
+        throw new UnsupportedOperationException( "Should be read from the buffer" );
+    }
+
+    public void setActive(boolean active) {
+        throw new UnsupportedOperationException( "Should be written to the buffer" );
+    }
+
+    public String getVenue() {
+        return venue;
+    }
+
+    public void setVenue(String venue) {
+        this.venue = venue;
+    }
+}
@@ -0,0 +1,115 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.immutable;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Tests passing on values of immutable types as enabled via {@code Mapper#shareImmutableValues()}.
+ */
+@WithClasses({ Source.class, Target.class, ReadOnlyList.class, FrozenSet.class })
+@RunWith(AnnotationProcessorTestRunner.class)
+public class ImmutableValuesTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Test
+    @WithClasses(SharingMapper.class)
+    public void shouldShareImmutableCollections() {
+        Source source = createSource();
+
+        Target target = SharingMapper.INSTANCE.sourceToTarget( source );
+
+        assertSharedImmutableValues( source, target );
+
+        generatedSource.forMapper( SharingMapper.class )
+            .content()
+            .contains( "target.setTags( source.getTags() );" )
+            .contains( "target.setNames( new ArrayList<String>( source.getNames() ) );" );
+    }
+
+    @Test
+    @WithClasses(CopyingMapper.class)
+    public void shouldCopyImmutableCollectionsByDefault() {
+        Source source = createSource();
+
+        Target target = CopyingMapper.INSTANCE.sourceToTarget( source );
+
+        assertThat( target.getTags() ).isNotSameAs( source.getTags() ).containsExactly( "a", "b" );
+        assertThat( target.getScores() ).isNotSameAs( source.getScores() ).isEqualTo( source.getScores() );
+        assertThat( target.getCodes() ).isNotSameAs( source.getCodes() ).containsExactly( "x" );
+        assertThat( target.getFlags() ).isNotSameAs( source.getFlags() ).containsOnly( "on" );
+    }
+
+    @Test
+    @WithClasses({ SharingConfig.class, ConfiguredSharingMapper.class })
+    public void shouldApplySettingsFromConfig() {
+        Source source = createSource();
+
+        Target target = ConfiguredSharingMapper.INSTANCE.sourceToTarget( source );
+
+        assertSharedImmutableValues( source, target );
+    }
+
+    @Test
+    @WithClasses({ SharingConfig.class, ConfiguredCopyingMapper.class })
+    public void shouldPreferSettingFromMapperOverConfig() {
+        Source source = createSource();
+
+        Target target = ConfiguredCopyingMapper.INSTANCE.sourceToTarget( source );
+
+        assertThat( target.getTags() ).isNotSameAs( source.getTags() );
+        assertThat( target.getFlags() ).isNotSameAs( source.getFlags() );
+    }
+
+    private void assertSharedImmutableValues(Source source, Target target) {
+        assertThat( target.getTags() ).isSameAs( source.getTags() );
+        assertThat( target.getScores() ).isSameAs( source.getScores() );
+        assertThat( target.getCodes() ).isSameAs( source.getCodes() );
+        assertThat( target.getFlags() ).isSameAs( source.getFlags() );
+        assertThat( target.getNames() ).isNotSameAs( source.getNames() ).containsExactly( "Bob" );
+    }
+
+    private Source createSource() {
+        Source source = new Source();
+        source.setTags( ImmutableList.of( "a", "b" ) );
+        source.setScores( ImmutableMap.of( "x", 1 ) );
+        source.setNames( Arrays.asList( "Bob" ) );
+        source.setCodes( new ReadOnlyList<String>( "x" ) );
+        source.setFlags( new FrozenSet<String>( "on" ) );
+        return source;
+    }
+}
@@ -0,0 +1,46 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.immutable;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.mapstruct.Immutable;
+
+@Immutable
+public class ReadOnlyList<E> extends AbstractList<E> {
+
+    private final List<E> elements;
+
+    public ReadOnlyList(E... elements) {
+        this.elements = new ArrayList<E>( Arrays.asList( elements ) );
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get( index );
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+}
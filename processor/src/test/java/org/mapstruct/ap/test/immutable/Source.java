@@ -0,0 +1,73 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.immutable;
+
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+public class Source {
+
+    private ImmutableList<String> tags;
+    private ImmutableMap<String, Integer> scores;
+    private List<String> names;
+    private ReadOnlyList<String> codes;
+    private FrozenSet<String> flags;
+
+    public ImmutableList<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(ImmutableList<String> tags) {
+        this.tags = tags;
+    }
+
+    public ImmutableMap<String, Integer> getScores() {
+        return scores;
+    }
+
+    public void setScores(ImmutableMap<String, Integer> scores) {
+        this.scores = scores;
+    }
+
+    public List<String> getNames() {
+        return names;
+    }
+
+    public void setNames(List<String> names) {
+        this.names = names;
+    }
+
+    public ReadOnlyList<String> getCodes() {
+        return codes;
+    }
+
+    public void setCodes(ReadOnlyList<String> codes) {
+        this.codes = codes;
+    }
+
+    public FrozenSet<String> getFlags() {
+        return flags;
+    }
+
+    public void setFlags(FrozenSet<String> flags) {
+        this.flags = flags;
+    }
+}
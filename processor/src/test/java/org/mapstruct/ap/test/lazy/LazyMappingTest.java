@@ -0,0 +1,202 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.lazy;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.tools.Diagnostic.Kind;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.compilation.annotation.CompilationResult;
+import org.mapstruct.ap.testutil.compilation.annotation.Diagnostic;
+import org.mapstruct.ap.testutil.compilation.annotation.ExpectedCompilationOutcome;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests the mapping of properties when accessed, as configured via {@code Mapping#lazy()}.
+ */
+@WithClasses({
+    Order.class, OrderDto.class, Customer.class, CustomerDto.class, LineItem.class, LineItemDto.class,
+    CustomerMapper.class
+})
+@RunWith(AnnotationProcessorTestRunner.class)
+public class LazyMappingTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Before
+    public void resetInvocations() {
+        CustomerMapper.reset();
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldMapPropertyWhenAccessedForTheFirstTime() {
+        OrderDto orderDto = OrderMapper.INSTANCE.orderToDto( createOrder() );
+
+        assertThat( orderDto.getNumber() ).isEqualTo( "42" );
+        assertThat( CustomerMapper.getInvocations() ).isEqualTo( 0 );
+
+        assertThat( orderDto.getCustomer().getName() ).isEqualTo( "Bob" );
+        assertThat( orderDto.getCustomer() ).isSameAs( orderDto.getCustomer() );
+        assertThat( CustomerMapper.getInvocations() ).isEqualTo( 1 );
+
+        assertThat( orderDto.getLineItems() ).hasSize( 2 );
+        assertThat( orderDto.getLineItems().get( 1 ).getProduct() ).isEqualTo( "Pen" );
+        assertThat( orderDto.getLineItems().get( 1 ).getQuantity() ).isEqualTo( 3 );
+
+        generatedSource.forMapper( OrderMapper.class )
+            .content()
+            .contains( "orderDto.deferCustomer( order.getCustomer() );" )
+            .contains( "private static class LazyOrderDto extends OrderDto {" );
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldMapNullValueWhenAccessed() {
+        Order order = createOrder();
+        order.setCustomer( null );
+        order.setLineItems( null );
+
+        OrderDto orderDto = OrderMapper.INSTANCE.orderToDto( order );
+
+        assertThat( orderDto.getCustomer() ).isNull();
+        assertThat( orderDto.getLineItems() ).isNull();
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldDiscardPendingValueWhenPropertyIsSet() {
+        OrderDto orderDto = OrderMapper.INSTANCE.orderToDto( createOrder() );
+        CustomerDto customer = new CustomerDto( "Alice" );
+
+        orderDto.setCustomer( customer );
+
+        assertThat( orderDto.getCustomer() ).isSameAs( customer );
+        assertThat( CustomerMapper.getInvocations() ).isEqualTo( 0 );
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldMapPropertyOnceWhenAccessedConcurrently() throws Exception {
+        final OrderDto orderDto = OrderMapper.INSTANCE.orderToDto( createOrder() );
+
+        List<Callable<CustomerDto>> readers = new ArrayList<Callable<CustomerDto>>();
+        for ( int i = 0; i < 8; i++ ) {
+            readers.add(
+                new Callable<CustomerDto>() {
+
+                    @Override
+                    public CustomerDto call() {
+                        return orderDto.getCustomer();
+                    }
+                }
+            );
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool( readers.size() );
+        try {
+            List<Future<CustomerDto>> results = executor.invokeAll( readers );
+            for ( Future<CustomerDto> result : results ) {
+                assertThat( result.get() ).isSameAs( orderDto.getCustomer() );
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+
+        assertThat( CustomerMapper.getInvocations() ).isEqualTo( 1 );
+    }
+
+    @Test
+    @WithClasses(OrderMapper.class)
+    public void shouldMapPendingPropertiesBeforeSerialization() throws Exception {
+        OrderDto orderDto = OrderMapper.INSTANCE.orderToDto( createOrder() );
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream( bytes );
+        out.writeObject( orderDto );
+        out.close();
+
+        ObjectInputStream in = new ObjectInputStream( new ByteArrayInputStream( bytes.toByteArray() ) );
+        OrderDto deserialized = (OrderDto) in.readObject();
+        in.close();
+
+        assertThat( CustomerMapper.getInvocations() ).isEqualTo( 1 );
+        assertThat( deserialized.getClass() ).isEqualTo( OrderDto.class );
+        assertThat( deserialized.getNumber() ).isEqualTo( "42" );
+        assertThat( deserialized.getCustomer().getName() ).isEqualTo( "Bob" );
+        assertThat( deserialized.getLineItems() ).hasSize( 2 );
+        assertThat( CustomerMapper.getInvocations() ).isEqualTo( 1 );
+    }
+
+    @Test
+    @WithClasses({ FinalOrderDto.class, VersionedOrderDto.class, ErroneousOrderMapper.class })
+    @ExpectedCompilationOutcome(
+        value = CompilationResult.FAILED,
+        diagnostics = {
+            @Diagnostic(type = ErroneousOrderMapper.class,
+                kind = Kind.ERROR,
+                line = 29,
+                messageRegExp = "Property \"customer\" can't be mapped lazily, as the result type is final\\."),
+            @Diagnostic(type = ErroneousOrderMapper.class,
+                kind = Kind.ERROR,
+                line = 32,
+                messageRegExp = "Property \"customer\" can't be mapped lazily, as the method updates an existing "
+                    + "target\\."),
+            @Diagnostic(type = ErroneousOrderMapper.class,
+                kind = Kind.ERROR,
+                line = 35,
+                messageRegExp = "Property \"customer\" can't be mapped lazily, as the result type is serializable "
+                    + "and has fields not accessible via a getter and setter\\.")
+        }
+    )
+    public void shouldRaiseErrorIfPropertyCantBeMappedLazily() {
+    }
+
+    private Order createOrder() {
+        Order order = new Order();
+        order.setNumber( "42" );
+        order.setCustomer( new Customer( "Bob" ) );
+        order.setLineItems( Arrays.asList( new LineItem( "Paper", 1 ), new LineItem( "Pen", 3 ) ) );
+        return order;
+    }
+}
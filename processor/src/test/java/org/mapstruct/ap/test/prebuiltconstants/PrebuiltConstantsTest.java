@@ -0,0 +1,111 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.prebuiltconstants;
+
+import static org.fest.assertions.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests the conversion of constants into static fields of the generated mapper.
+ */
+@WithClasses({ Source.class, Target.class, Status.class, SourceTargetMapper.class })
+@RunWith(AnnotationProcessorTestRunner.class)
+public class PrebuiltConstantsTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Test
+    public void shouldMapConstants() {
+        Source source = new Source();
+        source.setName( "Bob" );
+
+        Target target = SourceTargetMapper.INSTANCE.sourceToTarget( source );
+
+        assertThat( target.getName() ).isEqualTo( "Bob" );
+        assertThat( target.getValidFrom() ).isEqualTo( new GregorianCalendar( 2015, Calendar.JANUARY, 1 ).getTime() );
+        assertThat( target.getCreated() ).isEqualTo( target.getValidFrom() );
+        assertThat( target.getPrice() ).isEqualTo( new BigDecimal( "9.99" ) );
+        assertThat( target.getQuantity() ).isEqualTo( 3 );
+        assertThat( target.getStock() ).isEqualTo( 1000L );
+        assertThat( target.getStatus() ).isEqualTo( Status.ACTIVE );
+    }
+
+    @Test
+    public void shouldShareImmutableAndCloneMutableConstants() {
+        Target first = SourceTargetMapper.INSTANCE.sourceToTarget( new Source() );
+        Target second = SourceTargetMapper.INSTANCE.sourceToTarget( new Source() );
+
+        assertThat( second.getPrice() ).isSameAs( first.getPrice() );
+        assertThat( second.getValidFrom() ).isNotSameAs( first.getValidFrom() ).isEqualTo( first.getValidFrom() );
+        assertThat( first.getCreated() ).isNotSameAs( first.getValidFrom() );
+
+        first.getValidFrom().setTime( 0L );
+        assertThat( second.getValidFrom() ).isEqualTo( first.getCreated() );
+
+        generatedSource.forMapper( SourceTargetMapper.class )
+            .content()
+            .contains( "private static volatile BigDecimal PRICE;" )
+            .contains( "value = new BigDecimal( \"9.99\" );" )
+            .contains( "target.setPrice( getPriceConstant() );" )
+            .contains( "private static volatile Integer QUANTITY;" )
+            .contains( "private static int getQuantityConstant() {" )
+            .contains( "private static volatile Date VALID_FROM;" )
+            .contains( "private static Date getValidFromConstant() throws ParseException {" )
+            .contains( "target.setValidFrom( (Date) getValidFromConstant().clone() );" )
+            .contains( "target.setCreated( (Date) getValidFromConstant().clone() );" )
+            .contains( "private static volatile Long STOCK;" )
+            .contains( "target.setStock( getStockConstant() );" )
+            .contains( "target.setStatus( stringToStatus( \"ACTIVE\" ) );" )
+            .doesNotContain( "CREATED" )
+            .doesNotContain( "static {" );
+    }
+
+    @Test
+    @WithClasses(InvalidConstantMapper.class)
+    public void shouldRaiseConversionFailureOfConstantWhenMapping() {
+        Target target = InvalidConstantMapper.INSTANCE.sourceToPricedTarget( new Source() );
+        assertThat( target.getPrice() ).isEqualTo( new BigDecimal( "9.99" ) );
+
+        for ( int i = 0; i < 2; i++ ) {
+            try {
+                InvalidConstantMapper.INSTANCE.sourceToTarget( new Source() );
+                fail( "Expected a NumberFormatException" );
+            }
+            catch ( NumberFormatException e ) {
+                assertThat( e.getMessage() ).contains( "three" );
+            }
+        }
+    }
+}
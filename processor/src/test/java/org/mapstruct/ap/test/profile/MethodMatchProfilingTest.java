@@ -0,0 +1,69 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.profile;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.compilation.annotation.ProcessorOption;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests that the results of matching a generic referenced method against the same types are reused.
+ */
+@RunWith(AnnotationProcessorTestRunner.class)
+@WithClasses({ Order.class, OrderDto.class, CollectionHelper.class, OrderMapper.class })
+@ProcessorOption(name = "mapstruct.profile", value = "true")
+public class MethodMatchProfilingTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Test
+    public void shouldReuseMethodMatches() {
+        generatedSource.forJavaFile( "mapstruct-profile.json" ).content()
+            .contains( "\"mapper\": \"org.mapstruct.ap.test.profile.OrderMapper\"" )
+            .doesNotContain( "\"performedMethodMatches\": 0," )
+            .doesNotContain( "\"reusedMethodMatches\": 0," );
+    }
+
+    @Test
+    public void shouldMapViaGenericMethod() {
+        Order order = new Order();
+        order.setTags( Arrays.asList( "urgent" ) );
+        order.setLabels( Arrays.asList( "blue", "green" ) );
+
+        OrderDto dto = OrderMapper.INSTANCE.orderToDto( order );
+
+        assertThat( dto.getTags() ).containsExactly( "urgent" );
+        assertThat( dto.getTags() ).isNotSameAs( order.getTags() );
+        assertThat( dto.getLabels() ).containsExactly( "blue", "green" );
+        assertThat( dto.getLabels() ).isNotSameAs( order.getLabels() );
+    }
+}
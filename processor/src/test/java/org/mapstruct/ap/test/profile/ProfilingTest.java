@@ -0,0 +1,72 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.profile;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mapstruct.ap.testutil.WithClasses;
+import org.mapstruct.ap.testutil.compilation.annotation.ProcessorOption;
+import org.mapstruct.ap.testutil.runner.AnnotationProcessorTestRunner;
+import org.mapstruct.ap.testutil.runner.GeneratedSource;
+
+/**
+ * Tests the profiling report written if enabled via the {@code mapstruct.profile} option.
+ */
+@RunWith(AnnotationProcessorTestRunner.class)
+@WithClasses({ Source.class, Target.class, SourceTargetMapper.class })
+@ProcessorOption(name = "mapstruct.profile", value = "true")
+public class ProfilingTest {
+
+    private final GeneratedSource generatedSource = new GeneratedSource();
+
+    @Rule
+    public GeneratedSource getGeneratedSource() {
+        return generatedSource;
+    }
+
+    @Test
+    public void shouldWriteProfilingReport() {
+        generatedSource.forJavaFile( "mapstruct-profile.json" ).content()
+            .contains( "\"mapper\": \"org.mapstruct.ap.test.profile.SourceTargetMapper\"" )
+            .contains( "\"MethodRetrievalProcessor\": " )
+            .contains( "\"MapperCreationProcessor\": " )
+            .contains( "\"MapperRenderingProcessor\": " )
+            .contains( "\"resolvedAssignments\": 2," )
+            .contains( "\"twoStepResolutions\": 0," )
+            .contains( "\"performedMethodMatches\": " )
+            .contains( "\"reusedMethodMatches\": " )
+            .doesNotContain( "\"templateRenders\": 0," )
+            .doesNotContain( "\"createdTypes\": 0," );
+    }
+
+    @Test
+    public void shouldMapWithProfilingEnabled() {
+        Source source = new Source();
+        source.setName( "Bob" );
+        source.setCount( 42 );
+
+        Target target = SourceTargetMapper.INSTANCE.sourceToTarget( source );
+
+        assertThat( target.getName() ).isEqualTo( "Bob" );
+        assertThat( target.getCount() ).isEqualTo( "42" );
+    }
+}
@@ -86,6 +86,23 @@ public void shouldUseGenericFactoryForMap() {
             entry( new SomeType( "foo2" ), new SomeOtherType( "bar2" ) ) );
     }
 
+    @Test
+    @WithClasses( AnotherSourceTargetMapper.class )
+    public void shouldUseSameReferencedMappersInSeveralMappers() {
+        Target target = AnotherSourceTargetMapper.INSTANCE.sourceToTarget( createSource() );
+
+        assertThat( target.getProp1() ).isEqualTo( 43 );
+        assertThat( target.getProp2().getProp1() ).isEqualTo( "foo" );
+        assertThat( target.getProp3().getValue() ).isEqualTo( "prop3" );
+
+        List<SomeOtherType> result =
+            AnotherSourceTargetMapper.INSTANCE.fromStringList( Arrays.asList( "foo1", "foo2" ) );
+        assertThat( result ).onProperty( "value" ).containsExactly( "foo1", "foo2" );
+
+        target = SourceTargetMapper.INSTANCE.sourceToTarget( createSource() );
+        assertThat( target.getProp1() ).isEqualTo( 43 );
+    }
+
     @Test
     @IssueKey( "136" )
     @WithClasses( { SourceTargetMapperWithPrimitives.class, SourceWithWrappers.class, TargetWithPrimitives.class,
@@ -186,8 +186,8 @@ public void testFactorySelectionWithQualifier() {
                 @Diagnostic( type = ErroneousMovieFactoryMapper.class,
                         kind = Kind.ERROR,
                         line = 37,
-                        messageRegExp = "'nullValueMappingStrategy', 'resultType' and 'qualifiedBy' are undefined in "
-                            + "@BeanMapping, define at least one of them." )
+                        messageRegExp = "'nullValueMappingStrategy', 'cloneStrategy', 'resultType' and 'qualifiedBy' "
+                            + "are undefined in @BeanMapping, define at least one of them." )
             }
     )
     public void testEmptyBeanMapping() {
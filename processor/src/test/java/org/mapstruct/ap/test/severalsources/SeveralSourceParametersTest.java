@@ -122,16 +122,16 @@ public void shouldMapSeveralSourceAttributesAndParameters() {
             @Diagnostic(type = ErroneousSourceTargetMapper.class,
                 kind = Kind.ERROR,
                 line = 29,
-                messageRegExp = "Several possible source properties for target property \"description\".",
-                javaVersions = { SourceVersion.RELEASE_6 } ),
+                messageRegExp = "Several possible source properties for target property \"street\"."),
             @Diagnostic(type = ErroneousSourceTargetMapper.class,
                 kind = Kind.ERROR,
                 line = 29,
-                messageRegExp = "Several possible source properties for target property \"zipCode\".") ,
+                messageRegExp = "Several possible source properties for target property \"zipCode\".",
+                javaVersions = { SourceVersion.RELEASE_6 } ),
             @Diagnostic(type = ErroneousSourceTargetMapper.class,
                 kind = Kind.ERROR,
                 line = 29,
-                messageRegExp = "Several possible source properties for target property \"street\".",
+                messageRegExp = "Several possible source properties for target property \"description\".",
                 javaVersions = { SourceVersion.RELEASE_6 } )
     })
 
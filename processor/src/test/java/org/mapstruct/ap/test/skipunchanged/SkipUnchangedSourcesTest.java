@@ -0,0 +1,173 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.test.skipunchanged;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.JavaFileObject;
+import javax.tools.JavaFileObject.Kind;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mapstruct.ap.MappingProcessor;
+import org.mapstruct.ap.processor.SourceFileWriter;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Tests for {@link SourceFileWriter}, compiling a mapper repeatedly into the same source output directory, so the
+ * generated source is read and written via the {@link javax.annotation.processing.Filer} of javac.
+ */
+public class SkipUnchangedSourcesTest {
+
+    private static final File OUTPUT_DIR = new File( "target/compilation-tests-skip-unchanged" );
+    private static final File SOURCE_OUTPUT_DIR = new File( OUTPUT_DIR, "generated-sources" );
+    private static final File GENERATED_SOURCE = new File( SOURCE_OUTPUT_DIR, "com/example/PersonMapperImpl.java" );
+    private static final long OLD_TIMESTAMP = 1000000000000L;
+
+    private static final String MAPPER = "package com.example;\n"
+        + "@org.mapstruct.Mapper\n"
+        + "public interface PersonMapper {\n"
+        + "    PersonDto personToPersonDto(Person person);\n"
+        + "}\n";
+    private static final String PERSON = "package com.example;\n"
+        + "public class Person {\n"
+        + "    private String name;\n"
+        + "    public String getName() { return name; }\n"
+        + "    public void setName(String name) { this.name = name; }\n"
+        + "}\n";
+    private static final String PERSON_WITH_AGE = PERSON.replace(
+        "public String getName()",
+        "private int age;\n"
+            + "    public int getAge() { return age; }\n"
+            + "    public void setAge(int age) { this.age = age; }\n"
+            + "    public String getName()"
+    );
+
+    @Before
+    public void deleteOutput() {
+        delete( OUTPUT_DIR );
+        SOURCE_OUTPUT_DIR.mkdirs();
+    }
+
+    @Test
+    public void shouldNotRewriteUnchangedSource() throws IOException {
+        compile( PERSON );
+        assertThat( GENERATED_SOURCE.exists() ).isTrue();
+        assertThat( GENERATED_SOURCE.setLastModified( OLD_TIMESTAMP ) ).isTrue();
+
+        List<Diagnostic<? extends JavaFileObject>> notes = compile( PERSON );
+
+        assertThat( GENERATED_SOURCE.lastModified() ).isEqualTo( OLD_TIMESTAMP );
+        assertThat( notes ).hasSize( 1 );
+        assertThat( notes.get( 0 ).getMessage( null ) )
+            .isEqualTo( "1 of 1 generated source files are unchanged and have not been rewritten." );
+    }
+
+    @Test
+    public void shouldRewriteChangedSource() throws IOException {
+        compile( PERSON );
+        assertThat( GENERATED_SOURCE.setLastModified( OLD_TIMESTAMP ) ).isTrue();
+
+        List<Diagnostic<? extends JavaFileObject>> notes = compile( PERSON_WITH_AGE );
+
+        assertThat( GENERATED_SOURCE.lastModified() ).isNotEqualTo( OLD_TIMESTAMP );
+        assertThat( notes ).isEmpty();
+    }
+
+    /**
+     * Runs the processor on the mapper, using the given source for both the source and the target bean, and returns
+     * the notes reported by it.
+     */
+    private List<Diagnostic<? extends JavaFileObject>> compile(String person) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<JavaFileObject>();
+        StandardJavaFileManager fileManager = compiler.getStandardFileManager( null, null, null );
+
+        List<String> options = Arrays.asList(
+            "-proc:only",
+            "-s", SOURCE_OUTPUT_DIR.getPath(),
+            "-classpath", new File( "target/test-dependencies/mapstruct.jar" ).getPath(),
+            "-Amapstruct.skipUnchangedSources=true"
+        );
+        List<JavaFileObject> sources = Arrays.<JavaFileObject>asList(
+            new StringSource( "com.example.PersonMapper", MAPPER ),
+            new StringSource( "com.example.Person", person ),
+            new StringSource( "com.example.PersonDto", person.replace( "class Person", "class PersonDto" ) )
+        );
+
+        CompilationTask task = compiler.getTask( null, fileManager, diagnostics, options, null, sources );
+        task.setProcessors( Collections.singletonList( new MappingProcessor() ) );
+
+        boolean successful = task.call();
+        fileManager.close();
+
+        assertThat( successful ).describedAs( diagnostics.getDiagnostics().toString() ).isTrue();
+
+        List<Diagnostic<? extends JavaFileObject>> notes = new ArrayList<Diagnostic<? extends JavaFileObject>>();
+        for ( Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics() ) {
+            if ( diagnostic.getKind() == Diagnostic.Kind.NOTE ) {
+                notes.add( diagnostic );
+            }
+        }
+
+        return notes;
+    }
+
+    private static void delete(File file) {
+        File[] children = file.listFiles();
+        if ( children != null ) {
+            for ( File child : children ) {
+                delete( child );
+            }
+        }
+        file.delete();
+    }
+
+    private static class StringSource extends SimpleJavaFileObject {
+
+        private final String source;
+
+        StringSource(String qualifiedName, String source) {
+            super(
+                URI.create( "string:///" + qualifiedName.replace( '.', '/' ) + Kind.SOURCE.extension ),
+                Kind.SOURCE
+            );
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
@@ -44,7 +44,10 @@ public GeneratedSource getGeneratedSource() {
     }
 
     @Test
-    @ProcessorOption( name = "mapstruct.suppressGeneratorVersionInfoComment", value = "true" )
+    @ProcessorOptions( {
+        @ProcessorOption( name = "mapstruct.suppressGeneratorVersionInfoComment", value = "true" ),
+        @ProcessorOption( name = "mapstruct.suppressGeneratorTimestamp", value = "false" )
+    } )
     public void includesNoComment() {
         generatedSource.forMapper( SimpleMapper.class ).content()
             .contains( "date = \"" )
@@ -63,10 +66,18 @@ public void includesNoCommentAndNoTimestamp() {
     }
 
     @Test
+    @ProcessorOption( name = "mapstruct.suppressGeneratorTimestamp", value = "false" )
     public void includesCommentAndTimestamp() {
         generatedSource.forMapper( SimpleMapper.class ).content()
             .contains( "date = \"" )
             .contains( "comments = \"version: " );
     }
 
+    @Test
+    public void includesCommentButNoTimestampByDefault() {
+        generatedSource.forMapper( SimpleMapper.class ).content()
+            .doesNotContain( "date = \"" )
+            .contains( "comments = \"version: " );
+    }
+
 }
@@ -0,0 +1,192 @@
+/**
+ *  Copyright 2012-2015 Gunnar Morling (http://www.gunnarmorling.de/)
+ *  and/or other contributors as indicated by the @authors tag. See the
+ *  copyright.txt file in the distribution for a full listing of all
+ *  contributors.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package org.mapstruct.ap.writer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+/**
+ * Verifies that {@link IndentationCorrectingWriter} creates the same output as its previous implementation,
+ * {@link LegacyIndentationCorrectingWriter}, for the sources and fixtures of the processor tests as well as for
+ * random input, regardless of how the input is split up into chunks.
+ */
+public class IndentationCorrectingWriterTest {
+
+    private static final String[] TOKENS = {
+        "{", "}", "(", ")", " ", "    ", "\n", "\r\n", "\n\n\n", "a", "foo", "return bar;", "\t", ";"
+    };
+
+    @Test
+    public void shouldCreateSameOutputAsLegacyWriterForTestSources() throws IOException {
+        List<File> files = new ArrayList<File>();
+        collectFiles( new File( "src/test/java" ), files );
+        collectFiles( new File( "src/test/resources" ), files );
+        collectFiles( new File( "src/main/resources" ), files );
+
+        assertThat( files ).isNotEmpty();
+
+        Random random = new Random( 42 );
+
+        for ( File file : files ) {
+            String input = read( file );
+
+            if ( !input.endsWith( "\n" ) ) {
+                input += "\n";
+            }
+
+            assertThat( writeChunked( input, random ) ).as( file.getPath() ).isEqualTo( writeLegacy( input ) );
+        }
+    }
+
+    @Test
+    public void shouldCreateSameOutputAsLegacyWriterForRandomInput() throws IOException {
+        Random random = new Random( 4711 );
+
+        for ( int i = 0; i < 1000; i++ ) {
+            StringBuilder input = new StringBuilder();
+            int tokens = random.nextInt( 500 );
+            int depth = 0;
+
+            for ( int j = 0; j < tokens; j++ ) {
+                String token = TOKENS[random.nextInt( TOKENS.length )];
+
+                // the legacy writer fails for negative indentation levels
+                if ( token.equals( "{" ) || token.equals( "(" ) ) {
+                    depth++;
+                }
+                else if ( token.equals( "}" ) || token.equals( ")" ) ) {
+                    if ( depth == 0 ) {
+                        continue;
+                    }
+                    depth--;
+                }
+
+                input.append( token );
+            }
+            input.append( '\n' );
+
+            String text = input.toString();
+            assertThat( writeChunked( text, random ) ).as( text ).isEqualTo( writeLegacy( text ) );
+        }
+    }
+
+    @Test
+    public void shouldCorrectIndentation() throws IOException {
+        String input = "class Foo {\n\n\n\n  void bar() {\nbaz(\n1 );\n     }\n}\n";
+        String nl = System.getProperty( "line.separator" );
+
+        StringWriter out = new StringWriter();
+        Writer writer = new IndentationCorrectingWriter( out );
+        writer.write( input );
+        writer.close();
+
+        assertThat( out.toString() ).isEqualTo(
+            "class Foo {" + nl + nl + "    void bar() {" + nl + "        baz(" + nl + "            1 );" + nl
+                + "    }" + nl + "}" + nl
+        );
+    }
+
+    private String writeLegacy(String input) throws IOException {
+        StringWriter out = new StringWriter();
+        Writer writer = new BufferedWriter( new LegacyIndentationCorrectingWriter( out ) );
+        writer.write( input );
+        writer.flush();
+        writer.close();
+        return out.toString();
+    }
+
+    /**
+     * Writes the given input in randomly sized chunks, alternating between strings, single characters and char arrays
+     * with a non-zero offset.
+     */
+    private String writeChunked(String input, Random random) throws IOException {
+        StringWriter out = new StringWriter();
+        Writer writer = new IndentationCorrectingWriter( out );
+
+        int position = 0;
+        while ( position < input.length() ) {
+            int length = Math.min( 1 + random.nextInt( 64 ), input.length() - position );
+
+            switch ( random.nextInt( 3 ) ) {
+                case 0:
+                    writer.write( input.substring( position, position + length ) );
+                    break;
+                case 1:
+                    writer.write( input.charAt( position ) );
+                    length = 1;
+                    break;
+                default:
+                    char[] chars = new char[length + 3];
+                    input.getChars( position, position + length, chars, 3 );
+                    writer.write( chars, 3, length );
+            }
+
+            position += length;
+        }
+
+        writer.flush();
+        writer.close();
+        return out.toString();
+    }
+
+    private void collectFiles(File directory, List<File> files) {
+        File[] children = directory.listFiles();
+        if ( children == null ) {
+            return;
+        }
+
+        for ( File child : children ) {
+            if ( child.isDirectory() ) {
+                collectFiles( child, files );
+            }
+            else {
+                files.add( child );
+            }
+        }
+    }
+
+    private String read(File file) throws IOException {
+        Reader reader = new InputStreamReader( new FileInputStream( file ), "UTF-8" );
+        try {
+            StringBuilder content = new StringBuilder();
+            char[] buffer = new char[4096];
+            int read;
+            while ( ( read = reader.read( buffer ) ) != -1 ) {
+                content.append( buffer, 0, read );
+            }
+            return content.toString();
+        }
+        finally {
+            reader.close();
+        }
+    }
+}